@@ -0,0 +1,183 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+#include "benchlet.h"
+#include "SbeMarketDataCodecBench.h"
+#include "otf/IrDecoder.h"
+#include "otf/OtfHeaderDecoder.h"
+#include "otf/OtfMessageDecoder.h"
+#include "otf/OtfDecodePlan.h"
+
+#ifndef SBE_MD_IR_FILENAME
+#define SBE_MD_IR_FILENAME "fix-message-samples.sbeir"
+#endif
+
+#define MAX_MD_BUFFER (1000*1000)
+
+/*
+ * Reads every primitive value of a message the way a normalising feed handler would. Derives from
+ * BasicTokenListener so it can also be called through its virtual callbacks.
+ */
+class ValueSummingListener : public OtfMessageDecoder::BasicTokenListener
+{
+public:
+    std::uint64_t sum = 0;
+
+    void onEncoding(
+        Token &fieldToken,
+        const char *buffer,
+        Token &typeToken,
+        std::uint64_t actingVersion) override
+    {
+        const Encoding &encoding = typeToken.encoding();
+
+        if (!typeToken.isConstantEncoding())
+        {
+            switch (encoding.primitiveType())
+            {
+                case PrimitiveType::INT8:
+                case PrimitiveType::INT16:
+                case PrimitiveType::INT32:
+                case PrimitiveType::INT64:
+                    sum += static_cast<std::uint64_t>(encoding.getAsInt(buffer));
+                    break;
+
+                case PrimitiveType::UINT8:
+                case PrimitiveType::UINT16:
+                case PrimitiveType::UINT32:
+                case PrimitiveType::UINT64:
+                    sum += encoding.getAsUInt(buffer);
+                    break;
+
+                default:
+                    sum += static_cast<std::uint8_t>(*buffer);
+                    break;
+            }
+        }
+    }
+
+    void onEnum(
+        Token &fieldToken,
+        const char *buffer,
+        std::vector<Token> &tokens,
+        std::size_t fromIndex,
+        std::size_t toIndex,
+        std::uint64_t actingVersion) override
+    {
+        if (!tokens[fromIndex].isConstantEncoding())
+        {
+            sum += static_cast<std::uint8_t>(*buffer);
+        }
+    }
+
+    void onGroupHeader(Token &token, std::uint64_t numInGroup) override
+    {
+        sum += numInGroup;
+    }
+};
+
+/*
+ * Same as ValueSummingListener but final so calls from the templated decoders are direct and can be inlined.
+ */
+class FinalValueSummingListener final : public ValueSummingListener
+{
+};
+
+class OtfMarketDataBench : public Benchmark
+{
+public:
+    void setUp() override
+    {
+        buffer_ = new char[MAX_MD_BUFFER];
+        length_ = static_cast<std::size_t>(codecBench_.encode(buffer_, MAX_MD_BUFFER));
+
+        if (irDecoder_.decode(SBE_MD_IR_FILENAME) < 0)
+        {
+            std::cerr << "could not load IR from " << SBE_MD_IR_FILENAME << std::endl;
+            std::exit(EXIT_FAILURE);
+        }
+
+        headerDecoder_.reset(new OtfHeaderDecoder(irDecoder_.header()));
+        messageTokens_ = irDecoder_.message(static_cast<int>(headerDecoder_->getTemplateId(buffer_)));
+        if (nullptr == messageTokens_)
+        {
+            std::cerr << "message not found in IR " << SBE_MD_IR_FILENAME << std::endl;
+            std::exit(EXIT_FAILURE);
+        }
+
+        plan_.reset(new OtfDecodePlan(messageTokens_));
+    };
+
+    void tearDown() override
+    {
+        delete[] buffer_;
+    };
+
+    std::size_t decodeWithTokens(OtfMessageDecoder::BasicTokenListener &listener)
+    {
+        const std::size_t headerLength = headerDecoder_->encodedLength();
+
+        return OtfMessageDecoder::decode(
+            buffer_ + headerLength,
+            length_ - headerLength,
+            headerDecoder_->getSchemaVersion(buffer_),
+            headerDecoder_->getBlockLength(buffer_),
+            messageTokens_,
+            listener);
+    }
+
+    std::size_t decodeWithPlan(FinalValueSummingListener &listener)
+    {
+        const std::size_t headerLength = headerDecoder_->encodedLength();
+
+        return plan_->decode(
+            buffer_ + headerLength,
+            length_ - headerLength,
+            headerDecoder_->getSchemaVersion(buffer_),
+            headerDecoder_->getBlockLength(buffer_),
+            listener);
+    }
+
+    SbeMarketDataCodecBench codecBench_;
+    IrDecoder irDecoder_;
+    std::unique_ptr<OtfHeaderDecoder> headerDecoder_;
+    std::shared_ptr<std::vector<Token>> messageTokens_;
+    std::unique_ptr<OtfDecodePlan> plan_;
+    ValueSummingListener listener_;
+    FinalValueSummingListener finalListener_;
+    char *buffer_ = nullptr;
+    std::size_t length_ = 0;
+};
+
+static struct Benchmark::Config cfg[] =
+{
+    { Benchmark::ITERATIONS, "1000000" },
+    { Benchmark::BATCHES, "20" }
+};
+
+BENCHMARK_CONFIG(OtfMarketDataBench, RunSingleCompiledDecode, cfg)
+{
+    codecBench_.runDecode(buffer_, MAX_MD_BUFFER);
+}
+
+BENCHMARK_CONFIG(OtfMarketDataBench, RunSingleOtfMessageDecoderDecode, cfg)
+{
+    decodeWithTokens(listener_);
+}
+
+BENCHMARK_CONFIG(OtfMarketDataBench, RunSingleOtfDecodePlanDecode, cfg)
+{
+    decodeWithPlan(finalListener_);
+}
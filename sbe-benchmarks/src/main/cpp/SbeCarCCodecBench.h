@@ -0,0 +1,184 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+#ifndef _SBE_CAR_C_CODEC_BENCH_HPP
+#define _SBE_CAR_C_CODEC_BENCH_HPP
+
+#include <cstring>
+
+#include "CodecBench.h"
+#include "uk_co_real_logic_sbe_benchmarks/car.h"
+
+#define CAR(name) uk_co_real_logic_sbe_benchmarks_##name
+
+char VEHICLE_CODE[] = { 'a', 'b', 'c', 'd', 'e', 'f' };
+uint32_t SOME_NUMBERS[] = { 1, 2, 3, 4, 5 };
+char MANUFACTURER_CODE[] = { '1', '2', '3' };
+const char *MANUFACTURER = "Honda";
+size_t MANUFACTURER_LEN = strlen(MANUFACTURER);
+const char *MODEL = "Civic VTi";
+size_t MODEL_LEN = strlen(MODEL);
+
+/*
+ * Same encoding and decoding as SbeCarCodecBench using the codecs generated for C.
+ */
+class SbeCarCCodecBench : public CodecBench<SbeCarCCodecBench>
+{
+public:
+    std::uint64_t encode(char *buffer, const std::uint64_t bufferLength)
+    {
+        CAR(car_wrap_for_encode)(&car, buffer, 0, bufferLength);
+        CAR(car_set_serialNumber)(&car, 1234);
+        CAR(car_set_modelYear)(&car, 2013);
+        CAR(car_set_available)(&car, CAR(booleanType_T));
+        CAR(car_set_code)(&car, CAR(model_A));
+        CAR(car_put_vehicleCode)(&car, VEHICLE_CODE);
+        CAR(car_put_someNumbers)(&car, (char *)SOME_NUMBERS);
+
+        CAR(optionalExtras) extras = {};
+        CAR(car_extras)(&car, &extras);
+        CAR(optionalExtras_clear)(&extras);
+        CAR(optionalExtras_set_cruiseControl)(&extras, true);
+        CAR(optionalExtras_set_sportsPack)(&extras, true);
+        CAR(optionalExtras_set_sunRoof)(&extras, false);
+
+        CAR(engine) engine = {};
+        CAR(car_engine)(&car, &engine);
+        CAR(engine_set_capacity)(&engine, 2000);
+        CAR(engine_set_numCylinders)(&engine, (short)4);
+        CAR(engine_put_manufacturerCode)(&engine, MANUFACTURER_CODE);
+
+        CAR(car_fuelFigures) fuelFigures = {};
+        CAR(car_fuelFigures_set_count)(&car, &fuelFigures, 3);
+        CAR(car_fuelFigures_next)(&fuelFigures);
+        CAR(car_fuelFigures_set_speed)(&fuelFigures, 30);
+        CAR(car_fuelFigures_set_mpg)(&fuelFigures, 35.9f);
+        CAR(car_fuelFigures_next)(&fuelFigures);
+        CAR(car_fuelFigures_set_speed)(&fuelFigures, 55);
+        CAR(car_fuelFigures_set_mpg)(&fuelFigures, 49.0f);
+        CAR(car_fuelFigures_next)(&fuelFigures);
+        CAR(car_fuelFigures_set_speed)(&fuelFigures, 75);
+        CAR(car_fuelFigures_set_mpg)(&fuelFigures, 40.0f);
+
+        CAR(car_performanceFigures) performanceFigures = {};
+        CAR(car_performanceFigures_acceleration) acceleration = {};
+        CAR(car_performanceFigures_set_count)(&car, &performanceFigures, 2);
+
+        CAR(car_performanceFigures_next)(&performanceFigures);
+        CAR(car_performanceFigures_set_octaneRating)(&performanceFigures, (short)95);
+        CAR(car_performanceFigures_acceleration_set_count)(&performanceFigures, &acceleration, 3);
+        putAcceleration(acceleration, 30, 4.0f);
+        putAcceleration(acceleration, 60, 7.5f);
+        putAcceleration(acceleration, 100, 12.2f);
+
+        CAR(car_performanceFigures_next)(&performanceFigures);
+        CAR(car_performanceFigures_set_octaneRating)(&performanceFigures, (short)99);
+        CAR(car_performanceFigures_acceleration_set_count)(&performanceFigures, &acceleration, 3);
+        putAcceleration(acceleration, 30, 3.8f);
+        putAcceleration(acceleration, 60, 7.1f);
+        putAcceleration(acceleration, 100, 11.8f);
+
+        CAR(car_put_manufacturer)(&car, MANUFACTURER, static_cast<std::uint32_t>(MANUFACTURER_LEN));
+        CAR(car_put_model)(&car, MODEL, static_cast<std::uint32_t>(MODEL_LEN));
+
+        return CAR(car_encoded_length)(&car);
+    }
+
+    virtual std::uint64_t decode(const char *buffer, const std::uint64_t bufferLength)
+    {
+        CAR(car_wrap_for_decode)(
+            &car, (char *)buffer, 0, CAR(car_sbe_block_length)(), CAR(car_sbe_schema_version)(), bufferLength);
+
+        volatile int64_t tmpInt;
+        volatile const char *tmpChar;
+        volatile double tmpDouble;
+        volatile bool tmpBool;
+
+        CAR(booleanType) available = CAR(booleanType_F);
+        CAR(model) code = CAR(model_A);
+
+        tmpInt = CAR(car_serialNumber)(&car);
+        tmpInt = CAR(car_modelYear)(&car);
+        tmpBool = CAR(car_available)(&car, &available);
+        tmpInt = available;
+        tmpBool = CAR(car_code)(&car, &code);
+        tmpInt = code;
+        tmpChar = CAR(car_vehicleCode_buffer)(&car);
+        tmpChar = CAR(car_someNumbers_buffer)(&car);
+
+        CAR(optionalExtras) extras = {};
+        CAR(car_extras)(&car, &extras);
+        tmpBool = CAR(optionalExtras_cruiseControl)(&extras);
+        tmpBool = CAR(optionalExtras_sportsPack)(&extras);
+        tmpBool = CAR(optionalExtras_sunRoof)(&extras);
+
+        CAR(engine) engine = {};
+        CAR(car_engine)(&car, &engine);
+        tmpInt = CAR(engine_capacity)(&engine);
+        tmpInt = CAR(engine_numCylinders)(&engine);
+        tmpInt = CAR(engine_maxRpm)();
+        tmpChar = CAR(engine_manufacturerCode_buffer)(&engine);
+        tmpChar = CAR(engine_fuel)();
+
+        CAR(car_fuelFigures) fuelFigures = {};
+        CAR(car_get_fuelFigures)(&car, &fuelFigures);
+        while (CAR(car_fuelFigures_has_next)(&fuelFigures))
+        {
+            CAR(car_fuelFigures_next)(&fuelFigures);
+            tmpInt = CAR(car_fuelFigures_speed)(&fuelFigures);
+            tmpDouble = CAR(car_fuelFigures_mpg)(&fuelFigures);
+        }
+
+        CAR(car_performanceFigures) performanceFigures = {};
+        CAR(car_get_performanceFigures)(&car, &performanceFigures);
+        while (CAR(car_performanceFigures_has_next)(&performanceFigures))
+        {
+            CAR(car_performanceFigures_next)(&performanceFigures);
+            tmpInt = CAR(car_performanceFigures_octaneRating)(&performanceFigures);
+
+            CAR(car_performanceFigures_acceleration) acceleration = {};
+            CAR(car_performanceFigures_get_acceleration)(&performanceFigures, &acceleration);
+            while (CAR(car_performanceFigures_acceleration_has_next)(&acceleration))
+            {
+                CAR(car_performanceFigures_acceleration_next)(&acceleration);
+                tmpInt = CAR(car_performanceFigures_acceleration_mph)(&acceleration);
+                tmpDouble = CAR(car_performanceFigures_acceleration_seconds)(&acceleration);
+            }
+        }
+
+        tmpChar = CAR(car_manufacturer)(&car);
+        tmpChar = CAR(car_model)(&car);
+
+        static_cast<void>(tmpInt);
+        static_cast<void>(tmpChar);
+        static_cast<void>(tmpDouble);
+        static_cast<void>(tmpBool);
+
+        return CAR(car_encoded_length)(&car);
+    }
+
+private:
+    CAR(car) car = {};
+
+    static void putAcceleration(
+        CAR(car_performanceFigures_acceleration) &acceleration, const std::uint16_t mph, const float seconds)
+    {
+        CAR(car_performanceFigures_acceleration_next)(&acceleration);
+        CAR(car_performanceFigures_acceleration_set_mph)(&acceleration, mph);
+        CAR(car_performanceFigures_acceleration_set_seconds)(&acceleration, seconds);
+    }
+};
+
+#endif /* _SBE_CAR_C_CODEC_BENCH_HPP */
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.sbe.benchmarks.ladder.bigendian.BigEndianPriceLadderDecoder;
+import uk.co.real_logic.sbe.benchmarks.ladder.bigendian.BigEndianPriceLadderEncoder;
+import uk.co.real_logic.sbe.benchmarks.ladder.littleendian.LittleEndianPriceLadderDecoder;
+import uk.co.real_logic.sbe.benchmarks.ladder.littleendian.LittleEndianPriceLadderEncoder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compares encoding and decoding the fixed length arrays of a message one element at a time against the generated
+ * bulk array accessors, for schemas in both little-endian and big-endian byte order.
+ */
+public class ArrayAccessorBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class MyState
+    {
+        final LittleEndianPriceLadderEncoder littleEndianEncoder = new LittleEndianPriceLadderEncoder();
+        final LittleEndianPriceLadderDecoder littleEndianDecoder = new LittleEndianPriceLadderDecoder();
+        final BigEndianPriceLadderEncoder bigEndianEncoder = new BigEndianPriceLadderEncoder();
+        final BigEndianPriceLadderDecoder bigEndianDecoder = new BigEndianPriceLadderDecoder();
+
+        final UnsafeBuffer littleEndianBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(2048));
+        final UnsafeBuffer bigEndianBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(2048));
+
+        final double[] prices = new double[LittleEndianPriceLadderEncoder.pricesLength()];
+        final long[] quantities = new long[LittleEndianPriceLadderEncoder.quantitiesLength()];
+
+        @Setup
+        public void setup()
+        {
+            for (int i = 0; i < prices.length; i++)
+            {
+                prices[i] = 100.0 + (i * 0.25);
+                quantities[i] = 1000L + i;
+            }
+
+            final ArrayAccessorBenchmark benchmark = new ArrayAccessorBenchmark();
+            benchmark.testEncodeBulkLittleEndian(this);
+            benchmark.testEncodeBulkBigEndian(this);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testEncodeElementsLittleEndian(final MyState state)
+    {
+        final double[] prices = state.prices;
+        final long[] quantities = state.quantities;
+        final LittleEndianPriceLadderEncoder encoder = state.littleEndianEncoder.wrap(state.littleEndianBuffer, 0);
+
+        for (int i = 0; i < prices.length; i++)
+        {
+            encoder.prices(i, prices[i]);
+        }
+
+        for (int i = 0; i < quantities.length; i++)
+        {
+            encoder.quantities(i, quantities[i]);
+        }
+
+        return encoder.encodedLength();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testEncodeBulkLittleEndian(final MyState state)
+    {
+        final LittleEndianPriceLadderEncoder encoder = state.littleEndianEncoder.wrap(state.littleEndianBuffer, 0);
+
+        encoder.putPrices(state.prices, 0).putQuantities(state.quantities, 0);
+
+        return encoder.encodedLength();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public double testDecodeElementsLittleEndian(final MyState state)
+    {
+        final double[] prices = state.prices;
+        final long[] quantities = state.quantities;
+        final LittleEndianPriceLadderDecoder decoder = state.littleEndianDecoder.wrap(
+            state.littleEndianBuffer, 0, LittleEndianPriceLadderDecoder.BLOCK_LENGTH,
+            LittleEndianPriceLadderDecoder.SCHEMA_VERSION);
+
+        for (int i = 0; i < prices.length; i++)
+        {
+            prices[i] = decoder.prices(i);
+        }
+
+        for (int i = 0; i < quantities.length; i++)
+        {
+            quantities[i] = decoder.quantities(i);
+        }
+
+        return prices[prices.length - 1] + quantities[quantities.length - 1];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public double testDecodeBulkLittleEndian(final MyState state)
+    {
+        final double[] prices = state.prices;
+        final long[] quantities = state.quantities;
+        final LittleEndianPriceLadderDecoder decoder = state.littleEndianDecoder.wrap(
+            state.littleEndianBuffer, 0, LittleEndianPriceLadderDecoder.BLOCK_LENGTH,
+            LittleEndianPriceLadderDecoder.SCHEMA_VERSION);
+
+        decoder.getPrices(prices, 0);
+        decoder.getQuantities(quantities, 0);
+
+        return prices[prices.length - 1] + quantities[quantities.length - 1];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testEncodeElementsBigEndian(final MyState state)
+    {
+        final double[] prices = state.prices;
+        final long[] quantities = state.quantities;
+        final BigEndianPriceLadderEncoder encoder = state.bigEndianEncoder.wrap(state.bigEndianBuffer, 0);
+
+        for (int i = 0; i < prices.length; i++)
+        {
+            encoder.prices(i, prices[i]);
+        }
+
+        for (int i = 0; i < quantities.length; i++)
+        {
+            encoder.quantities(i, quantities[i]);
+        }
+
+        return encoder.encodedLength();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testEncodeBulkBigEndian(final MyState state)
+    {
+        final BigEndianPriceLadderEncoder encoder = state.bigEndianEncoder.wrap(state.bigEndianBuffer, 0);
+
+        encoder.putPrices(state.prices, 0).putQuantities(state.quantities, 0);
+
+        return encoder.encodedLength();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public double testDecodeElementsBigEndian(final MyState state)
+    {
+        final double[] prices = state.prices;
+        final long[] quantities = state.quantities;
+        final BigEndianPriceLadderDecoder decoder = state.bigEndianDecoder.wrap(
+            state.bigEndianBuffer, 0, BigEndianPriceLadderDecoder.BLOCK_LENGTH,
+            BigEndianPriceLadderDecoder.SCHEMA_VERSION);
+
+        for (int i = 0; i < prices.length; i++)
+        {
+            prices[i] = decoder.prices(i);
+        }
+
+        for (int i = 0; i < quantities.length; i++)
+        {
+            quantities[i] = decoder.quantities(i);
+        }
+
+        return prices[prices.length - 1] + quantities[quantities.length - 1];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public double testDecodeBulkBigEndian(final MyState state)
+    {
+        final double[] prices = state.prices;
+        final long[] quantities = state.quantities;
+        final BigEndianPriceLadderDecoder decoder = state.bigEndianDecoder.wrap(
+            state.bigEndianBuffer, 0, BigEndianPriceLadderDecoder.BLOCK_LENGTH,
+            BigEndianPriceLadderDecoder.SCHEMA_VERSION);
+
+        decoder.getPrices(prices, 0);
+        decoder.getQuantities(quantities, 0);
+
+        return prices[prices.length - 1] + quantities[quantities.length - 1];
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+import uk.co.real_logic.sbe.json.JsonToSbeEncoder;
+import uk.co.real_logic.sbe.xml.IrGenerator;
+import uk.co.real_logic.sbe.xml.ParserOptions;
+import uk.co.real_logic.sbe.xml.XmlSchemaParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static uk.co.real_logic.sbe.ir.Signal.ENCODING;
+
+/**
+ * Schemas of increasing size, and sample messages for them, shared by the benchmarks which are parameterised by
+ * schema.
+ */
+final class BenchmarkSchemas
+{
+    /**
+     * Name of the generated schema with {@link #SYNTHETIC_MESSAGE_COUNT} messages containing nested groups.
+     */
+    static final String SYNTHETIC = "synthetic";
+
+    static final int SYNTHETIC_MESSAGE_COUNT = 500;
+    static final int GROUP_ELEMENT_COUNT = 2;
+
+    private BenchmarkSchemas()
+    {
+    }
+
+    /**
+     * Get the XML for a schema resource on the class path or the {@link #SYNTHETIC} schema.
+     *
+     * @param schema resource name or {@link #SYNTHETIC}.
+     * @return the UTF-8 encoded XML of the schema.
+     */
+    static byte[] schemaXml(final String schema)
+    {
+        if (SYNTHETIC.equals(schema))
+        {
+            return syntheticSchemaXml(SYNTHETIC_MESSAGE_COUNT).getBytes(StandardCharsets.UTF_8);
+        }
+
+        try (InputStream in = BenchmarkSchemas.class.getClassLoader().getResourceAsStream(schema))
+        {
+            if (null == in)
+            {
+                throw new IllegalArgumentException("schema not found: " + schema);
+            }
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] bytes = new byte[4096];
+            int length;
+            while ((length = in.read(bytes)) > 0)
+            {
+                out.write(bytes, 0, length);
+            }
+
+            return out.toByteArray();
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return null;
+        }
+    }
+
+    /**
+     * Parse the XML of a schema and generate its {@link Ir}.
+     *
+     * @param schemaXml the UTF-8 encoded XML of the schema.
+     * @return the {@link Ir} for the schema.
+     */
+    static Ir parseIr(final byte[] schemaXml)
+    {
+        try (InputStream in = new ByteArrayInputStream(schemaXml))
+        {
+            return new IrGenerator().generate(XmlSchemaParser.parse(in, ParserOptions.DEFAULT));
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return null;
+        }
+    }
+
+    /**
+     * Encode a sample message, including the header, for each message in the {@link Ir}.
+     * <p>
+     * Scalar and char array fields are populated, each group has {@link #GROUP_ELEMENT_COUNT} elements at every
+     * level of nesting, and var data is populated. Other fields are encoded as null values.
+     *
+     * @param ir for the messages.
+     * @return a buffer containing each encoded message in the order of {@link Ir#messages()}.
+     */
+    static UnsafeBuffer[] sampleMessages(final Ir ir)
+    {
+        final JsonToSbeEncoder encoder = new JsonToSbeEncoder(ir);
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(64 * 1024);
+        final UnsafeBuffer[] messages = new UnsafeBuffer[ir.messages().size()];
+        final StringBuilder sb = new StringBuilder();
+
+        int i = 0;
+        for (final List<Token> tokens : ir.messages())
+        {
+            sb.setLength(0);
+            appendSampleBlock(sb, tokens, 1, tokens.size() - 1);
+
+            final int length = encoder.encode(tokens.get(0).id(), sb.toString(), buffer, 0);
+            final UnsafeBuffer message = new UnsafeBuffer(ByteBuffer.allocateDirect(length));
+            message.putBytes(0, buffer, 0, length);
+            messages[i++] = message;
+        }
+
+        return messages;
+    }
+
+    /**
+     * Generate a schema with a number of messages, each of which has a mix of field types, a group containing a
+     * nested group, and var data.
+     *
+     * @param messageCount of messages in the schema.
+     * @return the XML of the schema.
+     */
+    static String syntheticSchemaXml(final int messageCount)
+    {
+        final StringBuilder sb = new StringBuilder(messageCount * 1024);
+        sb.append(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<sbe:messageSchema xmlns:sbe=\"http://fixprotocol.io/2016/sbe\"\n" +
+            "                   package=\"uk.co.real_logic.sbe.benchmarks.synthetic\"\n" +
+            "                   id=\"99\" version=\"0\" byteOrder=\"littleEndian\">\n" +
+            "    <types>\n" +
+            "        <composite name=\"messageHeader\">\n" +
+            "            <type name=\"blockLength\" primitiveType=\"uint16\"/>\n" +
+            "            <type name=\"templateId\" primitiveType=\"uint16\"/>\n" +
+            "            <type name=\"schemaId\" primitiveType=\"uint16\"/>\n" +
+            "            <type name=\"version\" primitiveType=\"uint16\"/>\n" +
+            "        </composite>\n" +
+            "        <composite name=\"groupSizeEncoding\">\n" +
+            "            <type name=\"blockLength\" primitiveType=\"uint16\"/>\n" +
+            "            <type name=\"numInGroup\" primitiveType=\"uint16\"/>\n" +
+            "        </composite>\n" +
+            "        <composite name=\"varStringEncoding\">\n" +
+            "            <type name=\"length\" primitiveType=\"uint32\" maxValue=\"1073741824\"/>\n" +
+            "            <type name=\"varData\" primitiveType=\"uint8\" length=\"0\" characterEncoding=\"UTF-8\"/>\n" +
+            "        </composite>\n" +
+            "        <composite name=\"Decimal64\">\n" +
+            "            <type name=\"mantissa\" primitiveType=\"int64\"/>\n" +
+            "            <type name=\"exponent\" primitiveType=\"int8\"/>\n" +
+            "        </composite>\n" +
+            "        <type name=\"Symbol\" primitiveType=\"char\" length=\"8\" characterEncoding=\"US-ASCII\"/>\n" +
+            "        <enum name=\"Side\" encodingType=\"uint8\">\n" +
+            "            <validValue name=\"Buy\">1</validValue>\n" +
+            "            <validValue name=\"Sell\">2</validValue>\n" +
+            "        </enum>\n" +
+            "        <set name=\"Flags\" encodingType=\"uint8\">\n" +
+            "            <choice name=\"Urgent\">0</choice>\n" +
+            "            <choice name=\"Hidden\">1</choice>\n" +
+            "        </set>\n" +
+            "    </types>\n");
+
+        for (int i = 1; i <= messageCount; i++)
+        {
+            sb.append("    <sbe:message name=\"Message").append(i).append("\" id=\"").append(i).append("\">\n")
+                .append("        <field name=\"id\" id=\"1\" type=\"uint64\"/>\n")
+                .append("        <field name=\"timestamp\" id=\"2\" type=\"int64\"/>\n")
+                .append("        <field name=\"price\" id=\"3\" type=\"Decimal64\"/>\n")
+                .append("        <field name=\"quantity\" id=\"4\" type=\"int32\"/>\n")
+                .append("        <field name=\"symbol\" id=\"5\" type=\"Symbol\"/>\n")
+                .append("        <field name=\"side\" id=\"6\" type=\"Side\"/>\n")
+                .append("        <field name=\"flags\" id=\"7\" type=\"Flags\"/>\n");
+
+            for (int j = 0, extraFields = i % 8; j < extraFields; j++)
+            {
+                sb.append("        <field name=\"extra").append(j).append("\" id=\"").append(30 + j)
+                    .append("\" type=\"uint32\"/>\n");
+            }
+
+            sb.append("        <group name=\"entries\" id=\"10\" dimensionType=\"groupSizeEncoding\">\n")
+                .append("            <field name=\"entryId\" id=\"11\" type=\"uint32\"/>\n")
+                .append("            <field name=\"entryPrice\" id=\"12\" type=\"Decimal64\"/>\n")
+                .append("            <group name=\"legs\" id=\"13\" dimensionType=\"groupSizeEncoding\">\n")
+                .append("                <field name=\"legId\" id=\"14\" type=\"uint32\"/>\n")
+                .append("                <field name=\"legSide\" id=\"15\" type=\"Side\"/>\n")
+                .append("            </group>\n")
+                .append("        </group>\n")
+                .append("        <data name=\"text\" id=\"20\" type=\"varStringEncoding\"/>\n")
+                .append("    </sbe:message>\n");
+        }
+
+        sb.append("</sbe:messageSchema>\n");
+
+        return sb.toString();
+    }
+
+    private static void appendSampleBlock(
+        final StringBuilder sb, final List<Token> tokens, final int fromIndex, final int toIndex)
+    {
+        String separator = "";
+        sb.append('{');
+
+        for (int i = fromIndex; i < toIndex; )
+        {
+            final Token token = tokens.get(i);
+            switch (token.signal())
+            {
+                case BEGIN_FIELD:
+                {
+                    final Token typeToken = tokens.get(i + 1);
+                    if (ENCODING == typeToken.signal() &&
+                        !typeToken.isConstantEncoding() &&
+                        !token.isConstantEncoding())
+                    {
+                        sb.append(separator).append('"').append(token.name()).append("\": ");
+                        appendSampleValue(sb, typeToken);
+                        separator = ", ";
+                    }
+                    break;
+                }
+
+                case BEGIN_GROUP:
+                {
+                    final int dimensionsTokenCount = tokens.get(i + 1).componentTokenCount();
+                    sb.append(separator).append('"').append(token.name()).append("\": [");
+                    for (int j = 0; j < GROUP_ELEMENT_COUNT; j++)
+                    {
+                        sb.append(0 == j ? "" : ", ");
+                        appendSampleBlock(
+                            sb, tokens, i + 1 + dimensionsTokenCount, i + token.componentTokenCount() - 1);
+                    }
+                    sb.append(']');
+                    separator = ", ";
+                    break;
+                }
+
+                case BEGIN_VAR_DATA:
+                {
+                    final boolean isText = null != tokens.get(i + 3).encoding().characterEncoding();
+                    sb.append(separator).append('"').append(token.name()).append("\": ")
+                        .append(isText ? "\"sample var data\"" : "\"000102030405060708090a0b0c0d0e0f\"");
+                    separator = ", ";
+                    break;
+                }
+
+                default:
+                    break;
+            }
+
+            i += Math.max(1, token.componentTokenCount());
+        }
+
+        sb.append('}');
+    }
+
+    private static void appendSampleValue(final StringBuilder sb, final Token typeToken)
+    {
+        final PrimitiveType type = typeToken.encoding().primitiveType();
+        final int arrayLength = typeToken.arrayLength();
+
+        if (PrimitiveType.CHAR == type && arrayLength > 1)
+        {
+            sb.append('"').append("abcdefgh", 0, Math.min(arrayLength, 8)).append('"');
+        }
+        else if (arrayLength > 1)
+        {
+            sb.append('[');
+            for (int i = 0; i < arrayLength; i++)
+            {
+                sb.append(0 == i ? "" : ", ").append(i);
+            }
+            sb.append(']');
+        }
+        else
+        {
+            sb.append(PrimitiveType.CHAR == type ? "65" : "42");
+        }
+    }
+}
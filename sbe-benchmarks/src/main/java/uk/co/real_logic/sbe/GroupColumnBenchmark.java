@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.sbe.benchmarks.fix.MarketDataIncrementalRefreshTradesDecoder;
+import uk.co.real_logic.sbe.benchmarks.fix.MarketDataIncrementalRefreshTradesEncoder;
+import uk.co.real_logic.sbe.benchmarks.fix.MessageHeaderDecoder;
+import uk.co.real_logic.sbe.benchmarks.fix.MessageHeaderEncoder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compares encoding and decoding the trade id and price of a large repeating group one element at a time against
+ * the generated column accessors.
+ */
+public class GroupColumnBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class MyState
+    {
+        @Param({ "16", "1024" })
+        int count;
+
+        final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
+        final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+        final MarketDataIncrementalRefreshTradesEncoder marketDataEncoder =
+            new MarketDataIncrementalRefreshTradesEncoder();
+        final MarketDataIncrementalRefreshTradesDecoder marketDataDecoder =
+            new MarketDataIncrementalRefreshTradesDecoder();
+
+        UnsafeBuffer buffer;
+        long[] tradeIds;
+        long[] prices;
+
+        @Setup
+        public void setup()
+        {
+            buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(
+                128 + (count * MarketDataIncrementalRefreshTradesEncoder.MdIncGrpEncoder.sbeBlockLength())));
+            tradeIds = new long[count];
+            prices = new long[count];
+
+            for (int i = 0; i < count; i++)
+            {
+                tradeIds[i] = 1000 + i;
+                prices[i] = 50 + (i % 7);
+            }
+
+            new GroupColumnBenchmark().testEncodeColumns(this);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testEncodeElements(final MyState state)
+    {
+        final long[] tradeIds = state.tradeIds;
+        final long[] prices = state.prices;
+        final MarketDataIncrementalRefreshTradesEncoder marketData = state.marketDataEncoder
+            .wrapAndApplyHeader(state.buffer, 0, state.messageHeaderEncoder);
+
+        final MarketDataIncrementalRefreshTradesEncoder.MdIncGrpEncoder mdIncGrp =
+            marketData.mdIncGrpCount(state.count);
+        for (int i = 0; i < tradeIds.length; i++)
+        {
+            mdIncGrp.next().tradeId(tradeIds[i]).mdEntryPx().mantissa(prices[i]);
+        }
+
+        return marketData.encodedLength();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testEncodeColumns(final MyState state)
+    {
+        final MarketDataIncrementalRefreshTradesEncoder marketData = state.marketDataEncoder
+            .wrapAndApplyHeader(state.buffer, 0, state.messageHeaderEncoder);
+
+        marketData.mdIncGrpCount(state.count)
+            .putTradeIdColumn(state.tradeIds, 0)
+            .putMdEntryPxMantissaColumn(state.prices, 0);
+
+        return marketData.encodedLength();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public long testDecodeElements(final MyState state)
+    {
+        final long[] tradeIds = state.tradeIds;
+        final long[] prices = state.prices;
+        final MarketDataIncrementalRefreshTradesDecoder.MdIncGrpDecoder mdIncGrp = wrap(state).mdIncGrp();
+
+        int i = 0;
+        while (mdIncGrp.hasNext())
+        {
+            mdIncGrp.next();
+            tradeIds[i] = mdIncGrp.tradeId();
+            prices[i++] = mdIncGrp.mdEntryPx().mantissa();
+        }
+
+        return tradeIds[i - 1] + prices[i - 1];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public long testDecodeColumns(final MyState state)
+    {
+        final long[] tradeIds = state.tradeIds;
+        final long[] prices = state.prices;
+        final MarketDataIncrementalRefreshTradesDecoder.MdIncGrpDecoder mdIncGrp = wrap(state).mdIncGrp();
+
+        final int count = mdIncGrp.getTradeIdColumn(tradeIds, 0);
+        mdIncGrp.getMdEntryPxMantissaColumn(prices, 0);
+
+        return tradeIds[count - 1] + prices[count - 1];
+    }
+
+    private static MarketDataIncrementalRefreshTradesDecoder wrap(final MyState state)
+    {
+        final MessageHeaderDecoder messageHeader = state.messageHeaderDecoder.wrap(state.buffer, 0);
+
+        return state.marketDataDecoder.wrap(
+            state.buffer, messageHeader.encodedLength(), messageHeader.blockLength(), messageHeader.version());
+    }
+}
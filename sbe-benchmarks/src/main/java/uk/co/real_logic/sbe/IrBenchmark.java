@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.IrDecoder;
+import uk.co.real_logic.sbe.ir.IrEncoder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Benchmarks for parsing a schema into {@link Ir}, and encoding and decoding the serialised form of {@link Ir}, for
+ * schemas of increasing size.
+ * <p>
+ * Run with {@code -prof gc} to see the allocation rate of each.
+ */
+public class IrBenchmark
+{
+    private static final int IR_BUFFER_CAPACITY = 64 * 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class MyState
+    {
+        @Param({ "car.xml", "fix-message-samples.xml", BenchmarkSchemas.SYNTHETIC })
+        String schema;
+
+        byte[] schemaXml;
+        Ir ir;
+        ByteBuffer encodeBuffer;
+        ByteBuffer encodedIr;
+        long templateId;
+
+        @Setup
+        public void setup()
+        {
+            schemaXml = BenchmarkSchemas.schemaXml(schema);
+            ir = BenchmarkSchemas.parseIr(schemaXml);
+            encodeBuffer = ByteBuffer.allocateDirect(IR_BUFFER_CAPACITY);
+
+            try (IrEncoder irEncoder = new IrEncoder(encodeBuffer, ir))
+            {
+                final int length = irEncoder.encode();
+                encodedIr = ByteBuffer.allocateDirect(length);
+                encodeBuffer.flip();
+                encodedIr.put(encodeBuffer).flip();
+            }
+
+            templateId = ir.messages().iterator().next().get(0).id();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Ir testParseSchema(final MyState state)
+    {
+        return BenchmarkSchemas.parseIr(state.schemaXml);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public int testEncodeIr(final MyState state)
+    {
+        final ByteBuffer buffer = state.encodeBuffer;
+        buffer.clear();
+
+        try (IrEncoder irEncoder = new IrEncoder(buffer, state.ir))
+        {
+            return irEncoder.encode();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Ir testDecodeIr(final MyState state)
+    {
+        try (IrDecoder irDecoder = new IrDecoder(state.encodedIr))
+        {
+            return irDecoder.decode();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Ir testDecodeIrLazilyThenGetMessage(final MyState state)
+    {
+        try (IrDecoder irDecoder = new IrDecoder(state.encodedIr))
+        {
+            final Ir ir = irDecoder.decodeLazily();
+            ir.getMessage(state.templateId);
+
+            return ir;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.sbe.benchmarks.CarEncoder;
+import uk.co.real_logic.sbe.benchmarks.MessageHeaderEncoder;
+import uk.co.real_logic.sbe.json.JsonPrinter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compares printing the car message as JSON to a {@link StringBuilder} against printing UTF-8 directly to a buffer.
+ * <p>
+ * Run with {@code -prof gc} to see the allocation rate of each.
+ */
+public class JsonPrinterBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class MyState
+    {
+        final int bufferIndex = 0;
+        final UnsafeBuffer decodeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+        final StringBuilder output = new StringBuilder(2048);
+        final ExpandableDirectByteBuffer outputBuffer = new ExpandableDirectByteBuffer(2048);
+        final JsonPrinter printer;
+
+        {
+            CarBenchmark.encode(new MessageHeaderEncoder(), new CarEncoder(), decodeBuffer, bufferIndex);
+            printer = new JsonPrinter(OtfBenchmark.loadIr("car.xml"));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testPrintToStringBuilder(final MyState state)
+    {
+        final StringBuilder output = state.output;
+        output.setLength(0);
+        state.printer.print(output, state.decodeBuffer, state.bufferIndex);
+
+        return output.length();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testPrintToBuffer(final MyState state)
+    {
+        return state.printer.print(state.decodeBuffer, state.bufferIndex, state.outputBuffer, 0);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.sbe.benchmarks.CarEncoder;
+import uk.co.real_logic.sbe.benchmarks.MessageHeaderEncoder;
+import uk.co.real_logic.sbe.ir.CompactIr;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+import uk.co.real_logic.sbe.otf.AbstractCompactTokenListener;
+import uk.co.real_logic.sbe.otf.AbstractTokenListener;
+import uk.co.real_logic.sbe.otf.CompiledMessageDecoder;
+import uk.co.real_logic.sbe.otf.MessageProjection;
+import uk.co.real_logic.sbe.otf.OtfHeaderDecoder;
+import uk.co.real_logic.sbe.otf.OtfMessageDecoder;
+import uk.co.real_logic.sbe.xml.IrGenerator;
+import uk.co.real_logic.sbe.xml.ParserOptions;
+import uk.co.real_logic.sbe.xml.XmlSchemaParser;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Compares interpreting the IR token list with {@link OtfMessageDecoder} against a precompiled
+ * {@link CompiledMessageDecoder} plan when decoding the car message on-the-fly, and a plan compiled with a
+ * {@link MessageProjection} of a few fields which skips the rest of the message. Interpreting a {@link CompactIr}
+ * with {@link OtfMessageDecoder} is included to compare walking primitive arrays against the token list.
+ */
+public class OtfBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class MyState
+    {
+        final int bufferIndex = 0;
+        final UnsafeBuffer decodeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+        final CountingTokenListener listener = new CountingTokenListener();
+        final CountingCompactTokenListener compactListener = new CountingCompactTokenListener();
+
+        final OtfHeaderDecoder headerDecoder;
+        final List<Token> msgTokens;
+        final CompactIr compactIr;
+        final int messageIndex;
+        final CompiledMessageDecoder compiledDecoder;
+        final CompiledMessageDecoder projectedDecoder;
+
+        {
+            CarBenchmark.encode(new MessageHeaderEncoder(), new CarEncoder(), decodeBuffer, bufferIndex);
+
+            final Ir ir = loadIr("car.xml");
+            headerDecoder = new OtfHeaderDecoder(ir.headerStructure());
+            msgTokens = ir.getMessage(headerDecoder.getTemplateId(decodeBuffer, bufferIndex));
+            compactIr = new CompactIr(ir);
+            messageIndex = compactIr.messageIndex(headerDecoder.getTemplateId(decodeBuffer, bufferIndex));
+            compiledDecoder = new CompiledMessageDecoder(msgTokens);
+            projectedDecoder = new CompiledMessageDecoder(
+                msgTokens, new MessageProjection().path("serialNumber").path("model"));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testOtfMessageDecoder(final MyState state)
+    {
+        final OtfHeaderDecoder headerDecoder = state.headerDecoder;
+        final UnsafeBuffer buffer = state.decodeBuffer;
+        final int bufferIndex = state.bufferIndex;
+
+        return OtfMessageDecoder.decode(
+            buffer,
+            bufferIndex + headerDecoder.encodedLength(),
+            headerDecoder.getSchemaVersion(buffer, bufferIndex),
+            headerDecoder.getBlockLength(buffer, bufferIndex),
+            state.msgTokens,
+            state.listener);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testCompactIrMessageDecoder(final MyState state)
+    {
+        final OtfHeaderDecoder headerDecoder = state.headerDecoder;
+        final UnsafeBuffer buffer = state.decodeBuffer;
+        final int bufferIndex = state.bufferIndex;
+
+        return OtfMessageDecoder.decode(
+            buffer,
+            bufferIndex + headerDecoder.encodedLength(),
+            headerDecoder.getSchemaVersion(buffer, bufferIndex),
+            headerDecoder.getBlockLength(buffer, bufferIndex),
+            state.compactIr,
+            state.messageIndex,
+            state.compactListener);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testCompiledMessageDecoder(final MyState state)
+    {
+        final OtfHeaderDecoder headerDecoder = state.headerDecoder;
+        final UnsafeBuffer buffer = state.decodeBuffer;
+        final int bufferIndex = state.bufferIndex;
+
+        return state.compiledDecoder.decode(
+            buffer,
+            bufferIndex + headerDecoder.encodedLength(),
+            headerDecoder.getSchemaVersion(buffer, bufferIndex),
+            headerDecoder.getBlockLength(buffer, bufferIndex),
+            state.listener);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testProjectedMessageDecoder(final MyState state)
+    {
+        final OtfHeaderDecoder headerDecoder = state.headerDecoder;
+        final UnsafeBuffer buffer = state.decodeBuffer;
+        final int bufferIndex = state.bufferIndex;
+
+        return state.projectedDecoder.decode(
+            buffer,
+            bufferIndex + headerDecoder.encodedLength(),
+            headerDecoder.getSchemaVersion(buffer, bufferIndex),
+            headerDecoder.getBlockLength(buffer, bufferIndex),
+            state.listener);
+    }
+
+    static Ir loadIr(final String schemaResource)
+    {
+        try (InputStream in = OtfBenchmark.class.getClassLoader().getResourceAsStream(schemaResource))
+        {
+            return new IrGenerator().generate(XmlSchemaParser.parse(in, ParserOptions.DEFAULT));
+        }
+        catch (final Exception ex)
+        {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    static final class CountingTokenListener extends AbstractTokenListener
+    {
+        long count;
+
+        public void onEncoding(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final Token typeToken,
+            final int actingVersion)
+        {
+            count += buffer.getByte(bufferIndex);
+        }
+
+        public void onVarData(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int length,
+            final Token typeToken)
+        {
+            count += length;
+        }
+    }
+
+    static final class CountingCompactTokenListener extends AbstractCompactTokenListener
+    {
+        long count;
+
+        public void onEncoding(
+            final CompactIr ir,
+            final int fieldTokenIndex,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int typeTokenIndex,
+            final int actingVersion)
+        {
+            count += buffer.getByte(bufferIndex);
+        }
+
+        public void onVarData(
+            final CompactIr ir,
+            final int fieldTokenIndex,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int length,
+            final int typeTokenIndex)
+        {
+            count += length;
+        }
+    }
+
+    /*
+     * Benchmarks to allow execution outside JMH.
+     */
+
+    public static void main(final String[] args)
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            perfTestOtfMessageDecoder(i);
+            perfTestCompiledMessageDecoder(i);
+        }
+    }
+
+    private static void perfTestOtfMessageDecoder(final int runNumber)
+    {
+        final int reps = 10 * 1000 * 1000;
+        final MyState state = new MyState();
+        final OtfBenchmark benchmark = new OtfBenchmark();
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < reps; i++)
+        {
+            benchmark.testOtfMessageDecoder(state);
+        }
+
+        final long totalDuration = System.nanoTime() - start;
+
+        System.out.printf(
+            "%d - %d(ns) average duration for %s.testOtfMessageDecoder()%n",
+            runNumber,
+            totalDuration / reps,
+            benchmark.getClass().getName());
+    }
+
+    private static void perfTestCompiledMessageDecoder(final int runNumber)
+    {
+        final int reps = 10 * 1000 * 1000;
+        final MyState state = new MyState();
+        final OtfBenchmark benchmark = new OtfBenchmark();
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < reps; i++)
+        {
+            benchmark.testCompiledMessageDecoder(state);
+        }
+
+        final long totalDuration = System.nanoTime() - start;
+
+        System.out.printf(
+            "%d - %d(ns) average duration for %s.testCompiledMessageDecoder()%n",
+            runNumber,
+            totalDuration / reps,
+            benchmark.getClass().getName());
+    }
+}
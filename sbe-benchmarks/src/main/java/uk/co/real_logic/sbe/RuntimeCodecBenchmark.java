@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.sbe.MessageDecoderFlyweight;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.sbe.benchmarks.CarDecoder;
+import uk.co.real_logic.sbe.benchmarks.CarEncoder;
+import uk.co.real_logic.sbe.benchmarks.MessageHeaderDecoder;
+import uk.co.real_logic.sbe.benchmarks.MessageHeaderEncoder;
+import uk.co.real_logic.sbe.generation.java.RuntimeCodecFactory;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+import uk.co.real_logic.sbe.otf.OtfMessageDecoder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Compares walking the full structure of the car message, including groups and var data, with a build time
+ * generated decoder, a decoder generated at runtime by {@link RuntimeCodecFactory}, and the {@link OtfMessageDecoder}.
+ */
+public class RuntimeCodecBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class MyState
+    {
+        final int bufferIndex = 0;
+        final UnsafeBuffer decodeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+
+        final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+        final CarDecoder carDecoder = new CarDecoder();
+        final MessageDecoderFlyweight runtimeCarDecoder;
+        final List<Token> msgTokens;
+        final OtfBenchmark.CountingTokenListener listener = new OtfBenchmark.CountingTokenListener();
+
+        {
+            CarBenchmark.encode(new MessageHeaderEncoder(), new CarEncoder(), decodeBuffer, bufferIndex);
+
+            final Ir ir = OtfBenchmark.loadIr("car.xml");
+            runtimeCarDecoder = new RuntimeCodecFactory(ir).newDecoder(CarDecoder.TEMPLATE_ID);
+            msgTokens = ir.getMessage(CarDecoder.TEMPLATE_ID);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testGeneratedDecoder(final MyState state)
+    {
+        final MessageHeaderDecoder messageHeader = state.messageHeaderDecoder.wrap(state.decodeBuffer, 0);
+
+        return state.carDecoder.wrap(
+            state.decodeBuffer,
+            state.bufferIndex + messageHeader.encodedLength(),
+            messageHeader.blockLength(),
+            messageHeader.version()).sbeDecodedLength();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testRuntimeGeneratedDecoder(final MyState state)
+    {
+        final MessageHeaderDecoder messageHeader = state.messageHeaderDecoder.wrap(state.decodeBuffer, 0);
+
+        return state.runtimeCarDecoder.wrap(
+            state.decodeBuffer,
+            state.bufferIndex + messageHeader.encodedLength(),
+            messageHeader.blockLength(),
+            messageHeader.version()).sbeDecodedLength();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int testOtfMessageDecoder(final MyState state)
+    {
+        final MessageHeaderDecoder messageHeader = state.messageHeaderDecoder.wrap(state.decodeBuffer, 0);
+        final int offset = state.bufferIndex + messageHeader.encodedLength();
+
+        return OtfMessageDecoder.decode(
+            state.decodeBuffer,
+            offset,
+            messageHeader.version(),
+            messageHeader.blockLength(),
+            state.msgTokens,
+            state.listener) - offset;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+import uk.co.real_logic.sbe.json.JsonPrinter;
+import uk.co.real_logic.sbe.otf.CompiledMessageDecoder;
+import uk.co.real_logic.sbe.otf.OtfHeaderDecoder;
+import uk.co.real_logic.sbe.otf.OtfMessageDecoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks for on-the-fly decoding and JSON printing of a sample of every message in schemas of increasing size.
+ * <p>
+ * Each operation decodes or prints one message, cycling through the messages of the schema.
+ * Run with {@code -prof gc} to see the allocation rate of each.
+ */
+public class SchemaMessageBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class MyState
+    {
+        @Param({ "car.xml", "fix-message-samples.xml", BenchmarkSchemas.SYNTHETIC })
+        String schema;
+
+        final OtfBenchmark.CountingTokenListener listener = new OtfBenchmark.CountingTokenListener();
+        final StringBuilder output = new StringBuilder(4096);
+        final ExpandableDirectByteBuffer outputBuffer = new ExpandableDirectByteBuffer(4096);
+
+        OtfHeaderDecoder headerDecoder;
+        JsonPrinter printer;
+        UnsafeBuffer[] messages;
+        List<List<Token>> msgTokens;
+        CompiledMessageDecoder[] compiledDecoders;
+        int nextIndex;
+
+        @Setup
+        public void setup()
+        {
+            final Ir ir = BenchmarkSchemas.parseIr(BenchmarkSchemas.schemaXml(schema));
+            headerDecoder = new OtfHeaderDecoder(ir.headerStructure());
+            printer = new JsonPrinter(ir);
+            messages = BenchmarkSchemas.sampleMessages(ir);
+            msgTokens = new ArrayList<>(messages.length);
+            compiledDecoders = new CompiledMessageDecoder[messages.length];
+
+            for (int i = 0; i < messages.length; i++)
+            {
+                final List<Token> tokens = ir.getMessage(headerDecoder.getTemplateId(messages[i], 0));
+                msgTokens.add(tokens);
+                compiledDecoders[i] = new CompiledMessageDecoder(tokens);
+            }
+        }
+
+        int nextIndex()
+        {
+            final int index = nextIndex;
+            nextIndex = index + 1 == messages.length ? 0 : index + 1;
+
+            return index;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public int testOtfMessageDecoder(final MyState state)
+    {
+        final int index = state.nextIndex();
+        final OtfHeaderDecoder headerDecoder = state.headerDecoder;
+        final UnsafeBuffer buffer = state.messages[index];
+
+        return OtfMessageDecoder.decode(
+            buffer,
+            headerDecoder.encodedLength(),
+            headerDecoder.getSchemaVersion(buffer, 0),
+            headerDecoder.getBlockLength(buffer, 0),
+            state.msgTokens.get(index),
+            state.listener);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public int testCompiledMessageDecoder(final MyState state)
+    {
+        final int index = state.nextIndex();
+        final OtfHeaderDecoder headerDecoder = state.headerDecoder;
+        final UnsafeBuffer buffer = state.messages[index];
+
+        return state.compiledDecoders[index].decode(
+            buffer,
+            headerDecoder.encodedLength(),
+            headerDecoder.getSchemaVersion(buffer, 0),
+            headerDecoder.getBlockLength(buffer, 0),
+            state.listener);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public int testJsonPrintToStringBuilder(final MyState state)
+    {
+        final StringBuilder output = state.output;
+        output.setLength(0);
+        state.printer.print(output, state.messages[state.nextIndex()], 0);
+
+        return output.length();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public int testJsonPrintToBuffer(final MyState state)
+    {
+        return state.printer.print(state.messages[state.nextIndex()], 0, state.outputBuffer, 0);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.agrona.LangUtil;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.sbe.xml.MessageSchema;
+import uk.co.real_logic.sbe.xml.ParserOptions;
+import uk.co.real_logic.sbe.xml.XmlSchemaParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for parsing large synthetic schemas with {@link XmlSchemaParser} to show how parse time scales with the
+ * number of messages.
+ * <p>
+ * Run {@link #main(String[])} to also report the peak heap used while parsing each schema.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SchemaParseBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class MyState
+    {
+        @Param({ "500", "2000", "5000" })
+        int messageCount;
+
+        byte[] schemaXml;
+
+        @Setup
+        public void setup()
+        {
+            schemaXml = BenchmarkSchemas.syntheticSchemaXml(messageCount).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public MessageSchema testParseSchema(final MyState state)
+    {
+        return parse(state.schemaXml);
+    }
+
+    private static MessageSchema parse(final byte[] schemaXml)
+    {
+        try (InputStream in = new ByteArrayInputStream(schemaXml))
+        {
+            return XmlSchemaParser.parse(in, ParserOptions.DEFAULT);
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return null;
+        }
+    }
+
+    /*
+     * Benchmarks to allow execution outside JMH.
+     */
+
+    public static void main(final String[] args)
+    {
+        for (final int messageCount : new int[]{ 500, 2000, 5000 })
+        {
+            perfTestParseSchema(messageCount);
+        }
+    }
+
+    private static void perfTestParseSchema(final int messageCount)
+    {
+        final byte[] schemaXml = BenchmarkSchemas.syntheticSchemaXml(messageCount).getBytes(StandardCharsets.UTF_8);
+        parse(schemaXml);
+
+        System.gc();
+        final long baseline = heapUsed();
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            pool.resetPeakUsage();
+        }
+
+        final long start = System.nanoTime();
+        final MessageSchema schema = parse(schemaXml);
+        final long duration = System.nanoTime() - start;
+
+        long peak = 0;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if (MemoryType.HEAP == pool.getType())
+            {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        System.out.printf(
+            "%d messages, %d KB schema - %d(ms) parse, %d(MB) peak heap above baseline, %d messages parsed%n",
+            messageCount,
+            schemaXml.length / 1024,
+            TimeUnit.NANOSECONDS.toMillis(duration),
+            Math.max(0, peak - baseline) / (1024 * 1024),
+            schema.messages().size());
+    }
+
+    private static long heapUsed()
+    {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,720 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+#ifndef _OTF_MAPPEDIRDECODER_H
+#define _OTF_MAPPEDIRDECODER_H
+
+#if defined(WIN32) || defined(_WIN32)
+#ifndef WIN32_LEAN_AND_MEAN
+#define WIN32_LEAN_AND_MEAN
+#endif
+#include <windows.h>
+#else
+#include <fcntl.h>
+#include <sys/mman.h>
+#include <sys/stat.h>
+#include <unistd.h>
+#endif /* WIN32 */
+
+#include <cstdint>
+#include <cstring>
+#include <memory>
+#include <stdexcept>
+#include <string>
+#include <vector>
+
+#if __cplusplus >= 201703L
+#include <string_view>
+#endif
+
+#include "uk_co_real_logic_sbe_ir_generated/TokenCodec.h"
+#include "uk_co_real_logic_sbe_ir_generated/FrameCodec.h"
+#include "Token.h"
+
+namespace sbe { namespace otf {
+
+#if __cplusplus >= 201703L
+typedef std::string_view IrStringView;
+#else
+/*
+ * Minimal stand in for std::string_view before C++17 which refers to characters held elsewhere.
+ */
+class IrStringView
+{
+public:
+    IrStringView() = default;
+
+    IrStringView(const char *data, std::size_t length) :
+        m_data(data),
+        m_length(length)
+    {
+    }
+
+    inline const char *data() const
+    {
+        return m_data;
+    }
+
+    inline std::size_t size() const
+    {
+        return m_length;
+    }
+
+    inline std::size_t length() const
+    {
+        return m_length;
+    }
+
+    inline bool empty() const
+    {
+        return 0 == m_length;
+    }
+
+    inline const char *begin() const
+    {
+        return m_data;
+    }
+
+    inline const char *end() const
+    {
+        return m_data + m_length;
+    }
+
+    inline explicit operator std::string() const
+    {
+        return std::string(m_data, m_length);
+    }
+
+    inline bool operator==(const IrStringView &other) const
+    {
+        return m_length == other.m_length && 0 == std::memcmp(m_data, other.m_data, m_length);
+    }
+
+    inline bool operator!=(const IrStringView &other) const
+    {
+        return !(*this == other);
+    }
+
+private:
+    const char *m_data = nullptr;
+    std::size_t m_length = 0;
+};
+#endif
+
+/*
+ * Token which refers to its names and values in the IR it was decoded from rather than copying them. It is only
+ * valid while the MappedIrDecoder it came from is.
+ */
+class MappedToken
+{
+public:
+    MappedToken(const char *buffer, const std::uint64_t offset, const std::uint64_t bufferLength)
+    {
+        using namespace uk::co::real_logic::sbe::ir::generated;
+
+        TokenCodec tokenCodec;
+        tokenCodec.wrapForDecode(
+            const_cast<char *>(buffer),
+            offset,
+            tokenCodec.sbeBlockLength(),
+            tokenCodec.sbeSchemaVersion(),
+            bufferLength);
+
+        m_signal = static_cast<Signal>(tokenCodec.signal());
+        m_primitiveType = static_cast<PrimitiveType>(tokenCodec.primitiveType());
+        m_presence = static_cast<Presence>(tokenCodec.presence());
+        m_byteOrder = static_cast<ByteOrder>(tokenCodec.byteOrder());
+        m_offset = tokenCodec.tokenOffset();
+        m_encodedLength = tokenCodec.tokenSize();
+        m_fieldId = tokenCodec.fieldId();
+        m_version = tokenCodec.tokenVersion();
+        m_componentTokenCount = tokenCodec.componentTokenCount();
+
+        // the length must be read before the data as reading the data advances to the next field
+        std::uint16_t length;
+        length = tokenCodec.nameLength();
+        m_name = IrStringView(tokenCodec.name(), length);
+        length = tokenCodec.constValueLength();
+        m_constValue = IrStringView(tokenCodec.constValue(), length);
+        length = tokenCodec.minValueLength();
+        m_minValue = IrStringView(tokenCodec.minValue(), length);
+        length = tokenCodec.maxValueLength();
+        m_maxValue = IrStringView(tokenCodec.maxValue(), length);
+        length = tokenCodec.nullValueLength();
+        m_nullValue = IrStringView(tokenCodec.nullValue(), length);
+        length = tokenCodec.characterEncodingLength();
+        m_characterEncoding = IrStringView(tokenCodec.characterEncoding(), length);
+        length = tokenCodec.epochLength();
+        m_epoch = IrStringView(tokenCodec.epoch(), length);
+        length = tokenCodec.timeUnitLength();
+        m_timeUnit = IrStringView(tokenCodec.timeUnit(), length);
+        length = tokenCodec.semanticTypeLength();
+        m_semanticType = IrStringView(tokenCodec.semanticType(), length);
+        length = tokenCodec.descriptionLength();
+        m_description = IrStringView(tokenCodec.description(), length);
+        length = tokenCodec.referencedNameLength();
+        m_referencedName = IrStringView(tokenCodec.referencedName(), length);
+
+        m_tokenLength = tokenCodec.encodedLength();
+    }
+
+    inline Signal signal() const
+    {
+        return m_signal;
+    }
+
+    inline IrStringView name() const
+    {
+        return m_name;
+    }
+
+    inline IrStringView description() const
+    {
+        return m_description;
+    }
+
+    inline IrStringView referencedName() const
+    {
+        return m_referencedName;
+    }
+
+    inline std::int32_t fieldId() const
+    {
+        return m_fieldId;
+    }
+
+    inline std::int32_t tokenVersion() const
+    {
+        return m_version;
+    }
+
+    inline std::int32_t encodedLength() const
+    {
+        return m_encodedLength;
+    }
+
+    inline std::int32_t offset() const
+    {
+        return m_offset;
+    }
+
+    inline std::int32_t componentTokenCount() const
+    {
+        return m_componentTokenCount;
+    }
+
+    inline PrimitiveType primitiveType() const
+    {
+        return m_primitiveType;
+    }
+
+    inline Presence presence() const
+    {
+        return m_presence;
+    }
+
+    inline ByteOrder byteOrder() const
+    {
+        return m_byteOrder;
+    }
+
+    inline bool isConstantEncoding() const
+    {
+        return m_presence == Presence::SBE_CONSTANT;
+    }
+
+    // Raw bytes of the values as held in the IR.
+
+    inline IrStringView constValue() const
+    {
+        return m_constValue;
+    }
+
+    inline IrStringView minValue() const
+    {
+        return m_minValue;
+    }
+
+    inline IrStringView maxValue() const
+    {
+        return m_maxValue;
+    }
+
+    inline IrStringView nullValue() const
+    {
+        return m_nullValue;
+    }
+
+    inline IrStringView characterEncoding() const
+    {
+        return m_characterEncoding;
+    }
+
+    inline IrStringView epoch() const
+    {
+        return m_epoch;
+    }
+
+    inline IrStringView timeUnit() const
+    {
+        return m_timeUnit;
+    }
+
+    inline IrStringView semanticType() const
+    {
+        return m_semanticType;
+    }
+
+    /*
+     * Length of the token as encoded in the IR.
+     */
+    inline std::uint64_t tokenLength() const
+    {
+        return m_tokenLength;
+    }
+
+    /*
+     * Copy into a Token which owns its names and values, as created by IrDecoder.
+     */
+    Token toToken() const
+    {
+        Encoding encoding(
+            m_primitiveType,
+            m_presence,
+            m_byteOrder,
+            primitiveValue(m_minValue),
+            primitiveValue(m_maxValue),
+            primitiveValue(m_nullValue),
+            primitiveValue(m_constValue),
+            toString(m_characterEncoding),
+            toString(m_epoch),
+            toString(m_timeUnit),
+            toString(m_semanticType));
+
+        return Token(
+            m_offset,
+            m_fieldId,
+            m_version,
+            m_encodedLength,
+            m_componentTokenCount,
+            m_signal,
+            toString(m_name),
+            toString(m_description),
+            encoding);
+    }
+
+private:
+    Signal m_signal;
+    PrimitiveType m_primitiveType;
+    Presence m_presence;
+    ByteOrder m_byteOrder;
+    std::int32_t m_offset;
+    std::int32_t m_encodedLength;
+    std::int32_t m_fieldId;
+    std::int32_t m_version;
+    std::int32_t m_componentTokenCount;
+    std::uint64_t m_tokenLength;
+    IrStringView m_name;
+    IrStringView m_constValue;
+    IrStringView m_minValue;
+    IrStringView m_maxValue;
+    IrStringView m_nullValue;
+    IrStringView m_characterEncoding;
+    IrStringView m_epoch;
+    IrStringView m_timeUnit;
+    IrStringView m_semanticType;
+    IrStringView m_description;
+    IrStringView m_referencedName;
+
+    static inline std::string toString(const IrStringView value)
+    {
+        return std::string(value.data(), value.size());
+    }
+
+    inline PrimitiveValue primitiveValue(const IrStringView value) const
+    {
+        return PrimitiveValue(m_primitiveType, value.size(), value.data());
+    }
+};
+
+/*
+ * Decoder for IR which maps the file read only rather than reading it onto the heap, so the pages are shared
+ * between processes through the page cache.
+ *
+ * Decoding only indexes where the header and each message begin in the IR. The tokens of a message are decoded on
+ * first use, either as MappedTokens which refer to the mapped IR for their names and values, or as Tokens for
+ * OtfMessageDecoder and OtfDecodePlan, and are then held for later calls. Not thread safe.
+ */
+class MappedIrDecoder
+{
+public:
+    MappedIrDecoder() = default;
+
+    MappedIrDecoder(const MappedIrDecoder &) = delete;
+
+    MappedIrDecoder &operator=(const MappedIrDecoder &) = delete;
+
+    ~MappedIrDecoder()
+    {
+        unmap();
+    }
+
+    /*
+     * Map an IR file and index the messages in it. Returns 0 on success or -1 if the file cannot be mapped or is
+     * not valid IR.
+     */
+    int decode(const char *filename)
+    {
+        unmap();
+
+        if (mapFile(filename) < 0)
+        {
+            return -1;
+        }
+
+        return index();
+    }
+
+    /*
+     * Index the messages in IR held in a buffer which must outlive the decoder. The buffer is not copied.
+     */
+    int decode(const char *irBuffer, const std::uint64_t length)
+    {
+        unmap();
+        m_buffer = irBuffer;
+        m_length = length;
+
+        return index();
+    }
+
+    inline int id() const
+    {
+        return m_id;
+    }
+
+    inline std::size_t messageCount() const
+    {
+        return m_messages.size();
+    }
+
+    std::shared_ptr<std::vector<MappedToken>> headerView()
+    {
+        return view(m_header);
+    }
+
+    std::shared_ptr<std::vector<MappedToken>> messageView(const int id)
+    {
+        MessageEntry *entry = find(id);
+
+        return nullptr == entry ? nullptr : view(*entry);
+    }
+
+    std::shared_ptr<std::vector<MappedToken>> messageView(const int id, const int version)
+    {
+        MessageEntry *entry = find(id, version);
+
+        return nullptr == entry ? nullptr : view(*entry);
+    }
+
+    std::shared_ptr<std::vector<Token>> header()
+    {
+        return tokens(m_header);
+    }
+
+    std::shared_ptr<std::vector<Token>> message(const int id)
+    {
+        MessageEntry *entry = find(id);
+
+        return nullptr == entry ? nullptr : tokens(*entry);
+    }
+
+    std::shared_ptr<std::vector<Token>> message(const int id, const int version)
+    {
+        MessageEntry *entry = find(id, version);
+
+        return nullptr == entry ? nullptr : tokens(*entry);
+    }
+
+private:
+    struct MessageEntry
+    {
+        std::int32_t id = 0;
+        std::int32_t version = 0;
+        std::uint64_t offset = 0;
+        std::size_t tokenCount = 0;
+        std::shared_ptr<std::vector<MappedToken>> view;
+        std::shared_ptr<std::vector<Token>> tokens;
+    };
+
+    const char *m_buffer = nullptr;
+    std::uint64_t m_length = 0;
+    bool m_mapped = false;
+    int m_id = 0;
+    MessageEntry m_header;
+    std::vector<MessageEntry> m_messages;
+#if defined(WIN32) || defined(_WIN32)
+    HANDLE m_mapping = nullptr;
+#endif
+
+    MessageEntry *find(const int id)
+    {
+        MessageEntry *result = nullptr;
+
+        for (MessageEntry &entry : m_messages)
+        {
+            if (entry.id == id)
+            {
+                result = &entry;
+            }
+        }
+
+        return result;
+    }
+
+    MessageEntry *find(const int id, const int version)
+    {
+        MessageEntry *result = nullptr;
+
+        for (MessageEntry &entry : m_messages)
+        {
+            if (entry.id == id && entry.version == version)
+            {
+                result = &entry;
+            }
+        }
+
+        return result;
+    }
+
+    std::shared_ptr<std::vector<MappedToken>> view(MessageEntry &entry)
+    {
+        if (nullptr == entry.view)
+        {
+            std::shared_ptr<std::vector<MappedToken>> tokens(new std::vector<MappedToken>());
+            tokens->reserve(entry.tokenCount);
+
+            std::uint64_t offset = entry.offset;
+            for (std::size_t i = 0; i < entry.tokenCount; i++)
+            {
+                tokens->emplace_back(m_buffer, offset, m_length);
+                offset += tokens->back().tokenLength();
+            }
+
+            entry.view = tokens;
+        }
+
+        return entry.view;
+    }
+
+    std::shared_ptr<std::vector<Token>> tokens(MessageEntry &entry)
+    {
+        if (nullptr == entry.tokens)
+        {
+            std::shared_ptr<std::vector<Token>> tokens(new std::vector<Token>());
+            tokens->reserve(entry.tokenCount);
+
+            std::uint64_t offset = entry.offset;
+            for (std::size_t i = 0; i < entry.tokenCount; i++)
+            {
+                const MappedToken token(m_buffer, offset, m_length);
+                tokens->push_back(token.toToken());
+                offset += token.tokenLength();
+            }
+
+            entry.tokens = tokens;
+        }
+
+        return entry.tokens;
+    }
+
+    int index()
+    {
+        using namespace uk::co::real_logic::sbe::ir::generated;
+
+        m_header = MessageEntry();
+        m_messages.clear();
+
+        if (0 == m_length)
+        {
+            return -1;
+        }
+
+        try
+        {
+            char *buffer = const_cast<char *>(m_buffer);
+            FrameCodec frame;
+            frame.wrapForDecode(buffer, 0, frame.sbeBlockLength(), frame.sbeSchemaVersion(), m_length);
+
+            if (frame.irVersion() != 0)
+            {
+                return -1;
+            }
+
+            m_id = frame.irId();
+            frame.skipPackageName();
+            frame.skipNamespaceName();
+            frame.skipSemanticVersion();
+
+            std::uint64_t offset = frame.encodedLength();
+            offset = indexTokens(buffer, offset, Signal::END_COMPOSITE, m_header);
+
+            while (offset < m_length)
+            {
+                MessageEntry entry;
+                offset = indexTokens(buffer, offset, Signal::END_MESSAGE, entry);
+                m_messages.push_back(entry);
+            }
+        }
+        catch (const std::runtime_error &)
+        {
+            m_messages.clear();
+            return -1;
+        }
+
+        return 0;
+    }
+
+    std::uint64_t indexTokens(char *buffer, std::uint64_t offset, const Signal endSignal, MessageEntry &entry)
+    {
+        using namespace uk::co::real_logic::sbe::ir::generated;
+
+        TokenCodec tokenCodec;
+        entry.offset = offset;
+
+        while (offset < m_length)
+        {
+            tokenCodec.wrapForDecode(
+                buffer, offset, tokenCodec.sbeBlockLength(), tokenCodec.sbeSchemaVersion(), m_length);
+
+            if (0 == entry.tokenCount)
+            {
+                entry.id = tokenCodec.fieldId();
+                entry.version = tokenCodec.tokenVersion();
+            }
+
+            const Signal signal = static_cast<Signal>(tokenCodec.signal());
+            tokenCodec.skip();
+            offset += tokenCodec.encodedLength();
+            entry.tokenCount++;
+
+            if (endSignal == signal)
+            {
+                break;
+            }
+        }
+
+        return offset;
+    }
+
+#if defined(WIN32) || defined(_WIN32)
+    int mapFile(const char *filename)
+    {
+        HANDLE file = ::CreateFileA(
+            filename, GENERIC_READ, FILE_SHARE_READ, nullptr, OPEN_EXISTING, FILE_ATTRIBUTE_NORMAL, nullptr);
+        if (INVALID_HANDLE_VALUE == file)
+        {
+            return -1;
+        }
+
+        LARGE_INTEGER fileSize;
+        if (!::GetFileSizeEx(file, &fileSize) || 0 == fileSize.QuadPart)
+        {
+            ::CloseHandle(file);
+            return -1;
+        }
+
+        HANDLE mapping = ::CreateFileMappingA(file, nullptr, PAGE_READONLY, 0, 0, nullptr);
+        ::CloseHandle(file);
+        if (nullptr == mapping)
+        {
+            return -1;
+        }
+
+        const void *address = ::MapViewOfFile(mapping, FILE_MAP_READ, 0, 0, 0);
+        if (nullptr == address)
+        {
+            ::CloseHandle(mapping);
+            return -1;
+        }
+
+        m_mapping = mapping;
+        m_buffer = static_cast<const char *>(address);
+        m_length = static_cast<std::uint64_t>(fileSize.QuadPart);
+        m_mapped = true;
+
+        return 0;
+    }
+
+    void unmap()
+    {
+        if (m_mapped)
+        {
+            ::UnmapViewOfFile(m_buffer);
+            ::CloseHandle(m_mapping);
+            m_mapping = nullptr;
+        }
+
+        m_mapped = false;
+        m_buffer = nullptr;
+        m_length = 0;
+    }
+#else
+    int mapFile(const char *filename)
+    {
+        const int fd = ::open(filename, O_RDONLY);
+        if (fd < 0)
+        {
+            return -1;
+        }
+
+        struct stat fileStat;
+        if (::fstat(fd, &fileStat) != 0 || 0 == fileStat.st_size)
+        {
+            ::close(fd);
+            return -1;
+        }
+
+        const auto length = static_cast<std::size_t>(fileStat.st_size);
+        void *address = ::mmap(nullptr, length, PROT_READ, MAP_SHARED, fd, 0);
+        ::close(fd);
+        if (MAP_FAILED == address)
+        {
+            return -1;
+        }
+
+        m_buffer = static_cast<const char *>(address);
+        m_length = length;
+        m_mapped = true;
+
+        return 0;
+    }
+
+    void unmap()
+    {
+        if (m_mapped)
+        {
+            ::munmap(const_cast<char *>(m_buffer), static_cast<std::size_t>(m_length));
+        }
+
+        m_mapped = false;
+        m_buffer = nullptr;
+        m_length = 0;
+    }
+#endif
+};
+
+}}
+
+#endif
@@ -0,0 +1,521 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+#ifndef _OTF_DECODEPLAN_H
+#define _OTF_DECODEPLAN_H
+
+#include <cstdint>
+#include <memory>
+#include <stdexcept>
+#include <vector>
+
+#include "Token.h"
+
+namespace sbe { namespace otf {
+
+/*
+ * Listener with no-op callbacks for use with OtfDecodePlan. The callbacks are not virtual so the decoder, which is
+ * templated on the listener type, calls those hidden by a derived listener directly and can inline them.
+ * The signatures match OtfMessageDecoder::BasicTokenListener so a listener can be used with either decoder.
+ */
+class NoOpTokenListener
+{
+public:
+    inline void onBeginMessage(Token &token) {}
+
+    inline void onEndMessage(Token &token) {}
+
+    inline void onEncoding(
+        Token &fieldToken,
+        const char *buffer,
+        Token &typeToken,
+        std::uint64_t actingVersion) {}
+
+    inline void onEnum(
+        Token &fieldToken,
+        const char *buffer,
+        std::vector<Token> &tokens,
+        std::size_t fromIndex,
+        std::size_t toIndex,
+        std::uint64_t actingVersion) {}
+
+    inline void onBitSet(
+        Token &fieldToken,
+        const char *buffer,
+        std::vector<Token> &tokens,
+        std::size_t fromIndex,
+        std::size_t toIndex,
+        std::uint64_t actingVersion) {}
+
+    inline void onBeginComposite(
+        Token &fieldToken,
+        std::vector<Token> &tokens,
+        std::size_t fromIndex,
+        std::size_t toIndex) {}
+
+    inline void onEndComposite(
+        Token &fieldToken,
+        std::vector<Token> &tokens,
+        std::size_t fromIndex,
+        std::size_t toIndex) {}
+
+    inline void onGroupHeader(
+        Token &token,
+        std::uint64_t numInGroup) {}
+
+    inline void onBeginGroup(
+        Token &token,
+        std::uint64_t groupIndex,
+        std::uint64_t numInGroup) {}
+
+    inline void onEndGroup(
+        Token &token,
+        std::uint64_t groupIndex,
+        std::uint64_t numInGroup) {}
+
+    inline void onVarData(
+        Token &fieldToken,
+        const char *buffer,
+        std::uint64_t length,
+        Token &typeToken) {}
+};
+
+/*
+ * Decoder for a message which walks a plan flattened from its tokens once, rather than the token list itself for
+ * every message as OtfMessageDecoder does.
+ *
+ * Each step of the plan holds the tokens, offsets, and encodings it needs so decoding does no token lookups,
+ * composites are flattened into their fields with offsets relative to the enclosing block, and a group holds the
+ * index of the step which follows it so its elements can be decoded by a loop over its steps. Callbacks are made in
+ * the same order and with the same arguments as OtfMessageDecoder::decode.
+ */
+class OtfDecodePlan
+{
+public:
+    explicit OtfDecodePlan(const std::shared_ptr<std::vector<Token>> &tokens) :
+        m_tokens(tokens)
+    {
+        const std::size_t numTokens = m_tokens->size();
+        const std::size_t tokenIndex = appendFields(1, numTokens);
+        appendGroupsAndData(tokenIndex, numTokens);
+    }
+
+    inline std::vector<Token> &tokens() const
+    {
+        return *m_tokens;
+    }
+
+    inline std::size_t stepCount() const
+    {
+        return m_steps.size();
+    }
+
+    /*
+     * Decode a message with callbacks to a listener of any type with the callbacks of NoOpTokenListener.
+     *
+     * Returns the index in the buffer after the message.
+     */
+    template<typename TokenListener>
+    std::size_t decode(
+        const char *buffer,
+        const std::size_t length,
+        const std::uint64_t actingVersion,
+        const std::size_t blockLength,
+        TokenListener &listener) const
+    {
+        std::vector<Token> &tokens = *m_tokens;
+        listener.onBeginMessage(tokens.front());
+
+        if (length < blockLength)
+        {
+            throw std::runtime_error("length too short for message blockLength");
+        }
+
+        const std::size_t bufferIndex = decodeBlock(
+            m_steps.data(), 0, m_steps.size(), buffer, 0, blockLength, length, actingVersion, listener);
+
+        listener.onEndMessage(tokens.back());
+
+        return bufferIndex;
+    }
+
+private:
+    enum class Op : std::uint8_t
+    {
+        ENCODING,
+        ENUM,
+        BIT_SET,
+        BEGIN_COMPOSITE,
+        END_COMPOSITE,
+        GROUP,
+        VAR_DATA
+    };
+
+    struct Step
+    {
+        Op op;
+        PrimitiveType primitiveType;
+        ByteOrder byteOrder;
+        PrimitiveType dimensionType;
+        ByteOrder dimensionByteOrder;
+        std::int32_t version;
+        Token *fieldToken;
+        Token *typeToken;
+        std::size_t offset;
+        std::size_t dimensionOffset;
+        std::size_t lengthOffset;
+        std::size_t fromIndex;
+        std::size_t toIndex;
+        std::size_t nextStep;
+    };
+
+    std::shared_ptr<std::vector<Token>> m_tokens;
+    std::vector<Step> m_steps;
+
+    Step newStep(const Op op, Token &fieldToken, Token &typeToken, const std::size_t offset)
+    {
+        Step step = {};
+        step.op = op;
+        step.primitiveType = typeToken.encoding().primitiveType();
+        step.byteOrder = typeToken.encoding().byteOrder();
+        step.version = fieldToken.tokenVersion();
+        step.fieldToken = &fieldToken;
+        step.typeToken = &typeToken;
+        step.offset = offset;
+
+        return step;
+    }
+
+    std::size_t appendFields(std::size_t tokenIndex, const std::size_t numTokens)
+    {
+        std::vector<Token> &tokens = *m_tokens;
+
+        while (tokenIndex < numTokens)
+        {
+            Token &fieldToken = tokens.at(tokenIndex);
+            if (Signal::BEGIN_FIELD != fieldToken.signal())
+            {
+                break;
+            }
+
+            const std::size_t nextFieldIndex = tokenIndex + fieldToken.componentTokenCount();
+            const std::size_t typeIndex = tokenIndex + 1;
+            Token &typeToken = tokens.at(typeIndex);
+            const auto offset = static_cast<std::size_t>(typeToken.offset());
+
+            switch (typeToken.signal())
+            {
+                case Signal::BEGIN_COMPOSITE:
+                    appendComposite(fieldToken, offset, typeIndex, nextFieldIndex - 2);
+                    break;
+
+                case Signal::BEGIN_ENUM:
+                case Signal::BEGIN_SET:
+                {
+                    const Op op = Signal::BEGIN_ENUM == typeToken.signal() ? Op::ENUM : Op::BIT_SET;
+                    Step step = newStep(op, fieldToken, typeToken, offset);
+                    step.fromIndex = typeIndex;
+                    step.toIndex = nextFieldIndex - 2;
+                    m_steps.push_back(step);
+                    break;
+                }
+
+                case Signal::ENCODING:
+                    m_steps.push_back(newStep(Op::ENCODING, fieldToken, typeToken, offset));
+                    break;
+
+                default:
+                    throw std::runtime_error("incorrect signal type in decodeFields");
+            }
+
+            tokenIndex = nextFieldIndex;
+        }
+
+        return tokenIndex;
+    }
+
+    void appendComposite(
+        Token &fieldToken, const std::size_t offset, const std::size_t fromIndex, const std::size_t toIndex)
+    {
+        std::vector<Token> &tokens = *m_tokens;
+
+        Step beginStep = newStep(Op::BEGIN_COMPOSITE, fieldToken, tokens.at(fromIndex), offset);
+        beginStep.fromIndex = fromIndex;
+        beginStep.toIndex = toIndex;
+        m_steps.push_back(beginStep);
+
+        for (std::size_t i = fromIndex + 1; i < toIndex;)
+        {
+            Token &token = tokens.at(i);
+            const std::size_t nextFieldIndex = i + token.componentTokenCount();
+            const std::size_t tokenOffset = offset + static_cast<std::size_t>(token.offset());
+
+            switch (token.signal())
+            {
+                case Signal::BEGIN_COMPOSITE:
+                    appendComposite(fieldToken, tokenOffset, i, nextFieldIndex - 1);
+                    break;
+
+                case Signal::BEGIN_ENUM:
+                case Signal::BEGIN_SET:
+                {
+                    const Op op = Signal::BEGIN_ENUM == token.signal() ? Op::ENUM : Op::BIT_SET;
+                    Step step = newStep(op, fieldToken, token, tokenOffset);
+                    step.fromIndex = i;
+                    step.toIndex = nextFieldIndex - 1;
+                    m_steps.push_back(step);
+                    break;
+                }
+
+                case Signal::ENCODING:
+                    m_steps.push_back(newStep(Op::ENCODING, token, token, tokenOffset));
+                    break;
+
+                default:
+                    throw std::runtime_error("incorrect signal type in decodeComposite");
+            }
+
+            i = nextFieldIndex;
+        }
+
+        Step endStep = beginStep;
+        endStep.op = Op::END_COMPOSITE;
+        m_steps.push_back(endStep);
+    }
+
+    std::size_t appendGroupsAndData(std::size_t tokenIndex, const std::size_t numTokens)
+    {
+        std::vector<Token> &tokens = *m_tokens;
+
+        while (tokenIndex < numTokens)
+        {
+            Token &token = tokens.at(tokenIndex);
+            if (Signal::BEGIN_GROUP != token.signal())
+            {
+                break;
+            }
+
+            Token &dimensionsTypeComposite = tokens.at(tokenIndex + 1);
+            Token &blockLengthToken = tokens.at(tokenIndex + 2);
+            Token &numInGroupToken = tokens.at(tokenIndex + 3);
+
+            Step step = newStep(
+                Op::GROUP, token, numInGroupToken, static_cast<std::size_t>(numInGroupToken.offset()));
+            step.dimensionType = blockLengthToken.encoding().primitiveType();
+            step.dimensionByteOrder = blockLengthToken.encoding().byteOrder();
+            step.dimensionOffset = static_cast<std::size_t>(blockLengthToken.offset());
+            step.lengthOffset = static_cast<std::size_t>(dimensionsTypeComposite.encodedLength());
+
+            const std::size_t groupStep = m_steps.size();
+            m_steps.push_back(step);
+
+            const std::size_t beginFieldsIndex = tokenIndex + dimensionsTypeComposite.componentTokenCount() + 1;
+            const std::size_t afterFieldsIndex = appendFields(beginFieldsIndex, numTokens);
+            appendGroupsAndData(afterFieldsIndex, numTokens);
+            m_steps[groupStep].nextStep = m_steps.size();
+
+            tokenIndex += token.componentTokenCount();
+        }
+
+        while (tokenIndex < numTokens)
+        {
+            Token &token = tokens.at(tokenIndex);
+            if (Signal::BEGIN_VAR_DATA != token.signal())
+            {
+                break;
+            }
+
+            Token &lengthToken = tokens.at(tokenIndex + 2);
+            Token &dataToken = tokens.at(tokenIndex + 3);
+
+            Step step = newStep(Op::VAR_DATA, token, dataToken, static_cast<std::size_t>(dataToken.offset()));
+            step.dimensionType = lengthToken.encoding().primitiveType();
+            step.dimensionByteOrder = lengthToken.encoding().byteOrder();
+            step.lengthOffset = static_cast<std::size_t>(lengthToken.offset());
+            m_steps.push_back(step);
+
+            tokenIndex += token.componentTokenCount();
+        }
+
+        return tokenIndex;
+    }
+
+    template<typename TokenListener>
+    std::size_t decodeBlock(
+        const Step *steps,
+        std::size_t stepIndex,
+        const std::size_t endStep,
+        const char *buffer,
+        const std::size_t blockIndex,
+        const std::size_t blockLength,
+        const std::size_t length,
+        const std::uint64_t actingVersion,
+        TokenListener &listener) const
+    {
+        std::vector<Token> &tokens = *m_tokens;
+        std::size_t bufferIndex = blockIndex + blockLength;
+
+        while (stepIndex < endStep)
+        {
+            const Step &step = steps[stepIndex];
+
+            switch (step.op)
+            {
+                case Op::ENCODING:
+                    listener.onEncoding(
+                        *step.fieldToken, buffer + blockIndex + step.offset, *step.typeToken, actingVersion);
+                    break;
+
+                case Op::ENUM:
+                    listener.onEnum(
+                        *step.fieldToken,
+                        buffer + blockIndex + step.offset,
+                        tokens,
+                        step.fromIndex,
+                        step.toIndex,
+                        actingVersion);
+                    break;
+
+                case Op::BIT_SET:
+                    listener.onBitSet(
+                        *step.fieldToken,
+                        buffer + blockIndex + step.offset,
+                        tokens,
+                        step.fromIndex,
+                        step.toIndex,
+                        actingVersion);
+                    break;
+
+                case Op::BEGIN_COMPOSITE:
+                    listener.onBeginComposite(*step.fieldToken, tokens, step.fromIndex, step.toIndex);
+                    break;
+
+                case Op::END_COMPOSITE:
+                    listener.onEndComposite(*step.fieldToken, tokens, step.fromIndex, step.toIndex);
+                    break;
+
+                case Op::GROUP:
+                    bufferIndex = decodeGroup(steps, stepIndex, buffer, bufferIndex, length, actingVersion, listener);
+                    stepIndex = step.nextStep;
+                    continue;
+
+                case Op::VAR_DATA:
+                    bufferIndex = decodeData(step, buffer, bufferIndex, length, actingVersion, listener);
+                    break;
+            }
+
+            stepIndex++;
+        }
+
+        return bufferIndex;
+    }
+
+    template<typename TokenListener>
+    std::size_t decodeGroup(
+        const Step *steps,
+        const std::size_t stepIndex,
+        const char *buffer,
+        std::size_t bufferIndex,
+        const std::size_t length,
+        const std::uint64_t actingVersion,
+        TokenListener &listener) const
+    {
+        const Step &step = steps[stepIndex];
+        const bool isPresent = step.version <= static_cast<std::int32_t>(actingVersion);
+        const std::size_t dimensionsLength = step.lengthOffset;
+
+        if ((bufferIndex + dimensionsLength) > length)
+        {
+            throw std::runtime_error("length too short for group dimensions");
+        }
+
+        const char *dimensions = buffer + bufferIndex;
+        const std::uint64_t blockLength = isPresent ?
+            Encoding::getUInt(step.dimensionType, step.dimensionByteOrder, dimensions + step.dimensionOffset) : 0;
+        const std::uint64_t numInGroup = isPresent ?
+            Encoding::getUInt(step.primitiveType, step.byteOrder, dimensions + step.offset) : 0;
+
+        if (isPresent)
+        {
+            bufferIndex += dimensionsLength;
+        }
+
+        listener.onGroupHeader(*step.fieldToken, numInGroup);
+
+        for (std::uint64_t i = 0; i < numInGroup; i++)
+        {
+            listener.onBeginGroup(*step.fieldToken, i, numInGroup);
+
+            if ((bufferIndex + blockLength) > length)
+            {
+                throw std::runtime_error("length too short for group blockLength");
+            }
+
+            bufferIndex = decodeBlock(
+                steps,
+                stepIndex + 1,
+                step.nextStep,
+                buffer,
+                bufferIndex,
+                static_cast<std::size_t>(blockLength),
+                length,
+                actingVersion,
+                listener);
+
+            listener.onEndGroup(*step.fieldToken, i, numInGroup);
+        }
+
+        return bufferIndex;
+    }
+
+    template<typename TokenListener>
+    static std::size_t decodeData(
+        const Step &step,
+        const char *buffer,
+        std::size_t bufferIndex,
+        const std::size_t length,
+        const std::uint64_t actingVersion,
+        TokenListener &listener)
+    {
+        const bool isPresent = step.version <= static_cast<std::int32_t>(actingVersion);
+
+        if ((bufferIndex + step.offset) > length)
+        {
+            throw std::runtime_error("length too short for data length field");
+        }
+
+        const char *lengthField = buffer + bufferIndex + step.lengthOffset;
+        const std::uint64_t dataLength = isPresent ?
+            Encoding::getUInt(step.dimensionType, step.dimensionByteOrder, lengthField) : 0;
+
+        if (isPresent)
+        {
+            bufferIndex += step.offset;
+        }
+
+        if ((bufferIndex + dataLength) > length)
+        {
+            throw std::runtime_error("length too short for data field");
+        }
+
+        listener.onVarData(*step.fieldToken, buffer + bufferIndex, dataLength, *step.typeToken);
+
+        return bufferIndex + dataLength;
+    }
+};
+
+}}
+
+#endif
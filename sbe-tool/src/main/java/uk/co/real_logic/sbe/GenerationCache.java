@@ -0,0 +1,290 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content addressed cache of the output generated for a schema so unchanged schemas are not parsed and generated
+ * again.
+ * <p>
+ * An entry is keyed by a SHA-256 digest of the schema file name and bytes, the bytes of any files it includes with
+ * XInclude, the XSD it is validated against, the {@code sbe.*} system properties which configure parsing,
+ * transformation, and generation, and the version of the tool. The entry holds the tree of files generated for the
+ * schema, including any {@code .sbeir} file, which is copied into the output directory on a hit.
+ */
+public final class GenerationCache
+{
+    private static final Pattern XINCLUDE_HREF_PATTERN = Pattern.compile(
+        "<(?:[\\w.-]+:)?include\\b[^>]*?\\bhref\\s*=\\s*([\"'])(.*?)\\1");
+
+    private static final Set<String> EXCLUDED_PROPERTIES = new HashSet<>(Arrays.asList(
+        SbeTool.CACHE_DIR, SbeTool.OUTPUT_DIR, SbeTool.GENERATION_THREADS));
+
+    private final Path cacheDir;
+
+    /**
+     * Create a cache which holds its entries in a directory.
+     *
+     * @param cacheDir in which entries are held, created if it does not exist.
+     */
+    public GenerationCache(final Path cacheDir)
+    {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Key for the output generated from a schema file with the {@code sbe.*} properties of a set of properties.
+     *
+     * @param schemaPath of the schema file, either XML or IR.
+     * @param properties from which the {@code sbe.*} options are taken, typically the system properties.
+     * @return the key as a hex encoded digest.
+     * @throws IOException if a file cannot be read.
+     */
+    public static String key(final Path schemaPath, final Properties properties) throws IOException
+    {
+        final MessageDigest digest = newDigest();
+
+        update(digest, "tool", toolVersion());
+        update(digest, "schema", schemaPath.getFileName().toString());
+        updateWithIncludes(digest, schemaPath.toAbsolutePath().normalize(), new HashSet<>());
+
+        final TreeMap<String, String> options = new TreeMap<>();
+        for (final String name : properties.stringPropertyNames())
+        {
+            if (name.startsWith("sbe.") && !EXCLUDED_PROPERTIES.contains(name))
+            {
+                options.put(name, properties.getProperty(name));
+            }
+        }
+
+        for (final Map.Entry<String, String> entry : options.entrySet())
+        {
+            update(digest, entry.getKey(), entry.getValue());
+        }
+
+        final String xsdFilename = options.get(SbeTool.VALIDATION_XSD);
+        if (null != xsdFilename)
+        {
+            updateWithFile(digest, Paths.get(xsdFilename));
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        for (final byte b : digest.digest())
+        {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Copy the output held for a key into an output directory. Files with the same content are not rewritten so they
+     * keep their timestamps.
+     *
+     * @param key       of the entry.
+     * @param outputDir into which the output is copied.
+     * @return true if an entry was held for the key and copied, otherwise false.
+     * @throws IOException if the output cannot be copied.
+     */
+    public boolean restore(final String key, final Path outputDir) throws IOException
+    {
+        final Path entryDir = cacheDir.resolve(key);
+        if (!Files.isDirectory(entryDir))
+        {
+            return false;
+        }
+
+        try (Stream<Path> paths = Files.walk(entryDir))
+        {
+            final Iterator<Path> iterator = paths.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext())
+            {
+                final Path source = iterator.next();
+                final Path target = outputDir.resolve(entryDir.relativize(source).toString());
+                final byte[] content = Files.readAllBytes(source);
+
+                if (!Files.exists(target) || !Arrays.equals(content, Files.readAllBytes(target)))
+                {
+                    Files.createDirectories(target.getParent());
+                    Files.write(target, content);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Create a directory into which output can be generated before it is stored with
+     * {@link #store(String, Path)}.
+     *
+     * @param key of the entry the output will be stored for.
+     * @return the new directory.
+     * @throws IOException if the directory cannot be created.
+     */
+    public Path newStagingDir(final String key) throws IOException
+    {
+        Files.createDirectories(cacheDir);
+        return Files.createTempDirectory(cacheDir, key + ".");
+    }
+
+    /**
+     * Store the output generated into a staging directory as the entry for a key. The directory is moved atomically
+     * so concurrent builds never see a partial entry, and is deleted if another build stored the entry first.
+     *
+     * @param key        of the entry.
+     * @param stagingDir holding the generated output as returned from {@link #newStagingDir(String)}.
+     * @throws IOException if the entry cannot be stored.
+     */
+    public void store(final String key, final Path stagingDir) throws IOException
+    {
+        final Path entryDir = cacheDir.resolve(key);
+        try
+        {
+            Files.move(stagingDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (final IOException ex)
+        {
+            if (!Files.isDirectory(entryDir))
+            {
+                throw ex;
+            }
+
+            delete(stagingDir);
+        }
+    }
+
+    /**
+     * Delete a staging directory and its contents when generation has failed.
+     *
+     * @param stagingDir to be deleted.
+     * @throws IOException if the directory cannot be deleted.
+     */
+    public void discard(final Path stagingDir) throws IOException
+    {
+        delete(stagingDir);
+    }
+
+    private static void updateWithIncludes(final MessageDigest digest, final Path path, final Set<Path> visited)
+        throws IOException
+    {
+        if (!visited.add(path))
+        {
+            return;
+        }
+
+        final byte[] content = updateWithFile(digest, path);
+        if (null == content || !path.toString().endsWith(".xml"))
+        {
+            return;
+        }
+
+        final Matcher matcher = XINCLUDE_HREF_PATTERN.matcher(new String(content, StandardCharsets.UTF_8));
+        while (matcher.find())
+        {
+            final Path parent = path.getParent();
+            final String href = matcher.group(2);
+            update(digest, "include", href);
+            updateWithIncludes(digest, (null == parent ? Paths.get(href) : parent.resolve(href)).normalize(), visited);
+        }
+    }
+
+    private static byte[] updateWithFile(final MessageDigest digest, final Path path) throws IOException
+    {
+        if (!Files.isRegularFile(path))
+        {
+            update(digest, "missing", path.toString());
+            return null;
+        }
+
+        final byte[] content = Files.readAllBytes(path);
+        update(digest, "length", Integer.toString(content.length));
+        digest.update(content);
+
+        return content;
+    }
+
+    private static void update(final MessageDigest digest, final String name, final String value)
+    {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)'=');
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)'\n');
+    }
+
+    private static String toolVersion()
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(SbeTool.class.getPackage().getImplementationVersion());
+
+        final CodeSource codeSource = SbeTool.class.getProtectionDomain().getCodeSource();
+        final URL location = null == codeSource ? null : codeSource.getLocation();
+        if (null != location && "file".equals(location.getProtocol()))
+        {
+            final File file = new File(location.getPath());
+            if (file.isFile())
+            {
+                sb.append(':').append(file.length()).append(':').append(file.lastModified());
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (final NoSuchAlgorithmException ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void delete(final Path dir) throws IOException
+    {
+        if (!Files.exists(dir))
+        {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(dir))
+        {
+            final List<Path> sorted = new ArrayList<>();
+            paths.forEach(sorted::add);
+            Collections.reverse(sorted);
+
+            for (final Path path : sorted)
+            {
+                Files.delete(path);
+            }
+        }
+    }
+}
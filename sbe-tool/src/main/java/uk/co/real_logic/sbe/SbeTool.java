@@ -16,6 +16,7 @@
 package uk.co.real_logic.sbe;
 
 import org.agrona.DirectBuffer;
+import org.agrona.LangUtil;
 import org.agrona.MutableDirectBuffer;
 import org.xml.sax.InputSource;
 import uk.co.real_logic.sbe.generation.CodeGenerator;
@@ -32,6 +33,11 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * A tool for running the SBE parser, validator, and code generator.
@@ -61,6 +67,10 @@ import java.nio.file.Paths;
  * <li><b>sbe.target.namespace</b>: Namespace for the generated code to override schema package.</li>
  * <li><b>sbe.cpp.namespaces.collapse</b>: Namespace for the generated code to override schema package.</li>
  * <li>
+ *     <b>sbe.c.unchecked.accessors</b>: Generate always inlined C accessors which only check bounds when wrapping.
+ *     Defaults to false.
+ * </li>
+ * <li>
  *     <b>sbe.java.generate.group-order.annotation</b>: Should the GroupOrder annotation be added to generated stubs.
  * </li>
  * <li><b>sbe.csharp.generate.namespace.dir</b>: Should a directory be created for the namespace under
@@ -70,6 +80,7 @@ import java.nio.file.Paths;
  * <li><b>sbe.xinclude.aware</b>: Is XInclude supported for the schema. Defaults to false.</li>
  * <li><b>sbe.type.package.override</b>: Is package attribute for types element supported (only for JAVA). Defaults to
  * false.</li>
+ * <li><b>sbe.cache.dir</b>: Directory to cache generated output in so unchanged schemas are not generated again.</li>
  * </ul>
  */
 public class SbeTool
@@ -150,11 +161,55 @@ public class SbeTool
      */
     public static final String CPP_NAMESPACES_COLLAPSE = "sbe.cpp.namespaces.collapse";
 
+    /**
+     * Boolean system property to generate C accessors which are always inlined and do not check bounds, for buffers
+     * which have been validated. The bounds of the message block and of each group are checked once when wrapped and
+     * putting var data checks it fits in the buffer. Defaults to false.
+     */
+    public static final String C_UNCHECKED_ACCESSORS = "sbe.c.unchecked.accessors";
+
     /**
      * Boolean system property to turn on or off generation of the interface hierarchy. Defaults to false.
      */
     public static final String JAVA_GENERATE_INTERFACES = "sbe.java.generate.interfaces";
 
+    /**
+     * Boolean system property to generate accessors which copy fixed length primitive arrays to and from Java arrays
+     * in Java codecs. Defaults to false.
+     */
+    public static final String JAVA_GENERATE_BULK_ARRAY_ACCESSORS = "sbe.java.generate.bulk.array.accessors";
+
+    /**
+     * Boolean system property to generate methods which view, compare, and hash ASCII char arrays and var data in place
+     * in Java decoders without allocating. Defaults to false.
+     */
+    public static final String JAVA_GENERATE_ASCII_VIEWS = "sbe.java.generate.ascii.views";
+
+    /**
+     * Boolean system property to generate accessors which copy a field of every element of a group, with only fixed
+     * length fields, to and from a Java array in Java codecs. Defaults to false.
+     */
+    public static final String JAVA_GENERATE_GROUP_COLUMN_ACCESSORS = "sbe.java.generate.group.column.accessors";
+
+    /**
+     * Boolean system property to generate a MessageBatchEncoder and MessageBatchDecoder for packing many messages,
+     * each with its header, into one region of a buffer in Java codecs. Defaults to false.
+     */
+    public static final String JAVA_GENERATE_MESSAGE_BATCH = "sbe.java.generate.message.batch";
+
+    /**
+     * Boolean system property to generate a MessageHandler interface with a callback per message and a
+     * MessageDispatcher which routes messages to it by template id in Java codecs. Defaults to false.
+     */
+    public static final String JAVA_GENERATE_MESSAGE_DISPATCHER = "sbe.java.generate.message.dispatcher";
+
+    /**
+     * Byte order of the platform the generated Java codecs will run on, littleEndian, bigEndian, or native for that of
+     * the platform running the tool, so fields are accessed in native order with explicit byte swaps. Defaults to
+     * passing the byte order of each field to the buffer which works on any platform.
+     */
+    public static final String JAVA_NATIVE_BYTE_ORDER = "sbe.java.native.byte.order";
+
     /**
      * Specifies the name of the Java mutable buffer to wrap.
      */
@@ -204,6 +259,24 @@ public class SbeTool
      */
     public static final String SCHEMA_TRANSFORM_VERSION = "sbe.schema.transform.version";
 
+    /**
+     * Number of threads used to parse schemas and generate code. Defaults to 1 for sequential generation.
+     * <p>
+     * When greater than 1 the schema files are processed concurrently in a {@link ForkJoinPool} and generators which
+     * support it, such as for Java, generate the messages and types of a schema in parallel as tasks of that pool.
+     * The generated output is the same as for sequential generation. Schemas processed concurrently should not
+     * generate the same files.
+     */
+    public static final String GENERATION_THREADS = "sbe.generation.threads";
+
+    /**
+     * Directory in which to cache the output generated for each schema, keyed by the content of the schema and the
+     * options, so a schema which has not changed is not parsed and generated again. Not set by default.
+     *
+     * @see GenerationCache
+     */
+    public static final String CACHE_DIR = "sbe.cache.dir";
+
     /**
      * Main entry point for the SBE Tool.
      *
@@ -218,56 +291,132 @@ public class SbeTool
             System.exit(-1);
         }
 
-        for (final String fileName : args)
+        final int threads = Integer.getInteger(GENERATION_THREADS, 1);
+        if (threads > 1)
+        {
+            processInParallel(args, threads);
+        }
+        else
         {
-            final Ir ir;
-            if (fileName.endsWith(".xml"))
+            for (final String fileName : args)
             {
-                final String xsdFilename = System.getProperty(SbeTool.VALIDATION_XSD);
-                if (xsdFilename != null)
-                {
-                    validateAgainstSchema(fileName, xsdFilename);
-                }
-
-                final MessageSchema schema = parseSchema(fileName);
-                final SchemaTransformer transformer = new SchemaTransformerFactory(
-                    System.getProperty(SCHEMA_TRANSFORM_VERSION));
-                ir = new IrGenerator().generate(transformer.transform(schema), System.getProperty(TARGET_NAMESPACE));
+                process(fileName);
             }
-            else if (fileName.endsWith(".sbeir"))
+        }
+    }
+
+    private static void processInParallel(final String[] fileNames, final int threads) throws Exception
+    {
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try
+        {
+            final List<ForkJoinTask<Object>> tasks = new ArrayList<>();
+            for (final String fileName : fileNames)
             {
-                try (IrDecoder irDecoder = new IrDecoder(fileName))
+                tasks.add(ForkJoinTask.adapt(() ->
                 {
-                    ir = irDecoder.decode();
-                }
+                    process(fileName);
+                    return null;
+                }));
             }
-            else
+
+            pool.submit(() -> ForkJoinTask.invokeAll(tasks)).get();
+        }
+        catch (final ExecutionException ex)
+        {
+            Throwable cause = ex.getCause();
+            while (RuntimeException.class == cause.getClass() && null != cause.getCause())
             {
-                System.err.println("Input file format not supported: " + fileName);
-                System.exit(-1);
-                return;
+                cause = cause.getCause();
             }
 
-            final String outputDirName = System.getProperty(OUTPUT_DIR, ".");
-            if (Boolean.parseBoolean(System.getProperty(GENERATE_STUBS, "true")))
+            LangUtil.rethrowUnchecked(cause);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private static void process(final String fileName) throws Exception
+    {
+        if (!fileName.endsWith(".xml") && !fileName.endsWith(".sbeir"))
+        {
+            System.err.println("Input file format not supported: " + fileName);
+            System.exit(-1);
+            return;
+        }
+
+        final String outputDirName = System.getProperty(OUTPUT_DIR, ".");
+        final String cacheDirName = System.getProperty(CACHE_DIR);
+        if (null == cacheDirName)
+        {
+            process(fileName, outputDirName);
+            return;
+        }
+
+        final GenerationCache cache = new GenerationCache(Paths.get(cacheDirName));
+        final String key = GenerationCache.key(Paths.get(fileName), System.getProperties());
+        if (!cache.restore(key, Paths.get(outputDirName)))
+        {
+            final Path stagingDir = cache.newStagingDir(key);
+            try
+            {
+                process(fileName, stagingDir.toString());
+            }
+            catch (final Exception ex)
             {
-                final String targetLanguage = System.getProperty(TARGET_LANGUAGE, "Java");
+                cache.discard(stagingDir);
+                throw ex;
+            }
 
-                generate(ir, outputDirName, targetLanguage);
+            cache.store(key, stagingDir);
+            cache.restore(key, Paths.get(outputDirName));
+        }
+    }
+
+    private static void process(final String fileName, final String outputDirName) throws Exception
+    {
+        final Ir ir;
+        if (fileName.endsWith(".xml"))
+        {
+            final String xsdFilename = System.getProperty(SbeTool.VALIDATION_XSD);
+            if (xsdFilename != null)
+            {
+                validateAgainstSchema(fileName, xsdFilename);
             }
 
-            if (Boolean.parseBoolean(System.getProperty(GENERATE_IR, "false")))
+            final MessageSchema schema = parseSchema(fileName);
+            final SchemaTransformer transformer = new SchemaTransformerFactory(
+                System.getProperty(SCHEMA_TRANSFORM_VERSION));
+            ir = new IrGenerator().generate(transformer.transform(schema), System.getProperty(TARGET_NAMESPACE));
+        }
+        else
+        {
+            try (IrDecoder irDecoder = new IrDecoder(fileName))
             {
-                final File inputFile = new File(fileName);
-                final String inputFilename = inputFile.getName();
-                final int nameEnd = inputFilename.lastIndexOf('.');
-                final String namePart = inputFilename.substring(0, nameEnd);
-                final File fullPath = new File(outputDirName, namePart + ".sbeir");
+                ir = irDecoder.decode();
+            }
+        }
 
-                try (IrEncoder irEncoder = new IrEncoder(fullPath.getAbsolutePath(), ir))
-                {
-                    irEncoder.encode();
-                }
+        if (Boolean.parseBoolean(System.getProperty(GENERATE_STUBS, "true")))
+        {
+            final String targetLanguage = System.getProperty(TARGET_LANGUAGE, "Java");
+
+            generate(ir, outputDirName, targetLanguage);
+        }
+
+        if (Boolean.parseBoolean(System.getProperty(GENERATE_IR, "false")))
+        {
+            final File inputFile = new File(fileName);
+            final String inputFilename = inputFile.getName();
+            final int nameEnd = inputFilename.lastIndexOf('.');
+            final String namePart = inputFilename.substring(0, nameEnd);
+            final File fullPath = new File(outputDirName, namePart + ".sbeir");
+
+            try (IrEncoder irEncoder = new IrEncoder(fullPath.getAbsolutePath(), ir))
+            {
+                irEncoder.encode();
             }
         }
     }
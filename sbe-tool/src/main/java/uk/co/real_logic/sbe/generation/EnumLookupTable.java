@@ -0,0 +1,192 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.generation;
+
+/**
+ * Layout of a table for looking up the values of an enum in constant time, which generators can emit rather than a
+ * switch over every value.
+ * <p>
+ * When the values span a small range the table is dense and indexed by the value less {@link #minValue()}. Otherwise
+ * a perfect hash is searched for which maps each value to its own slot in a table with a power of two length. The
+ * slot is {@code (value ^ (value >>> shift)) & (length - 1)}, or {@code value & (length - 1)} when the shift is 0,
+ * evaluated in 32 or 64 bit arithmetic to match the generated code.
+ */
+public final class EnumLookupTable
+{
+    /**
+     * Length of a dense table which is always acceptable however sparse the values are within it.
+     */
+    public static final int MAX_DENSE_LENGTH = 256;
+
+    /**
+     * Maximum length of a table indexed by a perfect hash of the values.
+     */
+    public static final int MAX_HASH_LENGTH = 4096;
+
+    private final boolean isDense;
+    private final long minValue;
+    private final int length;
+    private final int shift;
+    private final int bits;
+
+    private EnumLookupTable(
+        final boolean isDense, final long minValue, final int length, final int shift, final int bits)
+    {
+        this.isDense = isDense;
+        this.minValue = minValue;
+        this.length = length;
+        this.shift = shift;
+        this.bits = bits;
+    }
+
+    /**
+     * Find a table for looking up a set of distinct values.
+     *
+     * @param values to be looked up as the signed values of the type in the generated code.
+     * @param bits   of arithmetic the generated code hashes values with, 32 or 64.
+     * @return the table for the values or null if they are sparse and no perfect hash was found.
+     */
+    public static EnumLookupTable find(final long[] values, final int bits)
+    {
+        if (32 != bits && 64 != bits)
+        {
+            throw new IllegalArgumentException("bits must be 32 or 64: " + bits);
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (final long value : values)
+        {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        final long range = max - min;
+        if (range >= 0 && range < Math.max(MAX_DENSE_LENGTH, 4L * values.length))
+        {
+            return new EnumLookupTable(true, min, (int)range + 1, 0, bits);
+        }
+
+        for (int length = Integer.highestOneBit(Math.max(1, values.length * 2 - 1));
+            length <= MAX_HASH_LENGTH;
+            length <<= 1)
+        {
+            for (int shift = 0; shift < bits; shift++)
+            {
+                if (isPerfectHash(values, length, shift, bits))
+                {
+                    return new EnumLookupTable(false, min, length, shift, bits);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Is the table indexed by the value less {@link #minValue()} rather than by a hash of the value.
+     *
+     * @return true if the table is indexed by the value less {@link #minValue()}.
+     */
+    public boolean isDense()
+    {
+        return isDense;
+    }
+
+    /**
+     * The minimum of the values in the table.
+     *
+     * @return the minimum of the values in the table.
+     */
+    public long minValue()
+    {
+        return minValue;
+    }
+
+    /**
+     * Length of the table in slots.
+     *
+     * @return length of the table in slots.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Shift of the hash, 0 if values are only masked to the length of the table.
+     *
+     * @return shift of the hash.
+     */
+    public int shift()
+    {
+        return shift;
+    }
+
+    /**
+     * Mask applied to the hash to give the slot.
+     *
+     * @return mask applied to the hash to give the slot.
+     */
+    public int mask()
+    {
+        return length - 1;
+    }
+
+    /**
+     * The slot in the table for a value.
+     *
+     * @param value to find the slot for.
+     * @return the slot in the table for the value.
+     */
+    public int slot(final long value)
+    {
+        return isDense ? (int)(value - minValue) : hash(value, length, shift, bits);
+    }
+
+    private static boolean isPerfectHash(final long[] values, final int length, final int shift, final int bits)
+    {
+        final boolean[] isOccupied = new boolean[length];
+        for (final long value : values)
+        {
+            final int slot = hash(value, length, shift, bits);
+            if (isOccupied[slot])
+            {
+                return false;
+            }
+
+            isOccupied[slot] = true;
+        }
+
+        return true;
+    }
+
+    private static int hash(final long value, final int length, final int shift, final int bits)
+    {
+        final long hash;
+        if (32 == bits)
+        {
+            final int intValue = (int)value;
+            hash = 0 == shift ? intValue : intValue ^ (intValue >>> shift);
+        }
+        else
+        {
+            hash = 0 == shift ? value : value ^ (value >>> shift);
+        }
+
+        return (int)(hash & (length - 1));
+    }
+}
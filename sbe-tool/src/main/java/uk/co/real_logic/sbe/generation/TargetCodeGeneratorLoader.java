@@ -27,7 +27,11 @@ import uk.co.real_logic.sbe.generation.rust.RustGenerator;
 import uk.co.real_logic.sbe.generation.rust.RustOutputManager;
 import uk.co.real_logic.sbe.ir.Ir;
 
+import java.nio.ByteOrder;
+import java.util.concurrent.ForkJoinTask;
+
 import static uk.co.real_logic.sbe.SbeTool.*;
+import static uk.co.real_logic.sbe.xml.XmlSchemaParser.getByteOrder;
 
 /**
  * Loader for {@link CodeGenerator}s which target a language. This provides convenient short names rather than the
@@ -45,6 +49,17 @@ public enum TargetCodeGeneratorLoader implements TargetCodeGenerator
          */
         public CodeGenerator newInstance(final Ir ir, final String outputDir)
         {
+            final String nativeByteOrderName = System.getProperty(JAVA_NATIVE_BYTE_ORDER);
+            ByteOrder nativeByteOrder = null;
+            if ("native".equals(nativeByteOrderName))
+            {
+                nativeByteOrder = ByteOrder.nativeOrder();
+            }
+            else if (null != nativeByteOrderName)
+            {
+                nativeByteOrder = getByteOrder(nativeByteOrderName);
+            }
+
             return new JavaGenerator(
                 ir,
                 System.getProperty(JAVA_ENCODING_BUFFER_TYPE, JAVA_DEFAULT_ENCODING_BUFFER_TYPE),
@@ -53,6 +68,13 @@ public enum TargetCodeGeneratorLoader implements TargetCodeGenerator
                 "true".equals(System.getProperty(JAVA_GENERATE_INTERFACES)),
                 "true".equals(System.getProperty(DECODE_UNKNOWN_ENUM_VALUES)),
                 "true".equals(System.getProperty(TYPES_PACKAGE_OVERRIDE)),
+                "true".equals(System.getProperty(JAVA_GENERATE_BULK_ARRAY_ACCESSORS)),
+                "true".equals(System.getProperty(JAVA_GENERATE_ASCII_VIEWS)),
+                "true".equals(System.getProperty(JAVA_GENERATE_GROUP_COLUMN_ACCESSORS)),
+                "true".equals(System.getProperty(JAVA_GENERATE_MESSAGE_BATCH)),
+                "true".equals(System.getProperty(JAVA_GENERATE_MESSAGE_DISPATCHER)),
+                Integer.getInteger(GENERATION_THREADS, 1) > 1 ? ForkJoinTask.getPool() : null,
+                nativeByteOrder,
                 new JavaOutputManager(outputDir, ir.applicableNamespace()));
         }
     },
@@ -67,7 +89,10 @@ public enum TargetCodeGeneratorLoader implements TargetCodeGenerator
          */
         public CodeGenerator newInstance(final Ir ir, final String outputDir)
         {
-            return new CGenerator(ir, new COutputManager(outputDir, ir.applicableNamespace()));
+            return new CGenerator(
+                ir,
+                "true".equals(System.getProperty(C_UNCHECKED_ACCESSORS)),
+                new COutputManager(outputDir, ir.applicableNamespace()));
         }
     },
 
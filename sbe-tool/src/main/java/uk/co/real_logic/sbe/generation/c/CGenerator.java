@@ -42,8 +42,30 @@ import static uk.co.real_logic.sbe.ir.GenerationUtil.*;
 @SuppressWarnings("MethodLength")
 public class CGenerator implements CodeGenerator
 {
+    private static final String POSITION_CHECK =
+        "    if (SBE_BOUNDS_CHECK_EXPECT((position > codec->buffer_length), false))\n" +
+        "    {\n" +
+        "       errno = E100;\n" +
+        "       return false;\n" +
+        "    }\n";
+
+    private static final String GROUP_NEXT_CHECK =
+        "#if defined(__GNUG__) && !defined(__clang__)\n" +
+        "#pragma GCC diagnostic push\n" +
+        "#pragma GCC diagnostic ignored \"-Wmaybe-uninitialized\"\n" +
+        "#endif\n" +
+        "    if (SBE_BOUNDS_CHECK_EXPECT(((codec->offset + codec->block_length) > codec->buffer_length), false))\n" +
+        "#if defined(__GNUG__) && !defined(__clang__)\n" +
+        "#pragma GCC diagnostic pop\n" +
+        "#endif\n" +
+        "    {\n" +
+        "        errno = E108;\n" +
+        "        return NULL;\n" +
+        "    }\n";
+
     private final Ir ir;
     private final OutputManager outputManager;
+    private final boolean uncheckedAccessors;
 
     /**
      * Create a new C language {@link CodeGenerator}.
@@ -52,11 +74,26 @@ public class CGenerator implements CodeGenerator
      * @param outputManager for generating the codecs to.
      */
     public CGenerator(final Ir ir, final OutputManager outputManager)
+    {
+        this(ir, false, outputManager);
+    }
+
+    /**
+     * Create a new C language {@link CodeGenerator}.
+     *
+     * @param ir                 for the messages and types.
+     * @param uncheckedAccessors true to generate always inlined accessors which do not check bounds, with the bounds
+     *                           of the message block and of each group instead checked once when they are wrapped.
+     *                           Putting var data still checks it fits in the buffer.
+     * @param outputManager      for generating the codecs to.
+     */
+    public CGenerator(final Ir ir, final boolean uncheckedAccessors, final OutputManager outputManager)
     {
         Verify.notNull(ir, "ir");
         Verify.notNull(outputManager, "outputManager");
 
         this.ir = ir;
+        this.uncheckedAccessors = uncheckedAccessors;
         this.outputManager = outputManager;
     }
 
@@ -246,7 +283,7 @@ public class CGenerator implements CodeGenerator
             groupName));
     }
 
-    private static void generateGroupHeaderFunctions(
+    private void generateGroupHeaderFunctions(
         final StringBuilder sb,
         final CharSequence[] scope,
         final String groupName,
@@ -284,13 +321,17 @@ public class CGenerator implements CodeGenerator
             "    }\n\n" +
             "    codec->block_length = %2$s_blockLength(&dimensions);\n" +
             "    codec->count = %2$s_numInGroup(&dimensions);\n" +
+            "%4$s" +
             "    codec->index = -1;\n" +
             "    codec->acting_version = acting_version;\n" +
             "    codec->position_ptr = pos;\n" +
             "    *codec->position_ptr = *codec->position_ptr + %3$d;\n\n" +
             "    return codec;\n" +
             "}\n",
-            groupName, dimensionsStructName, dimensionHeaderLength));
+            groupName,
+            dimensionsStructName,
+            dimensionHeaderLength,
+            generateGroupExtentCheck(dimensionHeaderLength, "codec->count", "codec->block_length")));
 
         final long minCount = numInGroupToken.encoding().applicableMinValue().longValue();
         final String minCheck = minCount > 0 ? "count < " + minCount + " || " : "";
@@ -323,6 +364,7 @@ public class CGenerator implements CodeGenerator
             "    {\n" +
             "        return NULL;\n" +
             "    }\n\n" +
+            "%9$s" +
             "    %5$s_set_blockLength(&dimensions, (%2$s)%3$d);\n" +
             "    %5$s_set_numInGroup(&dimensions, (%4$s)count);\n" +
             "    codec->index = -1;\n" +
@@ -336,7 +378,8 @@ public class CGenerator implements CodeGenerator
             groupName, cTypeForBlockLength, blockLength, cTypeForNumInGroup,
             dimensionsStructName, dimensionHeaderLength,
             minCheck,
-            numInGroupToken.encoding().applicableMaxValue().longValue()));
+            numInGroupToken.encoding().applicableMaxValue().longValue(),
+            generateGroupExtentCheck(dimensionHeaderLength, "count", Integer.toString(blockLength))));
 
         sb.append(String.format("\n" +
             "SBE_ONE_DEF uint64_t %3$s_sbe_header_size(void)\n" +
@@ -366,11 +409,7 @@ public class CGenerator implements CodeGenerator
             "    struct %3$s *const codec,\n" +
             "    const uint64_t position)\n" +
             "{\n" +
-            "    if (SBE_BOUNDS_CHECK_EXPECT((position > codec->buffer_length), false))\n" +
-            "    {\n" +
-            "       errno = E100;\n" +
-            "       return false;\n" +
-            "    }\n" +
+            "%4$s" +
             "    *codec->position_ptr = position;\n\n" +
             "    return true;\n" +
             "}\n\n" +
@@ -398,19 +437,7 @@ public class CGenerator implements CodeGenerator
             "    struct %3$s *const codec)\n" +
             "{\n" +
             "    codec->offset = *codec->position_ptr;\n" +
-            "#if defined(__GNUG__) && !defined(__clang__)\n" +
-            "#pragma GCC diagnostic push\n" +
-            "#pragma GCC diagnostic ignored \"-Wmaybe-uninitialized\"\n" +
-            "#endif\n" +
-            "    if (SBE_BOUNDS_CHECK_EXPECT(((codec->offset + codec->block_length) " +
-            "> codec->buffer_length), false))\n" +
-            "#if defined(__GNUG__) && !defined(__clang__)\n" +
-            "#pragma GCC diagnostic pop\n" +
-            "#endif\n" +
-            "    {\n" +
-            "        errno = E108;\n" +
-            "        return NULL;\n" +
-            "    }\n" +
+            "%5$s" +
             "    *codec->position_ptr = codec->offset + codec->block_length;\n" +
             "    ++codec->index;\n\n" +
 
@@ -432,7 +459,30 @@ public class CGenerator implements CodeGenerator
             "    }\n\n" +
             "    return codec;\n" +
             "}\n",
-            dimensionHeaderLength, blockLength, groupName));
+            dimensionHeaderLength,
+            blockLength,
+            groupName,
+            uncheckedAccessors ? "" : POSITION_CHECK,
+            uncheckedAccessors ? "" : GROUP_NEXT_CHECK));
+    }
+
+    private CharSequence generateGroupExtentCheck(
+        final int dimensionHeaderLength, final String count, final String blockLength)
+    {
+        if (!uncheckedAccessors)
+        {
+            return "";
+        }
+
+        return String.format(
+            "    if (SBE_BOUNDS_CHECK_EXPECT(((*pos + %1$d + (%2$s * %3$s)) > buffer_length), false))\n" +
+            "    {\n" +
+            "        errno = E108;\n" +
+            "        return NULL;\n" +
+            "    }\n",
+            dimensionHeaderLength,
+            count,
+            blockLength);
     }
 
     private static CharSequence generateGroupPropertyFunctions(
@@ -622,6 +672,7 @@ public class CGenerator implements CodeGenerator
                 "    uint64_t length_of_length_field = %2$d;\n" +
                 "    uint64_t length_position = %5$s_sbe_position(codec);\n" +
                 "    %3$s length_field_value = %4$s(length);\n" +
+                "%6$s" +
                 "    if (!%5$s_set_sbe_position(codec, length_position + length_of_length_field))\n" +
                 "    {\n" +
                 "        return NULL;\n" +
@@ -639,7 +690,8 @@ public class CGenerator implements CodeGenerator
                 lengthOfLengthField,
                 lengthCType,
                 lengthByteOrderStr,
-                structName));
+                structName,
+                generateVarDataPutCheck()));
 
             i += token.componentTokenCount();
         }
@@ -647,6 +699,22 @@ public class CGenerator implements CodeGenerator
         return sb;
     }
 
+    private CharSequence generateVarDataPutCheck()
+    {
+        if (!uncheckedAccessors)
+        {
+            return "";
+        }
+
+        return
+            "    if (SBE_BOUNDS_CHECK_EXPECT(\n" +
+            "        ((length_position + length_of_length_field + length) > codec->buffer_length), false))\n" +
+            "    {\n" +
+            "        errno = E100;\n" +
+            "        return NULL;\n" +
+            "    }\n\n";
+    }
+
     private void generateVarDataDescriptors(
         final StringBuilder sb,
         final Token token,
@@ -1056,7 +1124,39 @@ public class CGenerator implements CodeGenerator
             sinceVersion);
     }
 
-    private static CharSequence generateFileHeader(final String structName, final List<String> typesToInclude)
+    private CharSequence generateOneDef()
+    {
+        if (!uncheckedAccessors)
+        {
+            return
+                "#undef SBE_ONE_DEF\n" +
+                "#ifdef __cplusplus\n" +
+                "#define SBE_ONE_DEF inline\n" +
+                "#else\n" +
+                "#define SBE_ONE_DEF static inline\n" +
+                "#endif\n\n";
+        }
+
+        return
+            "#if !defined(SBE_ALWAYS_INLINE)\n" +
+            "#  if defined(_MSC_VER)\n" +
+            "#    define SBE_ALWAYS_INLINE __forceinline\n" +
+            "#  elif defined(__GNUC__)\n" +
+            "#    define SBE_ALWAYS_INLINE inline __attribute__((always_inline))\n" +
+            "#  else\n" +
+            "#    define SBE_ALWAYS_INLINE inline\n" +
+            "#  endif\n" +
+            "#endif\n\n" +
+
+            "#undef SBE_ONE_DEF\n" +
+            "#ifdef __cplusplus\n" +
+            "#define SBE_ONE_DEF SBE_ALWAYS_INLINE\n" +
+            "#else\n" +
+            "#define SBE_ONE_DEF static SBE_ALWAYS_INLINE\n" +
+            "#endif\n\n";
+    }
+
+    private CharSequence generateFileHeader(final String structName, final List<String> typesToInclude)
     {
         final StringBuilder sb = new StringBuilder();
 
@@ -1088,13 +1188,7 @@ public class CGenerator implements CodeGenerator
             }
         }
 
-        sb.append("\n" +
-            "#ifdef __cplusplus\n" +
-            "#define SBE_ONE_DEF inline\n" +
-            "#else\n" +
-            "#define SBE_ONE_DEF static inline\n" +
-            "#endif\n\n" +
-
+        sb.append("\n").append(generateOneDef()).append(
             "/*\n" +
             " * Define some byte ordering macros\n" +
             " */\n" +
@@ -1897,11 +1991,7 @@ public class CGenerator implements CodeGenerator
             "    struct %10$s *const codec,\n" +
             "    const uint64_t position)\n" +
             "{\n" +
-            "    if (SBE_BOUNDS_CHECK_EXPECT((position > codec->buffer_length), false))\n" +
-            "    {\n" +
-            "        errno = E100;\n" +
-            "        return false;\n" +
-            "    }\n" +
+            "%12$s" +
             "    codec->position = position;\n\n" +
             "    return true;\n" +
             "}\n\n" +
@@ -1925,6 +2015,7 @@ public class CGenerator implements CodeGenerator
             "    codec->buffer_length = buffer_length;\n" +
             "    codec->acting_block_length = acting_block_length;\n" +
             "    codec->acting_version = acting_version;\n" +
+            "%13$s" +
             "    if (!%10$s_set_sbe_position(codec, offset + acting_block_length))\n" +
             "    {\n" +
             "        return NULL;\n" +
@@ -2084,7 +2175,19 @@ public class CGenerator implements CodeGenerator
             generateLiteral(ir.headerStructure().schemaVersionType(), Integer.toString(ir.version())),
             semanticType,
             structName,
-            messageHeaderStruct);
+            messageHeaderStruct,
+            uncheckedAccessors ? "" :
+            "    if (SBE_BOUNDS_CHECK_EXPECT((position > codec->buffer_length), false))\n" +
+            "    {\n" +
+            "        errno = E100;\n" +
+            "        return false;\n" +
+            "    }\n",
+            !uncheckedAccessors ? "" :
+            "    if (SBE_BOUNDS_CHECK_EXPECT(((offset + acting_block_length) > buffer_length), false))\n" +
+            "    {\n" +
+            "        errno = E100;\n" +
+            "        return NULL;\n" +
+            "    }\n");
     }
 
     private CharSequence generateFieldFunctions(
@@ -47,6 +47,82 @@ public class CppGenerator implements CodeGenerator
 {
     private static final String BASE_INDENT = "";
     private static final String INDENT = "    ";
+    private static final String FIELD_DESCRIPTOR_TYPES =
+        "    enum class SbeFieldKind : std::uint8_t\n" +
+        "    {\n" +
+        "        PRIMITIVE, ENUM, SET, COMPOSITE\n" +
+        "    };\n\n" +
+
+        "    enum class SbePrimitiveType : std::uint8_t\n" +
+        "    {\n" +
+        "        NONE, CHAR, INT8, INT16, INT32, INT64, UINT8, UINT16, UINT32, UINT64, FLOAT, DOUBLE\n" +
+        "    };\n\n" +
+
+        "    enum class SbePresence : std::uint8_t\n" +
+        "    {\n" +
+        "        SBE_REQUIRED, SBE_OPTIONAL, SBE_CONSTANT\n" +
+        "    };\n\n" +
+
+        "    enum class SbeByteOrder : std::uint8_t\n" +
+        "    {\n" +
+        "        SBE_LITTLE_ENDIAN, SBE_BIG_ENDIAN\n" +
+        "    };\n\n" +
+
+        "    struct SbeFieldDescriptor\n" +
+        "    {\n" +
+        "        const char *name;\n" +
+        "        std::int32_t id;\n" +
+        "        std::uint64_t sinceVersion;\n" +
+        "        std::uint64_t offset;\n" +
+        "        std::uint64_t encodingLength;\n" +
+        "        std::uint64_t arrayLength;\n" +
+        "        SbeFieldKind kind;\n" +
+        "        SbePrimitiveType primitiveType;\n" +
+        "        SbePresence presence;\n" +
+        "        SbeByteOrder byteOrder;\n" +
+        "    };\n\n";
+    private static final String COLUMN_VIEW_TYPE =
+        "    template<typename T>\n" +
+        "    class SbeColumnView\n" +
+        "    {\n" +
+        "    private:\n" +
+        "        const char *m_data = nullptr;\n" +
+        "        std::uint64_t m_count = 0;\n" +
+        "        std::uint64_t m_stride = 0;\n\n" +
+
+        "    public:\n" +
+        "        SbeColumnView() = default;\n\n" +
+
+        "        SbeColumnView(\n" +
+        "            const char *data, const std::uint64_t count, const std::uint64_t stride) SBE_NOEXCEPT :\n" +
+        "            m_data(data),\n" +
+        "            m_count(count),\n" +
+        "            m_stride(stride)\n" +
+        "        {\n" +
+        "        }\n\n" +
+
+        "        SBE_NODISCARD const char *data() const SBE_NOEXCEPT\n" +
+        "        {\n" +
+        "            return m_data;\n" +
+        "        }\n\n" +
+
+        "        SBE_NODISCARD std::uint64_t size() const SBE_NOEXCEPT\n" +
+        "        {\n" +
+        "            return m_count;\n" +
+        "        }\n\n" +
+
+        "        SBE_NODISCARD std::uint64_t stride() const SBE_NOEXCEPT\n" +
+        "        {\n" +
+        "            return m_stride;\n" +
+        "        }\n\n" +
+
+        "        SBE_NODISCARD T operator[](const std::uint64_t index) const SBE_NOEXCEPT\n" +
+        "        {\n" +
+        "            T value;\n" +
+        "            std::memcpy(&value, m_data + (index * m_stride), sizeof(T));\n" +
+        "            return value;\n" +
+        "        }\n" +
+        "    };\n\n";
 
     private final Ir ir;
     private final OutputManager outputManager;
@@ -157,6 +233,7 @@ public class CppGenerator implements CodeGenerator
                 collectVarData(messageBody, i, varData);
 
                 final StringBuilder sb = new StringBuilder();
+                generateFieldDescriptors(sb, fields, BASE_INDENT);
                 generateFields(sb, className, fields, BASE_INDENT);
                 generateGroups(sb, groups, BASE_INDENT);
                 generateVarData(sb, className, varData, BASE_INDENT);
@@ -191,6 +268,7 @@ public class CppGenerator implements CodeGenerator
 
             final List<Token> fields = new ArrayList<>();
             i = collectFields(tokens, i, fields);
+            generateFieldDescriptors(sb, fields, indent + INDENT);
             generateFields(sb, formatClassName(groupName), fields, indent + INDENT);
 
             final List<Token> groups = new ArrayList<>();
@@ -201,6 +279,11 @@ public class CppGenerator implements CodeGenerator
             i = collectVarData(tokens, i, varData);
             generateVarData(sb, formatClassName(groupName), varData, indent + INDENT);
 
+            if (groups.isEmpty() && varData.isEmpty())
+            {
+                generateGroupColumnViews(sb, fields, indent + INDENT);
+            }
+
             sb.append(generateGroupDisplay(groupName, fields, groups, varData, indent + INDENT + INDENT));
             sb.append(generateMessageLength(groups, varData, indent + INDENT + INDENT));
 
@@ -791,6 +874,7 @@ public class CppGenerator implements CodeGenerator
                 generateTypesToIncludes(tokens.subList(1, tokens.size() - 1))));
             out.append(generateClassDeclaration(compositeName));
             out.append(generateFixedFlyweightCode(compositeName, tokens.get(0).encodedLength()));
+            out.append(generateCompositeFieldDescriptors(tokens.subList(1, tokens.size() - 1), BASE_INDENT));
 
             out.append(generateCompositePropertyElements(
                 compositeName, tokens.subList(1, tokens.size() - 1), BASE_INDENT));
@@ -1025,6 +1109,23 @@ public class CppGenerator implements CodeGenerator
             sinceVersion);
     }
 
+    private static CharSequence generateEmptyNotPresentCondition(
+        final int sinceVersion, final String typeName, final String indent)
+    {
+        if (0 == sinceVersion)
+        {
+            return "";
+        }
+
+        return String.format(
+            indent + "        if (m_actingVersion < %1$d)\n" +
+            indent + "        {\n" +
+            indent + "            return %2$s();\n" +
+            indent + "        }\n\n",
+            sinceVersion,
+            typeName);
+    }
+
     private static CharSequence generateTypeFieldNotPresentCondition(final int sinceVersion, final String indent)
     {
         if (0 == sinceVersion)
@@ -1080,6 +1181,10 @@ public class CppGenerator implements CodeGenerator
             "#  define SBE_NODISCARD\n" +
             "#endif\n\n" +
 
+            "#if __cplusplus >= 202002L\n" +
+            "#  include <span>\n" +
+            "#endif\n\n" +
+
             "#if !defined(__STDC_LIMIT_MACROS)\n" +
             "#  define __STDC_LIMIT_MACROS 1\n" +
             "#endif\n\n" +
@@ -1097,6 +1202,8 @@ public class CppGenerator implements CodeGenerator
             "\n" +
 
             "#if defined(WIN32) || defined(_WIN32)\n" +
+            "#  define SBE_LITTLE_ENDIAN_IS_NATIVE 1\n" +
+            "#  define SBE_BIG_ENDIAN_IS_NATIVE 0\n" +
             "#  define SBE_BIG_ENDIAN_ENCODE_16(v) _byteswap_ushort(v)\n" +
             "#  define SBE_BIG_ENDIAN_ENCODE_32(v) _byteswap_ulong(v)\n" +
             "#  define SBE_BIG_ENDIAN_ENCODE_64(v) _byteswap_uint64(v)\n" +
@@ -1104,6 +1211,8 @@ public class CppGenerator implements CodeGenerator
             "#  define SBE_LITTLE_ENDIAN_ENCODE_32(v) (v)\n" +
             "#  define SBE_LITTLE_ENDIAN_ENCODE_64(v) (v)\n" +
             "#elif __BYTE_ORDER__ == __ORDER_LITTLE_ENDIAN__\n" +
+            "#  define SBE_LITTLE_ENDIAN_IS_NATIVE 1\n" +
+            "#  define SBE_BIG_ENDIAN_IS_NATIVE 0\n" +
             "#  define SBE_BIG_ENDIAN_ENCODE_16(v) __builtin_bswap16(v)\n" +
             "#  define SBE_BIG_ENDIAN_ENCODE_32(v) __builtin_bswap32(v)\n" +
             "#  define SBE_BIG_ENDIAN_ENCODE_64(v) __builtin_bswap64(v)\n" +
@@ -1111,6 +1220,8 @@ public class CppGenerator implements CodeGenerator
             "#  define SBE_LITTLE_ENDIAN_ENCODE_32(v) (v)\n" +
             "#  define SBE_LITTLE_ENDIAN_ENCODE_64(v) (v)\n" +
             "#elif __BYTE_ORDER__ == __ORDER_BIG_ENDIAN__\n" +
+            "#  define SBE_LITTLE_ENDIAN_IS_NATIVE 0\n" +
+            "#  define SBE_BIG_ENDIAN_IS_NATIVE 1\n" +
             "#  define SBE_LITTLE_ENDIAN_ENCODE_16(v) __builtin_bswap16(v)\n" +
             "#  define SBE_LITTLE_ENDIAN_ENCODE_32(v) __builtin_bswap32(v)\n" +
             "#  define SBE_LITTLE_ENDIAN_ENCODE_64(v) __builtin_bswap64(v)\n" +
@@ -1682,6 +1793,117 @@ public class CppGenerator implements CodeGenerator
                 offset,
                 arrayLength);
         }
+
+        generateArraySpanGetter(sb, propertyName, propertyToken, encodingToken, indent);
+    }
+
+    private static void generateArraySpanGetter(
+        final StringBuilder sb,
+        final String propertyName,
+        final Token propertyToken,
+        final Token encodingToken,
+        final String indent)
+    {
+        final PrimitiveType primitiveType = encodingToken.encoding().primitiveType();
+        final String cppTypeName = cppTypeName(primitiveType);
+        final StringBuilder alignmentCheck = new StringBuilder();
+
+        if (primitiveType.size() > 1)
+        {
+            new Formatter(alignmentCheck).format(
+                indent + "        if (SBE_BOUNDS_CHECK_EXPECT(\n" +
+                indent + "            ((reinterpret_cast<std::uintptr_t>(data) %% alignof(%1$s)) != 0), false))\n" +
+                indent + "        {\n" +
+                indent + "            throw std::runtime_error(\"buffer misaligned for get%2$sAsSpan [E111]\");\n" +
+                indent + "        }\n\n",
+                cppTypeName,
+                toUpperFirstChar(propertyName));
+        }
+
+        new Formatter(sb).format("\n" +
+            indent + "    #if __cplusplus >= 202002L%1$s\n" +
+            indent + "    SBE_NODISCARD std::span<const %2$s> get%3$sAsSpan() const\n" +
+            indent + "    {\n" +
+            "%4$s" +
+            indent + "        const char *data = m_buffer + m_offset + %5$d;\n" +
+            "%6$s" +
+            indent + "        return std::span<const %2$s>(reinterpret_cast<const %2$s *>(data), %7$d);\n" +
+            indent + "    }\n" +
+            indent + "    #endif\n",
+            generateNativeByteOrderCondition(" && ", primitiveType, encodingToken.encoding().byteOrder()),
+            cppTypeName,
+            toUpperFirstChar(propertyName),
+            generateEmptyNotPresentCondition(propertyToken.version(), "std::span<const " + cppTypeName + ">", indent),
+            encodingToken.offset(),
+            alignmentCheck,
+            encodingToken.arrayLength());
+    }
+
+    private static void generateGroupColumnViews(
+        final StringBuilder sb, final List<Token> tokens, final String indent)
+    {
+        for (int i = 0, size = tokens.size(); i < size; i++)
+        {
+            final Token signalToken = tokens.get(i);
+            if (signalToken.signal() != Signal.BEGIN_FIELD)
+            {
+                continue;
+            }
+
+            final Token encodingToken = tokens.get(i + 1);
+            if (encodingToken.signal() != Signal.ENCODING ||
+                encodingToken.isConstantEncoding() ||
+                encodingToken.arrayLength() != 1)
+            {
+                continue;
+            }
+
+            final PrimitiveType primitiveType = encodingToken.encoding().primitiveType();
+            final String cppTypeName = cppTypeName(primitiveType);
+            final String propertyName = formatPropertyName(signalToken.name());
+            final String condition = generateNativeByteOrderCondition(
+                "", primitiveType, encodingToken.encoding().byteOrder());
+
+            sb.append("\n");
+            if (!condition.isEmpty())
+            {
+                sb.append(indent).append("    #if ").append(condition).append("\n");
+            }
+
+            new Formatter(sb).format(
+                indent + "    SBE_NODISCARD SbeColumnView<%1$s> %2$sColumn() const\n" +
+                indent + "    {\n" +
+                "%3$s" +
+                indent + "        const std::uint64_t offset = m_initialPosition + sbeHeaderSize();\n" +
+                indent + "        if (SBE_BOUNDS_CHECK_EXPECT(\n" +
+                indent + "            ((offset + (m_count * m_blockLength)) > m_bufferLength), false))\n" +
+                indent + "        {\n" +
+                indent + "            throw std::runtime_error(\"buffer too short for %2$sColumn [E108]\");\n" +
+                indent + "        }\n\n" +
+
+                indent + "        return SbeColumnView<%1$s>(m_buffer + offset + %4$d, m_count, m_blockLength);\n" +
+                indent + "    }\n",
+                cppTypeName,
+                propertyName,
+                generateEmptyNotPresentCondition(signalToken.version(), "SbeColumnView<" + cppTypeName + ">", indent),
+                encodingToken.offset());
+
+            if (!condition.isEmpty())
+            {
+                sb.append(indent).append("    #endif\n");
+            }
+        }
+    }
+
+    private static String generateNativeByteOrderCondition(
+        final String prefix, final PrimitiveType primitiveType, final ByteOrder byteOrder)
+    {
+        if (primitiveType.size() == 1)
+        {
+            return "";
+        }
+
+        return prefix + "SBE_" + byteOrder + "_IS_NATIVE";
     }
 
     private void generateJsonEscapedStringGetter(
@@ -1827,6 +2049,8 @@ public class CppGenerator implements CodeGenerator
             "        EPOCH, TIME_UNIT, SEMANTIC_TYPE, PRESENCE\n" +
             "    };\n\n" +
 
+            FIELD_DESCRIPTOR_TYPES +
+
             "    union sbe_float_as_uint_u\n" +
             "    {\n" +
             "        float fp_value;\n" +
@@ -1998,6 +2222,9 @@ public class CppGenerator implements CodeGenerator
             "        EPOCH, TIME_UNIT, SEMANTIC_TYPE, PRESENCE\n" +
             "    };\n\n" +
 
+            FIELD_DESCRIPTOR_TYPES +
+            COLUMN_VIEW_TYPE +
+
             "    union sbe_float_as_uint_u\n" +
             "    {\n" +
             "        float fp_value;\n" +
@@ -2237,6 +2464,117 @@ public class CppGenerator implements CodeGenerator
             encodingToken.offset());
     }
 
+    private static void generateFieldDescriptors(
+        final StringBuilder sb, final List<Token> tokens, final String indent)
+    {
+        final List<Token> fieldTokens = new ArrayList<>();
+        final List<Token> encodingTokens = new ArrayList<>();
+
+        for (int i = 0, size = tokens.size(); i < size; i++)
+        {
+            final Token signalToken = tokens.get(i);
+            if (signalToken.signal() == Signal.BEGIN_FIELD)
+            {
+                fieldTokens.add(signalToken);
+                encodingTokens.add(tokens.get(i + 1));
+            }
+        }
+
+        generateFieldDescriptors(sb, fieldTokens, encodingTokens, indent);
+    }
+
+    private static CharSequence generateCompositeFieldDescriptors(final List<Token> tokens, final String indent)
+    {
+        final StringBuilder sb = new StringBuilder();
+        final List<Token> fieldTokens = new ArrayList<>();
+
+        for (int i = 0; i < tokens.size(); i += tokens.get(i).componentTokenCount())
+        {
+            fieldTokens.add(tokens.get(i));
+        }
+
+        generateFieldDescriptors(sb, fieldTokens, fieldTokens, indent);
+
+        return sb;
+    }
+
+    private static void generateFieldDescriptors(
+        final StringBuilder sb, final List<Token> fieldTokens, final List<Token> encodingTokens, final String indent)
+    {
+        final int fieldCount = fieldTokens.size();
+
+        new Formatter(sb).format("\n" +
+            indent + "    SBE_NODISCARD static SBE_CONSTEXPR std::size_t sbeFieldCount() SBE_NOEXCEPT\n" +
+            indent + "    {\n" +
+            indent + "        return %1$d;\n" +
+            indent + "    }\n\n",
+            fieldCount);
+
+        if (0 == fieldCount)
+        {
+            sb.append(
+                indent + "    SBE_NODISCARD static SbeFieldDescriptor sbeField(const std::size_t)\n" +
+                indent + "    {\n" +
+                indent + "        throw std::runtime_error(\"index out of range for sbeField [E104]\");\n" +
+                indent + "    }\n");
+
+            return;
+        }
+
+        sb.append(
+            indent + "    SBE_NODISCARD static SBE_CONSTEXPR SbeFieldDescriptor sbeField(const std::size_t index)\n" +
+            indent + "    {\n" +
+            indent + "        return\n");
+
+        for (int i = 0; i < fieldCount; i++)
+        {
+            final Token fieldToken = fieldTokens.get(i);
+            final Token encodingToken = encodingTokens.get(i);
+            final Encoding encoding = encodingToken.encoding();
+            final boolean isPrimitive = encodingToken.signal() == Signal.ENCODING;
+            final Encoding.Presence presence = encodingToken.isConstantEncoding() ?
+                Encoding.Presence.CONSTANT : fieldToken.encoding().presence();
+
+            new Formatter(sb).format(
+                indent + "            %1$d == index ? SbeFieldDescriptor{ \"%2$s\", %3$d, %4$d, %5$d, %6$d, %7$d,\n" +
+                indent + "                SbeFieldKind::%8$s, SbePrimitiveType::%9$s, SbePresence::SBE_%10$s, " +
+                "SbeByteOrder::%11$s } :\n",
+                i,
+                formatPropertyName(fieldToken.name()),
+                fieldToken.id(),
+                fieldToken.version(),
+                encodingToken.offset(),
+                Encoding.Presence.CONSTANT == presence ? 0 : Math.max(0, encodingToken.encodedLength()),
+                isPrimitive ? Math.max(0, encodingToken.arrayLength()) : 1,
+                fieldKind(encodingToken.signal()),
+                null == encoding.primitiveType() ? "NONE" : encoding.primitiveType().name(),
+                presence.name(),
+                encoding.byteOrder() == ByteOrder.BIG_ENDIAN ? "SBE_BIG_ENDIAN" : "SBE_LITTLE_ENDIAN");
+        }
+
+        sb.append(
+            indent + "            throw std::runtime_error(\"index out of range for sbeField [E104]\");\n" +
+            indent + "    }\n");
+    }
+
+    private static String fieldKind(final Signal signal)
+    {
+        switch (signal)
+        {
+            case BEGIN_ENUM:
+                return "ENUM";
+
+            case BEGIN_SET:
+                return "SET";
+
+            case BEGIN_COMPOSITE:
+                return "COMPOSITE";
+
+            default:
+                return "PRIMITIVE";
+        }
+    }
+
     private static void generateFieldMetaAttributeMethod(
         final StringBuilder sb, final Token token, final String indent)
     {
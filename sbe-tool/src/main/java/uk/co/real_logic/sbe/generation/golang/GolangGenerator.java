@@ -18,6 +18,7 @@ package uk.co.real_logic.sbe.generation.golang;
 
 import uk.co.real_logic.sbe.PrimitiveType;
 import uk.co.real_logic.sbe.generation.CodeGenerator;
+import uk.co.real_logic.sbe.generation.EnumLookupTable;
 import org.agrona.generation.OutputManager;
 import uk.co.real_logic.sbe.generation.Generators;
 import uk.co.real_logic.sbe.generation.java.JavaUtil;
@@ -30,6 +31,7 @@ import java.io.InputStream;
 import java.io.Writer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 import java.util.Stack;
@@ -832,7 +834,8 @@ public class GolangGenerator implements CodeGenerator
         return currentOffset;
     }
 
-    private void generateEnumEncodeDecode(final StringBuilder sb, final String enumName, final Token token)
+    private void generateEnumEncodeDecode(
+        final StringBuilder sb, final String enumName, final Token token, final List<Token> valueTokens)
     {
         final char varName = Character.toLowerCase(enumName.charAt(0));
         final String typeName = golangTypeName(token.encoding().primitiveType());
@@ -872,10 +875,24 @@ public class GolangGenerator implements CodeGenerator
             varName));
 
         // Range check
-        // We use golang's reflect to range over the values in the
-        // struct to check which are legitimate
+        // Values, including the null value, are checked against a lookup table when
+        // one can be found, otherwise we use golang's reflect to range over the
+        // values in the struct to check which are legitimate
+        final long[] values = new long[valueTokens.size() + 1];
+        for (int i = 0, size = valueTokens.size(); i < size; i++)
+        {
+            values[i] = valueTokens.get(i).encoding().constValue().longValue();
+        }
+        values[valueTokens.size()] = token.encoding().applicableNullValue().longValue();
+
+        final EnumLookupTable table = EnumLookupTable.find(values, 64);
+        final String tableName = Generators.toLowerFirstChar(enumName) + "RangeCheckTable";
+        if (null != table)
+        {
+            generateEnumRangeCheckTable(sb, tableName, values, table);
+        }
+
         imports.peek().add("fmt");
-        imports.peek().add("reflect");
         generateRangeCheckHeader(sb, varName, enumName + "Enum", true);
 
         // For enums we can add new fields so if we're decoding a
@@ -887,6 +904,44 @@ public class GolangGenerator implements CodeGenerator
             "\t}\n");
 
         // Otherwise the value should be known
+        if (null != table && table.isDense())
+        {
+            final String index = 0 == table.minValue() ?
+                "uint64(" + varName + ")" : "uint64(" + varName + ") - " + Long.toUnsignedString(table.minValue());
+            sb.append(String.format(
+                "\tif idx := %1$s; idx < %2$d && %3$s[idx] {\n" +
+                "\t\treturn nil\n" +
+                "\t}\n",
+                index,
+                table.length(),
+                tableName));
+        }
+        else if (null != table)
+        {
+            final String hash = 0 == table.shift() ? "h" : "(h ^ (h >> " + table.shift() + "))";
+            sb.append(String.format(
+                "\th := uint64(%1$s)\n" +
+                "\tif %2$s[%3$s&%4$d] == h {\n" +
+                "\t\treturn nil\n" +
+                "\t}\n",
+                varName,
+                tableName,
+                hash,
+                table.mask()));
+        }
+
+        if (null != table)
+        {
+            sb.append(String.format(
+                "\treturn fmt.Errorf(\"Range check failed on %2$s, unknown enumeration value %%d\", %1$s)\n" +
+                "}\n",
+                varName,
+                enumName));
+
+            return;
+        }
+
+        imports.peek().add("reflect");
         sb.append(String.format(
             "\tvalue := reflect.ValueOf(%2$s)\n" +
             "\tfor idx := 0; idx < value.NumField(); idx++ {\n" +
@@ -900,6 +955,34 @@ public class GolangGenerator implements CodeGenerator
             enumName));
     }
 
+    private static void generateEnumRangeCheckTable(
+        final StringBuilder sb, final String tableName, final long[] values, final EnumLookupTable table)
+    {
+        if (table.isDense())
+        {
+            sb.append(String.format("\nvar %1$s = [%2$d]bool{", tableName, table.length()));
+            for (int i = 0; i < values.length; i++)
+            {
+                sb.append(i > 0 ? ", " : "").append(table.slot(values[i])).append(": true");
+            }
+        }
+        else
+        {
+            // Empty slots hold a value which hashes to another slot so can never match
+            final String[] slots = new String[table.length()];
+            Arrays.fill(slots, Long.toUnsignedString(values[0]));
+            for (final long value : values)
+            {
+                slots[table.slot(value)] = Long.toUnsignedString(value);
+            }
+
+            sb.append(String.format("\nvar %1$s = [%2$d]uint64{", tableName, table.length()))
+                .append(String.join(", ", slots));
+        }
+
+        sb.append("}\n");
+    }
+
     private void generateChoiceEncodeDecode(final StringBuilder sb, final String choiceName, final Token token)
     {
         final char varName = Character.toLowerCase(choiceName.charAt(0));
@@ -1492,7 +1575,7 @@ public class GolangGenerator implements CodeGenerator
                 tokens.subList(1, tokens.size() - 1),
                 enumToken);
 
-            generateEnumEncodeDecode(sb, enumName, enumToken);
+            generateEnumEncodeDecode(sb, enumName, enumToken, tokens.subList(1, tokens.size() - 1));
 
             // EncodedLength
             sb.append(String.format(
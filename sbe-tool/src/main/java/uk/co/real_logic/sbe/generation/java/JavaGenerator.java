@@ -16,24 +16,39 @@
 package uk.co.real_logic.sbe.generation.java;
 
 import org.agrona.DirectBuffer;
+import org.agrona.LangUtil;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.Strings;
 import org.agrona.Verify;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.generation.DynamicPackageOutputManager;
+import org.agrona.generation.OutputManager;
 import org.agrona.sbe.*;
 import uk.co.real_logic.sbe.PrimitiveType;
+import uk.co.real_logic.sbe.SbeTool;
 import uk.co.real_logic.sbe.generation.CodeGenerator;
+import uk.co.real_logic.sbe.generation.EnumLookupTable;
 import uk.co.real_logic.sbe.generation.Generators;
 import uk.co.real_logic.sbe.ir.*;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Formatter;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import static uk.co.real_logic.sbe.SbeTool.JAVA_INTERFACE_PACKAGE;
@@ -50,6 +65,17 @@ public class JavaGenerator implements CodeGenerator
 {
     static final String MESSAGE_HEADER_ENCODER_TYPE = "MessageHeaderEncoder";
     static final String MESSAGE_HEADER_DECODER_TYPE = "MessageHeaderDecoder";
+    static final String MESSAGE_HANDLER_TYPE = "MessageHandler";
+    static final String MESSAGE_DISPATCHER_TYPE = "MessageDispatcher";
+    static final String MESSAGE_BATCH_ENCODER_TYPE = "MessageBatchEncoder";
+    static final String MESSAGE_BATCH_DECODER_TYPE = "MessageBatchDecoder";
+
+    private static final Set<String> OBJECT_METHOD_NAMES = new HashSet<>(Arrays.asList(
+        "clone", "finalize", "getClass", "hashCode", "notify", "notifyAll", "toString", "wait"));
+    private static final Set<String> BATCH_ENCODER_METHOD_NAMES = new HashSet<>(Arrays.asList(
+        "align", "beginMessage", "buffer", "completeMessage", "length", "messageCount", "offset", "remaining", "wrap"));
+    private static final Set<String> BATCH_DECODER_METHOD_NAMES = new HashSet<>(Arrays.asList(
+        "align", "hasNext", "messageHeader", "next", "wrap"));
 
     enum CodecType
     {
@@ -73,7 +99,14 @@ public class JavaGenerator implements CodeGenerator
     private final boolean shouldGenerateInterfaces;
     private final boolean shouldDecodeUnknownEnumValues;
     private final boolean shouldSupportTypesPackageNames;
-    private final Set<String> packageNameByTypes = new HashSet<>();
+    private final boolean shouldGenerateBulkArrayAccessors;
+    private final boolean shouldGenerateAsciiViews;
+    private final boolean shouldGenerateGroupColumnAccessors;
+    private final boolean shouldGenerateMessageBatch;
+    private final boolean shouldGenerateMessageDispatcher;
+    private final Executor generationExecutor;
+    private final ByteOrder nativeByteOrder;
+    private final Set<String> packageNameByTypes = new TreeSet<>();
 
     /**
      * Create a new Java language {@link CodeGenerator}. Generator support for types in their own package is disabled.
@@ -120,6 +153,133 @@ public class JavaGenerator implements CodeGenerator
         final boolean shouldDecodeUnknownEnumValues,
         final boolean shouldSupportTypesPackageNames,
         final DynamicPackageOutputManager outputManager)
+    {
+        this(ir, mutableBuffer, readOnlyBuffer, shouldGenerateGroupOrderAnnotation, shouldGenerateInterfaces,
+            shouldDecodeUnknownEnumValues, shouldSupportTypesPackageNames, false, outputManager);
+    }
+
+    /**
+     * Create a new Java language {@link CodeGenerator}.
+     *
+     * @param ir                                 for the messages and types.
+     * @param mutableBuffer                      implementation used for mutating underlying buffers.
+     * @param readOnlyBuffer                     implementation used for reading underlying buffers.
+     * @param shouldGenerateGroupOrderAnnotation in the codecs.
+     * @param shouldGenerateInterfaces           for common methods.
+     * @param shouldDecodeUnknownEnumValues      generate support for unknown enum values when decoding.
+     * @param shouldSupportTypesPackageNames     generator support for types in their own package.
+     * @param shouldGenerateBulkArrayAccessors   for copying fixed length primitive arrays to and from Java arrays.
+     * @param outputManager                      for generating the codecs to.
+     */
+    public JavaGenerator(
+        final Ir ir,
+        final String mutableBuffer,
+        final String readOnlyBuffer,
+        final boolean shouldGenerateGroupOrderAnnotation,
+        final boolean shouldGenerateInterfaces,
+        final boolean shouldDecodeUnknownEnumValues,
+        final boolean shouldSupportTypesPackageNames,
+        final boolean shouldGenerateBulkArrayAccessors,
+        final DynamicPackageOutputManager outputManager)
+    {
+        this(ir, mutableBuffer, readOnlyBuffer, shouldGenerateGroupOrderAnnotation, shouldGenerateInterfaces,
+            shouldDecodeUnknownEnumValues, shouldSupportTypesPackageNames, shouldGenerateBulkArrayAccessors, null,
+            outputManager);
+    }
+
+    /**
+     * Create a new Java language {@link CodeGenerator}.
+     * <p>
+     * When the native byte order of the platform the codecs will run on is given then fields are accessed in native
+     * order, with explicit byte swaps for fields encoded in the other order, rather than passing the byte order of
+     * each field to the buffer. The generated codecs will then only decode correctly on platforms of that byte order.
+     *
+     * @param ir                                 for the messages and types.
+     * @param mutableBuffer                      implementation used for mutating underlying buffers.
+     * @param readOnlyBuffer                     implementation used for reading underlying buffers.
+     * @param shouldGenerateGroupOrderAnnotation in the codecs.
+     * @param shouldGenerateInterfaces           for common methods.
+     * @param shouldDecodeUnknownEnumValues      generate support for unknown enum values when decoding.
+     * @param shouldSupportTypesPackageNames     generator support for types in their own package.
+     * @param shouldGenerateBulkArrayAccessors   for copying fixed length primitive arrays to and from Java arrays.
+     * @param nativeByteOrder                    of the platform the codecs will run on or null if not known.
+     * @param outputManager                      for generating the codecs to.
+     */
+    public JavaGenerator(
+        final Ir ir,
+        final String mutableBuffer,
+        final String readOnlyBuffer,
+        final boolean shouldGenerateGroupOrderAnnotation,
+        final boolean shouldGenerateInterfaces,
+        final boolean shouldDecodeUnknownEnumValues,
+        final boolean shouldSupportTypesPackageNames,
+        final boolean shouldGenerateBulkArrayAccessors,
+        final ByteOrder nativeByteOrder,
+        final DynamicPackageOutputManager outputManager)
+    {
+        this(ir, mutableBuffer, readOnlyBuffer, shouldGenerateGroupOrderAnnotation, shouldGenerateInterfaces,
+            shouldDecodeUnknownEnumValues, shouldSupportTypesPackageNames, shouldGenerateBulkArrayAccessors, false,
+            false, false, false, null, nativeByteOrder, outputManager);
+    }
+
+    /**
+     * Create a new Java language {@link CodeGenerator}.
+     * <p>
+     * When the native byte order of the platform the codecs will run on is given then fields are accessed in native
+     * order, with explicit byte swaps for fields encoded in the other order, rather than passing the byte order of
+     * each field to the buffer. The generated codecs will then only decode correctly on platforms of that byte order.
+     * <p>
+     * ASCII views add methods to ASCII char arrays and var data in decoders which wrap an
+     * {@link org.agrona.AsciiSequenceView}, compare to a {@link CharSequence}, and hash the text without allocating.
+     * <p>
+     * Group column accessors copy a field of every element in a group, which has only fixed length fields, to and
+     * from a Java array in a single call.
+     * <p>
+     * A message batch is a {@code MessageBatchEncoder} and {@code MessageBatchDecoder} which pack many messages,
+     * each with its header, into one region of a buffer and iterate over them in place.
+     * <p>
+     * A message dispatcher is a {@code MessageHandler} interface with a callback per message and a
+     * {@code MessageDispatcher} which routes messages to it by template id.
+     * <p>
+     * When a generation executor is given the messages, and the types when they are not in their own packages, are
+     * generated as tasks of it and then written in schema order, so the output is the same as when generated
+     * sequentially. Types in their own packages are generated sequentially as each switches the package of the
+     * output and registers the package to be imported by the messages. If {@link #generate()} is called from a task
+     * of the executor then it should be a {@link ForkJoinPool} so waiting for the tasks does not starve it.
+     *
+     * @param ir                                 for the messages and types.
+     * @param mutableBuffer                      implementation used for mutating underlying buffers.
+     * @param readOnlyBuffer                     implementation used for reading underlying buffers.
+     * @param shouldGenerateGroupOrderAnnotation in the codecs.
+     * @param shouldGenerateInterfaces           for common methods.
+     * @param shouldDecodeUnknownEnumValues      generate support for unknown enum values when decoding.
+     * @param shouldSupportTypesPackageNames     generator support for types in their own package.
+     * @param shouldGenerateBulkArrayAccessors   for copying fixed length primitive arrays to and from Java arrays.
+     * @param shouldGenerateAsciiViews           for reading ASCII strings in place without allocating.
+     * @param shouldGenerateGroupColumnAccessors for copying a field of all elements in a group to and from an array.
+     * @param shouldGenerateMessageBatch         for encoding and decoding many messages in one region of a buffer.
+     * @param shouldGenerateMessageDispatcher    for routing messages to a handler by template id.
+     * @param generationExecutor                 to generate messages and types in parallel or null to generate
+     *                                           sequentially.
+     * @param nativeByteOrder                    of the platform the codecs will run on or null if not known.
+     * @param outputManager                      for generating the codecs to.
+     */
+    public JavaGenerator(
+        final Ir ir,
+        final String mutableBuffer,
+        final String readOnlyBuffer,
+        final boolean shouldGenerateGroupOrderAnnotation,
+        final boolean shouldGenerateInterfaces,
+        final boolean shouldDecodeUnknownEnumValues,
+        final boolean shouldSupportTypesPackageNames,
+        final boolean shouldGenerateBulkArrayAccessors,
+        final boolean shouldGenerateAsciiViews,
+        final boolean shouldGenerateGroupColumnAccessors,
+        final boolean shouldGenerateMessageBatch,
+        final boolean shouldGenerateMessageDispatcher,
+        final Executor generationExecutor,
+        final ByteOrder nativeByteOrder,
+        final DynamicPackageOutputManager outputManager)
     {
         Verify.notNull(ir, "ir");
         Verify.notNull(outputManager, "outputManager");
@@ -137,6 +297,13 @@ public class JavaGenerator implements CodeGenerator
         this.shouldGenerateGroupOrderAnnotation = shouldGenerateGroupOrderAnnotation;
         this.shouldGenerateInterfaces = shouldGenerateInterfaces;
         this.shouldDecodeUnknownEnumValues = shouldDecodeUnknownEnumValues;
+        this.shouldGenerateBulkArrayAccessors = shouldGenerateBulkArrayAccessors;
+        this.shouldGenerateAsciiViews = shouldGenerateAsciiViews;
+        this.shouldGenerateGroupColumnAccessors = shouldGenerateGroupColumnAccessors;
+        this.shouldGenerateMessageBatch = shouldGenerateMessageBatch;
+        this.shouldGenerateMessageDispatcher = shouldGenerateMessageDispatcher;
+        this.generationExecutor = generationExecutor;
+        this.nativeByteOrder = nativeByteOrder;
     }
 
     /**
@@ -146,7 +313,7 @@ public class JavaGenerator implements CodeGenerator
      */
     public void generateMessageHeaderStub() throws IOException
     {
-        generateComposite(ir.headerStructure().tokens());
+        generateComposite(ir.headerStructure().tokens(), outputManager);
     }
 
     /**
@@ -158,22 +325,34 @@ public class JavaGenerator implements CodeGenerator
     {
         generateMetaAttributeEnum();
 
-        for (final List<Token> tokens : ir.types())
+        if (null != generationExecutor && !shouldSupportTypesPackageNames && ir.types().size() > 1)
+        {
+            generateInParallel(ir.types(), this::generateTypeStub);
+        }
+        else
         {
-            switch (tokens.get(0).signal())
+            for (final List<Token> tokens : ir.types())
             {
-                case BEGIN_ENUM:
-                    generateEnum(tokens);
-                    break;
+                generateTypeStub(tokens, outputManager);
+            }
+        }
+    }
 
-                case BEGIN_SET:
-                    generateBitSet(tokens);
-                    break;
+    private void generateTypeStub(final List<Token> tokens, final OutputManager outputManager) throws IOException
+    {
+        switch (tokens.get(0).signal())
+        {
+            case BEGIN_ENUM:
+                generateEnum(tokens, outputManager);
+                break;
 
-                case BEGIN_COMPOSITE:
-                    generateComposite(tokens);
-                    break;
-            }
+            case BEGIN_SET:
+                generateBitSet(tokens, outputManager);
+                break;
+
+            case BEGIN_COMPOSITE:
+                generateComposite(tokens, outputManager);
+                break;
         }
     }
 
@@ -203,6 +382,12 @@ public class JavaGenerator implements CodeGenerator
 
     /**
      * {@inheritDoc}
+     * <p>
+     * When enabled, a {@code MessageHandler} interface with a callback per message and a {@code MessageDispatcher}
+     * to route messages to it by template id, and a {@code MessageBatchEncoder} and {@code MessageBatchDecoder} for
+     * packing many messages into one buffer, are generated for schemas which have messages.
+     *
+     * @throws IllegalStateException if a generated name collides with a type or message of the schema.
      */
     public void generate() throws IOException
     {
@@ -211,25 +396,102 @@ public class JavaGenerator implements CodeGenerator
         generateTypeStubs();
         generateMessageHeaderStub();
 
-        for (final List<Token> tokens : ir.messages())
+        if (null != generationExecutor && ir.messages().size() > 1)
         {
-            final Token msgToken = tokens.get(0);
-            final List<Token> messageBody = getMessageBody(tokens);
-            final boolean hasVarData = -1 != findSignal(messageBody, Signal.BEGIN_VAR_DATA);
+            generateInParallel(ir.messages(), this::generateMessage);
+        }
+        else
+        {
+            for (final List<Token> tokens : ir.messages())
+            {
+                generateMessage(tokens, outputManager);
+            }
+        }
 
-            int i = 0;
-            final List<Token> fields = new ArrayList<>();
-            i = collectFields(messageBody, i, fields);
+        if (shouldGenerateMessageDispatcher && !ir.messages().isEmpty())
+        {
+            final List<String> collisions = new ArrayList<>();
+            collectTypeNameCollisions(collisions, MESSAGE_HANDLER_TYPE, MESSAGE_DISPATCHER_TYPE);
+            validateGeneratedNames(SbeTool.JAVA_GENERATE_MESSAGE_DISPATCHER, collisions);
 
-            final List<Token> groups = new ArrayList<>();
-            i = collectGroups(messageBody, i, groups);
+            generateMessageHandler();
+            generateMessageDispatcher();
+        }
 
-            final List<Token> varData = new ArrayList<>();
-            collectVarData(messageBody, i, varData);
+        if (shouldGenerateMessageBatch && !ir.messages().isEmpty())
+        {
+            final List<String> collisions = new ArrayList<>();
+            collectTypeNameCollisions(collisions, MESSAGE_BATCH_ENCODER_TYPE, MESSAGE_BATCH_DECODER_TYPE);
+            collectMessageMethodCollisions(collisions, MESSAGE_BATCH_ENCODER_TYPE, BATCH_ENCODER_METHOD_NAMES);
+            collectMessageMethodCollisions(collisions, MESSAGE_BATCH_DECODER_TYPE, BATCH_DECODER_METHOD_NAMES);
+            validateGeneratedNames(SbeTool.JAVA_GENERATE_MESSAGE_BATCH, collisions);
+
+            generateMessageBatchEncoder();
+            generateMessageBatchDecoder();
+        }
+    }
+
+    private void generateInParallel(final Collection<List<Token>> tokensList, final TokensGenerator generator)
+        throws IOException
+    {
+        final List<CompletableFuture<BufferedOutputManager>> outputs = new ArrayList<>();
+        for (final List<Token> tokens : tokensList)
+        {
+            outputs.add(CompletableFuture.supplyAsync(
+                () ->
+                {
+                    final BufferedOutputManager bufferedOutputManager = new BufferedOutputManager();
+                    try
+                    {
+                        generator.generate(tokens, bufferedOutputManager);
+                    }
+                    catch (final IOException ex)
+                    {
+                        throw new UncheckedIOException(ex);
+                    }
 
-            generateDecoder(msgToken, fields, groups, varData, hasVarData);
-            generateEncoder(msgToken, fields, groups, varData, hasVarData);
+                    return bufferedOutputManager;
+                },
+                generationExecutor));
         }
+
+        try
+        {
+            for (final CompletableFuture<BufferedOutputManager> output : outputs)
+            {
+                output.join().writeTo(outputManager);
+            }
+        }
+        catch (final CompletionException ex)
+        {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof UncheckedIOException)
+            {
+                throw ((UncheckedIOException)cause).getCause();
+            }
+
+            LangUtil.rethrowUnchecked(cause);
+        }
+    }
+
+    private void generateMessage(final List<Token> tokens, final OutputManager outputManager) throws IOException
+    {
+        final Token msgToken = tokens.get(0);
+        final List<Token> messageBody = getMessageBody(tokens);
+        final boolean hasVarData = -1 != findSignal(messageBody, Signal.BEGIN_VAR_DATA);
+
+        int i = 0;
+        final List<Token> fields = new ArrayList<>();
+        i = collectFields(messageBody, i, fields);
+
+        final List<Token> groups = new ArrayList<>();
+        i = collectGroups(messageBody, i, groups);
+
+        final List<Token> varData = new ArrayList<>();
+        collectVarData(messageBody, i, varData);
+
+        generateDecoder(msgToken, fields, groups, varData, hasVarData, outputManager);
+        generateEncoder(msgToken, fields, groups, varData, hasVarData, outputManager);
     }
 
     private void generateEncoder(
@@ -237,7 +499,8 @@ public class JavaGenerator implements CodeGenerator
         final List<Token> fields,
         final List<Token> groups,
         final List<Token> varData,
-        final boolean hasVarData)
+        final boolean hasVarData,
+        final OutputManager outputManager)
         throws IOException
     {
         final String className = formatClassName(encoderName(msgToken.name()));
@@ -271,7 +534,8 @@ public class JavaGenerator implements CodeGenerator
         final List<Token> fields,
         final List<Token> groups,
         final List<Token> varData,
-        final boolean hasVarData)
+        final boolean hasVarData,
+        final OutputManager outputManager)
         throws IOException
     {
         final String className = formatClassName(decoderName(msgToken.name()));
@@ -342,6 +606,10 @@ public class JavaGenerator implements CodeGenerator
             generateGroupDecoderClassHeader(sb, groupName, outerClassName, tokens, groups, index, indent + INDENT);
 
             generateDecoderFields(sb, fields, indent + INDENT);
+            if (shouldGenerateGroupColumnAccessors && groups.isEmpty() && varData.isEmpty())
+            {
+                generateGroupColumnDecoders(sb, fields, indent + INDENT);
+            }
             generateDecoderGroups(sb, outerClassName, groups, indent + INDENT, true);
             generateDecoderVarData(sb, varData, indent + INDENT);
 
@@ -394,6 +662,10 @@ public class JavaGenerator implements CodeGenerator
             generateGroupEncoderClassHeader(sb, groupName, outerClassName, tokens, groups, index, indent + INDENT);
 
             generateEncoderFields(sb, groupClassName, fields, indent + INDENT);
+            if (shouldGenerateGroupColumnAccessors && groups.isEmpty() && varData.isEmpty())
+            {
+                generateGroupColumnEncoders(sb, groupClassName, fields, indent + INDENT);
+            }
             generateEncoderGroups(sb, outerClassName, groups, indent + INDENT, true);
             generateEncoderVarData(sb, groupClassName, varData, indent + INDENT);
 
@@ -1008,10 +1280,89 @@ public class JavaGenerator implements CodeGenerator
                     sizeOfLengthField,
                     PrimitiveType.UINT32 == lengthType ? "(int)" : "",
                     generateGet(lengthType, "limit", byteOrderStr));
+
+                if (shouldGenerateAsciiViews)
+                {
+                    generateVarDataAsciiViewDecoder(
+                        sb, token, propertyName, sizeOfLengthField, lengthType, byteOrderStr, indent);
+                }
             }
         }
     }
 
+    private void generateVarDataAsciiViewDecoder(
+        final StringBuilder sb,
+        final Token token,
+        final String propertyName,
+        final int sizeOfLengthField,
+        final PrimitiveType lengthType,
+        final String byteOrderStr,
+        final String indent)
+    {
+        final String dataLengthGet = (PrimitiveType.UINT32 == lengthType ? "(int)" : "") +
+            generateGet(lengthType, "limit", byteOrderStr);
+
+        new Formatter(sb).format("\n" +
+            indent + "    public org.agrona.AsciiSequenceView %1$s(final org.agrona.AsciiSequenceView view)\n" +
+            indent + "    {\n" +
+            "%2$s" +
+            indent + "        final int headerLength = %3$d;\n" +
+            indent + "        final int limit = parentMessage.limit();\n" +
+            indent + "        final int dataLength = %4$s;\n" +
+            indent + "        final int dataOffset = limit + headerLength;\n" +
+            indent + "        parentMessage.limit(dataOffset + dataLength);\n\n" +
+            indent + "        return view.wrap(buffer, dataOffset, dataLength);\n" +
+            indent + "    }\n",
+            formatPropertyName(propertyName),
+            generateNotPresentCondition(token.version(), "view.wrap(buffer, 0, 0)", indent),
+            sizeOfLengthField,
+            dataLengthGet);
+
+        new Formatter(sb).format("\n" +
+            indent + "    public boolean %1$sEquals(final CharSequence value)\n" +
+            indent + "    {\n" +
+            "%2$s" +
+            indent + "        final int limit = parentMessage.limit();\n" +
+            indent + "        final int dataLength = %3$s;\n" +
+            indent + "        final int dataOffset = limit + %4$d;\n\n" +
+            indent + "        if (value.length() != dataLength)\n" +
+            indent + "        {\n" +
+            indent + "            return false;\n" +
+            indent + "        }\n\n" +
+            indent + "        for (int i = 0; i < dataLength; i++)\n" +
+            indent + "        {\n" +
+            indent + "            if (value.charAt(i) != (buffer.getByte(dataOffset + i) & 0xFF))\n" +
+            indent + "            {\n" +
+            indent + "                return false;\n" +
+            indent + "            }\n" +
+            indent + "        }\n\n" +
+            indent + "        return true;\n" +
+            indent + "    }\n",
+            formatPropertyName(propertyName),
+            generateNotPresentCondition(token.version(), "0 == value.length()", indent),
+            dataLengthGet,
+            sizeOfLengthField);
+
+        new Formatter(sb).format("\n" +
+            indent + "    public int %1$sHashCode()\n" +
+            indent + "    {\n" +
+            "%2$s" +
+            indent + "        final int limit = parentMessage.limit();\n" +
+            indent + "        final int dataLength = %3$s;\n" +
+            indent + "        final int dataOffset = limit + %4$d;\n" +
+            indent + "        int hash = 0;\n\n" +
+            indent + "        for (int i = 0; i < dataLength; i++)\n" +
+            indent + "        {\n" +
+            indent + "            hash = 31 * hash + (buffer.getByte(dataOffset + i) & 0xFF);\n" +
+            indent + "        }\n\n" +
+            indent + "        return hash;\n" +
+            indent + "    }\n",
+            formatPropertyName(propertyName),
+            generateNotPresentCondition(token.version(), "0", indent),
+            dataLengthGet,
+            sizeOfLengthField);
+    }
+
     private void generateVarDataWrapDecoder(
         final StringBuilder sb,
         final Token token,
@@ -1237,7 +1588,7 @@ public class JavaGenerator implements CodeGenerator
             generatePut(lengthPutType, "limit", "length", byteOrderStr));
     }
 
-    private void generateBitSet(final List<Token> tokens) throws IOException
+    private void generateBitSet(final List<Token> tokens, final OutputManager outputManager) throws IOException
     {
         final Token token = tokens.get(0);
         final String bitSetName = token.applicableTypeName();
@@ -1307,7 +1658,7 @@ public class JavaGenerator implements CodeGenerator
         out.append(generateFixedFlyweightCode(typeName, token.encodedLength(), buffer));
     }
 
-    private void generateEnum(final List<Token> tokens) throws IOException
+    private void generateEnum(final List<Token> tokens, final OutputManager outputManager) throws IOException
     {
         final Token enumToken = tokens.get(0);
         final String enumName = formatClassName(enumToken.applicableTypeName());
@@ -1324,13 +1675,14 @@ public class JavaGenerator implements CodeGenerator
             out.append(generateEnumValues(valuesList, generateLiteral(encoding.primitiveType(), nullVal)));
             out.append(generateEnumBody(enumToken, enumName));
 
-            out.append(generateEnumLookupMethod(valuesList, enumName, nullVal));
+            out.append(generateEnumLookupMethod(
+                valuesList, enumName, nullVal, encoding.applicableNullValue().longValue()));
 
             out.append("}\n");
         }
     }
 
-    private void generateComposite(final List<Token> tokens) throws IOException
+    private void generateComposite(final List<Token> tokens, final OutputManager outputManager) throws IOException
     {
         final Token token = tokens.get(0);
         final String compositeName = token.applicableTypeName();
@@ -1442,7 +1794,7 @@ public class JavaGenerator implements CodeGenerator
             return PACKAGES_EMPTY_SET;
         }
 
-        final Set<String> packagesToImport = new HashSet<>();
+        final Set<String> packagesToImport = new TreeSet<>();
 
         for (int i = 1, limit = tokens.size() - 1; i < limit; i++)
         {
@@ -1610,10 +1962,26 @@ public class JavaGenerator implements CodeGenerator
             "    }\n";
     }
 
-    private CharSequence generateEnumLookupMethod(final List<Token> tokens, final String enumName, final String nullVal)
+    private CharSequence generateEnumLookupMethod(
+        final List<Token> tokens, final String enumName, final String nullVal, final long nullValue)
     {
         final StringBuilder sb = new StringBuilder();
         final PrimitiveType primitiveType = tokens.get(0).encoding().primitiveType();
+        final String javaTypeName = javaTypeName(primitiveType);
+
+        final long[] values = new long[tokens.size() + 1];
+        for (int i = 0, size = tokens.size(); i < size; i++)
+        {
+            values[i] = javaValue(javaTypeName, tokens.get(i).encoding().constValue().longValue());
+        }
+        values[tokens.size()] = javaValue(javaTypeName, nullValue);
+
+        final boolean isLong = "long".equals(javaTypeName);
+        final EnumLookupTable table = EnumLookupTable.find(values, isLong ? 64 : 32);
+        if (null != table)
+        {
+            generateEnumLookupTable(sb, tokens, enumName, values, table);
+        }
 
         sb.append("\n")
             .append("    /**\n")
@@ -1623,29 +1991,101 @@ public class JavaGenerator implements CodeGenerator
             .append("     * @return the enum value representing the value.\n")
             .append("     */\n")
             .append("    public static ").append(enumName)
-            .append(" get(final ").append(javaTypeName(primitiveType)).append(" value)\n").append("    {\n")
-            .append("        switch (value)\n").append("        {\n");
+            .append(" get(final ").append(javaTypeName).append(" value)\n").append("    {\n");
 
-        for (final Token token : tokens)
+        if (null == table)
         {
-            final String constStr = token.encoding().constValue().toString();
-            final String name = token.name();
-            sb.append("            case ").append(constStr).append(": return ").append(name).append(";\n");
-        }
+            sb.append("        switch (value)\n").append("        {\n");
+
+            for (final Token token : tokens)
+            {
+                final String constStr = token.encoding().constValue().toString();
+                final String name = token.name();
+                sb.append("            case ").append(constStr).append(": return ").append(name).append(";\n");
+            }
 
-        sb.append("            case ").append(nullVal).append(": return NULL_VAL").append(";\n");
+            sb.append("            case ").append(nullVal).append(": return NULL_VAL").append(";\n")
+                .append("        }\n\n");
+        }
+        else if (table.isDense())
+        {
+            final String literalSuffix = isLong ? "L" : "";
+            final long minValue = table.minValue();
+            final long maxValue = minValue + table.length() - 1;
+            sb.append("        if (value >= ").append(minValue).append(literalSuffix)
+                .append(" && value <= ").append(maxValue).append(literalSuffix).append(")\n")
+                .append("        {\n")
+                .append("            final ").append(enumName).append(" e = LOOKUP_TABLE[")
+                .append(isLong ? "(int)" : "").append(0 == minValue ? "value" : "(value - " + minValue + ")")
+                .append("];\n")
+                .append("            if (null != e)\n")
+                .append("            {\n")
+                .append("                return e;\n")
+                .append("            }\n")
+                .append("        }\n\n");
+        }
+        else
+        {
+            final String hash = 0 == table.shift() ? "value" : "(value ^ (value >>> " + table.shift() + "))";
+            final String slot = isLong ? "(int)(" + hash + " & " + table.mask() + ")" : hash + " & " + table.mask();
+            sb.append("        final ").append(enumName).append(" e = LOOKUP_TABLE[").append(slot).append("];\n")
+                .append("        if (null != e && e.value == value)\n")
+                .append("        {\n")
+                .append("            return e;\n")
+                .append("        }\n\n");
+        }
 
         final String handleUnknownLogic = shouldDecodeUnknownEnumValues ?
             INDENT + INDENT + "return SBE_UNKNOWN;\n" :
             INDENT + INDENT + "throw new IllegalArgumentException(\"Unknown value: \" + value);\n";
 
-        sb.append("        }\n\n")
-            .append(handleUnknownLogic)
+        sb.append(handleUnknownLogic)
             .append("    }\n");
 
         return sb;
     }
 
+    private static void generateEnumLookupTable(
+        final StringBuilder sb,
+        final List<Token> tokens,
+        final String enumName,
+        final long[] values,
+        final EnumLookupTable table)
+    {
+        sb.append("\n")
+            .append("    private static final ").append(enumName).append("[] LOOKUP_TABLE = new ")
+            .append(enumName).append("[").append(table.length()).append("];\n\n")
+            .append("    static\n")
+            .append("    {\n");
+
+        for (int i = 0, size = tokens.size(); i < size; i++)
+        {
+            sb.append("        LOOKUP_TABLE[").append(table.slot(values[i])).append("] = ")
+                .append(tokens.get(i).name()).append(";\n");
+        }
+
+        sb.append("        LOOKUP_TABLE[").append(table.slot(values[tokens.size()])).append("] = NULL_VAL;\n")
+            .append("    }\n");
+    }
+
+    private static long javaValue(final String javaTypeName, final long value)
+    {
+        switch (javaTypeName)
+        {
+            case "byte":
+                return (byte)value;
+
+            case "short":
+                return (short)value;
+
+            case "int":
+                return (int)value;
+
+            default:
+                return value;
+        }
+    }
+
     private StringBuilder generateImportStatements(final Set<String> packages, final String currentPackage)
     {
         final StringBuilder importStatements = new StringBuilder();
@@ -1798,6 +2238,755 @@ public class JavaGenerator implements CodeGenerator
         }
     }
 
+    private void generateMessageHandler() throws IOException
+    {
+        try (Writer out = outputManager.createOutput(MESSAGE_HANDLER_TYPE))
+        {
+            final String packageName = ir.applicableNamespace();
+            out.append("/* Generated SBE (Simple Binary Encoding) message codec. */\n")
+                .append("package ").append(packageName).append(";\n\n")
+                .append(generateImportStatements(packageNameByTypes, packageName))
+                .append("/**\n")
+                .append(" * Handler for the messages of the schema routed to it by {@link ")
+                .append(MESSAGE_DISPATCHER_TYPE).append("}.\n")
+                .append(" * <p>\n")
+                .append(" * The decoder passed to a callback is reused for every message of its template so is only\n")
+                .append(" * valid for the duration of the callback.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings(\"all\")\n")
+                .append("public interface ").append(MESSAGE_HANDLER_TYPE).append("\n")
+                .append("{\n");
+
+            String separator = "";
+            for (final List<Token> tokens : ir.messages())
+            {
+                final String messageName = formatClassName(tokens.get(0).name());
+                out.append(separator)
+                    .append("    void on").append(messageName)
+                    .append("(").append(decoderName(messageName)).append(" decoder);\n");
+                separator = "\n";
+            }
+
+            out.append("}\n");
+        }
+    }
+
+    private void generateMessageDispatcher() throws IOException
+    {
+        final String packageName = ir.applicableNamespace();
+        final String headerDecoderName = decoderName(
+            formatClassName(ir.headerStructure().tokens().get(0).applicableTypeName()));
+
+        final StringBuilder fields = new StringBuilder();
+        final StringBuilder cases = new StringBuilder();
+        for (final List<Token> tokens : ir.messages())
+        {
+            final String messageName = formatClassName(tokens.get(0).name());
+            final String decoderType = decoderName(messageName);
+            final String decoderVar = formatPropertyName(decoderType);
+            final boolean hasVariableLength =
+                -1 != findSignal(tokens, Signal.BEGIN_GROUP) || -1 != findSignal(tokens, Signal.BEGIN_VAR_DATA);
+
+            fields.append("    private final ").append(decoderType).append(' ').append(decoderVar)
+                .append(" = new ").append(decoderType).append("();\n");
+
+            cases.append("            case ").append(decoderType).append(".TEMPLATE_ID:\n")
+                .append(generateMessageVersionCheck(tokens.get(0), decoderType, "return UNKNOWN_MESSAGE;",
+                    "return INVALID_MESSAGE;", "                "))
+                .append("                ").append(decoderVar)
+                .append(".wrap(buffer, offset + ").append(headerDecoderName)
+                .append(".ENCODED_LENGTH, blockLength, version);\n");
+
+            if (hasVariableLength)
+            {
+                final String lengthVar = decoderVar + "Length";
+                cases.append("                final int ").append(lengthVar).append(" = decodedLength(")
+                    .append(decoderVar).append(", version, offset + length);\n")
+                    .append("                if (INCOMPLETE_MESSAGE == ").append(lengthVar).append(")\n")
+                    .append("                {\n")
+                    .append("                    return INCOMPLETE_MESSAGE;\n")
+                    .append("                }\n\n")
+                    .append("                handler.on").append(messageName).append('(').append(decoderVar)
+                    .append(");\n")
+                    .append("                return ").append(headerDecoderName).append(".ENCODED_LENGTH + ")
+                    .append(lengthVar).append(";\n\n");
+            }
+            else
+            {
+                cases.append("                handler.on").append(messageName).append('(').append(decoderVar)
+                    .append(");\n")
+                    .append("                return ").append(headerDecoderName)
+                    .append(".ENCODED_LENGTH + blockLength;\n\n");
+            }
+        }
+
+        final StringBuilder methods = new StringBuilder();
+        for (final List<Token> tokens : ir.messages())
+        {
+            methods.append(generateBoundedDecodedLength(tokens, "INCOMPLETE_MESSAGE"));
+        }
+
+        try (Writer out = outputManager.createOutput(MESSAGE_DISPATCHER_TYPE))
+        {
+            out.append("/* Generated SBE (Simple Binary Encoding) message codec. */\n")
+                .append("package ").append(packageName).append(";\n\n")
+                .append("import ").append(fqReadOnlyBuffer).append(";\n\n")
+                .append(generateImportStatements(packageNameByTypes, packageName))
+                .append("/**\n")
+                .append(" * Routes messages of the schema, each preceded by its message header, to a {@link ")
+                .append(MESSAGE_HANDLER_TYPE).append("} by template id.\n")
+                .append(" * <p>\n")
+                .append(" * A decoder is allocated once per template and reused for every message of that template.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings(\"all\")\n")
+                .append("public final class ").append(MESSAGE_DISPATCHER_TYPE).append("\n")
+                .append("{\n")
+                .append("    /**\n")
+                .append("     * Returned by {@link #dispatch} when the message is not of this schema, is of a\n")
+                .append("     * template not in the schema, or is older than the version which added its template.\n")
+                .append("     */\n")
+                .append("    public static final int UNKNOWN_MESSAGE = -1;\n\n")
+                .append("    /**\n")
+                .append("     * Returned by {@link #dispatch} when the block length of the message is shorter than\n")
+                .append("     * that of this schema while its version is at least that of this schema.\n")
+                .append("     */\n")
+                .append("    public static final int INVALID_MESSAGE = -2;\n\n")
+                .append("    /**\n")
+                .append("     * Returned by {@link #dispatch} when the message extends beyond the length available.\n")
+                .append("     */\n")
+                .append("    public static final int INCOMPLETE_MESSAGE = -3;\n\n")
+                .append("    private final ").append(headerDecoderName).append(" header = new ")
+                .append(headerDecoderName).append("();\n")
+                .append(fields)
+                .append("    private final ").append(MESSAGE_HANDLER_TYPE).append(" handler;\n\n")
+                .append("    public ").append(MESSAGE_DISPATCHER_TYPE).append("(final ")
+                .append(MESSAGE_HANDLER_TYPE).append(" handler)\n")
+                .append("    {\n")
+                .append("        this.handler = handler;\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * Dispatch the message which starts with its header at an offset in a buffer and ends\n")
+                .append("     * within the capacity of the buffer.\n")
+                .append("     *\n")
+                .append("     * @param buffer containing the message.\n")
+                .append("     * @param offset at which the message header starts.\n")
+                .append("     * @return the length of the message including its header, or a negative value if the\n")
+                .append("     * message was not dispatched.\n")
+                .append("     * @see #dispatch(").append(readOnlyBuffer).append(", int, int)\n")
+                .append("     */\n")
+                .append("    public int dispatch(final ").append(readOnlyBuffer).append(" buffer, final int offset)\n")
+                .append("    {\n")
+                .append("        return dispatch(buffer, offset, buffer.capacity() - offset);\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * Dispatch the message which starts with its header at an offset in a buffer and ends\n")
+                .append("     * within a length from that offset. The header and block are checked to be within the\n")
+                .append("     * length before the message is decoded, and each group header and var data length is\n")
+                .append("     * checked to be within the length before it is read and before the handler is called.\n")
+                .append("     *\n")
+                .append("     * @param buffer containing the message.\n")
+                .append("     * @param offset at which the message header starts.\n")
+                .append("     * @param length available from the offset for the message.\n")
+                .append("     * @return the length of the message including its header, or {@link #UNKNOWN_MESSAGE},\n")
+                .append("     * {@link #INVALID_MESSAGE}, or {@link #INCOMPLETE_MESSAGE}.\n")
+                .append("     */\n")
+                .append("    public int dispatch(final ").append(readOnlyBuffer)
+                .append(" buffer, final int offset, final int length)\n")
+                .append("    {\n")
+                .append("        if (length < ").append(headerDecoderName).append(".ENCODED_LENGTH)\n")
+                .append("        {\n")
+                .append("            return INCOMPLETE_MESSAGE;\n")
+                .append("        }\n\n")
+                .append("        header.wrap(buffer, offset);\n")
+                .append("        if (").append(headerDecoderName).append(".SCHEMA_ID != header.schemaId())\n")
+                .append("        {\n")
+                .append("            return UNKNOWN_MESSAGE;\n")
+                .append("        }\n\n")
+                .append("        final int blockLength = header.blockLength();\n")
+                .append("        final int version = header.version();\n")
+                .append("        final int bodyLength = length - ").append(headerDecoderName)
+                .append(".ENCODED_LENGTH;\n")
+                .append("        if (blockLength > bodyLength)\n")
+                .append("        {\n")
+                .append("            return INCOMPLETE_MESSAGE;\n")
+                .append("        }\n\n")
+                .append("        switch (header.templateId())\n")
+                .append("        {\n")
+                .append(cases)
+                .append("            default:\n")
+                .append("                return UNKNOWN_MESSAGE;\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * Dispatch the back-to-back messages in a range of a buffer up to a message which is\n")
+                .append("     * unknown, invalid, or extends beyond the range.\n")
+                .append("     *\n")
+                .append("     * @param buffer containing the messages.\n")
+                .append("     * @param offset at which the first message header starts.\n")
+                .append("     * @param length of the range containing the messages.\n")
+                .append("     * @return the number of bytes of the range which were dispatched.\n")
+                .append("     */\n")
+                .append("    public int dispatchAll(final ").append(readOnlyBuffer)
+                .append(" buffer, final int offset, final int length)\n")
+                .append("    {\n")
+                .append("        final int limit = offset + length;\n")
+                .append("        int position = offset;\n\n")
+                .append("        while (limit - position >= ").append(headerDecoderName).append(".ENCODED_LENGTH)\n")
+                .append("        {\n")
+                .append("            final int messageLength = dispatch(buffer, position, limit - position);\n")
+                .append("            if (messageLength < 0)\n")
+                .append("            {\n")
+                .append("                break;\n")
+                .append("            }\n\n")
+                .append("            position += messageLength;\n")
+                .append("        }\n\n")
+                .append("        return position - offset;\n")
+                .append("    }\n")
+                .append(methods)
+                .append("}\n");
+        }
+    }
+
+    private void generateMessageBatchEncoder() throws IOException
+    {
+        final String packageName = ir.applicableNamespace();
+        final String headerEncoderName = encoderName(
+            formatClassName(ir.headerStructure().tokens().get(0).applicableTypeName()));
+
+        final boolean isRegionBounded = isMutableBufferAssignableFrom(UnsafeBuffer.class);
+        final String messageBuffer = isRegionBounded ? "region, messageOffset - offset" : "buffer, messageOffset";
+
+        final StringBuilder fields = new StringBuilder();
+        final StringBuilder methods = new StringBuilder();
+        final StringBuilder cases = new StringBuilder();
+        for (final List<Token> tokens : ir.messages())
+        {
+            final String messageName = formatClassName(tokens.get(0).name());
+            final String encoderType = encoderName(messageName);
+            final String encoderVar = formatPropertyName(encoderType);
+
+            fields.append("    private final ").append(encoderType).append(' ').append(encoderVar)
+                .append(" = new ").append(encoderType).append("();\n");
+
+            methods.append("    public ").append(encoderType).append(' ').append(formatPropertyName(messageName))
+                .append("()\n")
+                .append("    {\n")
+                .append("        beginMessage(").append(encoderType).append(".TEMPLATE_ID, ")
+                .append(encoderType).append(".BLOCK_LENGTH);\n")
+                .append("        return ").append(encoderVar)
+                .append(".wrapAndApplyHeader(").append(messageBuffer).append(", header);\n")
+                .append("    }\n\n");
+
+            cases.append("            case ").append(encoderType).append(".TEMPLATE_ID:\n")
+                .append("                messageLength = ").append(encoderVar).append(".encodedLength();\n")
+                .append("                break;\n\n");
+        }
+
+        try (Writer out = outputManager.createOutput(MESSAGE_BATCH_ENCODER_TYPE))
+        {
+            out.append("/* Generated SBE (Simple Binary Encoding) message codec. */\n")
+                .append("package ").append(packageName).append(";\n\n")
+                .append("import ").append(fqMutableBuffer).append(";\n\n")
+                .append(generateImportStatements(packageNameByTypes, packageName))
+                .append("/**\n")
+                .append(" * Encodes messages of the schema back-to-back, each preceded by its message header, into a\n")
+                .append(" * contiguous region of a buffer so they can be sent or stored as a single batch.\n")
+                .append(" * <p>\n")
+                .append(" * Each message starts at a multiple of the alignment from the start of the batch with any\n")
+                .append(" * padding zeroed. A message completes when the next begins or the length is taken.\n")
+                .append(isRegionBounded ?
+                    " * <p>\n" +
+                    " * Messages are encoded over a view of the batch region so, with bounds checks enabled, a\n" +
+                    " * message which does not fit throws {@link IndexOutOfBoundsException} rather than writing\n" +
+                    " * past the batch. Such a message is discarded when it completes, which throws\n" +
+                    " * {@link IllegalStateException}.\n" :
+                    " * <p>\n" +
+                    " * Messages are encoded directly into the buffer so the length of each message is only\n" +
+                    " * checked against the capacity of the batch when it completes.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings(\"all\")\n")
+                .append("public final class ").append(MESSAGE_BATCH_ENCODER_TYPE).append("\n")
+                .append("{\n")
+                .append("    private static final int NO_MESSAGE = -1;\n\n")
+                .append("    private final ").append(headerEncoderName).append(" header = new ")
+                .append(headerEncoderName).append("();\n")
+                .append(fields)
+                .append(isRegionBounded ?
+                    "    private final org.agrona.concurrent.UnsafeBuffer region = " +
+                    "new org.agrona.concurrent.UnsafeBuffer(new byte[0]);\n" : "")
+                .append("    private final int alignment;\n")
+                .append("    private ").append(mutableBuffer).append(" buffer;\n")
+                .append("    private int offset;\n")
+                .append("    private int capacity;\n")
+                .append("    private int limit;\n")
+                .append("    private int messageCount;\n")
+                .append("    private int messageTemplateId = NO_MESSAGE;\n")
+                .append("    private int messageOffset;\n\n")
+                .append(generateBatchConstructors(MESSAGE_BATCH_ENCODER_TYPE))
+                .append("    public ").append(MESSAGE_BATCH_ENCODER_TYPE).append(" wrap(final ").append(mutableBuffer)
+                .append(" buffer, final int offset, final int capacity)\n")
+                .append("    {\n")
+                .append(isRegionBounded ? "        region.wrap(buffer, offset, capacity);\n" : "")
+                .append("        this.buffer = buffer;\n")
+                .append("        this.offset = offset;\n")
+                .append("        this.capacity = capacity;\n")
+                .append("        this.limit = offset;\n")
+                .append("        this.messageCount = 0;\n")
+                .append("        this.messageTemplateId = NO_MESSAGE;\n\n")
+                .append("        return this;\n")
+                .append("    }\n\n")
+                .append(methods)
+                .append("    public ").append(mutableBuffer).append(" buffer()\n")
+                .append("    {\n")
+                .append("        return buffer;\n")
+                .append("    }\n\n")
+                .append("    public int offset()\n")
+                .append("    {\n")
+                .append("        return offset;\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * The length of the batch from its offset, which completes the message being encoded.\n")
+                .append("     *\n")
+                .append("     * @return the length of the batch from its offset.\n")
+                .append("     */\n")
+                .append("    public int length()\n")
+                .append("    {\n")
+                .append("        completeMessage();\n")
+                .append("        return limit - offset;\n")
+                .append("    }\n\n")
+                .append("    public int messageCount()\n")
+                .append("    {\n")
+                .append("        completeMessage();\n")
+                .append("        return messageCount;\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * The capacity remaining for the header and body of the next message after alignment.\n")
+                .append("     *\n")
+                .append("     * @return the capacity remaining for the header and body of the next message.\n")
+                .append("     */\n")
+                .append("    public int remaining()\n")
+                .append("    {\n")
+                .append("        completeMessage();\n")
+                .append("        return Math.max(0, offset + capacity - align(limit));\n")
+                .append("    }\n\n")
+                .append("    private void beginMessage(final int templateId, final int blockLength)\n")
+                .append("    {\n")
+                .append("        completeMessage();\n\n")
+                .append("        final int messageOffset = align(limit);\n")
+                .append("        if (messageOffset + ").append(headerEncoderName)
+                .append(".ENCODED_LENGTH + blockLength > offset + capacity)\n")
+                .append("        {\n")
+                .append("            throw new IllegalStateException(\n")
+                .append("                \"insufficient capacity in batch for message: templateId=\" + templateId);\n")
+                .append("        }\n\n")
+                .append("        buffer.setMemory(limit, messageOffset - limit, (byte)0);\n")
+                .append("        this.messageOffset = messageOffset;\n")
+                .append("        this.messageTemplateId = templateId;\n")
+                .append("    }\n\n")
+                .append("    private void completeMessage()\n")
+                .append("    {\n")
+                .append("        final int messageLength;\n")
+                .append("        switch (messageTemplateId)\n")
+                .append("        {\n")
+                .append(cases)
+                .append("            default:\n")
+                .append("                return;\n")
+                .append("        }\n\n")
+                .append("        messageTemplateId = NO_MESSAGE;\n")
+                .append("        final int messageLimit = messageOffset + ").append(headerEncoderName)
+                .append(".ENCODED_LENGTH + messageLength;\n")
+                .append("        if (messageLimit > offset + capacity)\n")
+                .append("        {\n")
+                .append("            throw new IllegalStateException(\n")
+                .append("                \"message exceeds capacity of batch: limit=\" + messageLimit +\n")
+                .append("                \" capacity=\" + capacity);\n")
+                .append("        }\n\n")
+                .append("        limit = messageLimit;\n")
+                .append("        messageCount++;\n")
+                .append("    }\n\n")
+                .append(generateBatchAlign())
+                .append("}\n");
+        }
+    }
+
+    private void generateMessageBatchDecoder() throws IOException
+    {
+        final String packageName = ir.applicableNamespace();
+        final String headerDecoderName = decoderName(
+            formatClassName(ir.headerStructure().tokens().get(0).applicableTypeName()));
+
+        final StringBuilder fields = new StringBuilder();
+        final StringBuilder methods = new StringBuilder();
+        final StringBuilder cases = new StringBuilder();
+        for (final List<Token> tokens : ir.messages())
+        {
+            final String messageName = formatClassName(tokens.get(0).name());
+            final String decoderType = decoderName(messageName);
+            final String decoderVar = formatPropertyName(decoderType);
+            final boolean hasVariableLength =
+                -1 != findSignal(tokens, Signal.BEGIN_GROUP) || -1 != findSignal(tokens, Signal.BEGIN_VAR_DATA);
+
+            fields.append("    private final ").append(decoderType).append(' ').append(decoderVar)
+                .append(" = new ").append(decoderType).append("();\n");
+
+            methods.append("    public ").append(decoderType).append(' ').append(formatPropertyName(messageName))
+                .append("()\n")
+                .append("    {\n")
+                .append("        return ").append(decoderVar).append(";\n")
+                .append("    }\n\n");
+
+            cases.append("            case ").append(decoderType).append(".TEMPLATE_ID:\n")
+                .append(generateMessageVersionCheck(
+                    tokens.get(0),
+                    decoderType,
+                    "throw new IllegalStateException(\"template not in version: \" + version);",
+                    "throw new IllegalStateException(\"block length too short for version: \" + blockLength);",
+                    "                "))
+                .append("                ").append(decoderVar)
+                .append(".wrap(buffer, bodyOffset, blockLength, version);\n");
+
+            if (hasVariableLength)
+            {
+                final String lengthVar = decoderVar + "Length";
+                cases.append("                final int ").append(lengthVar).append(" = decodedLength(")
+                    .append(decoderVar).append(", version, limit);\n")
+                    .append("                if (INCOMPLETE_MESSAGE == ").append(lengthVar).append(")\n")
+                    .append("                {\n")
+                    .append("                    throw new IllegalStateException(")
+                    .append("\"message exceeds batch: templateId=\" + templateId);\n")
+                    .append("                }\n\n")
+                    .append("                position = bodyOffset + ").append(lengthVar).append(";\n");
+            }
+            else
+            {
+                cases.append("                position = bodyOffset + blockLength;\n");
+            }
+
+            cases.append("                break;\n\n");
+        }
+
+        for (final List<Token> tokens : ir.messages())
+        {
+            methods.append(generateBoundedDecodedLength(tokens, "INCOMPLETE_MESSAGE"));
+        }
+
+        try (Writer out = outputManager.createOutput(MESSAGE_BATCH_DECODER_TYPE))
+        {
+            out.append("/* Generated SBE (Simple Binary Encoding) message codec. */\n")
+                .append("package ").append(packageName).append(";\n\n")
+                .append("import ").append(fqReadOnlyBuffer).append(";\n\n")
+                .append(generateImportStatements(packageNameByTypes, packageName))
+                .append("/**\n")
+                .append(" * Iterates in place over the messages of a batch encoded by {@link ")
+                .append(MESSAGE_BATCH_ENCODER_TYPE).append("}.\n")
+                .append(" * <p>\n")
+                .append(" * The alignment must be the same as that used to encode the batch. The decoder for each\n")
+                .append(" * template is reused so is only valid until the next call to {@link #next()}.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings(\"all\")\n")
+                .append("public final class ").append(MESSAGE_BATCH_DECODER_TYPE).append("\n")
+                .append("{\n")
+                .append("    private static final int INCOMPLETE_MESSAGE = -1;\n\n")
+                .append("    private final ").append(headerDecoderName).append(" header = new ")
+                .append(headerDecoderName).append("();\n")
+                .append(fields)
+                .append("    private final int alignment;\n")
+                .append("    private ").append(readOnlyBuffer).append(" buffer;\n")
+                .append("    private int offset;\n")
+                .append("    private int limit;\n")
+                .append("    private int position;\n\n")
+                .append(generateBatchConstructors(MESSAGE_BATCH_DECODER_TYPE))
+                .append("    public ").append(MESSAGE_BATCH_DECODER_TYPE).append(" wrap(final ").append(readOnlyBuffer)
+                .append(" buffer, final int offset, final int length)\n")
+                .append("    {\n")
+                .append("        this.buffer = buffer;\n")
+                .append("        this.offset = offset;\n")
+                .append("        this.limit = offset + length;\n")
+                .append("        this.position = offset;\n\n")
+                .append("        return this;\n")
+                .append("    }\n\n")
+                .append("    public boolean hasNext()\n")
+                .append("    {\n")
+                .append("        return limit - align(position) >= ").append(headerDecoderName)
+                .append(".ENCODED_LENGTH;\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * Move to the next message of the batch and wrap the decoder for its template.\n")
+                .append("     *\n")
+                .append("     * @return the template id of the message.\n")
+                .append("     * @throws IllegalStateException if the message is not of this schema, its template is\n")
+                .append("     * not in the schema or its version, or it extends beyond the batch.\n")
+                .append("     */\n")
+                .append("    public int next()\n")
+                .append("    {\n")
+                .append("        final int messageOffset = align(position);\n")
+                .append("        final int bodyOffset = messageOffset + ").append(headerDecoderName)
+                .append(".ENCODED_LENGTH;\n")
+                .append("        if (bodyOffset > limit)\n")
+                .append("        {\n")
+                .append("            throw new IllegalStateException(\"no message header before end of batch\");\n")
+                .append("        }\n\n")
+                .append("        header.wrap(buffer, messageOffset);\n")
+                .append("        final int schemaId = header.schemaId();\n")
+                .append("        if (").append(headerDecoderName).append(".SCHEMA_ID != schemaId)\n")
+                .append("        {\n")
+                .append("            throw new IllegalStateException(\"unknown schema id: \" + schemaId);\n")
+                .append("        }\n\n")
+                .append("        final int templateId = header.templateId();\n")
+                .append("        final int blockLength = header.blockLength();\n")
+                .append("        final int version = header.version();\n")
+                .append("        if (bodyOffset + blockLength > limit)\n")
+                .append("        {\n")
+                .append("            throw new IllegalStateException(\"block exceeds batch: \" + blockLength);\n")
+                .append("        }\n\n")
+                .append("        switch (templateId)\n")
+                .append("        {\n")
+                .append(cases)
+                .append("            default:\n")
+                .append("                throw new IllegalStateException(\"unknown template id: \" + templateId);\n")
+                .append("        }\n\n")
+                .append("        return templateId;\n")
+                .append("    }\n\n")
+                .append("    public ").append(headerDecoderName).append(" messageHeader()\n")
+                .append("    {\n")
+                .append("        return header;\n")
+                .append("    }\n\n")
+                .append(methods)
+                .append(generateBatchAlign())
+                .append("}\n");
+        }
+    }
+
+    private CharSequence generateBoundedDecodedLength(final List<Token> tokens, final String incompleteResult)
+    {
+        final List<Token> messageBody = getMessageBody(tokens);
+        int i = collectFields(messageBody, 0, new ArrayList<>());
+
+        final List<Token> groups = new ArrayList<>();
+        i = collectGroups(messageBody, i, groups);
+
+        final List<Token> varData = new ArrayList<>();
+        collectVarData(messageBody, i, varData);
+
+        if (groups.isEmpty() && varData.isEmpty())
+        {
+            return "";
+        }
+
+        final String decoderType = decoderName(formatClassName(tokens.get(0).name()));
+        final StringBuilder sb = new StringBuilder();
+        sb.append("\n")
+            .append("    private static int decodedLength(final ").append(decoderType)
+            .append(" decoder, final int version, final int limit)\n")
+            .append("    {\n");
+
+        generateBoundedSkip(sb, "decoder", decoderType, groups, varData, incompleteResult, "        ");
+
+        sb.append("        final int decodedLength = decoder.encodedLength();\n")
+            .append("        decoder.sbeRewind();\n\n")
+            .append("        return decodedLength;\n")
+            .append("    }\n");
+
+        return sb;
+    }
+
+    private void generateBoundedSkip(
+        final StringBuilder sb,
+        final String flyweightVar,
+        final String flyweightType,
+        final List<Token> groups,
+        final List<Token> varData,
+        final String incompleteResult,
+        final String indent)
+    {
+        for (int i = 0, size = groups.size(); i < size; i++)
+        {
+            final Token groupToken = groups.get(i);
+            if (groupToken.signal() != Signal.BEGIN_GROUP)
+            {
+                throw new IllegalStateException("tokens must begin with BEGIN_GROUP: token=" + groupToken);
+            }
+
+            final String groupType = flyweightType + "." + decoderName(groupToken.name());
+            final String groupVar = Generators.toLowerFirstChar(groupToken.name()) + "Group";
+
+            ++i;
+            i += groups.get(i).componentTokenCount();
+            i = collectFields(groups, i, new ArrayList<>());
+
+            final List<Token> subGroups = new ArrayList<>();
+            i = collectGroups(groups, i, subGroups);
+
+            final List<Token> subVarData = new ArrayList<>();
+            i = collectVarData(groups, i, subVarData);
+
+            sb.append(indent).append("if (").append(generateVersionGuard(groupToken))
+                .append("decoder.limit() + ").append(groupType).append(".HEADER_SIZE > limit)\n")
+                .append(generateReturn(incompleteResult, indent))
+                .append(indent).append("final ").append(groupType).append(' ').append(groupVar).append(" = ")
+                .append(flyweightVar).append('.').append(formatPropertyName(groupToken.name())).append("();\n")
+                .append(indent).append("while (").append(groupVar).append(".hasNext())\n")
+                .append(indent).append("{\n")
+                .append(indent).append(INDENT).append(groupVar).append(".next();\n")
+                .append(indent).append(INDENT).append("if (decoder.limit() > limit)\n")
+                .append(generateReturn(incompleteResult, indent + INDENT));
+
+            generateBoundedSkip(sb, groupVar, groupType, subGroups, subVarData, incompleteResult, indent + INDENT);
+
+            sb.setLength(sb.length() - 1);
+            sb.append(indent).append("}\n\n");
+        }
+
+        for (int i = 0, size = varData.size(); i < size;)
+        {
+            final Token varDataToken = varData.get(i);
+            if (varDataToken.signal() != Signal.BEGIN_VAR_DATA)
+            {
+                throw new IllegalStateException("tokens must begin with BEGIN_VAR_DATA: token=" + varDataToken);
+            }
+
+            final String propertyName = Generators.toUpperFirstChar(varDataToken.name());
+            sb.append(indent).append("if (").append(generateVersionGuard(varDataToken))
+                .append("decoder.limit() + ").append(flyweightType).append('.')
+                .append(Generators.toLowerFirstChar(propertyName)).append("HeaderLength() > limit)\n")
+                .append(generateReturn(incompleteResult, indent))
+                .append(indent).append("if (").append(flyweightVar).append(".skip").append(propertyName)
+                .append("() < 0 || decoder.limit() < 0 || decoder.limit() > limit)\n")
+                .append(generateReturn(incompleteResult, indent));
+
+            i += varDataToken.componentTokenCount();
+        }
+    }
+
+    private static String generateVersionGuard(final Token token)
+    {
+        return 0 == token.version() ? "" : "version >= " + token.version() + " && ";
+    }
+
+    private static CharSequence generateReturn(final String result, final String indent)
+    {
+        return indent + "{\n" +
+            indent + "    return " + result + ";\n" +
+            indent + "}\n\n";
+    }
+
+    private void collectTypeNameCollisions(final List<String> collisions, final String... generatedTypeNames)
+    {
+        final Set<String> schemaTypeNames = new TreeSet<>();
+        schemaTypeNames.add(META_ATTRIBUTE_ENUM);
+        addSchemaTypeNames(schemaTypeNames, ir.headerStructure().tokens().get(0));
+        for (final List<Token> tokens : ir.types())
+        {
+            addSchemaTypeNames(schemaTypeNames, tokens.get(0));
+        }
+
+        for (final List<Token> tokens : ir.messages())
+        {
+            schemaTypeNames.add(encoderName(tokens.get(0).name()));
+            schemaTypeNames.add(decoderName(tokens.get(0).name()));
+        }
+
+        for (final String typeName : generatedTypeNames)
+        {
+            if (schemaTypeNames.contains(typeName))
+            {
+                collisions.add(typeName);
+            }
+        }
+    }
+
+    private void addSchemaTypeNames(final Set<String> schemaTypeNames, final Token token)
+    {
+        if (Signal.BEGIN_ENUM == token.signal())
+        {
+            schemaTypeNames.add(formatClassName(token.applicableTypeName()));
+        }
+        else
+        {
+            schemaTypeNames.add(encoderName(token.applicableTypeName()));
+            schemaTypeNames.add(decoderName(token.applicableTypeName()));
+        }
+    }
+
+    private void collectMessageMethodCollisions(
+        final List<String> collisions, final String generatedTypeName, final Set<String> generatedMethodNames)
+    {
+        for (final List<Token> tokens : ir.messages())
+        {
+            final String methodName = formatPropertyName(tokens.get(0).name());
+            if (generatedMethodNames.contains(methodName) || OBJECT_METHOD_NAMES.contains(methodName))
+            {
+                collisions.add(generatedTypeName + "." + methodName + "()");
+            }
+        }
+    }
+
+    private static void validateGeneratedNames(final String propertyName, final List<String> collisions)
+    {
+        if (!collisions.isEmpty())
+        {
+            throw new IllegalStateException(
+                "Generated names collide with names of the schema: " + collisions +
+                " please correct the schema or unset system property: " + propertyName);
+        }
+    }
+
+    private static CharSequence generateMessageVersionCheck(
+        final Token messageToken,
+        final String decoderType,
+        final String unknownVersionAction,
+        final String invalidBlockLengthAction,
+        final String indent)
+    {
+        final StringBuilder sb = new StringBuilder();
+        if (messageToken.version() > 0)
+        {
+            sb.append(indent).append("if (version < ").append(messageToken.version()).append(")\n")
+                .append(indent).append("{\n")
+                .append(indent).append("    ").append(unknownVersionAction).append("\n")
+                .append(indent).append("}\n\n");
+        }
+
+        sb.append(indent).append("if (version >= ").append(decoderType).append(".SCHEMA_VERSION && blockLength < ")
+            .append(decoderType).append(".BLOCK_LENGTH)\n")
+            .append(indent).append("{\n")
+            .append(indent).append("    ").append(invalidBlockLengthAction).append("\n")
+            .append(indent).append("}\n\n");
+
+        return sb;
+    }
+
+    private static CharSequence generateBatchConstructors(final String className)
+    {
+        return
+            "    public " + className + "()\n" +
+            "    {\n" +
+            "        this(1);\n" +
+            "    }\n\n" +
+            "    /**\n" +
+            "     * Create a batch codec with messages aligned to a boundary from the start of the batch.\n" +
+            "     *\n" +
+            "     * @param alignment of messages from the start of the batch which must be a power of two.\n" +
+            "     */\n" +
+            "    public " + className + "(final int alignment)\n" +
+            "    {\n" +
+            "        if (alignment < 1 || 0 != (alignment & (alignment - 1)))\n" +
+            "        {\n" +
+            "            throw new IllegalArgumentException(\"alignment must be a power of two: \" + alignment);\n" +
+            "        }\n\n" +
+            "        this.alignment = alignment;\n" +
+            "    }\n\n";
+    }
+
+    private static CharSequence generateBatchAlign()
+    {
+        return
+            "    private int align(final int position)\n" +
+            "    {\n" +
+            "        return offset + ((position - offset + alignment - 1) & -alignment);\n" +
+            "    }\n";
+    }
+
     private void generateMetaAttributeEnum() throws IOException
     {
         try (Writer out = outputManager.createOutput(META_ATTRIBUTE_ENUM))
@@ -2003,19 +3192,34 @@ public class JavaGenerator implements CodeGenerator
             indent + "        }\n\n";
     }
 
-    private CharSequence generateFieldNotPresentCondition(
-        final boolean inComposite, final int sinceVersion, final Encoding encoding, final String indent)
+    private CharSequence generateFieldNotPresentCondition(
+        final boolean inComposite, final int sinceVersion, final Encoding encoding, final String indent)
+    {
+        if (inComposite || 0 == sinceVersion)
+        {
+            return "";
+        }
+
+        final String nullValue = generateLiteral(encoding.primitiveType(), encoding.applicableNullValue().toString());
+        return
+            indent + "        if (parentMessage.actingVersion < " + sinceVersion + ")\n" +
+            indent + "        {\n" +
+            indent + "            return " + nullValue + ";\n" +
+            indent + "        }\n\n";
+    }
+
+    private static CharSequence generateNotPresentCondition(
+        final int sinceVersion, final String returnValue, final String indent)
     {
-        if (inComposite || 0 == sinceVersion)
+        if (0 == sinceVersion)
         {
             return "";
         }
 
-        final String nullValue = generateLiteral(encoding.primitiveType(), encoding.applicableNullValue().toString());
         return
             indent + "        if (parentMessage.actingVersion < " + sinceVersion + ")\n" +
             indent + "        {\n" +
-            indent + "            return " + nullValue + ";\n" +
+            indent + "            return " + returnValue + ";\n" +
             indent + "        }\n\n";
     }
 
@@ -2119,6 +3323,33 @@ public class JavaGenerator implements CodeGenerator
             typeSize,
             generateGet(encoding.primitiveType(), "pos", byteOrderStr));
 
+        if (shouldGenerateBulkArrayAccessors && encoding.primitiveType() != PrimitiveType.CHAR)
+        {
+            new Formatter(sb).format("\n" +
+                indent + "    public int get%s(final %s[] dst, final int dstOffset)\n" +
+                indent + "    {\n" +
+                indent + "        final int length = %d;\n" +
+                indent + "        if (dstOffset < 0 || dstOffset > (dst.length - length))\n" +
+                indent + "        {\n" +
+                indent + "            throw new IndexOutOfBoundsException(" +
+                "\"Copy will go out of range: offset=\" + dstOffset);\n" +
+                indent + "        }\n\n" +
+                "%s" +
+                indent + "        for (int i = 0, pos = offset + %d; i < length; i++, pos += %d)\n" +
+                indent + "        {\n" +
+                indent + "            dst[dstOffset + i] = %s;\n" +
+                indent + "        }\n\n" +
+                indent + "        return length;\n" +
+                indent + "    }\n\n",
+                Generators.toUpperFirstChar(propertyName),
+                javaTypeName,
+                fieldLength,
+                inComposite ? "" : generateArrayFieldNotPresentCondition(propertyToken.version(), indent),
+                offset,
+                typeSize,
+                generateGet(encoding.primitiveType(), "pos", byteOrderStr));
+        }
+
         if (encoding.primitiveType() == PrimitiveType.CHAR)
         {
             generateCharacterEncodingMethod(sb, propertyName, encoding.characterEncoding(), indent);
@@ -2187,6 +3418,11 @@ public class JavaGenerator implements CodeGenerator
                     generateStringNotPresentConditionForAppendable(propertyToken.version(), indent),
                     fieldLength,
                     offset);
+
+                if (shouldGenerateAsciiViews)
+                {
+                    generateCharArrayAsciiViewDecoder(sb, propertyName, propertyToken, fieldLength, offset, indent);
+                }
             }
         }
         else if (encoding.primitiveType() == PrimitiveType.UINT8)
@@ -2247,7 +3483,83 @@ public class JavaGenerator implements CodeGenerator
 
     private String byteOrderString(final Encoding encoding)
     {
-        return sizeOfPrimitive(encoding) == 1 ? "" : ", java.nio.ByteOrder." + encoding.byteOrder();
+        if (sizeOfPrimitive(encoding) == 1 || encoding.byteOrder() == nativeByteOrder)
+        {
+            return "";
+        }
+
+        return ", java.nio.ByteOrder." + encoding.byteOrder();
+    }
+
+    private boolean shouldSwapBytes(final String byteOrder)
+    {
+        return null != nativeByteOrder && !byteOrder.isEmpty();
+    }
+
+    private static void generateCharArrayAsciiViewDecoder(
+        final StringBuilder sb,
+        final String propertyName,
+        final Token propertyToken,
+        final int fieldLength,
+        final int offset,
+        final String indent)
+    {
+        new Formatter(sb).format("\n" +
+            indent + "    public org.agrona.AsciiSequenceView %1$s(final org.agrona.AsciiSequenceView view)\n" +
+            indent + "    {\n" +
+            "%2$s" +
+            indent + "        int end = 0;\n" +
+            indent + "        for (; end < %3$d && buffer.getByte(offset + %4$d + end) != 0; ++end);\n\n" +
+            indent + "        return view.wrap(buffer, offset + %4$d, end);\n" +
+            indent + "    }\n",
+            propertyName,
+            generateNotPresentCondition(propertyToken.version(), "view.wrap(buffer, 0, 0)", indent),
+            fieldLength,
+            offset);
+
+        new Formatter(sb).format("\n" +
+            indent + "    public boolean %1$sEquals(final CharSequence value)\n" +
+            indent + "    {\n" +
+            "%2$s" +
+            indent + "        final int length = value.length();\n" +
+            indent + "        if (length > %3$d)\n" +
+            indent + "        {\n" +
+            indent + "            return false;\n" +
+            indent + "        }\n\n" +
+            indent + "        for (int i = 0; i < length; i++)\n" +
+            indent + "        {\n" +
+            indent + "            if (value.charAt(i) != (buffer.getByte(offset + %4$d + i) & 0xFF))\n" +
+            indent + "            {\n" +
+            indent + "                return false;\n" +
+            indent + "            }\n" +
+            indent + "        }\n\n" +
+            indent + "        return length == %3$d || 0 == buffer.getByte(offset + %4$d + length);\n" +
+            indent + "    }\n",
+            propertyName,
+            generateNotPresentCondition(propertyToken.version(), "0 == value.length()", indent),
+            fieldLength,
+            offset);
+
+        new Formatter(sb).format("\n" +
+            indent + "    public int %1$sHashCode()\n" +
+            indent + "    {\n" +
+            "%2$s" +
+            indent + "        int hash = 0;\n" +
+            indent + "        for (int i = 0; i < %3$d; i++)\n" +
+            indent + "        {\n" +
+            indent + "            final int c = buffer.getByte(offset + %4$d + i) & 0xFF;\n" +
+            indent + "            if (0 == c)\n" +
+            indent + "            {\n" +
+            indent + "                break;\n" +
+            indent + "            }\n\n" +
+            indent + "            hash = 31 * hash + c;\n" +
+            indent + "        }\n\n" +
+            indent + "        return hash;\n" +
+            indent + "    }\n",
+            propertyName,
+            generateNotPresentCondition(propertyToken.version(), "0", indent),
+            fieldLength,
+            offset);
     }
 
     private CharSequence generatePrimitiveArrayPropertyEncode(
@@ -2285,6 +3597,32 @@ public class JavaGenerator implements CodeGenerator
             typeSize,
             generatePut(primitiveType, "pos", "value", byteOrderStr));
 
+        if (shouldGenerateBulkArrayAccessors && primitiveType != PrimitiveType.CHAR)
+        {
+            new Formatter(sb).format("\n" +
+                indent + "    public %s put%s(final %s[] src, final int srcOffset)\n" +
+                indent + "    {\n" +
+                indent + "        final int length = %d;\n" +
+                indent + "        if (srcOffset < 0 || srcOffset > (src.length - length))\n" +
+                indent + "        {\n" +
+                indent + "            throw new IndexOutOfBoundsException(" +
+                "\"Copy will go out of range: offset=\" + srcOffset);\n" +
+                indent + "        }\n\n" +
+                indent + "        for (int i = 0, pos = offset + %d; i < length; i++, pos += %d)\n" +
+                indent + "        {\n" +
+                indent + "            %s;\n" +
+                indent + "        }\n\n" +
+                indent + "        return this;\n" +
+                indent + "    }\n",
+                className,
+                Generators.toUpperFirstChar(propertyName),
+                javaTypeName,
+                arrayLength,
+                offset,
+                typeSize,
+                generatePut(primitiveType, "pos", "src[srcOffset + i]", byteOrderStr));
+        }
+
         if (arrayLength > 1 && arrayLength <= 4)
         {
             sb.append(indent)
@@ -2945,6 +4283,191 @@ public class JavaGenerator implements CodeGenerator
             });
     }
 
+    private void generateGroupColumnDecoders(final StringBuilder sb, final List<Token> tokens, final String indent)
+    {
+        for (final GroupColumn column : collectGroupColumns(tokens))
+        {
+            final Encoding encoding = column.encodingToken.encoding();
+            final PrimitiveType primitiveType = encoding.primitiveType();
+            final String javaTypeName = javaTypeName(primitiveType);
+            final String get = generateGet(primitiveType, "elementOffset", byteOrderString(encoding));
+
+            final String notPresent = 0 == column.sinceVersion ? "" :
+                indent + "        if (parentMessage.actingVersion < " + column.sinceVersion + ")\n" +
+                indent + "        {\n" +
+                indent + "            java.util.Arrays.fill(dst, dstOffset, dstOffset + count, " +
+                generateLiteral(primitiveType, encoding.applicableNullValue().toString()) + ");\n" +
+                indent + "            elementOffset += count * blockLength;\n" +
+                indent + "        }\n" +
+                indent + "        else\n";
+
+            new Formatter(sb).format("\n" +
+                indent + "    public int get%1$sColumn(final %2$s[] dst, final int dstOffset)\n" +
+                indent + "    {\n" +
+                indent + "        final int firstOffset = parentMessage.limit() - (index * blockLength);\n" +
+                indent + "        int elementOffset = firstOffset + %3$d;\n\n" +
+                "%4$s" +
+                indent + "        for (int i = 0; i < count; i++)\n" +
+                indent + "        {\n" +
+                indent + "            dst[dstOffset + i] = %5$s;\n" +
+                indent + "            elementOffset += blockLength;\n" +
+                indent + "        }\n\n" +
+                indent + "        index = count;\n" +
+                indent + "        parentMessage.limit(firstOffset + (count * blockLength));\n\n" +
+                indent + "        return count;\n" +
+                indent + "    }\n",
+                formatClassName(column.propertyName),
+                javaTypeName,
+                column.offset,
+                notPresent,
+                get);
+        }
+    }
+
+    private void generateGroupColumnEncoders(
+        final StringBuilder sb, final String containingClassName, final List<Token> tokens, final String indent)
+    {
+        for (final GroupColumn column : collectGroupColumns(tokens))
+        {
+            final Encoding encoding = column.encodingToken.encoding();
+            final PrimitiveType primitiveType = encoding.primitiveType();
+            final String put = generatePut(
+                primitiveType, "elementOffset", "src[srcOffset + i]", byteOrderString(encoding));
+
+            new Formatter(sb).format("\n" +
+                indent + "    public %1$s put%2$sColumn(final %3$s[] src, final int srcOffset)\n" +
+                indent + "    {\n" +
+                indent + "        final int firstOffset = initialLimit + HEADER_SIZE;\n" +
+                indent + "        int elementOffset = firstOffset + %4$d;\n\n" +
+                indent + "        for (int i = 0; i < count; i++)\n" +
+                indent + "        {\n" +
+                indent + "            %5$s;\n" +
+                indent + "            elementOffset += sbeBlockLength();\n" +
+                indent + "        }\n\n" +
+                indent + "        index = count;\n" +
+                indent + "        parentMessage.limit(firstOffset + (count * sbeBlockLength()));\n\n" +
+                indent + "        return this;\n" +
+                indent + "    }\n",
+                formatClassName(containingClassName),
+                formatClassName(column.propertyName),
+                javaTypeName(primitiveType),
+                column.offset,
+                put);
+        }
+    }
+
+    /**
+     * Collect the fields of a group block which can be accessed as a column across all elements, i.e. non-constant
+     * primitive fields with a single value and such members of composite fields.
+     *
+     * @param tokens for the fields of the group block.
+     * @return the columns which can be accessed in bulk.
+     */
+    private static List<GroupColumn> collectGroupColumns(final List<Token> tokens)
+    {
+        final List<GroupColumn> columns = new ArrayList<>();
+
+        for (int i = 0, size = tokens.size(); i < size; )
+        {
+            final Token fieldToken = tokens.get(i);
+            if (fieldToken.signal() != Signal.BEGIN_FIELD)
+            {
+                i++;
+                continue;
+            }
+
+            final Token typeToken = tokens.get(i + 1);
+            if (Signal.ENCODING == typeToken.signal())
+            {
+                if (isColumnEncoding(fieldToken, typeToken))
+                {
+                    columns.add(new GroupColumn(
+                        fieldToken.name(), fieldToken.version(), typeToken, fieldToken.offset()));
+                }
+            }
+            else if (Signal.BEGIN_COMPOSITE == typeToken.signal() && !fieldToken.isConstantEncoding())
+            {
+                final int endCompositeIndex = i + typeToken.componentTokenCount();
+                for (int j = i + 2; j < endCompositeIndex; )
+                {
+                    final Token memberToken = tokens.get(j);
+                    if (Signal.ENCODING == memberToken.signal() && isColumnEncoding(fieldToken, memberToken))
+                    {
+                        columns.add(new GroupColumn(
+                            fieldToken.name() + formatClassName(memberToken.name()),
+                            fieldToken.version(),
+                            memberToken,
+                            fieldToken.offset() + memberToken.offset()));
+                    }
+
+                    j += memberToken.componentTokenCount();
+                }
+            }
+
+            i += fieldToken.componentTokenCount();
+        }
+
+        return columns;
+    }
+
+    private static boolean isColumnEncoding(final Token fieldToken, final Token encodingToken)
+    {
+        return encodingToken.arrayLength() == 1 &&
+            !encodingToken.isConstantEncoding() &&
+            !fieldToken.isConstantEncoding();
+    }
+
+    private static final class GroupColumn
+    {
+        final String propertyName;
+        final int sinceVersion;
+        final Token encodingToken;
+        final int offset;
+
+        GroupColumn(final String propertyName, final int sinceVersion, final Token encodingToken, final int offset)
+        {
+            this.propertyName = propertyName;
+            this.sinceVersion = sinceVersion;
+            this.encodingToken = encodingToken;
+            this.offset = offset;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TokensGenerator
+    {
+        void generate(List<Token> tokens, OutputManager outputManager) throws IOException;
+    }
+
+    /**
+     * Holds the output for a message or type generated in parallel until it can be written in schema order.
+     */
+    private static final class BufferedOutputManager implements OutputManager
+    {
+        private final ArrayList<String> names = new ArrayList<>();
+        private final ArrayList<StringWriter> outputs = new ArrayList<>();
+
+        public Writer createOutput(final String name)
+        {
+            final StringWriter output = new StringWriter(16 * 1024);
+            names.add(name);
+            outputs.add(output);
+
+            return output;
+        }
+
+        void writeTo(final OutputManager outputManager) throws IOException
+        {
+            for (int i = 0, size = names.size(); i < size; i++)
+            {
+                try (Writer out = outputManager.createOutput(names.get(i)))
+                {
+                    out.append(outputs.get(i).getBuffer());
+                }
+            }
+        }
+    }
+
     private static void generateFieldIdMethod(final StringBuilder sb, final Token token, final String indent)
     {
         final String propertyName = formatPropertyName(token.name());
@@ -3196,6 +4719,11 @@ public class JavaGenerator implements CodeGenerator
 
     private String generateGet(final PrimitiveType type, final String index, final String byteOrder)
     {
+        if (shouldSwapBytes(byteOrder))
+        {
+            return generateSwappedGet(type, index);
+        }
+
         switch (type)
         {
             case CHAR:
@@ -3234,6 +4762,11 @@ public class JavaGenerator implements CodeGenerator
     private String generatePut(
         final PrimitiveType type, final String index, final String value, final String byteOrder)
     {
+        if (shouldSwapBytes(byteOrder))
+        {
+            return generateSwappedPut(type, index, value);
+        }
+
         switch (type)
         {
             case CHAR:
@@ -3269,6 +4802,66 @@ public class JavaGenerator implements CodeGenerator
         throw new IllegalArgumentException("primitive type not supported: " + type);
     }
 
+    private static String generateSwappedGet(final PrimitiveType type, final String index)
+    {
+        switch (type)
+        {
+            case INT16:
+                return "Short.reverseBytes(buffer.getShort(" + index + "))";
+
+            case UINT16:
+                return "(Short.reverseBytes(buffer.getShort(" + index + ")) & 0xFFFF)";
+
+            case INT32:
+                return "Integer.reverseBytes(buffer.getInt(" + index + "))";
+
+            case UINT32:
+                return "(Integer.reverseBytes(buffer.getInt(" + index + ")) & 0xFFFF_FFFFL)";
+
+            case FLOAT:
+                return "Float.intBitsToFloat(Integer.reverseBytes(buffer.getInt(" + index + ")))";
+
+            case INT64:
+            case UINT64:
+                return "Long.reverseBytes(buffer.getLong(" + index + "))";
+
+            case DOUBLE:
+                return "Double.longBitsToDouble(Long.reverseBytes(buffer.getLong(" + index + ")))";
+        }
+
+        throw new IllegalArgumentException("primitive type not supported: " + type);
+    }
+
+    private static String generateSwappedPut(final PrimitiveType type, final String index, final String value)
+    {
+        switch (type)
+        {
+            case INT16:
+                return "buffer.putShort(" + index + ", Short.reverseBytes(" + value + "))";
+
+            case UINT16:
+                return "buffer.putShort(" + index + ", Short.reverseBytes((short)" + value + "))";
+
+            case INT32:
+                return "buffer.putInt(" + index + ", Integer.reverseBytes(" + value + "))";
+
+            case UINT32:
+                return "buffer.putInt(" + index + ", Integer.reverseBytes((int)" + value + "))";
+
+            case FLOAT:
+                return "buffer.putInt(" + index + ", Integer.reverseBytes(Float.floatToRawIntBits(" + value + ")))";
+
+            case INT64:
+            case UINT64:
+                return "buffer.putLong(" + index + ", Long.reverseBytes(" + value + "))";
+
+            case DOUBLE:
+                return "buffer.putLong(" + index + ", Long.reverseBytes(Double.doubleToRawLongBits(" + value + ")))";
+        }
+
+        throw new IllegalArgumentException("primitive type not supported: " + type);
+    }
+
     private String generateChoiceIsEmpty(final PrimitiveType type)
     {
         return "\n" +
@@ -3300,6 +4893,22 @@ public class JavaGenerator implements CodeGenerator
 
     private String generateChoiceGet(final PrimitiveType type, final String bitIndex, final String byteOrder)
     {
+        if (shouldSwapBytes(byteOrder))
+        {
+            final String mask = swappedChoiceMask(type, bitIndex);
+            switch (type)
+            {
+                case UINT16:
+                    return "0 != (buffer.getShort(offset) & " + mask + ")";
+
+                case UINT32:
+                    return "0 != (buffer.getInt(offset) & " + mask + ")";
+
+                case UINT64:
+                    return "0 != (buffer.getLong(offset) & " + mask + ")";
+            }
+        }
+
         switch (type)
         {
             case UINT8:
@@ -3318,6 +4927,24 @@ public class JavaGenerator implements CodeGenerator
         throw new IllegalArgumentException("primitive type not supported: " + type);
     }
 
+    private static String swappedChoiceMask(final PrimitiveType type, final String bitIndex)
+    {
+        final int bit = Integer.parseInt(bitIndex);
+        switch (type)
+        {
+            case UINT16:
+                return String.format("0x%04X", Short.reverseBytes((short)(1 << bit)) & 0xFFFF);
+
+            case UINT32:
+                return String.format("0x%08X", Integer.reverseBytes(1 << bit));
+
+            case UINT64:
+                return String.format("0x%016XL", Long.reverseBytes(1L << bit));
+        }
+
+        throw new IllegalArgumentException("primitive type not supported: " + type);
+    }
+
     private String generateStaticChoiceGet(final PrimitiveType type, final String bitIndex)
     {
         switch (type)
@@ -3336,6 +4963,31 @@ public class JavaGenerator implements CodeGenerator
 
     private String generateChoicePut(final PrimitiveType type, final String bitIdx, final String byteOrder)
     {
+        if (shouldSwapBytes(byteOrder))
+        {
+            final String mask = swappedChoiceMask(type, bitIdx);
+            switch (type)
+            {
+                case UINT16:
+                    return
+                        "        short bits = buffer.getShort(offset);\n" +
+                        "        bits = (short)(value ? bits | " + mask + " : bits & ~" + mask + ");\n" +
+                        "        buffer.putShort(offset, bits);";
+
+                case UINT32:
+                    return
+                        "        int bits = buffer.getInt(offset);\n" +
+                        "        bits = value ? bits | " + mask + " : bits & ~" + mask + ";\n" +
+                        "        buffer.putInt(offset, bits);";
+
+                case UINT64:
+                    return
+                        "        long bits = buffer.getLong(offset);\n" +
+                        "        bits = value ? bits | " + mask + " : bits & ~" + mask + ";\n" +
+                        "        buffer.putLong(offset, bits);";
+            }
+        }
+
         switch (type)
         {
             case UINT8:
@@ -3871,6 +5523,18 @@ public class JavaGenerator implements CodeGenerator
         }
     }
 
+    private boolean isMutableBufferAssignableFrom(final Class<?> bufferClass)
+    {
+        try
+        {
+            return Class.forName(fqMutableBuffer).isAssignableFrom(bufferClass);
+        }
+        catch (final ClassNotFoundException ex)
+        {
+            return false;
+        }
+    }
+
     private String encoderName(final String className)
     {
         return formatClassName(className) + "Encoder";
@@ -18,22 +18,28 @@ package uk.co.real_logic.sbe.generation.java;
 import org.agrona.collections.Object2NullableObjectHashMap;
 import org.agrona.collections.Object2ObjectHashMap;
 import org.agrona.generation.DynamicPackageOutputManager;
-import org.agrona.generation.PackageOutputManager;
 
-import java.io.FilterWriter;
+import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Implementation of {@link DynamicPackageOutputManager} for Java.
+ * <p>
+ * Files are only written when their content differs from what is already on disk so that the timestamps of
+ * unchanged files are preserved for incremental builds.
  */
 public class JavaOutputManager implements DynamicPackageOutputManager
 {
     private final String baseDirName;
-    private final PackageOutputManager initialPackageOutputManager;
-    private PackageOutputManager actingPackageOutputManager;
-    private final Object2ObjectHashMap<String, PackageOutputManager> outputManagerByPackageName
-        = new Object2NullableObjectHashMap<>();
+    private final File initialPackageDir;
+    private File actingPackageDir;
+    private final Object2ObjectHashMap<String, File> packageDirByPackageName = new Object2NullableObjectHashMap<>();
 
     /**
      * Constructor.
@@ -43,9 +49,9 @@ public class JavaOutputManager implements DynamicPackageOutputManager
      */
     public JavaOutputManager(final String baseDirName, final String packageName)
     {
-        initialPackageOutputManager = new PackageOutputManager(baseDirName, packageName);
-        actingPackageOutputManager = initialPackageOutputManager;
         this.baseDirName = baseDirName;
+        initialPackageDir = packageDir(baseDirName, packageName);
+        actingPackageDir = initialPackageDir;
     }
 
     /**
@@ -53,17 +59,17 @@ public class JavaOutputManager implements DynamicPackageOutputManager
      */
     public void setPackageName(final String packageName)
     {
-        actingPackageOutputManager = outputManagerByPackageName.get(packageName);
-        if (actingPackageOutputManager == null)
+        actingPackageDir = packageDirByPackageName.get(packageName);
+        if (actingPackageDir == null)
         {
-            actingPackageOutputManager = new PackageOutputManager(baseDirName, packageName);
-            outputManagerByPackageName.put(packageName, actingPackageOutputManager);
+            actingPackageDir = packageDir(baseDirName, packageName);
+            packageDirByPackageName.put(packageName, actingPackageDir);
         }
     }
 
     private void resetPackage()
     {
-        actingPackageOutputManager = initialPackageOutputManager;
+        actingPackageDir = initialPackageDir;
     }
 
     /**
@@ -71,13 +77,46 @@ public class JavaOutputManager implements DynamicPackageOutputManager
      */
     public Writer createOutput(final String name) throws IOException
     {
-        return new FilterWriter(actingPackageOutputManager.createOutput(name))
+        final Path path = new File(actingPackageDir, name + ".java").toPath();
+
+        return new StringWriter(8 * 1024)
         {
             public void close() throws IOException
             {
                 super.close();
+                writeIfChanged(path, toString().getBytes(StandardCharsets.UTF_8));
                 resetPackage();
             }
         };
     }
+
+    private static File packageDir(final String baseDirName, final String packageName)
+    {
+        final String dirName = baseDirName.charAt(baseDirName.length() - 1) == File.separatorChar ?
+            baseDirName : baseDirName + File.separatorChar;
+        final File packageDir = new File(dirName + packageName.replace('.', File.separatorChar));
+
+        try
+        {
+            Files.createDirectories(packageDir.toPath());
+        }
+        catch (final IOException ex)
+        {
+            throw new IllegalStateException("Unable to create directory: " + packageDir, ex);
+        }
+
+        return packageDir;
+    }
+
+    private static void writeIfChanged(final Path path, final byte[] content) throws IOException
+    {
+        if (Files.exists(path) &&
+            Files.size(path) == content.length &&
+            Arrays.equals(Files.readAllBytes(path), content))
+        {
+            return;
+        }
+
+        Files.write(path, content);
+    }
 }
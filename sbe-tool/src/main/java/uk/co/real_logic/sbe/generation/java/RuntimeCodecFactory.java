@@ -0,0 +1,337 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.generation.java;
+
+import org.agrona.LangUtil;
+import org.agrona.Verify;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.generation.StringWriterOutputManager;
+import org.agrona.sbe.MessageDecoderFlyweight;
+import org.agrona.sbe.MessageEncoderFlyweight;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static uk.co.real_logic.sbe.SbeTool.JAVA_DEFAULT_DECODING_BUFFER_TYPE;
+import static uk.co.real_logic.sbe.SbeTool.JAVA_DEFAULT_ENCODING_BUFFER_TYPE;
+import static uk.co.real_logic.sbe.generation.java.JavaUtil.formatClassName;
+
+/**
+ * Generates and loads Java flyweight codecs for an {@link Ir} at runtime without running the
+ * {@link uk.co.real_logic.sbe.SbeTool} at build time.
+ * <p>
+ * The codecs are produced by the {@link JavaGenerator} so they have the same offsets and accessors as build time
+ * generated codecs, are compiled in memory, and then defined in a dedicated {@link ClassLoader} owned by the factory.
+ * Once loaded the JIT compiler treats them like any other flyweight, so schemas discovered at runtime, e.g. via an
+ * {@link uk.co.real_logic.sbe.ir.IrDecoder}, avoid the on-the-fly decoding path.
+ * <p>
+ * Generated message codecs implement {@link MessageDecoderFlyweight} and {@link MessageEncoderFlyweight} so they can
+ * be used without reflection for common operations. The factory requires a JDK at runtime as it uses the
+ * {@link ToolProvider#getSystemJavaCompiler()}.
+ */
+public class RuntimeCodecFactory
+{
+    private final Ir ir;
+    private final CodecClassLoader classLoader;
+    private final Long2ObjectHashMap<Class<?>> decoderClassByTemplateId = new Long2ObjectHashMap<>();
+    private final Long2ObjectHashMap<Class<?>> encoderClassByTemplateId = new Long2ObjectHashMap<>();
+
+    /**
+     * Generate, compile, and load the codecs for an {@link Ir} using the default buffer types.
+     *
+     * @param ir for the messages and types.
+     */
+    public RuntimeCodecFactory(final Ir ir)
+    {
+        this(ir, JAVA_DEFAULT_ENCODING_BUFFER_TYPE, JAVA_DEFAULT_DECODING_BUFFER_TYPE);
+    }
+
+    /**
+     * Generate, compile, and load the codecs for an {@link Ir}.
+     *
+     * @param ir             for the messages and types.
+     * @param mutableBuffer  implementation used for mutating underlying buffers.
+     * @param readOnlyBuffer implementation used for reading underlying buffers.
+     */
+    public RuntimeCodecFactory(final Ir ir, final String mutableBuffer, final String readOnlyBuffer)
+    {
+        Verify.notNull(ir, "ir");
+
+        this.ir = ir;
+
+        final StringWriterOutputManager outputManager = new StringWriterOutputManager();
+        outputManager.setPackageName(ir.applicableNamespace());
+
+        try
+        {
+            new JavaGenerator(ir, mutableBuffer, readOnlyBuffer, false, true, false, outputManager).generate();
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        classLoader = new CodecClassLoader(compile(outputManager.getSources()), RuntimeCodecFactory.class);
+
+        for (final List<Token> tokens : ir.messages())
+        {
+            final Token msgToken = tokens.get(0);
+            final String className = formatClassName(msgToken.name());
+
+            decoderClassByTemplateId.put(msgToken.id(), loadClass(className + "Decoder"));
+            encoderClassByTemplateId.put(msgToken.id(), loadClass(className + "Encoder"));
+        }
+    }
+
+    /**
+     * The {@link Ir} from which the codecs were generated.
+     *
+     * @return the {@link Ir} from which the codecs were generated.
+     */
+    public Ir ir()
+    {
+        return ir;
+    }
+
+    /**
+     * The {@link ClassLoader} in which the generated codecs are defined.
+     *
+     * @return the {@link ClassLoader} in which the generated codecs are defined.
+     */
+    public ClassLoader classLoader()
+    {
+        return classLoader;
+    }
+
+    /**
+     * Load a generated class by its simple name, e.g. "MessageHeaderDecoder" or the name of an enum.
+     *
+     * @param simpleName of the generated class within the namespace of the schema.
+     * @return the loaded class.
+     * @throws IllegalArgumentException if no class was generated with the name.
+     */
+    public Class<?> loadClass(final String simpleName)
+    {
+        try
+        {
+            return classLoader.loadClass(ir.applicableNamespace() + "." + simpleName);
+        }
+        catch (final ClassNotFoundException ex)
+        {
+            throw new IllegalArgumentException("no generated class for name: " + simpleName, ex);
+        }
+    }
+
+    /**
+     * Get the class of the generated decoder for a message template.
+     *
+     * @param templateId of the message.
+     * @return the class of the generated decoder or null if the template id is not found.
+     */
+    public Class<?> decoderClass(final long templateId)
+    {
+        return decoderClassByTemplateId.get(templateId);
+    }
+
+    /**
+     * Get the class of the generated encoder for a message template.
+     *
+     * @param templateId of the message.
+     * @return the class of the generated encoder or null if the template id is not found.
+     */
+    public Class<?> encoderClass(final long templateId)
+    {
+        return encoderClassByTemplateId.get(templateId);
+    }
+
+    /**
+     * Create a new instance of the generated decoder for a message template.
+     *
+     * @param templateId of the message.
+     * @return a new decoder flyweight which should be reused for decoding messages of the template.
+     * @throws IllegalArgumentException if the template id is not found.
+     */
+    public MessageDecoderFlyweight newDecoder(final long templateId)
+    {
+        return (MessageDecoderFlyweight)newInstance(decoderClassByTemplateId.get(templateId), templateId);
+    }
+
+    /**
+     * Create a new instance of the generated encoder for a message template.
+     *
+     * @param templateId of the message.
+     * @return a new encoder flyweight which should be reused for encoding messages of the template.
+     * @throws IllegalArgumentException if the template id is not found.
+     */
+    public MessageEncoderFlyweight newEncoder(final long templateId)
+    {
+        return (MessageEncoderFlyweight)newInstance(encoderClassByTemplateId.get(templateId), templateId);
+    }
+
+    private static Object newInstance(final Class<?> clazz, final long templateId)
+    {
+        if (null == clazz)
+        {
+            throw new IllegalArgumentException("unknown template id: " + templateId);
+        }
+
+        try
+        {
+            return clazz.getDeclaredConstructor().newInstance();
+        }
+        catch (final ReflectiveOperationException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return null;
+        }
+    }
+
+    private static Map<String, byte[]> compile(final Map<String, CharSequence> sources)
+    {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (null == compiler)
+        {
+            throw new IllegalStateException("JDK required to generate codecs at runtime, JRE is not sufficient");
+        }
+
+        final List<JavaFileObject> compilationUnits = new ArrayList<>(sources.size());
+        for (final Map.Entry<String, CharSequence> entry : sources.entrySet())
+        {
+            compilationUnits.add(new SourceFileObject(entry.getKey(), entry.getValue()));
+        }
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final Map<String, ByteArrayOutputStream> classes = new HashMap<>();
+        final List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"), "-nowarn");
+
+        try (JavaFileManager fileManager = new ClassFileManager(
+            compiler.getStandardFileManager(diagnostics, null, null), classes))
+        {
+            final Boolean success = compiler
+                .getTask(null, fileManager, diagnostics, options, null, compilationUnits)
+                .call();
+
+            if (!Boolean.TRUE.equals(success))
+            {
+                final StringBuilder sb = new StringBuilder("failed to compile generated codecs:");
+                for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+                {
+                    sb.append('\n').append(diagnostic);
+                }
+
+                throw new IllegalStateException(sb.toString());
+            }
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        final Map<String, byte[]> classBytesByName = new HashMap<>();
+        classes.forEach((name, bytes) -> classBytesByName.put(name, bytes.toByteArray()));
+
+        return classBytesByName;
+    }
+
+    static final class SourceFileObject extends SimpleJavaFileObject
+    {
+        private final CharSequence source;
+
+        SourceFileObject(final String className, final CharSequence source)
+        {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors)
+        {
+            return source;
+        }
+    }
+
+    static final class ClassFileManager extends ForwardingJavaFileManager<JavaFileManager>
+    {
+        private final Map<String, ByteArrayOutputStream> classes;
+
+        ClassFileManager(final JavaFileManager fileManager, final Map<String, ByteArrayOutputStream> classes)
+        {
+            super(fileManager);
+            this.classes = classes;
+        }
+
+        public JavaFileObject getJavaFileForOutput(
+            final Location location, final String className, final JavaFileObject.Kind kind, final FileObject sibling)
+        {
+            final URI uri = URI.create("bytes:///" + className.replace('.', '/') + kind.extension);
+            return new SimpleJavaFileObject(uri, kind)
+            {
+                public OutputStream openOutputStream()
+                {
+                    return classes.computeIfAbsent(className, (key) -> new ByteArrayOutputStream());
+                }
+            };
+        }
+    }
+
+    /**
+     * Defines the generated classes ahead of delegating to the parent so that codecs with the same names as classes
+     * already on the class path, e.g. from build time generation, are isolated.
+     */
+    static final class CodecClassLoader extends ClassLoader
+    {
+        private final Map<String, byte[]> classBytesByName;
+
+        CodecClassLoader(final Map<String, byte[]> classBytesByName, final Class<?> owner)
+        {
+            super(owner.getClassLoader());
+            this.classBytesByName = classBytesByName;
+        }
+
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException
+        {
+            synchronized (getClassLoadingLock(name))
+            {
+                Class<?> clazz = findLoadedClass(name);
+                if (null == clazz)
+                {
+                    final byte[] bytes = classBytesByName.get(name);
+                    if (null == bytes)
+                    {
+                        return super.loadClass(name, resolve);
+                    }
+
+                    clazz = defineClass(name, bytes, 0, bytes.length);
+                }
+
+                if (resolve)
+                {
+                    resolveClass(clazz);
+                }
+
+                return clazz;
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.ir;
+
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Object2IntHashMap;
+import uk.co.real_logic.sbe.PrimitiveType;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact representation of the messages in an {@link Ir} for on-the-fly decoding, held as a structure of primitive
+ * arrays indexed by token rather than a graph of {@link Token} objects.
+ * <p>
+ * The tokens of all messages are laid out back to back. A message is addressed by the index of its
+ * {@link Signal#BEGIN_MESSAGE} token and ends before that index plus its {@link #componentTokenCount(int)}. Names are
+ * interned and equal {@link Encoding}s are shared between tokens. Descriptions and referenced names are not retained.
+ */
+public final class CompactIr
+{
+    /**
+     * Value returned for a message or token which does not exist.
+     */
+    public static final int NOT_FOUND = -1;
+
+    private static final Signal[] SIGNALS = Signal.values();
+    private static final PrimitiveType[] PRIMITIVE_TYPES = PrimitiveType.values();
+    private static final Encoding.Presence[] PRESENCES = Encoding.Presence.values();
+    private static final byte BIG_ENDIAN_FLAG = 0x1;
+
+    private final HeaderStructure headerStructure;
+    private final int id;
+    private final int version;
+    private final Long2LongHashMap messageIndexById = new Long2LongHashMap(NOT_FOUND);
+
+    private final byte[] signals;
+    private final byte[] primitiveTypes;
+    private final byte[] presences;
+    private final byte[] flags;
+    private final int[] ids;
+    private final int[] versions;
+    private final int[] offsets;
+    private final int[] encodedLengths;
+    private final int[] componentTokenCounts;
+    private final int[] nameIndices;
+    private final int[] encodingIndices;
+    private final String[] names;
+    private final Encoding[] encodings;
+
+    /**
+     * Create a compact representation of the messages in an {@link Ir}.
+     *
+     * @param ir to take the messages from.
+     */
+    public CompactIr(final Ir ir)
+    {
+        headerStructure = ir.headerStructure();
+        id = ir.id();
+        version = ir.version();
+
+        final Collection<List<Token>> messages = ir.messages();
+        int tokenCount = 0;
+        for (final List<Token> tokens : messages)
+        {
+            tokenCount += tokens.size();
+        }
+
+        signals = new byte[tokenCount];
+        primitiveTypes = new byte[tokenCount];
+        presences = new byte[tokenCount];
+        flags = new byte[tokenCount];
+        ids = new int[tokenCount];
+        versions = new int[tokenCount];
+        offsets = new int[tokenCount];
+        encodedLengths = new int[tokenCount];
+        componentTokenCounts = new int[tokenCount];
+        nameIndices = new int[tokenCount];
+        encodingIndices = new int[tokenCount];
+
+        final Object2IntHashMap<String> nameIndexByName = new Object2IntHashMap<>(NOT_FOUND);
+        final Object2IntHashMap<String> encodingIndexByKey = new Object2IntHashMap<>(NOT_FOUND);
+        final List<String> names = new ArrayList<>();
+        final List<Encoding> encodings = new ArrayList<>();
+
+        int i = 0;
+        for (final List<Token> tokens : messages)
+        {
+            messageIndexById.put(tokens.get(0).id(), i);
+
+            for (final Token token : tokens)
+            {
+                final Encoding encoding = token.encoding();
+                final PrimitiveType primitiveType = encoding.primitiveType();
+
+                signals[i] = (byte)token.signal().ordinal();
+                primitiveTypes[i] = null == primitiveType ? NOT_FOUND : (byte)primitiveType.ordinal();
+                presences[i] = (byte)encoding.presence().ordinal();
+                flags[i] = ByteOrder.BIG_ENDIAN == encoding.byteOrder() ? BIG_ENDIAN_FLAG : 0;
+                ids[i] = token.id();
+                versions[i] = token.version();
+                offsets[i] = token.offset();
+                encodedLengths[i] = token.encodedLength();
+                componentTokenCounts[i] = token.componentTokenCount();
+                nameIndices[i] = null == token.name() ?
+                    NOT_FOUND : intern(nameIndexByName, names, token.name(), token.name());
+                encodingIndices[i] = intern(encodingIndexByKey, encodings, encoding.toString(), encoding);
+                i++;
+            }
+        }
+
+        this.names = names.toArray(new String[0]);
+        this.encodings = encodings.toArray(new Encoding[0]);
+    }
+
+    /**
+     * The {@link HeaderStructure} of the messages for decoding their headers.
+     *
+     * @return the {@link HeaderStructure} of the messages.
+     */
+    public HeaderStructure headerStructure()
+    {
+        return headerStructure;
+    }
+
+    /**
+     * Identifier for the schema.
+     *
+     * @return the identifier for the schema.
+     */
+    public int id()
+    {
+        return id;
+    }
+
+    /**
+     * Version of the schema.
+     *
+     * @return version of the schema.
+     */
+    public int version()
+    {
+        return version;
+    }
+
+    /**
+     * Number of tokens across all messages.
+     *
+     * @return number of tokens across all messages.
+     */
+    public int tokenCount()
+    {
+        return signals.length;
+    }
+
+    /**
+     * Index of the {@link Signal#BEGIN_MESSAGE} token for a message. The lookup does not allocate.
+     *
+     * @param messageId of the message.
+     * @return the index of the {@link Signal#BEGIN_MESSAGE} token or {@link #NOT_FOUND} if the id is not found.
+     */
+    public int messageIndex(final long messageId)
+    {
+        return (int)messageIndexById.get(messageId);
+    }
+
+    /**
+     * Signal of a token.
+     *
+     * @param index of the token.
+     * @return the signal of the token.
+     */
+    public Signal signal(final int index)
+    {
+        return SIGNALS[signals[index]];
+    }
+
+    /**
+     * Name of a token, interned so equal names are the same instance.
+     *
+     * @param index of the token.
+     * @return the name of the token or null if it has none.
+     */
+    public String name(final int index)
+    {
+        final int nameIndex = nameIndices[index];
+        return NOT_FOUND == nameIndex ? null : names[nameIndex];
+    }
+
+    /**
+     * Schema id of a token.
+     *
+     * @param index of the token.
+     * @return the schema id of the token or {@link Token#INVALID_ID}.
+     */
+    public int id(final int index)
+    {
+        return ids[index];
+    }
+
+    /**
+     * Version of the schema in which a token was introduced.
+     *
+     * @param index of the token.
+     * @return the version in which the token was introduced.
+     */
+    public int version(final int index)
+    {
+        return versions[index];
+    }
+
+    /**
+     * Offset of a token within its enclosing message, group, or composite.
+     *
+     * @param index of the token.
+     * @return the offset of the token.
+     */
+    public int offset(final int index)
+    {
+        return offsets[index];
+    }
+
+    /**
+     * Encoded length of a token in bytes.
+     *
+     * @param index of the token.
+     * @return the encoded length of the token or {@link Token#VARIABLE_LENGTH}.
+     */
+    public int encodedLength(final int index)
+    {
+        return encodedLengths[index];
+    }
+
+    /**
+     * Number of tokens which make up the component a token begins or ends, 1 for other tokens.
+     *
+     * @param index of the token.
+     * @return the number of tokens in the component.
+     */
+    public int componentTokenCount(final int index)
+    {
+        return componentTokenCounts[index];
+    }
+
+    /**
+     * {@link PrimitiveType} of the encoding of a token.
+     *
+     * @param index of the token.
+     * @return the {@link PrimitiveType} of the encoding or null if the token has none.
+     */
+    public PrimitiveType primitiveType(final int index)
+    {
+        final byte ordinal = primitiveTypes[index];
+        return NOT_FOUND == ordinal ? null : PRIMITIVE_TYPES[ordinal];
+    }
+
+    /**
+     * {@link ByteOrder} of the encoding of a token.
+     *
+     * @param index of the token.
+     * @return the {@link ByteOrder} of the encoding.
+     */
+    public ByteOrder byteOrder(final int index)
+    {
+        return BIG_ENDIAN_FLAG == (flags[index] & BIG_ENDIAN_FLAG) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    }
+
+    /**
+     * {@link Encoding.Presence} of the encoding of a token.
+     *
+     * @param index of the token.
+     * @return the {@link Encoding.Presence} of the encoding.
+     */
+    public Encoding.Presence presence(final int index)
+    {
+        return PRESENCES[presences[index]];
+    }
+
+    /**
+     * Full {@link Encoding} of a token for its values and metadata, shared with other tokens with an equal encoding.
+     *
+     * @param index of the token.
+     * @return the {@link Encoding} of the token.
+     */
+    public Encoding encoding(final int index)
+    {
+        return encodings[encodingIndices[index]];
+    }
+
+    /**
+     * Number of distinct names held.
+     *
+     * @return number of distinct names held.
+     */
+    public int nameCount()
+    {
+        return names.length;
+    }
+
+    /**
+     * Number of distinct encodings held.
+     *
+     * @return number of distinct encodings held.
+     */
+    public int encodingCount()
+    {
+        return encodings.length;
+    }
+
+    private static <T> int intern(
+        final Object2IntHashMap<String> indexByKey, final List<T> values, final String key, final T value)
+    {
+        int index = indexByKey.getValue(key);
+        if (NOT_FOUND == index)
+        {
+            index = values.size();
+            values.add(value);
+            indexByKey.put(key, index);
+        }
+
+        return index;
+    }
+}
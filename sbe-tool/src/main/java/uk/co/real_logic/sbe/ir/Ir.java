@@ -16,6 +16,7 @@
 package uk.co.real_logic.sbe.ir;
 
 import org.agrona.Verify;
+import org.agrona.collections.Long2ObjectHashMap;
 
 import uk.co.real_logic.sbe.SbeTool;
 
@@ -29,6 +30,11 @@ import java.util.regex.Pattern;
  */
 public class Ir
 {
+    /**
+     * Template ids below this limit are looked up in a dense array, others in an open addressing map.
+     */
+    private static final int DENSE_MESSAGE_ID_LIMIT = 1024;
+
     private final String packageName;
     private final String namespaceName;
     private final int id;
@@ -39,6 +45,8 @@ public class Ir
 
     private final HeaderStructure headerStructure;
     private final Map<Long, List<Token>> messagesByIdMap = new HashMap<>();
+    private final ArrayList<List<Token>> messagesByDenseId = new ArrayList<>();
+    private final Long2ObjectHashMap<List<Token>> messagesBySparseId = new Long2ObjectHashMap<>();
     private final Map<String, List<Token>> typesByNameMap = new HashMap<>();
 
     private final String[] namespaces;
@@ -112,18 +120,40 @@ public class Ir
         captureTypes(messageTokens, 0, messageTokens.size() - 1);
         updateComponentTokenCounts(messageTokens);
 
-        messagesByIdMap.put(messageId, new ArrayList<>(messageTokens));
+        final List<Token> tokens = new ArrayList<>(messageTokens);
+        messagesByIdMap.put(messageId, tokens);
+
+        if (messageId >= 0 && messageId < DENSE_MESSAGE_ID_LIMIT)
+        {
+            while (messageId >= messagesByDenseId.size())
+            {
+                messagesByDenseId.add(null);
+            }
+
+            messagesByDenseId.set((int)messageId, tokens);
+        }
+        else
+        {
+            messagesBySparseId.put(messageId, tokens);
+        }
     }
 
     /**
      * Get the getMessage for a given identifier.
+     * <p>
+     * The lookup does not box the identifier so it is suitable for use on each message decoded.
      *
      * @param messageId to get.
      * @return the List of {@link Token}s representing the message or null if the id is not found.
      */
     public List<Token> getMessage(final long messageId)
     {
-        return messagesByIdMap.get(messageId);
+        if (messageId >= 0 && messageId < messagesByDenseId.size())
+        {
+            return messagesByDenseId.get((int)messageId);
+        }
+
+        return messagesBySparseId.get(messageId);
     }
 
     /**
@@ -17,9 +17,12 @@ package uk.co.real_logic.sbe.ir;
 
 import org.agrona.CloseHelper;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.LongArrayList;
 import org.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.sbe.PrimitiveType;
 import uk.co.real_logic.sbe.ir.generated.FrameCodecDecoder;
+import uk.co.real_logic.sbe.ir.generated.SignalCodec;
 import uk.co.real_logic.sbe.ir.generated.TokenCodecDecoder;
 
 import java.io.IOException;
@@ -135,6 +138,80 @@ public class IrDecoder implements AutoCloseable
         return ir;
     }
 
+    /**
+     * Decode the header of the serialised {@link Ir} and index the offsets of the messages by template id so that
+     * the {@link Token}s of a message are only decoded on its first lookup by {@link Ir#getMessage(long)}.
+     * <p>
+     * The returned {@link Ir} references the buffer being decoded which must not change while it is in use. A mapped
+     * file remains valid after this decoder is closed. Accessing {@link Ir#messages()}, {@link Ir#types()}, or
+     * {@link Ir#getType(String)} decodes all remaining messages.
+     *
+     * @return the {@link Ir} instance which decodes messages on demand.
+     */
+    public Ir decodeLazily()
+    {
+        decodeFrame();
+
+        final List<Token> headerTokens = new ArrayList<>();
+        Token token = decodeToken();
+        final String headerName = token.name();
+        headerTokens.add(token);
+        while (Signal.END_COMPOSITE != token.signal() || !headerName.equals(token.name()))
+        {
+            token = decodeToken();
+            headerTokens.add(token);
+        }
+
+        final Long2LongHashMap messageOffsetById = new Long2LongHashMap(LazyIr.MISSING_OFFSET);
+        final LongArrayList messageIds = new LongArrayList();
+        while (offset < length)
+        {
+            tokenDecoder.wrap(directBuffer, offset, tokenDecoder.sbeBlockLength(), TokenCodecDecoder.SCHEMA_VERSION);
+            if (SignalCodec.BEGIN_MESSAGE == tokenDecoder.signal())
+            {
+                final int messageId = tokenDecoder.fieldId();
+                messageOffsetById.put(messageId, offset);
+                messageIds.addLong(messageId);
+            }
+
+            offset += tokenDecoder.sbeSkip().encodedLength();
+        }
+
+        return new LazyIr(
+            irPackageName,
+            irNamespaceName,
+            irId,
+            irVersion,
+            semanticVersion,
+            headerTokens.get(0).encoding().byteOrder(),
+            headerTokens,
+            this,
+            messageOffsetById,
+            messageIds);
+    }
+
+    /**
+     * Decode the {@link Token}s of a message.
+     *
+     * @param messageOffset at which the {@link Signal#BEGIN_MESSAGE} token is encoded.
+     * @return the {@link Token}s of the message.
+     */
+    List<Token> decodeMessage(final int messageOffset)
+    {
+        offset = messageOffset;
+
+        final List<Token> messageTokens = new ArrayList<>();
+        Token token;
+        do
+        {
+            token = decodeToken();
+            messageTokens.add(token);
+        }
+        while (Signal.END_MESSAGE != token.signal());
+
+        return messageTokens;
+    }
+
     private int captureHeader(final List<Token> tokens)
     {
         final List<Token> headerTokens = new ArrayList<>();
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.ir;
+
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.LongArrayList;
+
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link Ir} which decodes the {@link Token}s of a message from the serialised form on first lookup.
+ * <p>
+ * Decoded messages are published to a slot per template id so that {@link #getMessage(long)} does not lock once a
+ * message has been decoded. Decoding and the other accessors are synchronized.
+ *
+ * @see IrDecoder#decodeLazily()
+ */
+final class LazyIr extends Ir
+{
+    static final long MISSING_OFFSET = -1;
+
+    private final IrDecoder irDecoder;
+    private final Long2LongHashMap slotByMessageId;
+    private final long[] messageIdBySlot;
+    private final int[] messageOffsetBySlot;
+    private final AtomicReferenceArray<List<Token>> messageBySlot;
+    private volatile boolean hasAddedMessages;
+    private int undecodedMessageCount;
+
+    LazyIr(
+        final String packageName,
+        final String namespaceName,
+        final int id,
+        final int version,
+        final String semanticVersion,
+        final ByteOrder byteOrder,
+        final List<Token> headerTokens,
+        final IrDecoder irDecoder,
+        final Long2LongHashMap messageOffsetById,
+        final LongArrayList messageIds)
+    {
+        super(packageName, namespaceName, id, version, null, semanticVersion, byteOrder, headerTokens);
+
+        this.irDecoder = irDecoder;
+
+        final int messageCount = messageOffsetById.size();
+        slotByMessageId = new Long2LongHashMap(MISSING_OFFSET);
+        messageIdBySlot = new long[messageCount];
+        messageOffsetBySlot = new int[messageCount];
+        messageBySlot = new AtomicReferenceArray<>(messageCount);
+
+        int slot = 0;
+        for (int i = 0, size = messageIds.size(); i < size; i++)
+        {
+            final long messageId = messageIds.getLong(i);
+            if (MISSING_OFFSET == slotByMessageId.get(messageId))
+            {
+                slotByMessageId.put(messageId, slot);
+                messageIdBySlot[slot] = messageId;
+                messageOffsetBySlot[slot] = (int)messageOffsetById.get(messageId);
+                slot++;
+            }
+        }
+
+        undecodedMessageCount = messageCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void addMessage(final long messageId, final List<Token> messageTokens)
+    {
+        super.addMessage(messageId, messageTokens);
+
+        final int slot = (int)slotByMessageId.get(messageId);
+        if (MISSING_OFFSET == slot)
+        {
+            hasAddedMessages = true;
+        }
+        else
+        {
+            if (null == messageBySlot.get(slot))
+            {
+                undecodedMessageCount--;
+            }
+            messageBySlot.set(slot, super.getMessage(messageId));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<Token> getMessage(final long messageId)
+    {
+        final int slot = (int)slotByMessageId.get(messageId);
+        if (MISSING_OFFSET == slot)
+        {
+            return hasAddedMessages ? getAddedMessage(messageId) : null;
+        }
+
+        final List<Token> messageTokens = messageBySlot.get(slot);
+
+        return null != messageTokens ? messageTokens : decodeMessage(slot);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized List<Token> getType(final String name)
+    {
+        decodeRemainingMessages();
+
+        return super.getType(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized Collection<List<Token>> types()
+    {
+        decodeRemainingMessages();
+
+        return super.types();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized Collection<List<Token>> messages()
+    {
+        decodeRemainingMessages();
+
+        return super.messages();
+    }
+
+    private synchronized List<Token> getAddedMessage(final long messageId)
+    {
+        return super.getMessage(messageId);
+    }
+
+    private synchronized List<Token> decodeMessage(final int slot)
+    {
+        List<Token> messageTokens = messageBySlot.get(slot);
+        if (null == messageTokens)
+        {
+            final long messageId = messageIdBySlot[slot];
+            super.addMessage(messageId, irDecoder.decodeMessage(messageOffsetBySlot[slot]));
+            messageTokens = super.getMessage(messageId);
+            messageBySlot.set(slot, messageTokens);
+            undecodedMessageCount--;
+        }
+
+        return messageTokens;
+    }
+
+    private void decodeRemainingMessages()
+    {
+        for (int slot = 0, size = messageBySlot.length(); slot < size && undecodedMessageCount > 0; slot++)
+        {
+            if (null == messageBySlot.get(slot))
+            {
+                decodeMessage(slot);
+            }
+        }
+    }
+}
@@ -0,0 +1,794 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.json;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import uk.co.real_logic.sbe.PrimitiveValue;
+import uk.co.real_logic.sbe.ir.Encoding;
+import uk.co.real_logic.sbe.ir.Token;
+import uk.co.real_logic.sbe.otf.TokenListener;
+import uk.co.real_logic.sbe.otf.Types;
+
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+
+import static uk.co.real_logic.sbe.PrimitiveType.CHAR;
+
+/**
+ * Listener for tokens when dynamically decoding a message which converts them to JSON encoded as UTF-8 bytes written
+ * directly to a {@link MutableDirectBuffer}.
+ * <p>
+ * The output is identical to that of {@link JsonTokenListener} but the listener can be reused via
+ * {@link #reset(MutableDirectBuffer, int)} and does not allocate in steady state when var data and char fields use
+ * an ASCII, ISO-8859-1, or UTF-8 character encoding. If the output buffer is not expandable then it must have
+ * sufficient capacity for the JSON.
+ * <p>
+ * This class is not thread safe.
+ */
+public class JsonBufferTokenListener implements TokenListener
+{
+    private static final int CHARSET_UTF_8 = 0;
+    private static final int CHARSET_ASCII = 1;
+    private static final int CHARSET_LATIN_1 = 2;
+    private static final int CHARSET_OTHER = 3;
+
+    private static final byte[] HEX_DIGITS =
+    {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+    };
+
+    private final StringBuilder scratch = new StringBuilder();
+    private MutableDirectBuffer output;
+    private int initialOffset;
+    private int position;
+    private int indentation = 0;
+    private int compositeLevel = 0;
+
+    /**
+     * Construct a new TokenListener which requires {@link #reset(MutableDirectBuffer, int)} to be called before use.
+     */
+    public JsonBufferTokenListener()
+    {
+    }
+
+    /**
+     * Construct a new TokenListener that will write JSON formatted output.
+     *
+     * @param output to write the JSON formatted output to.
+     * @param offset in the output at which to begin writing.
+     */
+    public JsonBufferTokenListener(final MutableDirectBuffer output, final int offset)
+    {
+        reset(output, offset);
+    }
+
+    /**
+     * Reset the listener so it can be reused to write the JSON for another message.
+     *
+     * @param output to write the JSON formatted output to.
+     * @param offset in the output at which to begin writing.
+     * @return this for a fluent API.
+     */
+    public JsonBufferTokenListener reset(final MutableDirectBuffer output, final int offset)
+    {
+        this.output = output;
+        initialOffset = offset;
+        position = offset;
+        indentation = 0;
+        compositeLevel = 0;
+
+        return this;
+    }
+
+    /**
+     * The buffer to which the JSON is being written.
+     *
+     * @return the buffer to which the JSON is being written.
+     */
+    public MutableDirectBuffer output()
+    {
+        return output;
+    }
+
+    /**
+     * Length in bytes of the JSON written since the last reset.
+     *
+     * @return length in bytes of the JSON written since the last reset.
+     */
+    public int length()
+    {
+        return position - initialOffset;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onBeginMessage(final Token token)
+    {
+        startObject();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEndMessage(final Token token)
+    {
+        endObject();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEncoding(
+        final Token fieldToken,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final Token typeToken,
+        final int actingVersion)
+    {
+        property(compositeLevel > 0 ? typeToken.name() : fieldToken.name());
+        appendEncodingAsString(buffer, bufferIndex, fieldToken, typeToken, actingVersion);
+        next();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEnum(
+        final Token fieldToken,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final List<Token> tokens,
+        final int fromIndex,
+        final int toIndex,
+        final int actingVersion)
+    {
+        property(determineName(0, fieldToken, tokens, fromIndex));
+        doubleQuote();
+
+        if (fieldToken.isConstantEncoding())
+        {
+            appendConstantEnumValue(fieldToken.encoding().constValue());
+        }
+        else
+        {
+            final Token typeToken = tokens.get(fromIndex + 1);
+            final long encodedValue = readEncodingAsLong(buffer, bufferIndex, typeToken, fieldToken, actingVersion);
+            String value = null;
+            for (int i = fromIndex + 1; i < toIndex; i++)
+            {
+                if (encodedValue == tokens.get(i).encoding().constValue().longValue())
+                {
+                    value = tokens.get(i).name();
+                    break;
+                }
+            }
+
+            putAscii(null == value ? "null" : value);
+        }
+
+        doubleQuote();
+        next();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onBitSet(
+        final Token fieldToken,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final List<Token> tokens,
+        final int fromIndex,
+        final int toIndex,
+        final int actingVersion)
+    {
+        final Token typeToken = tokens.get(fromIndex + 1);
+        final long encodedValue = readEncodingAsLong(buffer, bufferIndex, typeToken, fieldToken, actingVersion);
+
+        property(determineName(0, fieldToken, tokens, fromIndex));
+
+        putAscii("{ ");
+        for (int i = fromIndex + 1; i < toIndex; i++)
+        {
+            putByte('"');
+            putAscii(tokens.get(i).name());
+            putAscii("\": ");
+
+            final long bitPosition = tokens.get(i).encoding().constValue().longValue();
+            final boolean flag = (encodedValue & (1L << bitPosition)) != 0;
+
+            putAscii(flag ? "true" : "false");
+
+            if (i < (toIndex - 1))
+            {
+                putAscii(", ");
+            }
+        }
+        putAscii(" }");
+        next();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onBeginComposite(
+        final Token fieldToken, final List<Token> tokens, final int fromIndex, final int toIndex)
+    {
+        ++compositeLevel;
+        property(determineName(1, fieldToken, tokens, fromIndex));
+        putByte('\n');
+        startObject();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEndComposite(
+        final Token fieldToken, final List<Token> tokens, final int fromIndex, final int toIndex)
+    {
+        --compositeLevel;
+        endObject();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onGroupHeader(final Token token, final int numInGroup)
+    {
+        property(token.name());
+        if (numInGroup > 0)
+        {
+            putAscii("[\n");
+        }
+        else
+        {
+            putAscii("[],\n");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onBeginGroup(final Token token, final int groupIndex, final int numInGroup)
+    {
+        startObject();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEndGroup(final Token token, final int groupIndex, final int numInGroup)
+    {
+        endObject();
+        if (groupIndex == numInGroup - 1)
+        {
+            backup();
+            putAscii("],\n");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onVarData(
+        final Token fieldToken,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final int length,
+        final Token typeToken)
+    {
+        property(fieldToken.name());
+        doubleQuote();
+
+        final String charsetName = typeToken.encoding().characterEncoding();
+        if (null != charsetName)
+        {
+            final int charset = charset(charsetName);
+            if (CHARSET_OTHER == charset)
+            {
+                final byte[] tempBuffer = new byte[length];
+                buffer.getBytes(bufferIndex, tempBuffer, 0, length);
+                escape(decode(tempBuffer, charsetName));
+            }
+            else
+            {
+                for (int i = 0; i < length; i++)
+                {
+                    escapeByte(buffer.getByte(bufferIndex + i), charset);
+                }
+            }
+        }
+        else
+        {
+            for (int i = 0; i < length; i++)
+            {
+                final int b = buffer.getByte(bufferIndex + i);
+                putByte(HEX_DIGITS[(b >>> 4) & 0xF]);
+                putByte(HEX_DIGITS[b & 0xF]);
+            }
+        }
+
+        doubleQuote();
+        next();
+    }
+
+    private void appendEncodingAsString(
+        final DirectBuffer buffer,
+        final int index,
+        final Token fieldToken,
+        final Token typeToken,
+        final int actingVersion)
+    {
+        final int arrayLength = typeToken.arrayLength();
+        final Encoding encoding = typeToken.encoding();
+        final PrimitiveValue constOrNotPresentValue = constOrNotPresentValue(typeToken, fieldToken, actingVersion);
+
+        if (null != constOrNotPresentValue)
+        {
+            final String characterEncoding = encoding.characterEncoding();
+            if (null != characterEncoding)
+            {
+                doubleQuote();
+                appendCharacterValue(constOrNotPresentValue, characterEncoding);
+                doubleQuote();
+            }
+            else
+            {
+                if (arrayLength < 2)
+                {
+                    appendValue(constOrNotPresentValue, encoding);
+                }
+                else
+                {
+                    putByte('[');
+
+                    for (int i = 0; i < arrayLength; i++)
+                    {
+                        if (i > 0)
+                        {
+                            putAscii(", ");
+                        }
+                        appendValue(constOrNotPresentValue, encoding);
+                    }
+
+                    putByte(']');
+                }
+            }
+        }
+        else
+        {
+            final int elementSize = encoding.primitiveType().size();
+
+            if (arrayLength > 1 && encoding.primitiveType() == CHAR)
+            {
+                doubleQuote();
+
+                for (int i = 0; i < arrayLength; i++)
+                {
+                    escape((char)buffer.getByte(index + (i * elementSize)));
+                }
+
+                doubleQuote();
+            }
+            else
+            {
+                if (1 == arrayLength)
+                {
+                    appendValue(buffer, index, encoding);
+                }
+                else
+                {
+                    putByte('[');
+
+                    for (int i = 0; i < arrayLength; i++)
+                    {
+                        if (i > 0)
+                        {
+                            putAscii(", ");
+                        }
+                        appendValue(buffer, index + (i * elementSize), encoding);
+                    }
+
+                    putByte(']');
+                }
+            }
+        }
+    }
+
+    private void appendValue(final DirectBuffer buffer, final int index, final Encoding encoding)
+    {
+        switch (encoding.primitiveType())
+        {
+            case CHAR:
+                putByte('\'');
+                putChar((char)buffer.getByte(index));
+                putByte('\'');
+                break;
+
+            case INT8:
+                putLong(buffer.getByte(index));
+                break;
+
+            case INT16:
+                putLong(buffer.getShort(index, encoding.byteOrder()));
+                break;
+
+            case INT32:
+                putLong(buffer.getInt(index, encoding.byteOrder()));
+                break;
+
+            case INT64:
+            case UINT64:
+                putLong(buffer.getLong(index, encoding.byteOrder()));
+                break;
+
+            case UINT8:
+                putLong(buffer.getByte(index) & 0xFF);
+                break;
+
+            case UINT16:
+                putLong(buffer.getShort(index, encoding.byteOrder()) & 0xFFFF);
+                break;
+
+            case UINT32:
+                putLong(buffer.getInt(index, encoding.byteOrder()) & 0xFFFF_FFFFL);
+                break;
+
+            case FLOAT:
+            {
+                final float value = buffer.getFloat(index, encoding.byteOrder());
+                if (Float.isNaN(value))
+                {
+                    putAscii("0/0");
+                }
+                else if (value == Float.POSITIVE_INFINITY)
+                {
+                    putAscii("1/0");
+                }
+                else if (value == Float.NEGATIVE_INFINITY)
+                {
+                    putAscii("-1/0");
+                }
+                else
+                {
+                    scratch.setLength(0);
+                    scratch.append(value);
+                    putScratch();
+                }
+                break;
+            }
+
+            case DOUBLE:
+            {
+                final double value = buffer.getDouble(index, encoding.byteOrder());
+                if (Double.isNaN(value))
+                {
+                    putAscii("0/0");
+                }
+                else if (value == Double.POSITIVE_INFINITY)
+                {
+                    putAscii("1/0");
+                }
+                else if (value == Double.NEGATIVE_INFINITY)
+                {
+                    putAscii("-1/0");
+                }
+                else
+                {
+                    scratch.setLength(0);
+                    scratch.append(value);
+                    putScratch();
+                }
+                break;
+            }
+        }
+    }
+
+    private void appendValue(final PrimitiveValue value, final Encoding encoding)
+    {
+        scratch.setLength(0);
+        Types.appendAsJsonString(scratch, value, encoding);
+        putScratch();
+    }
+
+    private void appendCharacterValue(final PrimitiveValue value, final String characterEncoding)
+    {
+        final int charset = charset(characterEncoding);
+
+        if (PrimitiveValue.Representation.LONG == value.representation())
+        {
+            final long longValue = value.longValue();
+            if (PrimitiveValue.NULL_VALUE_CHAR != longValue)
+            {
+                if (CHARSET_OTHER == charset)
+                {
+                    escape(decode(new byte[]{ (byte)longValue }, characterEncoding));
+                }
+                else
+                {
+                    escapeByte((byte)longValue, charset);
+                }
+            }
+        }
+        else if (PrimitiveValue.Representation.BYTE_ARRAY == value.representation() && CHARSET_OTHER != charset)
+        {
+            final byte[] bytes = value.byteArrayValue();
+            for (final byte b : bytes)
+            {
+                escapeByte(b, charset);
+            }
+        }
+        else
+        {
+            escape(value.toString());
+        }
+    }
+
+    private void appendConstantEnumValue(final PrimitiveValue constValue)
+    {
+        if (PrimitiveValue.Representation.BYTE_ARRAY == constValue.representation())
+        {
+            final byte[] bytes = constValue.byteArrayValue();
+            int begin = 0;
+            for (int i = 0; i < bytes.length; i++)
+            {
+                if ('.' == bytes[i])
+                {
+                    begin = i + 1;
+                    break;
+                }
+            }
+
+            for (int i = begin; i < bytes.length; i++)
+            {
+                putByte(bytes[i]);
+            }
+        }
+        else
+        {
+            final String refValue = constValue.toString();
+            final int indexOfDot = refValue.indexOf('.');
+            putAscii(-1 == indexOfDot ? refValue : refValue.substring(indexOfDot + 1));
+        }
+    }
+
+    private void next()
+    {
+        putAscii(",\n");
+    }
+
+    private void property(final String name)
+    {
+        indent();
+        doubleQuote();
+        putAscii(name);
+        putAscii("\": ");
+    }
+
+    private void backup()
+    {
+        final int newPosition = position - 2;
+        if (newPosition >= initialOffset && output.getByte(newPosition) == ',')
+        {
+            position = newPosition;
+        }
+    }
+
+    private void indent()
+    {
+        for (int i = 0; i < indentation; i++)
+        {
+            putAscii("    ");
+        }
+    }
+
+    private void doubleQuote()
+    {
+        putByte('\"');
+    }
+
+    private void startObject()
+    {
+        indent();
+        putAscii("{\n");
+        indentation++;
+    }
+
+    private void endObject()
+    {
+        backup();
+        putByte('\n');
+        indentation--;
+        indent();
+        putByte('}');
+
+        if (indentation > 0)
+        {
+            next();
+        }
+    }
+
+    private String determineName(
+        final int thresholdLevel, final Token fieldToken, final List<Token> tokens, final int fromIndex)
+    {
+        if (compositeLevel > thresholdLevel)
+        {
+            return tokens.get(fromIndex).name();
+        }
+        else
+        {
+            return fieldToken.name();
+        }
+    }
+
+    private static PrimitiveValue constOrNotPresentValue(
+        final Token typeToken, final Token fieldToken, final int actingVersion)
+    {
+        final Encoding encoding = typeToken.encoding();
+        if (typeToken.isConstantEncoding())
+        {
+            return encoding.constValue();
+        }
+        else if (fieldToken.isOptionalEncoding() && actingVersion < fieldToken.version())
+        {
+            return encoding.applicableNullValue();
+        }
+
+        return null;
+    }
+
+    private static long readEncodingAsLong(
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final Token typeToken,
+        final Token fieldToken,
+        final int actingVersion)
+    {
+        final PrimitiveValue constOrNotPresentValue = constOrNotPresentValue(typeToken, fieldToken, actingVersion);
+        if (null != constOrNotPresentValue)
+        {
+            return constOrNotPresentValue.longValue();
+        }
+
+        return Types.getLong(buffer, bufferIndex, typeToken.encoding());
+    }
+
+    private static int charset(final String charsetName)
+    {
+        if ("UTF-8".equalsIgnoreCase(charsetName) || "UTF8".equalsIgnoreCase(charsetName))
+        {
+            return CHARSET_UTF_8;
+        }
+        else if ("US-ASCII".equalsIgnoreCase(charsetName) || "ASCII".equalsIgnoreCase(charsetName))
+        {
+            return CHARSET_ASCII;
+        }
+        else if ("ISO-8859-1".equalsIgnoreCase(charsetName) || "ISO8859_1".equalsIgnoreCase(charsetName))
+        {
+            return CHARSET_LATIN_1;
+        }
+
+        return CHARSET_OTHER;
+    }
+
+    private static String decode(final byte[] bytes, final String charsetName)
+    {
+        try
+        {
+            return new String(bytes, charsetName);
+        }
+        catch (final UnsupportedEncodingException ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void escapeByte(final byte b, final int charset)
+    {
+        if (b >= 0)
+        {
+            escape((char)b);
+        }
+        else if (CHARSET_UTF_8 == charset)
+        {
+            // bytes of multibyte UTF-8 sequences are never JSON escape characters so can be copied as is
+            putByte(b);
+        }
+        else if (CHARSET_LATIN_1 == charset)
+        {
+            putChar((char)(b & 0xFF));
+        }
+        else
+        {
+            putChar('\uFFFD');
+        }
+    }
+
+    private void escape(final String str)
+    {
+        for (int i = 0, length = str.length(); i < length; i++)
+        {
+            final char c = str.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1)))
+            {
+                final int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                putByte(0xF0 | (codePoint >> 18));
+                putByte(0x80 | ((codePoint >> 12) & 0x3F));
+                putByte(0x80 | ((codePoint >> 6) & 0x3F));
+                putByte(0x80 | (codePoint & 0x3F));
+            }
+            else
+            {
+                escape(c);
+            }
+        }
+    }
+
+    private void escape(final char c)
+    {
+        if ('"' == c || '\\' == c || '\b' == c || '\f' == c || '\n' == c || '\r' == c || '\t' == c)
+        {
+            putByte('\\');
+        }
+
+        putChar(c);
+    }
+
+    private void putScratch()
+    {
+        final StringBuilder scratch = this.scratch;
+        for (int i = 0, length = scratch.length(); i < length; i++)
+        {
+            putByte(scratch.charAt(i));
+        }
+    }
+
+    private void putLong(final long value)
+    {
+        position += output.putLongAscii(position, value);
+    }
+
+    private void putAscii(final String value)
+    {
+        position += output.putStringWithoutLengthAscii(position, value);
+    }
+
+    private void putChar(final char c)
+    {
+        if (c < 0x80)
+        {
+            putByte(c);
+        }
+        else if (c < 0x800)
+        {
+            putByte(0xC0 | (c >> 6));
+            putByte(0x80 | (c & 0x3F));
+        }
+        else
+        {
+            putByte(0xE0 | (c >> 12));
+            putByte(0x80 | ((c >> 6) & 0x3F));
+            putByte(0x80 | (c & 0x3F));
+        }
+    }
+
+    private void putByte(final int b)
+    {
+        output.putByte(position++, (byte)b);
+    }
+}
@@ -15,9 +15,13 @@
  */
 package uk.co.real_logic.sbe.json;
 
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.sbe.ir.Ir;
 import uk.co.real_logic.sbe.ir.Token;
+import uk.co.real_logic.sbe.otf.CompiledMessageDecoder;
 import uk.co.real_logic.sbe.otf.OtfHeaderDecoder;
 import uk.co.real_logic.sbe.otf.OtfMessageDecoder;
 
@@ -26,11 +30,16 @@ import java.util.List;
 
 /**
  * Pretty Print JSON based upon the given Ir.
+ * <p>
+ * The methods which print to a {@link StringBuilder} are thread safe. The methods which print UTF-8 directly to a
+ * {@link MutableDirectBuffer} reuse state so they do not allocate in steady state and are not thread safe.
  */
 public class JsonPrinter
 {
     private final OtfHeaderDecoder headerDecoder;
     private final Ir ir;
+    private final Int2ObjectHashMap<CompiledMessageDecoder> decoderByTemplateId = new Int2ObjectHashMap<>();
+    private final JsonBufferTokenListener bufferTokenListener = new JsonBufferTokenListener();
 
     /**
      * Create a new JSON printer for a given message Ir.
@@ -97,6 +106,50 @@ public class JsonPrinter
         return sb.toString();
     }
 
+    /**
+     * Print the encoded message as UTF-8 JSON directly to a buffer without allocation in steady state.
+     * <p>
+     * If the output buffer is not expandable then it must have sufficient capacity for the JSON.
+     *
+     * @param buffer       with encoded message and header.
+     * @param offset       at which the header begins.
+     * @param output       to which the UTF-8 encoded JSON is written.
+     * @param outputOffset in the output at which to begin writing.
+     * @return the length in bytes of the JSON written to the output.
+     */
+    public int print(
+        final DirectBuffer buffer, final int offset, final MutableDirectBuffer output, final int outputOffset)
+    {
+        final int blockLength = headerDecoder.getBlockLength(buffer, offset);
+        final int templateId = headerDecoder.getTemplateId(buffer, offset);
+        final int schemaId = headerDecoder.getSchemaId(buffer, offset);
+        final int actingVersion = headerDecoder.getSchemaVersion(buffer, offset);
+
+        validateId(schemaId);
+
+        CompiledMessageDecoder decoder = decoderByTemplateId.get(templateId);
+        if (null == decoder)
+        {
+            final List<Token> msgTokens = ir.getMessage(templateId);
+            if (null == msgTokens)
+            {
+                throw new IllegalArgumentException("Unknown template id " + templateId);
+            }
+
+            decoder = new CompiledMessageDecoder(msgTokens);
+            decoderByTemplateId.put(templateId, decoder);
+        }
+
+        decoder.decode(
+            buffer,
+            offset + headerDecoder.encodedLength(),
+            actingVersion,
+            blockLength,
+            bufferTokenListener.reset(output, outputOffset));
+
+        return bufferTokenListener.length();
+    }
+
     private void validateId(final int schemaId)
     {
         if (schemaId != ir.id())
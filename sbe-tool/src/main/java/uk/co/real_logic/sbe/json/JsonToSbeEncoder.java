@@ -0,0 +1,1435 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.json;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.sbe.PrimitiveType;
+import uk.co.real_logic.sbe.PrimitiveValue;
+import uk.co.real_logic.sbe.ir.Encoding;
+import uk.co.real_logic.sbe.ir.HeaderStructure;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static uk.co.real_logic.sbe.ir.Signal.*;
+
+/**
+ * Encode JSON into SBE messages based upon the given Ir. This is the reverse of the {@link JsonPrinter}.
+ * <p>
+ * The JSON is parsed in a single streaming pass, without building a document model, and the header, root block,
+ * groups, and var data are written directly into a {@link MutableDirectBuffer} using the offsets from the IR. The JSON
+ * is expected to be in the form produced by the {@link JsonPrinter}:
+ * <ul>
+ *     <li>fields of the root block or a group element are properties of an object and can be in any order.</li>
+ *     <li>composites are nested objects and bit sets are objects of boolean properties.</li>
+ *     <li>enums are strings of the enum value name, char arrays and var data are strings, var data without a
+ *     character encoding is a hex string.</li>
+ *     <li>groups are arrays of objects and, with var data, must appear in schema order after the fixed fields.</li>
+ * </ul>
+ * Fields of the block which are not present, or are JSON {@code null}, are encoded with their null value and missing
+ * groups or var data are encoded as empty. Unknown properties are skipped. Messages are encoded with the version of
+ * the schema in the {@link Ir}.
+ * <p>
+ * The encode plan for each template is computed once and cached, and parsing does not allocate except for floating
+ * point values with more than 15 significant digits and integers with more than 18 digits. Integers outside the range
+ * of a {@code long}, fractional numbers for integer fields, var data longer than the maximum of its length, groups
+ * with more elements than the maximum of their count, and messages which do not fit in a non expandable output buffer
+ * are rejected with an {@link IllegalArgumentException}. This class is not thread safe.
+ */
+public class JsonToSbeEncoder
+{
+    private static final int KIND_ENCODING = 0;
+    private static final int KIND_ENUM = 1;
+    private static final int KIND_SET = 2;
+    private static final int KIND_COMPOSITE = 3;
+
+    private static final int CHARSET_NONE = 0;
+    private static final int CHARSET_UTF_8 = 1;
+    private static final int CHARSET_SINGLE_BYTE = 2;
+
+    private static final double[] POWERS_OF_TEN =
+    {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19,
+        1e20, 1e21, 1e22
+    };
+
+    private static final byte[] NULL_NAME = { 'n', 'u', 'l', 'l' };
+
+    private final Ir ir;
+    private final int headerLength;
+    private final FieldPlan blockLengthField;
+    private final FieldPlan templateIdField;
+    private final FieldPlan schemaIdField;
+    private final FieldPlan versionField;
+    private final Int2ObjectHashMap<BlockPlan> planByTemplateId = new Int2ObjectHashMap<>();
+    private final UnsafeBuffer stringBuffer = new UnsafeBuffer(0, 0);
+
+    private DirectBuffer json;
+    private int position;
+    private int end;
+    private MutableDirectBuffer output;
+    private int outputCapacity;
+
+    private int keyOffset;
+    private int keyLength;
+    private boolean isNull;
+    private boolean isIntegral;
+    private long longValue;
+    private double doubleValue;
+
+    /**
+     * Create a new encoder for messages described by the given Ir.
+     *
+     * @param ir for the messages to be encoded.
+     */
+    public JsonToSbeEncoder(final Ir ir)
+    {
+        this.ir = ir;
+
+        final List<Token> headerTokens = ir.headerStructure().tokens();
+        headerLength = headerTokens.get(0).encodedLength();
+
+        FieldPlan blockLengthField = null;
+        FieldPlan templateIdField = null;
+        FieldPlan schemaIdField = null;
+        FieldPlan versionField = null;
+
+        for (final Token token : headerTokens)
+        {
+            if (ENCODING != token.signal())
+            {
+                continue;
+            }
+
+            switch (token.name())
+            {
+                case HeaderStructure.BLOCK_LENGTH:
+                    blockLengthField = encodingPlan(token, token.offset(), false);
+                    break;
+
+                case HeaderStructure.TEMPLATE_ID:
+                    templateIdField = encodingPlan(token, token.offset(), false);
+                    break;
+
+                case HeaderStructure.SCHEMA_ID:
+                    schemaIdField = encodingPlan(token, token.offset(), false);
+                    break;
+
+                case HeaderStructure.SCHEMA_VERSION:
+                    versionField = encodingPlan(token, token.offset(), false);
+                    break;
+            }
+        }
+
+        this.blockLengthField = blockLengthField;
+        this.templateIdField = templateIdField;
+        this.schemaIdField = schemaIdField;
+        this.versionField = versionField;
+    }
+
+    /**
+     * Encode a JSON object, including the message header, for the given template.
+     *
+     * @param templateId of the message to be encoded.
+     * @param json       the JSON to be encoded.
+     * @param output     to which the message is encoded.
+     * @param offset     in the output at which the message header begins.
+     * @return the length of the encoded message including the header.
+     * @throws IllegalArgumentException if the JSON is not valid for the template or the message does not fit in the
+     *                                  output.
+     */
+    public int encode(final int templateId, final String json, final MutableDirectBuffer output, final int offset)
+    {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        stringBuffer.wrap(bytes);
+
+        return encode(templateId, stringBuffer, 0, bytes.length, output, offset);
+    }
+
+    /**
+     * Encode a UTF-8 encoded JSON object, including the message header, for the given template.
+     * <p>
+     * The position in the JSON after the object can be obtained from {@link #jsonPosition()} so that a stream of
+     * concatenated objects can be encoded one after another.
+     *
+     * @param templateId of the message to be encoded.
+     * @param json       buffer containing the UTF-8 encoded JSON.
+     * @param jsonOffset at which the JSON object begins.
+     * @param jsonLength of the JSON available in the buffer.
+     * @param output     to which the message is encoded.
+     * @param offset     in the output at which the message header begins.
+     * @return the length of the encoded message including the header.
+     * @throws IllegalArgumentException if the JSON is not valid for the template or the message does not fit in the
+     *                                  output.
+     */
+    public int encode(
+        final int templateId,
+        final DirectBuffer json,
+        final int jsonOffset,
+        final int jsonLength,
+        final MutableDirectBuffer output,
+        final int offset)
+    {
+        final BlockPlan plan = plan(templateId);
+
+        this.json = json;
+        this.position = jsonOffset;
+        this.end = jsonOffset + jsonLength;
+        this.output = output;
+        this.outputCapacity = output.isExpandable() ? Integer.MAX_VALUE : output.capacity();
+
+        ensureCapacity(offset, headerLength);
+        putLong(output, offset + blockLengthField.offset, blockLengthField, plan.blockLength);
+        putLong(output, offset + templateIdField.offset, templateIdField, templateId);
+        putLong(output, offset + schemaIdField.offset, schemaIdField, ir.id());
+        putLong(output, offset + versionField.offset, versionField, ir.version());
+
+        final int limit = encodeBlock(plan, offset + headerLength);
+
+        return limit - offset;
+    }
+
+    /**
+     * The position in the JSON buffer after the last encoded object.
+     *
+     * @return the position in the JSON buffer after the last encoded object.
+     */
+    public int jsonPosition()
+    {
+        return position;
+    }
+
+    private BlockPlan plan(final int templateId)
+    {
+        BlockPlan plan = planByTemplateId.get(templateId);
+        if (null == plan)
+        {
+            final List<Token> tokens = ir.getMessage(templateId);
+            if (null == tokens)
+            {
+                throw new IllegalArgumentException("Unknown template id " + templateId);
+            }
+
+            plan = new BlockPlan(null, tokens.get(0).encodedLength());
+            compileBlock(plan, tokens, 1, tokens.size() - 1);
+            planByTemplateId.put(templateId, plan);
+        }
+
+        return plan;
+    }
+
+    private int encodeBlock(final BlockPlan plan, final int blockOffset)
+    {
+        final MutableDirectBuffer output = this.output;
+        final FieldPlan[] fields = plan.fields;
+        final Object[] members = plan.members;
+        int limit = blockOffset + plan.blockLength;
+        int nextMember = 0;
+
+        ensureCapacity(blockOffset, plan.blockLength);
+        output.setMemory(blockOffset, plan.blockLength, (byte)0);
+        for (final FieldPlan field : fields)
+        {
+            putNull(blockOffset, field);
+        }
+
+        expect('{');
+        if (!consumeIf('}'))
+        {
+            do
+            {
+                parseKey();
+                expect(':');
+
+                final FieldPlan field = findField(fields);
+                if (null != field)
+                {
+                    encodeField(blockOffset, field);
+                    continue;
+                }
+
+                final int memberIndex = findMember(members);
+                if (-1 == memberIndex)
+                {
+                    skipValue();
+                    continue;
+                }
+
+                if (memberIndex < nextMember)
+                {
+                    throw error("groups and var data must be in schema order");
+                }
+
+                for (; nextMember < memberIndex; nextMember++)
+                {
+                    limit = encodeEmptyMember(members[nextMember], limit);
+                }
+
+                final Object member = members[nextMember++];
+                if (member instanceof BlockPlan)
+                {
+                    limit = encodeGroup((BlockPlan)member, limit);
+                }
+                else
+                {
+                    limit = encodeVarData((VarDataPlan)member, limit);
+                }
+            }
+            while (consumeIf(','));
+
+            expect('}');
+        }
+
+        for (; nextMember < members.length; nextMember++)
+        {
+            limit = encodeEmptyMember(members[nextMember], limit);
+        }
+
+        return limit;
+    }
+
+    private int encodeGroup(final BlockPlan plan, final int groupOffset)
+    {
+        final GroupHeader header = plan.header;
+        int limit = groupOffset + header.length;
+        int count = 0;
+
+        ensureCapacity(groupOffset, header.length);
+        putLong(output, groupOffset + header.blockLengthField.offset, header.blockLengthField, plan.blockLength);
+
+        expect('[');
+        if (!consumeIf(']'))
+        {
+            do
+            {
+                if (count >= header.maxNumInGroup)
+                {
+                    throw error("too many elements for group, maximum is " + header.maxNumInGroup);
+                }
+
+                limit = encodeBlock(plan, limit);
+                count++;
+            }
+            while (consumeIf(','));
+
+            expect(']');
+        }
+
+        putLong(output, groupOffset + header.numInGroupField.offset, header.numInGroupField, count);
+
+        return limit;
+    }
+
+    private int encodeVarData(final VarDataPlan plan, final int offset)
+    {
+        final int dataOffset = offset + plan.dataOffset;
+        final int length;
+
+        ensureCapacity(offset, plan.dataOffset);
+        skipWhitespace();
+        if (peek() == 'n')
+        {
+            expectLiteral("null");
+            length = 0;
+        }
+        else if (CHARSET_NONE == plan.charset)
+        {
+            length = parseHexString(dataOffset, plan.maxLength);
+        }
+        else
+        {
+            length = parseString(dataOffset, plan.maxLength, plan.charset);
+        }
+
+        putLong(output, offset + plan.lengthField.offset, plan.lengthField, length);
+
+        return dataOffset + length;
+    }
+
+    private int encodeEmptyMember(final Object member, final int offset)
+    {
+        if (member instanceof BlockPlan)
+        {
+            final BlockPlan plan = (BlockPlan)member;
+            final GroupHeader header = plan.header;
+            ensureCapacity(offset, header.length);
+            putLong(output, offset + header.blockLengthField.offset, header.blockLengthField, plan.blockLength);
+            putLong(output, offset + header.numInGroupField.offset, header.numInGroupField, 0);
+
+            return offset + header.length;
+        }
+
+        final VarDataPlan plan = (VarDataPlan)member;
+        ensureCapacity(offset, plan.dataOffset);
+        putLong(output, offset + plan.lengthField.offset, plan.lengthField, 0);
+
+        return offset + plan.dataOffset;
+    }
+
+    private void encodeField(final int blockOffset, final FieldPlan field)
+    {
+        if (field.isConstant)
+        {
+            skipValue();
+            return;
+        }
+
+        skipWhitespace();
+        if (peek() == 'n')
+        {
+            expectLiteral("null");
+            putNull(blockOffset, field);
+            return;
+        }
+
+        switch (field.kind)
+        {
+            case KIND_ENCODING:
+                encodeEncoding(blockOffset, field);
+                break;
+
+            case KIND_ENUM:
+                encodeEnum(blockOffset, field);
+                break;
+
+            case KIND_SET:
+                encodeSet(blockOffset, field);
+                break;
+
+            case KIND_COMPOSITE:
+                encodeComposite(blockOffset, field);
+                break;
+        }
+    }
+
+    private void encodeEncoding(final int blockOffset, final FieldPlan field)
+    {
+        final int index = blockOffset + field.offset;
+
+        if (field.arrayLength > 1 && PrimitiveType.CHAR == field.type)
+        {
+            final int length = parseString(index, field.arrayLength, field.charset);
+            output.setMemory(index + length, field.arrayLength - length, (byte)0);
+        }
+        else if (field.arrayLength > 1)
+        {
+            final int elementSize = field.type.size();
+            int i = 0;
+
+            expect('[');
+            if (!consumeIf(']'))
+            {
+                do
+                {
+                    if (i >= field.arrayLength)
+                    {
+                        throw error("too many elements for array");
+                    }
+
+                    parseNumber();
+                    putValue(index + (i++ * elementSize), field);
+                }
+                while (consumeIf(','));
+
+                expect(']');
+            }
+        }
+        else
+        {
+            parseNumber();
+            putValue(index, field);
+        }
+    }
+
+    private void encodeEnum(final int blockOffset, final FieldPlan field)
+    {
+        parseStringBounds();
+
+        final int choice = findChoice(field.choiceNames);
+        if (-1 == choice)
+        {
+            if (keyEquals(NULL_NAME))
+            {
+                putNull(blockOffset, field);
+                return;
+            }
+
+            throw error("unknown enum value");
+        }
+
+        putLong(output, blockOffset + field.offset, field, field.choiceValues[choice]);
+    }
+
+    private void encodeSet(final int blockOffset, final FieldPlan field)
+    {
+        long bits = 0;
+
+        expect('{');
+        if (!consumeIf('}'))
+        {
+            do
+            {
+                parseKey();
+                expect(':');
+
+                final int choice = findChoice(field.choiceNames);
+                skipWhitespace();
+                if (peek() == 't')
+                {
+                    expectLiteral("true");
+                    if (-1 != choice)
+                    {
+                        bits |= 1L << field.choiceValues[choice];
+                    }
+                }
+                else
+                {
+                    skipValue();
+                }
+            }
+            while (consumeIf(','));
+
+            expect('}');
+        }
+
+        putLong(output, blockOffset + field.offset, field, bits);
+    }
+
+    private void encodeComposite(final int blockOffset, final FieldPlan field)
+    {
+        expect('{');
+        if (!consumeIf('}'))
+        {
+            do
+            {
+                parseKey();
+                expect(':');
+
+                final FieldPlan member = findField(field.members);
+                if (null != member)
+                {
+                    encodeField(blockOffset, member);
+                }
+                else
+                {
+                    skipValue();
+                }
+            }
+            while (consumeIf(','));
+
+            expect('}');
+        }
+    }
+
+    private void putValue(final int index, final FieldPlan field)
+    {
+        if (isNull)
+        {
+            putNullValue(index, field);
+        }
+        else if (PrimitiveType.FLOAT == field.type || PrimitiveType.DOUBLE == field.type)
+        {
+            putDouble(output, index, field, isIntegral ? longValue : doubleValue);
+        }
+        else if (isIntegral)
+        {
+            putLong(output, index, field, longValue);
+        }
+        else
+        {
+            putLong(output, index, field, wholeNumber(doubleValue));
+        }
+    }
+
+    private long wholeNumber(final double value)
+    {
+        if (value != Math.rint(value) || value < Long.MIN_VALUE || value >= 0x1p63)
+        {
+            throw error("fractional number for integer field");
+        }
+
+        return (long)value;
+    }
+
+    private void ensureCapacity(final int index, final int length)
+    {
+        if (index + length > outputCapacity)
+        {
+            throw error(
+                "insufficient capacity in output buffer: index=" + index + " length=" + length +
+                " capacity=" + outputCapacity);
+        }
+    }
+
+    private void putNull(final int blockOffset, final FieldPlan field)
+    {
+        if (field.isConstant)
+        {
+            return;
+        }
+
+        if (KIND_COMPOSITE == field.kind)
+        {
+            for (final FieldPlan member : field.members)
+            {
+                putNull(blockOffset, member);
+            }
+        }
+        else if (KIND_ENCODING == field.kind && PrimitiveType.CHAR == field.type && field.arrayLength > 1)
+        {
+            output.setMemory(blockOffset + field.offset, field.arrayLength, (byte)0);
+        }
+        else
+        {
+            final int elementSize = field.type.size();
+            for (int i = 0, length = Math.max(1, field.arrayLength); i < length; i++)
+            {
+                putNullValue(blockOffset + field.offset + (i * elementSize), field);
+            }
+        }
+    }
+
+    private void putNullValue(final int index, final FieldPlan field)
+    {
+        if (PrimitiveType.FLOAT == field.type || PrimitiveType.DOUBLE == field.type)
+        {
+            putDouble(output, index, field, field.nullDouble);
+        }
+        else
+        {
+            putLong(output, index, field, field.nullLong);
+        }
+    }
+
+    private static void putLong(
+        final MutableDirectBuffer buffer, final int index, final FieldPlan field, final long value)
+    {
+        final ByteOrder byteOrder = field.byteOrder;
+
+        switch (field.type)
+        {
+            case CHAR:
+            case INT8:
+            case UINT8:
+                buffer.putByte(index, (byte)value);
+                break;
+
+            case INT16:
+            case UINT16:
+                buffer.putShort(index, (short)value, byteOrder);
+                break;
+
+            case INT32:
+            case UINT32:
+                buffer.putInt(index, (int)value, byteOrder);
+                break;
+
+            case INT64:
+            case UINT64:
+                buffer.putLong(index, value, byteOrder);
+                break;
+
+            case FLOAT:
+                buffer.putFloat(index, value, byteOrder);
+                break;
+
+            case DOUBLE:
+                buffer.putDouble(index, value, byteOrder);
+                break;
+        }
+    }
+
+    private static void putDouble(
+        final MutableDirectBuffer buffer, final int index, final FieldPlan field, final double value)
+    {
+        if (PrimitiveType.FLOAT == field.type)
+        {
+            buffer.putFloat(index, (float)value, field.byteOrder);
+        }
+        else
+        {
+            buffer.putDouble(index, value, field.byteOrder);
+        }
+    }
+
+    private FieldPlan findField(final FieldPlan[] fields)
+    {
+        for (final FieldPlan field : fields)
+        {
+            if (keyEquals(field.name))
+            {
+                return field;
+            }
+        }
+
+        return null;
+    }
+
+    private int findMember(final Object[] members)
+    {
+        for (int i = 0; i < members.length; i++)
+        {
+            final Object member = members[i];
+            final byte[] name = member instanceof BlockPlan ?
+                ((BlockPlan)member).header.name : ((VarDataPlan)member).name;
+            if (keyEquals(name))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int findChoice(final byte[][] choiceNames)
+    {
+        for (int i = 0; i < choiceNames.length; i++)
+        {
+            if (keyEquals(choiceNames[i]))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean keyEquals(final byte[] name)
+    {
+        if (name.length != keyLength)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < keyLength; i++)
+        {
+            if (name[i] != json.getByte(keyOffset + i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void parseKey()
+    {
+        parseStringBounds();
+    }
+
+    private void parseStringBounds()
+    {
+        expect('"');
+        keyOffset = position;
+
+        while (true)
+        {
+            final byte b = nextByte();
+            if ('"' == b)
+            {
+                break;
+            }
+            else if ('\\' == b)
+            {
+                nextByte();
+            }
+        }
+
+        keyLength = position - keyOffset - 1;
+    }
+
+    private void parseNumber()
+    {
+        skipWhitespace();
+        isNull = false;
+        isIntegral = true;
+
+        final byte first = peek();
+        if ('n' == first)
+        {
+            expectLiteral("null");
+            isNull = true;
+            return;
+        }
+
+        if ('\'' == first || '"' == first)
+        {
+            position++;
+            longValue = nextByte() & 0xFF;
+            expect((char)first);
+            return;
+        }
+
+        final int start = position;
+        final boolean isNegative = consumeIf('-');
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+
+        byte b = peek();
+        while (b >= '0' && b <= '9')
+        {
+            mantissa = (mantissa * 10) + (b - '0');
+            digits++;
+            position++;
+            b = peekOrEnd();
+        }
+
+        if (0 == digits)
+        {
+            throw error("invalid number");
+        }
+
+        if ('/' == b)
+        {
+            position++;
+            expect('0');
+            isIntegral = false;
+            doubleValue = 0 == mantissa ? Double.NaN : isNegative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            return;
+        }
+
+        if ('.' == b)
+        {
+            isIntegral = false;
+            position++;
+            b = peekOrEnd();
+            while (b >= '0' && b <= '9')
+            {
+                mantissa = (mantissa * 10) + (b - '0');
+                digits++;
+                exponent--;
+                position++;
+                b = peekOrEnd();
+            }
+        }
+
+        if ('e' == b || 'E' == b)
+        {
+            isIntegral = false;
+            position++;
+            exponent += parseExponent();
+        }
+
+        if (isIntegral)
+        {
+            longValue = digits <= 18 ? (isNegative ? -mantissa : mantissa) : parseLongDigits(start);
+        }
+        else if (digits <= 15 && exponent >= -22 && exponent <= 22)
+        {
+            final double value = exponent < 0 ?
+                mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            doubleValue = isNegative ? -value : value;
+        }
+        else
+        {
+            doubleValue = Double.parseDouble(json.getStringWithoutLengthAscii(start, position - start));
+        }
+    }
+
+    private long parseLongDigits(final int start)
+    {
+        try
+        {
+            return Long.parseLong(json.getStringWithoutLengthAscii(start, position - start));
+        }
+        catch (final NumberFormatException ex)
+        {
+            throw error("integer out of range for int64");
+        }
+    }
+
+    private int parseExponent()
+    {
+        final boolean isNegative = consumeIf('-');
+        if (!isNegative)
+        {
+            consumeIf('+');
+        }
+
+        int value = 0;
+        byte b = peekOrEnd();
+        while (b >= '0' && b <= '9')
+        {
+            value = (value * 10) + (b - '0');
+            position++;
+            b = peekOrEnd();
+        }
+
+        return isNegative ? -value : value;
+    }
+
+    private int parseString(final int index, final int maxLength, final int charset)
+    {
+        final MutableDirectBuffer output = this.output;
+        int length = 0;
+
+        expect('"');
+        while (true)
+        {
+            final byte b = nextByte();
+            if ('"' == b)
+            {
+                break;
+            }
+
+            final int codePoint;
+            if ('\\' == b)
+            {
+                codePoint = parseEscape();
+            }
+            else if (b >= 0 || CHARSET_UTF_8 == charset)
+            {
+                if (length >= maxLength)
+                {
+                    throw error("string too long, maximum length is " + maxLength);
+                }
+
+                ensureCapacity(index + length, 1);
+                output.putByte(index + length++, b);
+                continue;
+            }
+            else
+            {
+                codePoint = decodeUtf8(b);
+            }
+
+            if (CHARSET_UTF_8 == charset)
+            {
+                final int utf8Length = utf8Length(codePoint);
+                if (length + utf8Length > maxLength)
+                {
+                    throw error("string too long, maximum length is " + maxLength);
+                }
+
+                ensureCapacity(index + length, utf8Length);
+                putUtf8(index + length, utf8Length, codePoint);
+                length += utf8Length;
+            }
+            else
+            {
+                if (length >= maxLength)
+                {
+                    throw error("string too long, maximum length is " + maxLength);
+                }
+
+                ensureCapacity(index + length, 1);
+                output.putByte(index + length++, (byte)(codePoint <= 0xFF ? codePoint : '?'));
+            }
+        }
+
+        return length;
+    }
+
+    private int parseHexString(final int index, final int maxLength)
+    {
+        int length = 0;
+
+        expect('"');
+        while (peek() != '"')
+        {
+            if (length >= maxLength)
+            {
+                throw error("hex string too long, maximum length is " + maxLength);
+            }
+
+            final int high = hexValue(nextByte());
+            final int low = hexValue(nextByte());
+            ensureCapacity(index + length, 1);
+            output.putByte(index + length++, (byte)((high << 4) | low));
+        }
+        position++;
+
+        return length;
+    }
+
+    private int parseEscape()
+    {
+        final byte b = nextByte();
+        switch (b)
+        {
+            case 'b':
+                return '\b';
+
+            case 'f':
+                return '\f';
+
+            case 'n':
+                return '\n';
+
+            case 'r':
+                return '\r';
+
+            case 't':
+                return '\t';
+
+            case 'u':
+            {
+                final int c = parseHex4();
+                if (Character.isHighSurrogate((char)c) && peek() == '\\')
+                {
+                    position++;
+                    expect('u');
+                    return Character.toCodePoint((char)c, (char)parseHex4());
+                }
+
+                return c;
+            }
+
+            default:
+                return b;
+        }
+    }
+
+    private int parseHex4()
+    {
+        int value = 0;
+        for (int i = 0; i < 4; i++)
+        {
+            value = (value << 4) | hexValue(nextByte());
+        }
+
+        return value;
+    }
+
+    private int hexValue(final byte b)
+    {
+        if (b >= '0' && b <= '9')
+        {
+            return b - '0';
+        }
+        else if (b >= 'a' && b <= 'f')
+        {
+            return b - 'a' + 10;
+        }
+        else if (b >= 'A' && b <= 'F')
+        {
+            return b - 'A' + 10;
+        }
+
+        throw error("invalid hex digit");
+    }
+
+    private int decodeUtf8(final byte first)
+    {
+        final int extraBytes = (first & 0xE0) == 0xC0 ? 1 : (first & 0xF0) == 0xE0 ? 2 : 3;
+        int codePoint = first & (0x3F >> extraBytes);
+        for (int i = 0; i < extraBytes; i++)
+        {
+            codePoint = (codePoint << 6) | (nextByte() & 0x3F);
+        }
+
+        return codePoint;
+    }
+
+    private static int utf8Length(final int codePoint)
+    {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private void putUtf8(final int index, final int length, final int codePoint)
+    {
+        final MutableDirectBuffer output = this.output;
+        switch (length)
+        {
+            case 1:
+                output.putByte(index, (byte)codePoint);
+                break;
+
+            case 2:
+                output.putByte(index, (byte)(0xC0 | (codePoint >> 6)));
+                output.putByte(index + 1, (byte)(0x80 | (codePoint & 0x3F)));
+                break;
+
+            case 3:
+                output.putByte(index, (byte)(0xE0 | (codePoint >> 12)));
+                output.putByte(index + 1, (byte)(0x80 | ((codePoint >> 6) & 0x3F)));
+                output.putByte(index + 2, (byte)(0x80 | (codePoint & 0x3F)));
+                break;
+
+            default:
+                output.putByte(index, (byte)(0xF0 | (codePoint >> 18)));
+                output.putByte(index + 1, (byte)(0x80 | ((codePoint >> 12) & 0x3F)));
+                output.putByte(index + 2, (byte)(0x80 | ((codePoint >> 6) & 0x3F)));
+                output.putByte(index + 3, (byte)(0x80 | (codePoint & 0x3F)));
+                break;
+        }
+    }
+
+    private void skipValue()
+    {
+        skipWhitespace();
+        final byte b = peek();
+
+        switch (b)
+        {
+            case '{':
+            case '[':
+            {
+                int depth = 0;
+                do
+                {
+                    final byte c = nextByte();
+                    if ('"' == c)
+                    {
+                        position--;
+                        parseStringBounds();
+                    }
+                    else if ('{' == c || '[' == c)
+                    {
+                        depth++;
+                    }
+                    else if ('}' == c || ']' == c)
+                    {
+                        depth--;
+                    }
+                }
+                while (depth > 0);
+                break;
+            }
+
+            case '"':
+                parseStringBounds();
+                break;
+
+            default:
+                while (position < end)
+                {
+                    final byte c = json.getByte(position);
+                    if (',' == c || '}' == c || ']' == c || isWhitespace(c))
+                    {
+                        break;
+                    }
+                    position++;
+                }
+                break;
+        }
+    }
+
+    private void expectLiteral(final String literal)
+    {
+        for (int i = 0, length = literal.length(); i < length; i++)
+        {
+            if (nextByte() != literal.charAt(i))
+            {
+                throw error("expected " + literal);
+            }
+        }
+    }
+
+    private void expect(final char c)
+    {
+        skipWhitespace();
+        if (nextByte() != c)
+        {
+            throw error("expected '" + c + "'");
+        }
+    }
+
+    private boolean consumeIf(final char c)
+    {
+        skipWhitespace();
+        if (position < end && json.getByte(position) == c)
+        {
+            position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    private void skipWhitespace()
+    {
+        while (position < end && isWhitespace(json.getByte(position)))
+        {
+            position++;
+        }
+    }
+
+    private static boolean isWhitespace(final byte b)
+    {
+        return ' ' == b || '\n' == b || '\r' == b || '\t' == b;
+    }
+
+    private byte peek()
+    {
+        if (position >= end)
+        {
+            throw error("unexpected end of JSON");
+        }
+
+        return json.getByte(position);
+    }
+
+    private byte peekOrEnd()
+    {
+        return position < end ? json.getByte(position) : 0;
+    }
+
+    private byte nextByte()
+    {
+        if (position >= end)
+        {
+            throw error("unexpected end of JSON");
+        }
+
+        return json.getByte(position++);
+    }
+
+    private IllegalArgumentException error(final String message)
+    {
+        return new IllegalArgumentException(message + " at JSON position " + position);
+    }
+
+    private void compileBlock(final BlockPlan plan, final List<Token> tokens, final int fromIndex, final int toIndex)
+    {
+        final List<FieldPlan> fields = new ArrayList<>();
+        final List<Object> members = new ArrayList<>();
+        int i = fromIndex;
+
+        while (i < toIndex && BEGIN_FIELD == tokens.get(i).signal())
+        {
+            final Token fieldToken = tokens.get(i);
+            final int nextFieldIdx = i + fieldToken.componentTokenCount();
+            final Token typeToken = tokens.get(i + 1);
+
+            final FieldPlan field = fieldPlan(tokens, i + 1, nextFieldIdx - 2, typeToken.offset(), fieldToken);
+            field.name = nameBytes(fieldToken.name());
+            fields.add(field);
+
+            i = nextFieldIdx;
+        }
+
+        while (i < toIndex && BEGIN_GROUP == tokens.get(i).signal())
+        {
+            final Token groupToken = tokens.get(i);
+            final Token dimensionsToken = tokens.get(i + 1);
+            final GroupHeader header = new GroupHeader();
+            header.name = nameBytes(groupToken.name());
+            header.length = dimensionsToken.encodedLength();
+
+            for (int j = i + 2, end = i + dimensionsToken.componentTokenCount(); j < end; j++)
+            {
+                final Token token = tokens.get(j);
+                if ("blockLength".equals(token.name()))
+                {
+                    header.blockLengthField = encodingPlan(token, token.offset(), false);
+                }
+                else if ("numInGroup".equals(token.name()))
+                {
+                    header.numInGroupField = encodingPlan(token, token.offset(), false);
+                    header.maxNumInGroup = maxValue(token.encoding());
+                }
+            }
+
+            final BlockPlan groupPlan = new BlockPlan(header, groupToken.encodedLength());
+            final int nextGroupIdx = i + groupToken.componentTokenCount();
+            compileBlock(groupPlan, tokens, i + 1 + dimensionsToken.componentTokenCount(), nextGroupIdx - 1);
+            members.add(groupPlan);
+
+            i = nextGroupIdx;
+        }
+
+        while (i < toIndex && BEGIN_VAR_DATA == tokens.get(i).signal())
+        {
+            final Token varDataToken = tokens.get(i);
+            final Token lengthToken = tokens.get(i + 2);
+            final Token dataToken = tokens.get(i + 3);
+
+            final VarDataPlan varData = new VarDataPlan();
+            varData.name = nameBytes(varDataToken.name());
+            varData.lengthField = encodingPlan(lengthToken, lengthToken.offset(), false);
+            varData.dataOffset = dataToken.offset();
+            varData.maxLength = (int)maxValue(lengthToken.encoding());
+            varData.charset = charset(dataToken.encoding().characterEncoding());
+            members.add(varData);
+
+            i += varDataToken.componentTokenCount();
+        }
+
+        plan.fields = fields.toArray(new FieldPlan[0]);
+        plan.members = members.toArray();
+    }
+
+    private static FieldPlan fieldPlan(
+        final List<Token> tokens, final int fromIndex, final int toIndex, final int offset, final Token fieldToken)
+    {
+        final Token typeToken = tokens.get(fromIndex);
+
+        switch (typeToken.signal())
+        {
+            case BEGIN_COMPOSITE:
+            {
+                final FieldPlan field = new FieldPlan();
+                field.kind = KIND_COMPOSITE;
+                field.offset = offset;
+
+                final List<FieldPlan> members = new ArrayList<>();
+                for (int i = fromIndex + 1; i < toIndex; )
+                {
+                    final Token memberToken = tokens.get(i);
+                    final int nextIdx = i + memberToken.componentTokenCount();
+
+                    final FieldPlan member = fieldPlan(tokens, i, nextIdx - 1, offset + memberToken.offset(), null);
+                    member.name = nameBytes(memberToken.name());
+                    members.add(member);
+
+                    i = nextIdx;
+                }
+
+                field.members = members.toArray(new FieldPlan[0]);
+                return field;
+            }
+
+            case BEGIN_ENUM:
+            case BEGIN_SET:
+            {
+                final boolean isEnum = BEGIN_ENUM == typeToken.signal();
+                final Encoding encoding = tokens.get(fromIndex + 1).encoding();
+                final FieldPlan field = new FieldPlan();
+                field.kind = isEnum ? KIND_ENUM : KIND_SET;
+                field.offset = offset;
+                field.type = encoding.primitiveType();
+                field.byteOrder = encoding.byteOrder();
+                field.isConstant = null != fieldToken && fieldToken.isConstantEncoding();
+                field.nullLong = isEnum ? typeToken.encoding().applicableNullValue().longValue() : 0;
+
+                final int count = toIndex - fromIndex - 1;
+                field.choiceNames = new byte[count][];
+                field.choiceValues = new long[count];
+                for (int i = 0; i < count; i++)
+                {
+                    final Token choiceToken = tokens.get(fromIndex + 1 + i);
+                    field.choiceNames[i] = nameBytes(choiceToken.name());
+                    field.choiceValues[i] = choiceToken.encoding().constValue().longValue();
+                }
+
+                return field;
+            }
+
+            default:
+                return encodingPlan(
+                    typeToken,
+                    offset,
+                    typeToken.isConstantEncoding() || (null != fieldToken && fieldToken.isConstantEncoding()));
+        }
+    }
+
+    private static FieldPlan encodingPlan(final Token typeToken, final int offset, final boolean isConstant)
+    {
+        final Encoding encoding = typeToken.encoding();
+        final FieldPlan field = new FieldPlan();
+        field.kind = KIND_ENCODING;
+        field.offset = offset;
+        field.type = encoding.primitiveType();
+        field.byteOrder = encoding.byteOrder();
+        field.arrayLength = typeToken.arrayLength();
+        field.charset = charset(encoding.characterEncoding());
+        field.isConstant = isConstant;
+
+        if (!isConstant)
+        {
+            final PrimitiveValue nullValue = encoding.applicableNullValue();
+            if (PrimitiveValue.Representation.DOUBLE == nullValue.representation())
+            {
+                field.nullDouble = nullValue.doubleValue();
+            }
+            else if (PrimitiveValue.Representation.LONG == nullValue.representation())
+            {
+                field.nullLong = nullValue.longValue();
+            }
+        }
+
+        return field;
+    }
+
+    private static long maxValue(final Encoding encoding)
+    {
+        return Math.min(encoding.applicableMaxValue().longValue(), Integer.MAX_VALUE);
+    }
+
+    private static int charset(final String characterEncoding)
+    {
+        if (null == characterEncoding)
+        {
+            return CHARSET_NONE;
+        }
+
+        return "UTF-8".equalsIgnoreCase(characterEncoding) || "UTF8".equalsIgnoreCase(characterEncoding) ?
+            CHARSET_UTF_8 : CHARSET_SINGLE_BYTE;
+    }
+
+    private static byte[] nameBytes(final String name)
+    {
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static final class FieldPlan
+    {
+        byte[] name;
+        int kind;
+        int offset;
+        PrimitiveType type;
+        ByteOrder byteOrder;
+        int arrayLength;
+        int charset;
+        boolean isConstant;
+        long nullLong;
+        double nullDouble;
+        byte[][] choiceNames;
+        long[] choiceValues;
+        FieldPlan[] members;
+    }
+
+    static final class GroupHeader
+    {
+        byte[] name;
+        int length;
+        FieldPlan blockLengthField;
+        FieldPlan numInGroupField;
+        long maxNumInGroup;
+    }
+
+    static final class VarDataPlan
+    {
+        byte[] name;
+        int dataOffset;
+        int maxLength;
+        int charset;
+        FieldPlan lengthField;
+    }
+
+    static final class BlockPlan
+    {
+        final GroupHeader header;
+        final int blockLength;
+        FieldPlan[] fields;
+        Object[] members;
+
+        BlockPlan(final GroupHeader header, final int blockLength)
+        {
+            this.header = header;
+            this.blockLength = blockLength;
+        }
+    }
+}
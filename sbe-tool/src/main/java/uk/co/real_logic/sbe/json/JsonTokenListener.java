@@ -90,9 +90,6 @@ public class JsonTokenListener implements TokenListener
         final int toIndex,
         final int actingVersion)
     {
-        final Token typeToken = tokens.get(fromIndex + 1);
-        final long encodedValue = readEncodingAsLong(buffer, bufferIndex, typeToken, fieldToken, actingVersion);
-
         String value = null;
         if (fieldToken.isConstantEncoding())
         {
@@ -102,6 +99,8 @@ public class JsonTokenListener implements TokenListener
         }
         else
         {
+            final Token typeToken = tokens.get(fromIndex + 1);
+            final long encodedValue = readEncodingAsLong(buffer, bufferIndex, typeToken, fieldToken, actingVersion);
             for (int i = fromIndex + 1; i < toIndex; i++)
             {
                 if (encodedValue == tokens.get(i).encoding().constValue().longValue())
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import uk.co.real_logic.sbe.ir.CompactIr;
+
+/**
+ * Abstract {@link CompactTokenListener} that can be extended when not all callback methods are required.
+ */
+public abstract class AbstractCompactTokenListener implements CompactTokenListener
+{
+    /**
+     * {@inheritDoc}
+     */
+    public void onBeginMessage(final CompactIr ir, final int tokenIndex)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEndMessage(final CompactIr ir, final int tokenIndex)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEncoding(
+        final CompactIr ir,
+        final int fieldTokenIndex,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final int typeTokenIndex,
+        final int actingVersion)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEnum(
+        final CompactIr ir,
+        final int fieldTokenIndex,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final int fromIndex,
+        final int toIndex,
+        final int actingVersion)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onBitSet(
+        final CompactIr ir,
+        final int fieldTokenIndex,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final int fromIndex,
+        final int toIndex,
+        final int actingVersion)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onBeginComposite(
+        final CompactIr ir, final int fieldTokenIndex, final int fromIndex, final int toIndex)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEndComposite(final CompactIr ir, final int fieldTokenIndex, final int fromIndex, final int toIndex)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onGroupHeader(final CompactIr ir, final int tokenIndex, final int numInGroup)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onBeginGroup(final CompactIr ir, final int tokenIndex, final int groupIndex, final int numInGroup)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onEndGroup(final CompactIr ir, final int tokenIndex, final int groupIndex, final int numInGroup)
+    {
+        // no op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onVarData(
+        final CompactIr ir,
+        final int fieldTokenIndex,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final int length,
+        final int typeTokenIndex)
+    {
+        // no op
+    }
+}
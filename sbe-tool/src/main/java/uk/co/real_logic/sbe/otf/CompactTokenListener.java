@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import uk.co.real_logic.sbe.ir.CompactIr;
+
+/**
+ * Callback interface to be implemented by code wanting to decode messages on-the-fly from a {@link CompactIr}.
+ * <p>
+ * The callbacks mirror {@link TokenListener} with tokens given by their index in the {@link CompactIr}.
+ * If all methods are not required then consider extending {@link AbstractCompactTokenListener} for simpler code.
+ */
+public interface CompactTokenListener
+{
+    /**
+     * Called on beginning the decoding of a message.
+     *
+     * @param ir         describing the message.
+     * @param tokenIndex of the token for the message.
+     */
+    void onBeginMessage(CompactIr ir, int tokenIndex);
+
+    /**
+     * Called on end of decoding of a message.
+     *
+     * @param ir         describing the message.
+     * @param tokenIndex of the token for the end of the message.
+     */
+    void onEndMessage(CompactIr ir, int tokenIndex);
+
+    /**
+     * Primitive encoded type encountered. This can be a root block field or field within a composite or group.
+     * <p>
+     * Within a composite the typeTokenIndex and fieldTokenIndex are the same.
+     *
+     * @param ir              describing the message.
+     * @param fieldTokenIndex of the token representing the field of the message root or group.
+     * @param buffer          containing the encoded message.
+     * @param bufferIndex     at which the encoded field begins.
+     * @param typeTokenIndex  of the token for the encoded primitive value.
+     * @param actingVersion   of the encoded message for determining validity of extension fields.
+     */
+    void onEncoding(
+        CompactIr ir, int fieldTokenIndex, DirectBuffer buffer, int bufferIndex, int typeTokenIndex, int actingVersion);
+
+    /**
+     * Enum encoded type encountered.
+     *
+     * @param ir              describing the message.
+     * @param fieldTokenIndex of the token representing the field of the message root or group.
+     * @param buffer          containing the encoded message.
+     * @param bufferIndex     at which the encoded field begins.
+     * @param fromIndex       at which the enum metadata begins.
+     * @param toIndex         at which the enum metadata ends.
+     * @param actingVersion   of the encoded message for determining validity of extension fields.
+     */
+    void onEnum(
+        CompactIr ir,
+        int fieldTokenIndex,
+        DirectBuffer buffer,
+        int bufferIndex,
+        int fromIndex,
+        int toIndex,
+        int actingVersion);
+
+    /**
+     * BitSet encoded type encountered.
+     *
+     * @param ir              describing the message.
+     * @param fieldTokenIndex of the token representing the field of the message root or group.
+     * @param buffer          containing the encoded message.
+     * @param bufferIndex     at which the encoded field begins.
+     * @param fromIndex       at which the bit set metadata begins.
+     * @param toIndex         at which the bit set metadata ends.
+     * @param actingVersion   of the encoded message for determining validity of extension fields.
+     */
+    void onBitSet(
+        CompactIr ir,
+        int fieldTokenIndex,
+        DirectBuffer buffer,
+        int bufferIndex,
+        int fromIndex,
+        int toIndex,
+        int actingVersion);
+
+    /**
+     * Beginning of Composite encoded type encountered.
+     *
+     * @param ir              describing the message.
+     * @param fieldTokenIndex of the token representing the field of the message root or group.
+     * @param fromIndex       at which the composite metadata begins.
+     * @param toIndex         at which the composite metadata ends.
+     */
+    void onBeginComposite(CompactIr ir, int fieldTokenIndex, int fromIndex, int toIndex);
+
+    /**
+     * End of Composite encoded type encountered.
+     *
+     * @param ir              describing the message.
+     * @param fieldTokenIndex of the token representing the field of the message root or group.
+     * @param fromIndex       at which the composite metadata begins.
+     * @param toIndex         at which the composite metadata ends.
+     */
+    void onEndComposite(CompactIr ir, int fieldTokenIndex, int fromIndex, int toIndex);
+
+    /**
+     * Group encountered.
+     *
+     * @param ir         describing the message.
+     * @param tokenIndex of the token describing the group.
+     * @param numInGroup number of times the group will be repeated.
+     */
+    void onGroupHeader(CompactIr ir, int tokenIndex, int numInGroup);
+
+    /**
+     * Beginning of group encoded type encountered.
+     *
+     * @param ir         describing the message.
+     * @param tokenIndex of the token describing the group.
+     * @param groupIndex index for the repeat count of the group.
+     * @param numInGroup number of times the group will be repeated.
+     */
+    void onBeginGroup(CompactIr ir, int tokenIndex, int groupIndex, int numInGroup);
+
+    /**
+     * End of group encoded type encountered.
+     *
+     * @param ir         describing the message.
+     * @param tokenIndex of the token describing the group.
+     * @param groupIndex index for the repeat count of the group.
+     * @param numInGroup number of times the group will be repeated.
+     */
+    void onEndGroup(CompactIr ir, int tokenIndex, int groupIndex, int numInGroup);
+
+    /**
+     * Var data field encountered.
+     *
+     * @param ir              describing the message.
+     * @param fieldTokenIndex of the token representing the var data field.
+     * @param buffer          containing the encoded message.
+     * @param bufferIndex     at which the variable data begins.
+     * @param length          of the variable data in bytes.
+     * @param typeTokenIndex  of the token for the variable data to determine its character encoding.
+     */
+    void onVarData(
+        CompactIr ir, int fieldTokenIndex, DirectBuffer buffer, int bufferIndex, int length, int typeTokenIndex);
+}
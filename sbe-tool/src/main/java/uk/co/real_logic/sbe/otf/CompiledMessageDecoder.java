@@ -0,0 +1,649 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import org.agrona.collections.IntArrayList;
+import uk.co.real_logic.sbe.PrimitiveType;
+import uk.co.real_logic.sbe.ir.Encoding;
+import uk.co.real_logic.sbe.ir.Token;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static uk.co.real_logic.sbe.ir.Signal.BEGIN_FIELD;
+import static uk.co.real_logic.sbe.ir.Signal.BEGIN_GROUP;
+import static uk.co.real_logic.sbe.ir.Signal.BEGIN_VAR_DATA;
+
+/**
+ * On-the-fly decoder which compiles the IR for a message once into a flat decode plan of primitive instructions.
+ * <p>
+ * The plan is driven through the same {@link TokenListener} callbacks as {@link OtfMessageDecoder} but avoids
+ * walking the {@link Token} list, switching on {@link uk.co.real_logic.sbe.ir.Signal}s, and resolving offsets and
+ * encodings of group and var data headers for every message decoded.
+ * <p>
+ * A {@link MessageProjection} can be provided to compile a plan which only calls back for the selected fields, groups,
+ * and var data. Unselected fields are left out of the plan, and unselected groups and var data are stepped over using
+ * their headers without any callbacks.
+ * <p>
+ * Instances are immutable after construction and thus thread safe. A decoder should be compiled once per template
+ * and reused for every message of that template.
+ */
+@SuppressWarnings("FinalParameters")
+public class CompiledMessageDecoder
+{
+    static final int OP_ENCODING = 1;
+    static final int OP_ENUM = 2;
+    static final int OP_SET = 3;
+    static final int OP_BEGIN_COMPOSITE = 4;
+    static final int OP_END_COMPOSITE = 5;
+    static final int OP_GROUP = 6;
+    static final int OP_VAR_DATA = 7;
+    static final int OP_SKIP_GROUP = 8;
+    static final int OP_SKIP_VAR_DATA = 9;
+
+    /*
+     * Layout of an instruction in the plan. Unused slots for an opcode are left as zero.
+     *
+     * ENCODING:           TOKEN=field, OFFSET, FROM=type token
+     * ENUM/SET:           TOKEN=field, OFFSET, FROM, TO
+     * BEGIN/END_COMPOSITE: TOKEN=field, FROM, TO
+     * GROUP:              TOKEN=group, OFFSET=block length offset, TYPE=block length type,
+     *                     COUNT_OFFSET=num in group offset, COUNT_TYPE=num in group type,
+     *                     HEADER_LENGTH=dimensions length, VERSION, END=pc after the group body
+     * VAR_DATA:           TOKEN=var data, OFFSET=length offset, TYPE=length type, FROM=data type token,
+     *                     COUNT_OFFSET=data offset, VERSION
+     *
+     * SKIP_GROUP and SKIP_VAR_DATA have the same layout as GROUP and VAR_DATA. The body of a skipped group holds only
+     * the skip instructions for its nested groups and var data so is empty when its elements are of fixed length.
+     */
+    static final int OPCODE = 0;
+    static final int TOKEN = 1;
+    static final int OFFSET = 2;
+    static final int FROM = 3;
+    static final int TO = 4;
+    static final int TYPE = 5;
+    static final int COUNT_OFFSET = 6;
+    static final int COUNT_TYPE = 7;
+    static final int HEADER_LENGTH = 8;
+    static final int VERSION = 9;
+    static final int END = 10;
+    static final int INSTRUCTION_LENGTH = 11;
+
+    private static final int TYPE_INT8 = 1;
+    private static final int TYPE_UINT8 = 2;
+    private static final int TYPE_INT16_LE = 3;
+    private static final int TYPE_INT16_BE = 4;
+    private static final int TYPE_UINT16_LE = 5;
+    private static final int TYPE_UINT16_BE = 6;
+    private static final int TYPE_INT32_LE = 7;
+    private static final int TYPE_INT32_BE = 8;
+    private static final int TYPE_UINT32_LE = 9;
+    private static final int TYPE_UINT32_BE = 10;
+
+    final List<Token> tokens;
+    final Token[] tokenArray;
+    final int[] plan;
+
+    /**
+     * Compile the decode plan for a message from its IR tokens as returned from
+     * {@link uk.co.real_logic.sbe.ir.Ir#getMessage(long)}.
+     *
+     * @param msgTokens in IR format describing the message structure.
+     */
+    public CompiledMessageDecoder(final List<Token> msgTokens)
+    {
+        this(msgTokens, null);
+    }
+
+    /**
+     * Compile the decode plan for a message from its IR tokens as returned from
+     * {@link uk.co.real_logic.sbe.ir.Ir#getMessage(long)} which only calls back for the selections of a projection.
+     *
+     * @param msgTokens  in IR format describing the message structure.
+     * @param projection of the message to be decoded, or null to decode everything.
+     * @throws IllegalArgumentException if the projection has a path which is not in the message.
+     */
+    public CompiledMessageDecoder(final List<Token> msgTokens, final MessageProjection projection)
+    {
+        tokens = new ArrayList<>(msgTokens);
+        tokenArray = tokens.toArray(new Token[0]);
+
+        if (null != projection)
+        {
+            projection.validatePaths(tokenArray);
+        }
+
+        final IntArrayList instructions = new IntArrayList();
+        compileBlock(instructions, 1, tokenArray.length, projection, "");
+        plan = instructions.toIntArray();
+    }
+
+    /**
+     * The {@link Token} which begins the message for which the plan was compiled.
+     *
+     * @return the {@link Token} which begins the message for which the plan was compiled.
+     */
+    public Token messageToken()
+    {
+        return tokenArray[0];
+    }
+
+    /**
+     * Decode a message from the provided buffer using the compiled plan.
+     *
+     * @param buffer        containing the encoded message.
+     * @param offset        at which the message encoding starts in the buffer.
+     * @param actingVersion of the encoded message for dealing with extension fields.
+     * @param blockLength   of the root message fields.
+     * @param listener      to callback for decoding the primitive values as discovered in the structure.
+     * @return the index in the underlying buffer after decoding.
+     */
+    public int decode(
+        final DirectBuffer buffer,
+        final int offset,
+        final int actingVersion,
+        final int blockLength,
+        final TokenListener listener)
+    {
+        final Token[] tokenArray = this.tokenArray;
+
+        listener.onBeginMessage(tokenArray[0]);
+        final int limit = decodeBlock(buffer, offset, blockLength, 0, plan.length, actingVersion, listener);
+        listener.onEndMessage(tokenArray[tokenArray.length - 1]);
+
+        return limit;
+    }
+
+    private int decodeBlock(
+        final DirectBuffer buffer,
+        final int blockOffset,
+        final int blockLength,
+        int pc,
+        final int endPc,
+        final int actingVersion,
+        final TokenListener listener)
+    {
+        final int[] plan = this.plan;
+        final Token[] tokenArray = this.tokenArray;
+        int limit = blockOffset + blockLength;
+
+        while (pc < endPc)
+        {
+            switch (plan[pc + OPCODE])
+            {
+                case OP_ENCODING:
+                    listener.onEncoding(
+                        tokenArray[plan[pc + TOKEN]],
+                        buffer,
+                        blockOffset + plan[pc + OFFSET],
+                        tokenArray[plan[pc + FROM]],
+                        actingVersion);
+                    pc += INSTRUCTION_LENGTH;
+                    break;
+
+                case OP_ENUM:
+                    listener.onEnum(
+                        tokenArray[plan[pc + TOKEN]],
+                        buffer,
+                        blockOffset + plan[pc + OFFSET],
+                        tokens,
+                        plan[pc + FROM],
+                        plan[pc + TO],
+                        actingVersion);
+                    pc += INSTRUCTION_LENGTH;
+                    break;
+
+                case OP_SET:
+                    listener.onBitSet(
+                        tokenArray[plan[pc + TOKEN]],
+                        buffer,
+                        blockOffset + plan[pc + OFFSET],
+                        tokens,
+                        plan[pc + FROM],
+                        plan[pc + TO],
+                        actingVersion);
+                    pc += INSTRUCTION_LENGTH;
+                    break;
+
+                case OP_BEGIN_COMPOSITE:
+                    listener.onBeginComposite(tokenArray[plan[pc + TOKEN]], tokens, plan[pc + FROM], plan[pc + TO]);
+                    pc += INSTRUCTION_LENGTH;
+                    break;
+
+                case OP_END_COMPOSITE:
+                    listener.onEndComposite(tokenArray[plan[pc + TOKEN]], tokens, plan[pc + FROM], plan[pc + TO]);
+                    pc += INSTRUCTION_LENGTH;
+                    break;
+
+                case OP_GROUP:
+                    limit = decodeGroup(buffer, limit, pc, actingVersion, listener);
+                    pc = plan[pc + END];
+                    break;
+
+                case OP_VAR_DATA:
+                {
+                    final boolean isPresent = plan[pc + VERSION] <= actingVersion;
+                    final int length = isPresent ? getInt(buffer, limit + plan[pc + OFFSET], plan[pc + TYPE]) : 0;
+
+                    if (isPresent)
+                    {
+                        limit += plan[pc + COUNT_OFFSET];
+                    }
+
+                    listener.onVarData(
+                        tokenArray[plan[pc + TOKEN]], buffer, limit, length, tokenArray[plan[pc + FROM]]);
+
+                    limit += length;
+                    pc += INSTRUCTION_LENGTH;
+                    break;
+                }
+
+                case OP_SKIP_GROUP:
+                    limit = skipGroup(buffer, limit, pc, actingVersion, listener);
+                    pc = plan[pc + END];
+                    break;
+
+                case OP_SKIP_VAR_DATA:
+                    if (plan[pc + VERSION] <= actingVersion)
+                    {
+                        limit += plan[pc + COUNT_OFFSET] + getInt(buffer, limit + plan[pc + OFFSET], plan[pc + TYPE]);
+                    }
+                    pc += INSTRUCTION_LENGTH;
+                    break;
+
+                default:
+                    throw new IllegalStateException("unknown opcode: " + plan[pc + OPCODE]);
+            }
+        }
+
+        return limit;
+    }
+
+    private int decodeGroup(
+        final DirectBuffer buffer,
+        int limit,
+        final int pc,
+        final int actingVersion,
+        final TokenListener listener)
+    {
+        final int[] plan = this.plan;
+        final Token groupToken = tokenArray[plan[pc + TOKEN]];
+        final boolean isPresent = plan[pc + VERSION] <= actingVersion;
+        final int blockLength = isPresent ? getInt(buffer, limit + plan[pc + OFFSET], plan[pc + TYPE]) : 0;
+        final int numInGroup = isPresent ? getInt(buffer, limit + plan[pc + COUNT_OFFSET], plan[pc + COUNT_TYPE]) : 0;
+
+        if (isPresent)
+        {
+            limit += plan[pc + HEADER_LENGTH];
+        }
+
+        listener.onGroupHeader(groupToken, numInGroup);
+
+        final int bodyPc = pc + INSTRUCTION_LENGTH;
+        final int bodyEndPc = plan[pc + END];
+        for (int i = 0; i < numInGroup; i++)
+        {
+            listener.onBeginGroup(groupToken, i, numInGroup);
+            limit = decodeBlock(buffer, limit, blockLength, bodyPc, bodyEndPc, actingVersion, listener);
+            listener.onEndGroup(groupToken, i, numInGroup);
+        }
+
+        return limit;
+    }
+
+    private int skipGroup(
+        final DirectBuffer buffer,
+        int limit,
+        final int pc,
+        final int actingVersion,
+        final TokenListener listener)
+    {
+        final int[] plan = this.plan;
+        if (plan[pc + VERSION] > actingVersion)
+        {
+            return limit;
+        }
+
+        final int blockLength = getInt(buffer, limit + plan[pc + OFFSET], plan[pc + TYPE]);
+        final int numInGroup = getInt(buffer, limit + plan[pc + COUNT_OFFSET], plan[pc + COUNT_TYPE]);
+        limit += plan[pc + HEADER_LENGTH];
+
+        final int bodyPc = pc + INSTRUCTION_LENGTH;
+        final int bodyEndPc = plan[pc + END];
+        if (bodyPc == bodyEndPc)
+        {
+            return limit + (blockLength * numInGroup);
+        }
+
+        for (int i = 0; i < numInGroup; i++)
+        {
+            limit = decodeBlock(buffer, limit, blockLength, bodyPc, bodyEndPc, actingVersion, listener);
+        }
+
+        return limit;
+    }
+
+    private int compileBlock(
+        final IntArrayList instructions,
+        final int tokenIndex,
+        final int numTokens,
+        final MessageProjection projection,
+        final String pathPrefix)
+    {
+        int i = compileFields(instructions, tokenIndex, numTokens, projection, pathPrefix);
+        i = compileGroups(instructions, i, numTokens, projection, pathPrefix);
+
+        return compileData(instructions, i, numTokens, projection, pathPrefix);
+    }
+
+    private int compileFields(
+        final IntArrayList instructions,
+        final int tokenIndex,
+        final int numTokens,
+        final MessageProjection projection,
+        final String pathPrefix)
+    {
+        int i = tokenIndex;
+
+        while (i < numTokens)
+        {
+            final Token fieldToken = tokenArray[i];
+            if (BEGIN_FIELD != fieldToken.signal())
+            {
+                break;
+            }
+
+            final int fieldIndex = i;
+            final int nextFieldIdx = i + fieldToken.componentTokenCount();
+            if (null != projection && !projection.isSelected(pathPrefix + fieldToken.name(), fieldToken))
+            {
+                i = nextFieldIdx;
+                continue;
+            }
+
+            i++;
+
+            final Token typeToken = tokenArray[i];
+            final int offset = typeToken.offset();
+
+            switch (typeToken.signal())
+            {
+                case BEGIN_COMPOSITE:
+                    compileComposite(instructions, fieldIndex, i, nextFieldIdx - 2, offset);
+                    break;
+
+                case BEGIN_ENUM:
+                    addInstruction(instructions, OP_ENUM, fieldIndex, offset, i, nextFieldIdx - 2);
+                    break;
+
+                case BEGIN_SET:
+                    addInstruction(instructions, OP_SET, fieldIndex, offset, i, nextFieldIdx - 2);
+                    break;
+
+                case ENCODING:
+                    addInstruction(instructions, OP_ENCODING, fieldIndex, offset, i, 0);
+                    break;
+            }
+
+            i = nextFieldIdx;
+        }
+
+        return i;
+    }
+
+    private void compileComposite(
+        final IntArrayList instructions,
+        final int fieldIndex,
+        final int tokenIdx,
+        final int toIndex,
+        final int compositeOffset)
+    {
+        addInstruction(instructions, OP_BEGIN_COMPOSITE, fieldIndex, 0, tokenIdx, toIndex);
+
+        for (int i = tokenIdx + 1; i < toIndex; )
+        {
+            final Token typeToken = tokenArray[i];
+            final int nextFieldIdx = i + typeToken.componentTokenCount();
+            final int offset = compositeOffset + typeToken.offset();
+
+            switch (typeToken.signal())
+            {
+                case BEGIN_COMPOSITE:
+                    compileComposite(instructions, fieldIndex, i, nextFieldIdx - 1, offset);
+                    break;
+
+                case BEGIN_ENUM:
+                    addInstruction(instructions, OP_ENUM, fieldIndex, offset, i, nextFieldIdx - 1);
+                    break;
+
+                case BEGIN_SET:
+                    addInstruction(instructions, OP_SET, fieldIndex, offset, i, nextFieldIdx - 1);
+                    break;
+
+                case ENCODING:
+                    addInstruction(instructions, OP_ENCODING, i, offset, i, 0);
+                    break;
+            }
+
+            i += typeToken.componentTokenCount();
+        }
+
+        addInstruction(instructions, OP_END_COMPOSITE, fieldIndex, 0, tokenIdx, toIndex);
+    }
+
+    private int compileGroups(
+        final IntArrayList instructions,
+        final int tokenIndex,
+        final int numTokens,
+        final MessageProjection projection,
+        final String pathPrefix)
+    {
+        int tokenIdx = tokenIndex;
+
+        while (tokenIdx < numTokens)
+        {
+            final Token token = tokenArray[tokenIdx];
+            if (BEGIN_GROUP != token.signal())
+            {
+                break;
+            }
+
+            final Token dimensionTypeComposite = tokenArray[tokenIdx + 1];
+            final Token blockLengthToken = tokenArray[tokenIdx + 2];
+            final Token numInGroupToken = tokenArray[tokenIdx + 3];
+
+            final int endIdx = tokenIdx + token.componentTokenCount();
+            final String path = pathPrefix + token.name();
+            MessageProjection bodyProjection = projection;
+            int opcode = OP_GROUP;
+            if (null != projection)
+            {
+                if (projection.isSelected(path, token))
+                {
+                    bodyProjection = null;
+                }
+                else if (!projection.hasSelectionWithin(path, tokenArray, tokenIdx + 1, endIdx))
+                {
+                    opcode = OP_SKIP_GROUP;
+                }
+            }
+
+            final int instructionIndex = instructions.size();
+            addInstruction(instructions, opcode, tokenIdx, blockLengthToken.offset(), 0, 0);
+            instructions.setInt(instructionIndex + TYPE, typeCode(blockLengthToken.encoding()));
+            instructions.setInt(instructionIndex + COUNT_OFFSET, numInGroupToken.offset());
+            instructions.setInt(instructionIndex + COUNT_TYPE, typeCode(numInGroupToken.encoding()));
+            instructions.setInt(instructionIndex + HEADER_LENGTH, dimensionTypeComposite.encodedLength());
+            instructions.setInt(instructionIndex + VERSION, token.version());
+
+            compileBlock(
+                instructions,
+                tokenIdx + dimensionTypeComposite.componentTokenCount() + 1,
+                numTokens,
+                bodyProjection,
+                path + '.');
+            instructions.setInt(instructionIndex + END, instructions.size());
+
+            tokenIdx = endIdx;
+        }
+
+        return tokenIdx;
+    }
+
+    private int compileData(
+        final IntArrayList instructions,
+        final int tokenIndex,
+        final int numTokens,
+        final MessageProjection projection,
+        final String pathPrefix)
+    {
+        int tokenIdx = tokenIndex;
+
+        while (tokenIdx < numTokens)
+        {
+            final Token token = tokenArray[tokenIdx];
+            if (BEGIN_VAR_DATA != token.signal())
+            {
+                break;
+            }
+
+            final Token lengthToken = tokenArray[tokenIdx + 2];
+            final Token dataToken = tokenArray[tokenIdx + 3];
+
+            final boolean isSelected =
+                null == projection || projection.isSelected(pathPrefix + token.name(), token);
+
+            final int instructionIndex = instructions.size();
+            addInstruction(
+                instructions,
+                isSelected ? OP_VAR_DATA : OP_SKIP_VAR_DATA,
+                tokenIdx,
+                lengthToken.offset(),
+                tokenIdx + 3,
+                0);
+            instructions.setInt(instructionIndex + TYPE, typeCode(lengthToken.encoding()));
+            instructions.setInt(instructionIndex + COUNT_OFFSET, dataToken.offset());
+            instructions.setInt(instructionIndex + VERSION, token.version());
+
+            tokenIdx += token.componentTokenCount();
+        }
+
+        return tokenIdx;
+    }
+
+    private static void addInstruction(
+        final IntArrayList instructions,
+        final int opcode,
+        final int tokenIndex,
+        final int offset,
+        final int fromIndex,
+        final int toIndex)
+    {
+        final int index = instructions.size();
+        for (int i = 0; i < INSTRUCTION_LENGTH; i++)
+        {
+            instructions.addInt(0);
+        }
+
+        instructions.setInt(index + OPCODE, opcode);
+        instructions.setInt(index + TOKEN, tokenIndex);
+        instructions.setInt(index + OFFSET, offset);
+        instructions.setInt(index + FROM, fromIndex);
+        instructions.setInt(index + TO, toIndex);
+    }
+
+    private static int typeCode(final Encoding encoding)
+    {
+        final PrimitiveType type = encoding.primitiveType();
+        final boolean isBigEndian = ByteOrder.BIG_ENDIAN == encoding.byteOrder();
+
+        switch (type)
+        {
+            case INT8:
+                return TYPE_INT8;
+
+            case UINT8:
+                return TYPE_UINT8;
+
+            case INT16:
+                return isBigEndian ? TYPE_INT16_BE : TYPE_INT16_LE;
+
+            case UINT16:
+                return isBigEndian ? TYPE_UINT16_BE : TYPE_UINT16_LE;
+
+            case INT32:
+                return isBigEndian ? TYPE_INT32_BE : TYPE_INT32_LE;
+
+            case UINT32:
+                return isBigEndian ? TYPE_UINT32_BE : TYPE_UINT32_LE;
+
+            default:
+                throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    static int getInt(final DirectBuffer buffer, final int index, final int typeCode)
+    {
+        switch (typeCode)
+        {
+            case TYPE_INT8:
+                return buffer.getByte(index);
+
+            case TYPE_UINT8:
+                return buffer.getByte(index) & 0xFF;
+
+            case TYPE_INT16_LE:
+                return buffer.getShort(index, ByteOrder.LITTLE_ENDIAN);
+
+            case TYPE_INT16_BE:
+                return buffer.getShort(index, ByteOrder.BIG_ENDIAN);
+
+            case TYPE_UINT16_LE:
+                return buffer.getShort(index, ByteOrder.LITTLE_ENDIAN) & 0xFFFF;
+
+            case TYPE_UINT16_BE:
+                return buffer.getShort(index, ByteOrder.BIG_ENDIAN) & 0xFFFF;
+
+            case TYPE_INT32_LE:
+                return buffer.getInt(index, ByteOrder.LITTLE_ENDIAN);
+
+            case TYPE_INT32_BE:
+                return buffer.getInt(index, ByteOrder.BIG_ENDIAN);
+
+            case TYPE_UINT32_LE:
+                return checkUint32(buffer.getInt(index, ByteOrder.LITTLE_ENDIAN));
+
+            case TYPE_UINT32_BE:
+                return checkUint32(buffer.getInt(index, ByteOrder.BIG_ENDIAN));
+
+            default:
+                throw new IllegalArgumentException("Unsupported type code: " + typeCode);
+        }
+    }
+
+    private static int checkUint32(final int value)
+    {
+        if (value < 0)
+        {
+            throw new IllegalStateException(
+                "UINT32 type should not be greater than Integer.MAX_VALUE: value=" + value);
+        }
+
+        return value;
+    }
+}
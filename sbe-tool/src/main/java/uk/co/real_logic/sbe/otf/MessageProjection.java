@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.collections.IntHashSet;
+import uk.co.real_logic.sbe.ir.Signal;
+import uk.co.real_logic.sbe.ir.Token;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static uk.co.real_logic.sbe.ir.Signal.*;
+
+/**
+ * The fields, groups, and var data of a message which are of interest to a {@link TokenListener} when compiling a
+ * {@link CompiledMessageDecoder}. Everything else in the message is skipped without callbacks.
+ * <p>
+ * Selections are made by path or by id. A path is the name of a field, group, or var data in the message, qualified
+ * by the names of its enclosing groups separated by '.', e.g. {@code "fuelFigures.speed"}. Selecting a group selects
+ * everything within it, and selecting a composite field selects it whole. A group which is not selected but contains
+ * a selection is decoded with callbacks for its header and elements, but only for the selections within them.
+ */
+public final class MessageProjection
+{
+    private final Set<String> paths = new HashSet<>();
+    private final IntHashSet ids = new IntHashSet();
+
+    /**
+     * Select a field, group, or var data by its path in the message.
+     *
+     * @param path of the field, group, or var data qualified by the names of enclosing groups separated by '.'.
+     * @return this for a fluent API.
+     */
+    public MessageProjection path(final String path)
+    {
+        paths.add(path);
+        return this;
+    }
+
+    /**
+     * Select fields, groups, or var data by the ids given in the schema.
+     *
+     * @param ids of the fields, groups, or var data.
+     * @return this for a fluent API.
+     */
+    public MessageProjection ids(final int... ids)
+    {
+        for (final int id : ids)
+        {
+            this.ids.add(id);
+        }
+
+        return this;
+    }
+
+    boolean isSelected(final String path, final Token token)
+    {
+        return paths.contains(path) || ids.contains(token.id());
+    }
+
+    boolean hasSelectionWithin(final String groupPath, final Token[] tokens, final int fromIndex, final int toIndex)
+    {
+        final String prefix = groupPath + '.';
+        for (final String path : paths)
+        {
+            if (path.startsWith(prefix))
+            {
+                return true;
+            }
+        }
+
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            final Token token = tokens[i];
+            if (isMember(token) && ids.contains(token.id()))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    void validatePaths(final Token[] tokens)
+    {
+        final Set<String> messagePaths = new HashSet<>();
+        final StringBuilder prefix = new StringBuilder();
+
+        for (int i = 1, size = tokens.length - 1; i < size; i++)
+        {
+            final Token token = tokens[i];
+            if (isMember(token))
+            {
+                messagePaths.add(prefix + token.name());
+            }
+
+            if (BEGIN_GROUP == token.signal())
+            {
+                prefix.append(token.name()).append('.');
+            }
+            else if (END_GROUP == token.signal())
+            {
+                prefix.setLength(prefix.length() - token.name().length() - 1);
+            }
+        }
+
+        for (final String path : paths)
+        {
+            if (!messagePaths.contains(path))
+            {
+                throw new IllegalArgumentException("no field, group, or var data in message for path: " + path);
+            }
+        }
+    }
+
+    private static boolean isMember(final Token token)
+    {
+        final Signal signal = token.signal();
+        return BEGIN_FIELD == signal || BEGIN_GROUP == signal || BEGIN_VAR_DATA == signal;
+    }
+}
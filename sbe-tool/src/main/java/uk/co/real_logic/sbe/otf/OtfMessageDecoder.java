@@ -16,6 +16,7 @@
 package uk.co.real_logic.sbe.otf;
 
 import org.agrona.DirectBuffer;
+import uk.co.real_logic.sbe.ir.CompactIr;
 import uk.co.real_logic.sbe.ir.Token;
 
 import java.util.List;
@@ -33,6 +34,10 @@ import static uk.co.real_logic.sbe.ir.Signal.BEGIN_VAR_DATA;
  * The design keeps all state on the stack to maximise performance and avoid object allocation. The message decoder can
  * be reused repeatably by calling {@link OtfMessageDecoder#decode(DirectBuffer, int, int, int, List, TokenListener)}
  * which is thread safe to be used across multiple threads.
+ * <p>
+ * Messages can also be decoded from a {@link CompactIr} with
+ * {@link OtfMessageDecoder#decode(DirectBuffer, int, int, int, CompactIr, int, CompactTokenListener)} which walks
+ * primitive arrays rather than dereferencing {@link Token} objects.
  */
 @SuppressWarnings("FinalParameters")
 public class OtfMessageDecoder
@@ -80,6 +85,50 @@ public class OtfMessageDecoder
         return i;
     }
 
+    /**
+     * Decode a message from the provided buffer based on the message schema described with a {@link CompactIr}.
+     *
+     * @param buffer        containing the encoded message.
+     * @param offset        at which the message encoding starts in the buffer.
+     * @param actingVersion of the encoded message for dealing with extension fields.
+     * @param blockLength   of the root message fields.
+     * @param ir            describing the message structure.
+     * @param messageIndex  of the message in the ir as returned from {@link CompactIr#messageIndex(long)}.
+     * @param listener      to callback for decoding the primitive values as discovered in the structure.
+     * @return the index in the underlying buffer after decoding.
+     */
+    public static int decode(
+        final DirectBuffer buffer,
+        final int offset,
+        final int actingVersion,
+        final int blockLength,
+        final CompactIr ir,
+        final int messageIndex,
+        final CompactTokenListener listener)
+    {
+        listener.onBeginMessage(ir, messageIndex);
+
+        int i = offset;
+        final int endIndex = messageIndex + ir.componentTokenCount(messageIndex) - 1;
+        final int tokenIdx = decodeFields(buffer, i, actingVersion, ir, messageIndex + 1, endIndex, listener);
+        i += blockLength;
+
+        final long packedValues = decodeGroups(buffer, i, actingVersion, ir, tokenIdx, endIndex, listener);
+
+        i = decodeData(
+            buffer,
+            bufferOffset(packedValues),
+            ir,
+            tokenIndex(packedValues),
+            endIndex,
+            actingVersion,
+            listener);
+
+        listener.onEndMessage(ir, endIndex);
+
+        return i;
+    }
+
     private static int decodeFields(
         final DirectBuffer buffer,
         final int bufferOffset,
@@ -306,6 +355,228 @@ public class OtfMessageDecoder
         return bufferOffset;
     }
 
+    private static int decodeFields(
+        final DirectBuffer buffer,
+        final int bufferOffset,
+        final int actingVersion,
+        final CompactIr ir,
+        final int tokenIndex,
+        final int numTokens,
+        final CompactTokenListener listener)
+    {
+        int i = tokenIndex;
+
+        while (i < numTokens)
+        {
+            if (BEGIN_FIELD != ir.signal(i))
+            {
+                break;
+            }
+
+            final int fieldIdx = i;
+            final int nextFieldIdx = i + ir.componentTokenCount(i);
+            i++;
+
+            final int offset = ir.offset(i);
+
+            switch (ir.signal(i))
+            {
+                case BEGIN_COMPOSITE:
+                    decodeComposite(
+                        fieldIdx,
+                        buffer,
+                        bufferOffset + offset,
+                        ir, i,
+                        nextFieldIdx - 2,
+                        actingVersion,
+                        listener);
+                    break;
+
+                case BEGIN_ENUM:
+                    listener.onEnum(
+                        ir, fieldIdx, buffer, bufferOffset + offset, i, nextFieldIdx - 2, actingVersion);
+                    break;
+
+                case BEGIN_SET:
+                    listener.onBitSet(
+                        ir, fieldIdx, buffer, bufferOffset + offset, i, nextFieldIdx - 2, actingVersion);
+                    break;
+
+                case ENCODING:
+                    listener.onEncoding(ir, fieldIdx, buffer, bufferOffset + offset, i, actingVersion);
+                    break;
+            }
+
+            i = nextFieldIdx;
+        }
+
+        return i;
+    }
+
+    private static long decodeGroups(
+        final DirectBuffer buffer,
+        int bufferOffset,
+        final int actingVersion,
+        final CompactIr ir,
+        int tokenIdx,
+        final int numTokens,
+        final CompactTokenListener listener)
+    {
+        while (tokenIdx < numTokens)
+        {
+            if (BEGIN_GROUP != ir.signal(tokenIdx))
+            {
+                break;
+            }
+
+            final boolean isPresent = ir.version(tokenIdx) <= actingVersion;
+
+            final int blockLengthIdx = tokenIdx + 2;
+            final int blockLength = isPresent ? Types.getInt(
+                buffer,
+                bufferOffset + ir.offset(blockLengthIdx),
+                ir.primitiveType(blockLengthIdx),
+                ir.byteOrder(blockLengthIdx)) : 0;
+
+            final int numInGroupIdx = tokenIdx + 3;
+            final int numInGroup = isPresent ? Types.getInt(
+                buffer,
+                bufferOffset + ir.offset(numInGroupIdx),
+                ir.primitiveType(numInGroupIdx),
+                ir.byteOrder(numInGroupIdx)) : 0;
+
+            final int dimensionTypeIdx = tokenIdx + 1;
+
+            if (isPresent)
+            {
+                bufferOffset += ir.encodedLength(dimensionTypeIdx);
+            }
+
+            final int beginFieldsIdx = tokenIdx + ir.componentTokenCount(dimensionTypeIdx) + 1;
+
+            listener.onGroupHeader(ir, tokenIdx, numInGroup);
+
+            for (int i = 0; i < numInGroup; i++)
+            {
+                listener.onBeginGroup(ir, tokenIdx, i, numInGroup);
+
+                final int afterFieldsIdx = decodeFields(
+                    buffer, bufferOffset, actingVersion, ir, beginFieldsIdx, numTokens, listener);
+                bufferOffset += blockLength;
+
+                final long packedValues = decodeGroups(
+                    buffer, bufferOffset, actingVersion, ir, afterFieldsIdx, numTokens, listener);
+
+                bufferOffset = decodeData(
+                    buffer,
+                    bufferOffset(packedValues),
+                    ir,
+                    tokenIndex(packedValues),
+                    numTokens,
+                    actingVersion,
+                    listener);
+
+                listener.onEndGroup(ir, tokenIdx, i, numInGroup);
+            }
+
+            tokenIdx += ir.componentTokenCount(tokenIdx);
+        }
+
+        return pack(bufferOffset, tokenIdx);
+    }
+
+    private static void decodeComposite(
+        final int fieldTokenIdx,
+        final DirectBuffer buffer,
+        final int bufferOffset,
+        final CompactIr ir,
+        final int tokenIdx,
+        final int toIndex,
+        final int actingVersion,
+        final CompactTokenListener listener)
+    {
+        listener.onBeginComposite(ir, fieldTokenIdx, tokenIdx, toIndex);
+
+        for (int i = tokenIdx + 1; i < toIndex; )
+        {
+            final int nextFieldIdx = i + ir.componentTokenCount(i);
+
+            final int offset = ir.offset(i);
+
+            switch (ir.signal(i))
+            {
+                case BEGIN_COMPOSITE:
+                    decodeComposite(
+                        fieldTokenIdx,
+                        buffer,
+                        bufferOffset + offset,
+                        ir, i,
+                        nextFieldIdx - 1,
+                        actingVersion,
+                        listener);
+                    break;
+
+                case BEGIN_ENUM:
+                    listener.onEnum(
+                        ir, fieldTokenIdx, buffer, bufferOffset + offset, i, nextFieldIdx - 1, actingVersion);
+                    break;
+
+                case BEGIN_SET:
+                    listener.onBitSet(
+                        ir, fieldTokenIdx, buffer, bufferOffset + offset, i, nextFieldIdx - 1, actingVersion);
+                    break;
+
+                case ENCODING:
+                    listener.onEncoding(ir, i, buffer, bufferOffset + offset, i, actingVersion);
+                    break;
+            }
+
+            i += ir.componentTokenCount(i);
+        }
+
+        listener.onEndComposite(ir, fieldTokenIdx, tokenIdx, toIndex);
+    }
+
+    private static int decodeData(
+        final DirectBuffer buffer,
+        int bufferOffset,
+        final CompactIr ir,
+        int tokenIdx,
+        final int numTokens,
+        final int actingVersion,
+        final CompactTokenListener listener)
+    {
+        while (tokenIdx < numTokens)
+        {
+            if (BEGIN_VAR_DATA != ir.signal(tokenIdx))
+            {
+                break;
+            }
+
+            final boolean isPresent = ir.version(tokenIdx) <= actingVersion;
+
+            final int lengthIdx = tokenIdx + 2;
+            final int length = isPresent ? Types.getInt(
+                buffer,
+                bufferOffset + ir.offset(lengthIdx),
+                ir.primitiveType(lengthIdx),
+                ir.byteOrder(lengthIdx)) : 0;
+
+            final int dataIdx = tokenIdx + 3;
+            if (isPresent)
+            {
+                bufferOffset += ir.offset(dataIdx);
+            }
+
+            listener.onVarData(ir, tokenIdx, buffer, bufferOffset, length, dataIdx);
+
+            bufferOffset += length;
+            tokenIdx += ir.componentTokenCount(tokenIdx);
+        }
+
+        return bufferOffset;
+    }
+
     private static long pack(final int bufferOffset, final int tokenIndex)
     {
         return ((long)bufferOffset << 32) | tokenIndex;
@@ -0,0 +1,628 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Signal;
+import uk.co.real_logic.sbe.ir.Token;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static uk.co.real_logic.sbe.otf.CompiledMessageDecoder.*;
+
+/**
+ * On-the-fly decoder for a stream of messages, each preceded by its message header, which can be fed the stream in
+ * fragments of any size such as the reads from a socket or the tail of a file.
+ * <p>
+ * The {@link TokenListener} is called back for each field as soon as the bytes for it are available and for each
+ * group as soon as its header is available. Var data is passed to a {@link VarDataFragmentListener} in parts as each
+ * fragment arrives. Fragments are decoded in place and only the bytes of a header or a single field which is split
+ * across fragments are copied to be reassembled, into a buffer sized for the largest field of the schema, so neither
+ * a block nor var data is ever buffered in full.
+ * <p>
+ * Should a fragment fail to decode, e.g. for an unknown template id, the decoder is reset to expect a message header
+ * so the caller can resynchronise the stream.
+ * <p>
+ * The decoder keeps its position in the decode plan of the current message between calls and is not thread safe.
+ * Plans are compiled with {@link CompiledMessageDecoder} on first use of each template.
+ */
+public class StreamingMessageDecoder
+{
+    private static final int STATE_HEADER = 0;
+    private static final int STATE_BLOCK = 1;
+    private static final int STATE_GROUP_HEADER = 2;
+    private static final int STATE_VAR_DATA_HEADER = 3;
+    private static final int STATE_VAR_DATA = 4;
+
+    private final Ir ir;
+    private final OtfHeaderDecoder headerDecoder;
+    private final TokenListener listener;
+    private final VarDataFragmentListener varDataListener;
+    private final Int2ObjectHashMap<CompiledMessageDecoder> decoderByTemplateId = new Int2ObjectHashMap<>();
+    private final UnsafeBuffer stagingBuffer;
+
+    private int state = STATE_HEADER;
+    private int stagedLength;
+    private int blockPosition;
+    private int actingVersion;
+    private int varDataLength;
+    private int varDataPosition;
+    private List<Token> tokens;
+    private Token[] tokenArray;
+    private int[] plan;
+
+    private int depth;
+    private int[] pcs = new int[4];
+    private int[] endPcs = new int[4];
+    private int[] blockLengths = new int[4];
+    private int[] groupPcs = new int[4];
+    private int[] groupIndexes = new int[4];
+    private int[] numInGroups = new int[4];
+
+    /**
+     * Construct a decoder for a stream of messages of a schema which calls back the listener with the whole of each
+     * var data field, copying those which are split across fragments with a {@link VarDataAssembler}.
+     *
+     * @param ir       for the schema of the messages.
+     * @param listener to callback for decoding the primitive values as discovered in the structure.
+     */
+    public StreamingMessageDecoder(final Ir ir, final TokenListener listener)
+    {
+        this(ir, listener, new VarDataAssembler(listener));
+    }
+
+    /**
+     * Construct a decoder for a stream of messages of a schema which passes var data in parts as it arrives so it is
+     * never copied.
+     *
+     * @param ir              for the schema of the messages.
+     * @param listener        to callback for decoding the primitive values as discovered in the structure.
+     * @param varDataListener to callback with the parts of each var data field.
+     */
+    public StreamingMessageDecoder(
+        final Ir ir, final TokenListener listener, final VarDataFragmentListener varDataListener)
+    {
+        this.ir = ir;
+        this.headerDecoder = new OtfHeaderDecoder(ir.headerStructure());
+        this.listener = listener;
+        this.varDataListener = varDataListener;
+        this.stagingBuffer = new UnsafeBuffer(new byte[maxStagedLength(ir, headerDecoder.encodedLength())]);
+    }
+
+    /**
+     * Decode the next fragment of the stream. All bytes of the fragment are consumed.
+     *
+     * @param buffer containing the fragment.
+     * @param offset at which the fragment starts in the buffer.
+     * @param length of the fragment.
+     * @return the number of messages which were completed by the fragment.
+     * @throws IllegalStateException if the fragment cannot be decoded, e.g. for an unknown template id, after the
+     *                               decoder has been {@link #reset()} to expect a message header.
+     */
+    public int decode(final DirectBuffer buffer, final int offset, final int length)
+    {
+        try
+        {
+            return decodeFragment(buffer, offset, offset + length);
+        }
+        catch (final RuntimeException ex)
+        {
+            reset();
+            throw ex;
+        }
+    }
+
+    /**
+     * The number of bytes required before the next callback to the {@link TokenListener} or
+     * {@link VarDataFragmentListener} can be made.
+     *
+     * @return the number of bytes required before the next callback can be made.
+     */
+    public int bytesRequired()
+    {
+        if (STATE_BLOCK == state)
+        {
+            final int pc = pcs[depth];
+            final int blockLength = blockLengths[depth];
+            final int end = pc < endPcs[depth] && isFieldOpcode(plan[pc + OPCODE]) ?
+                fieldEnd(pc, blockLength) : blockLength;
+
+            return Math.max(end - blockPosition, 0);
+        }
+
+        if (STATE_VAR_DATA == state)
+        {
+            return varDataLength - varDataPosition;
+        }
+
+        return unitLength() - stagedLength;
+    }
+
+    /**
+     * Is the decoder at the boundary between messages, with no partially decoded message.
+     *
+     * @return true if the decoder is at the boundary between messages.
+     */
+    public boolean isAtMessageBoundary()
+    {
+        return STATE_HEADER == state && 0 == stagedLength;
+    }
+
+    /**
+     * Discard any partially decoded message so the next fragment is decoded from the start of a message header.
+     */
+    public void reset()
+    {
+        state = STATE_HEADER;
+        stagedLength = 0;
+        blockPosition = 0;
+        varDataPosition = 0;
+        depth = 0;
+    }
+
+    private int decodeFragment(final DirectBuffer buffer, final int offset, final int limit)
+    {
+        int position = offset;
+        int messageCount = 0;
+
+        while (true)
+        {
+            if (STATE_BLOCK == state)
+            {
+                position = decodeBlock(buffer, position, limit);
+                if (blockPosition < blockLengths[depth])
+                {
+                    break;
+                }
+
+                blockPosition = 0;
+            }
+            else if (STATE_VAR_DATA == state)
+            {
+                final int pc = pcs[depth];
+                final int bytes = Math.min(varDataLength - varDataPosition, limit - position);
+                if (0 == bytes && 0 != varDataLength)
+                {
+                    break;
+                }
+
+                varDataListener.onVarDataFragment(
+                    tokenArray[plan[pc + TOKEN]],
+                    buffer,
+                    position,
+                    bytes,
+                    varDataPosition,
+                    varDataLength,
+                    tokenArray[plan[pc + FROM]]);
+                position += bytes;
+                varDataPosition += bytes;
+
+                if (varDataPosition < varDataLength)
+                {
+                    break;
+                }
+
+                varDataPosition = 0;
+                pcs[depth] = pc + INSTRUCTION_LENGTH;
+            }
+            else
+            {
+                final int unitLength = unitLength();
+                final DirectBuffer unitBuffer;
+                final int unitOffset;
+
+                if (0 == stagedLength && limit - position >= unitLength)
+                {
+                    unitBuffer = buffer;
+                    unitOffset = position;
+                    position += unitLength;
+                }
+                else
+                {
+                    final int bytes = Math.min(unitLength - stagedLength, limit - position);
+                    stagingBuffer.putBytes(stagedLength, buffer, position, bytes);
+                    stagedLength += bytes;
+                    position += bytes;
+
+                    if (stagedLength < unitLength)
+                    {
+                        break;
+                    }
+
+                    unitBuffer = stagingBuffer;
+                    unitOffset = 0;
+                    stagedLength = 0;
+                }
+
+                if (onUnit(unitBuffer, unitOffset))
+                {
+                    messageCount++;
+                }
+                continue;
+            }
+
+            if (advance())
+            {
+                messageCount++;
+            }
+        }
+
+        return messageCount;
+    }
+
+    private int unitLength()
+    {
+        switch (state)
+        {
+            case STATE_HEADER:
+                return headerDecoder.encodedLength();
+
+            case STATE_GROUP_HEADER:
+                return plan[pcs[depth] + HEADER_LENGTH];
+
+            case STATE_VAR_DATA_HEADER:
+                return plan[pcs[depth] + COUNT_OFFSET];
+
+            default:
+                throw new IllegalStateException("unknown state: " + state);
+        }
+    }
+
+    private boolean onUnit(final DirectBuffer buffer, final int offset)
+    {
+        final int pc = pcs[depth];
+
+        switch (state)
+        {
+            case STATE_HEADER:
+                onMessageHeader(buffer, offset);
+                return false;
+
+            case STATE_GROUP_HEADER:
+            {
+                final int blockLength = getInt(buffer, offset + plan[pc + OFFSET], plan[pc + TYPE]);
+                final int numInGroup = getInt(buffer, offset + plan[pc + COUNT_OFFSET], plan[pc + COUNT_TYPE]);
+                return onGroupHeader(pc, blockLength, numInGroup);
+            }
+
+            case STATE_VAR_DATA_HEADER:
+                varDataLength = getInt(buffer, offset + plan[pc + OFFSET], plan[pc + TYPE]);
+                varDataPosition = 0;
+                state = STATE_VAR_DATA;
+                return false;
+
+            default:
+                throw new IllegalStateException("unknown state: " + state);
+        }
+    }
+
+    private void onMessageHeader(final DirectBuffer buffer, final int offset)
+    {
+        final int templateId = headerDecoder.getTemplateId(buffer, offset);
+        CompiledMessageDecoder decoder = decoderByTemplateId.get(templateId);
+        if (null == decoder)
+        {
+            final List<Token> msgTokens = ir.getMessage(templateId);
+            if (null == msgTokens)
+            {
+                throw new IllegalStateException("unknown template id: " + templateId);
+            }
+
+            decoder = new CompiledMessageDecoder(msgTokens);
+            decoderByTemplateId.put(templateId, decoder);
+        }
+
+        tokens = decoder.tokens;
+        tokenArray = decoder.tokenArray;
+        plan = decoder.plan;
+        actingVersion = headerDecoder.getSchemaVersion(buffer, offset);
+
+        depth = 0;
+        pcs[0] = 0;
+        endPcs[0] = plan.length;
+        blockLengths[0] = headerDecoder.getBlockLength(buffer, offset);
+        state = STATE_BLOCK;
+
+        listener.onBeginMessage(tokenArray[0]);
+    }
+
+    private int decodeBlock(final DirectBuffer buffer, final int offset, final int limit)
+    {
+        final int[] plan = this.plan;
+        final int blockLength = blockLengths[depth];
+        final int endPc = endPcs[depth];
+        int pc = pcs[depth];
+        int position = offset;
+
+        if (0 == blockPosition && limit - position >= blockLength)
+        {
+            while (pc < endPc && isFieldOpcode(plan[pc + OPCODE]))
+            {
+                decodeField(buffer, position, pc);
+                pc += INSTRUCTION_LENGTH;
+            }
+
+            pcs[depth] = pc;
+            blockPosition = blockLength;
+
+            return position + blockLength;
+        }
+
+        while (pc < endPc && isFieldOpcode(plan[pc + OPCODE]))
+        {
+            final int fieldStart;
+            final int fieldEnd;
+            if (isCompositeOpcode(plan[pc + OPCODE]))
+            {
+                fieldStart = blockPosition;
+                fieldEnd = blockPosition;
+            }
+            else
+            {
+                fieldStart = Math.min(plan[pc + OFFSET], blockLength);
+                fieldEnd = fieldEnd(pc, blockLength);
+            }
+
+            if (0 == stagedLength)
+            {
+                if (fieldStart < blockPosition)
+                {
+                    throw new IllegalStateException(
+                        "field overlaps previous field: " + tokenArray[plan[pc + TOKEN]].name());
+                }
+
+                final int skipped = Math.min(fieldStart - blockPosition, limit - position);
+                position += skipped;
+                blockPosition += skipped;
+
+                if (blockPosition < fieldStart)
+                {
+                    break;
+                }
+
+                if (limit - position >= fieldEnd - fieldStart)
+                {
+                    decodeField(buffer, position - blockPosition, pc);
+                    position += fieldEnd - fieldStart;
+                    blockPosition = fieldEnd;
+                    pc += INSTRUCTION_LENGTH;
+                    continue;
+                }
+            }
+
+            final int bytes = Math.min(fieldEnd - blockPosition, limit - position);
+            stagingBuffer.putBytes(stagedLength, buffer, position, bytes);
+            stagedLength += bytes;
+            position += bytes;
+            blockPosition += bytes;
+
+            if (blockPosition < fieldEnd)
+            {
+                break;
+            }
+
+            decodeField(stagingBuffer, -fieldStart, pc);
+            stagedLength = 0;
+            pc += INSTRUCTION_LENGTH;
+        }
+
+        pcs[depth] = pc;
+
+        if (!(pc < endPc && isFieldOpcode(plan[pc + OPCODE])))
+        {
+            final int padding = Math.min(blockLength - blockPosition, limit - position);
+            position += padding;
+            blockPosition += padding;
+        }
+
+        return position;
+    }
+
+    private void decodeField(final DirectBuffer buffer, final int blockOffset, final int pc)
+    {
+        final int[] plan = this.plan;
+        final Token[] tokenArray = this.tokenArray;
+
+        switch (plan[pc + OPCODE])
+        {
+            case OP_ENCODING:
+                listener.onEncoding(
+                    tokenArray[plan[pc + TOKEN]],
+                    buffer,
+                    blockOffset + plan[pc + OFFSET],
+                    tokenArray[plan[pc + FROM]],
+                    actingVersion);
+                break;
+
+            case OP_ENUM:
+                listener.onEnum(
+                    tokenArray[plan[pc + TOKEN]],
+                    buffer,
+                    blockOffset + plan[pc + OFFSET],
+                    tokens,
+                    plan[pc + FROM],
+                    plan[pc + TO],
+                    actingVersion);
+                break;
+
+            case OP_SET:
+                listener.onBitSet(
+                    tokenArray[plan[pc + TOKEN]],
+                    buffer,
+                    blockOffset + plan[pc + OFFSET],
+                    tokens,
+                    plan[pc + FROM],
+                    plan[pc + TO],
+                    actingVersion);
+                break;
+
+            case OP_BEGIN_COMPOSITE:
+                listener.onBeginComposite(tokenArray[plan[pc + TOKEN]], tokens, plan[pc + FROM], plan[pc + TO]);
+                break;
+
+            case OP_END_COMPOSITE:
+                listener.onEndComposite(tokenArray[plan[pc + TOKEN]], tokens, plan[pc + FROM], plan[pc + TO]);
+                break;
+        }
+    }
+
+    private boolean onGroupHeader(final int pc, final int blockLength, final int numInGroup)
+    {
+        final Token groupToken = tokenArray[plan[pc + TOKEN]];
+        listener.onGroupHeader(groupToken, numInGroup);
+
+        if (0 == numInGroup)
+        {
+            pcs[depth] = plan[pc + END];
+            return advance();
+        }
+
+        if (++depth == pcs.length)
+        {
+            final int newLength = depth * 2;
+            pcs = Arrays.copyOf(pcs, newLength);
+            endPcs = Arrays.copyOf(endPcs, newLength);
+            blockLengths = Arrays.copyOf(blockLengths, newLength);
+            groupPcs = Arrays.copyOf(groupPcs, newLength);
+            groupIndexes = Arrays.copyOf(groupIndexes, newLength);
+            numInGroups = Arrays.copyOf(numInGroups, newLength);
+        }
+
+        pcs[depth] = pc + INSTRUCTION_LENGTH;
+        endPcs[depth] = plan[pc + END];
+        blockLengths[depth] = blockLength;
+        groupPcs[depth] = pc;
+        groupIndexes[depth] = 0;
+        numInGroups[depth] = numInGroup;
+        state = STATE_BLOCK;
+
+        listener.onBeginGroup(groupToken, 0, numInGroup);
+
+        return false;
+    }
+
+    /**
+     * Advance past the end of the fields of a block to the next group, var data, group element, or message.
+     *
+     * @return true if the message is complete.
+     */
+    private boolean advance()
+    {
+        while (true)
+        {
+            final int pc = pcs[depth];
+            if (pc < endPcs[depth])
+            {
+                final boolean isPresent = plan[pc + VERSION] <= actingVersion;
+                if (OP_GROUP == plan[pc + OPCODE])
+                {
+                    if (isPresent)
+                    {
+                        state = STATE_GROUP_HEADER;
+                        return false;
+                    }
+
+                    listener.onGroupHeader(tokenArray[plan[pc + TOKEN]], 0);
+                    pcs[depth] = plan[pc + END];
+                }
+                else
+                {
+                    if (isPresent)
+                    {
+                        state = STATE_VAR_DATA_HEADER;
+                        return false;
+                    }
+
+                    varDataListener.onVarDataFragment(
+                        tokenArray[plan[pc + TOKEN]], stagingBuffer, 0, 0, 0, 0, tokenArray[plan[pc + FROM]]);
+                    pcs[depth] = pc + INSTRUCTION_LENGTH;
+                }
+            }
+            else if (depth > 0)
+            {
+                final int groupPc = groupPcs[depth];
+                final Token groupToken = tokenArray[plan[groupPc + TOKEN]];
+                final int groupIndex = groupIndexes[depth];
+                final int numInGroup = numInGroups[depth];
+
+                listener.onEndGroup(groupToken, groupIndex, numInGroup);
+
+                if (groupIndex + 1 < numInGroup)
+                {
+                    groupIndexes[depth] = groupIndex + 1;
+                    pcs[depth] = groupPc + INSTRUCTION_LENGTH;
+                    state = STATE_BLOCK;
+                    listener.onBeginGroup(groupToken, groupIndex + 1, numInGroup);
+
+                    return false;
+                }
+
+                depth--;
+                pcs[depth] = plan[groupPc + END];
+            }
+            else
+            {
+                listener.onEndMessage(tokenArray[tokenArray.length - 1]);
+                state = STATE_HEADER;
+
+                return true;
+            }
+        }
+    }
+
+    private int fieldEnd(final int pc, final int blockLength)
+    {
+        if (isCompositeOpcode(plan[pc + OPCODE]))
+        {
+            return blockPosition;
+        }
+
+        return Math.min(blockLength, plan[pc + OFFSET] + tokenArray[plan[pc + FROM]].encodedLength());
+    }
+
+    private static boolean isFieldOpcode(final int opcode)
+    {
+        return OP_GROUP != opcode && OP_VAR_DATA != opcode;
+    }
+
+    private static boolean isCompositeOpcode(final int opcode)
+    {
+        return OP_BEGIN_COMPOSITE == opcode || OP_END_COMPOSITE == opcode;
+    }
+
+    private static int maxStagedLength(final Ir ir, final int headerLength)
+    {
+        int maxLength = headerLength;
+        for (final List<Token> tokens : ir.messages())
+        {
+            for (final Token token : tokens)
+            {
+                final Signal signal = token.signal();
+                if (Signal.ENCODING == signal || Signal.BEGIN_ENUM == signal ||
+                    Signal.BEGIN_SET == signal || Signal.BEGIN_COMPOSITE == signal)
+                {
+                    maxLength = Math.max(maxLength, token.encodedLength());
+                }
+            }
+        }
+
+        return maxLength;
+    }
+}
@@ -80,7 +80,22 @@ public class Types
      */
     public static long getLong(final DirectBuffer buffer, final int index, final Encoding encoding)
     {
-        switch (encoding.primitiveType())
+        return getLong(buffer, index, encoding.primitiveType(), encoding.byteOrder());
+    }
+
+    /**
+     * Get a long value from a buffer at a given index for a {@link PrimitiveType}.
+     *
+     * @param buffer    from which to read.
+     * @param index     at which the integer should be read.
+     * @param type      of the value encoded in the buffer.
+     * @param byteOrder of the value in the buffer.
+     * @return the value of the encoded long.
+     */
+    public static long getLong(
+        final DirectBuffer buffer, final int index, final PrimitiveType type, final ByteOrder byteOrder)
+    {
+        switch (type)
         {
             case CHAR:
                 return buffer.getByte(index);
@@ -89,28 +104,28 @@ public class Types
                 return buffer.getByte(index);
 
             case INT16:
-                return buffer.getShort(index, encoding.byteOrder());
+                return buffer.getShort(index, byteOrder);
 
             case INT32:
-                return buffer.getInt(index, encoding.byteOrder());
+                return buffer.getInt(index, byteOrder);
 
             case INT64:
-                return buffer.getLong(index, encoding.byteOrder());
+                return buffer.getLong(index, byteOrder);
 
             case UINT8:
                 return (short)(buffer.getByte(index) & 0xFF);
 
             case UINT16:
-                return buffer.getShort(index, encoding.byteOrder()) & 0xFFFF;
+                return buffer.getShort(index, byteOrder) & 0xFFFF;
 
             case UINT32:
-                return buffer.getInt(index, encoding.byteOrder()) & 0xFFFF_FFFFL;
+                return buffer.getInt(index, byteOrder) & 0xFFFF_FFFFL;
 
             case UINT64:
-                return buffer.getLong(index, encoding.byteOrder());
+                return buffer.getLong(index, byteOrder);
 
             default:
-                throw new IllegalArgumentException("Unsupported type for long: " + encoding.primitiveType());
+                throw new IllegalArgumentException("Unsupported type for long: " + type);
         }
     }
 
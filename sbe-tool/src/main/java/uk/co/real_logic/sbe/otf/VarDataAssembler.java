@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import uk.co.real_logic.sbe.ir.Token;
+
+/**
+ * {@link VarDataFragmentListener} which calls {@link TokenListener#onVarData(Token, DirectBuffer, int, int, Token)}
+ * with the whole of each var data field for listeners which cannot consume it in parts.
+ * <p>
+ * A field which arrives in a single part is passed through in place and only a field which is split across fragments
+ * is copied to be reassembled.
+ */
+public class VarDataAssembler implements VarDataFragmentListener
+{
+    private final TokenListener listener;
+    private final ExpandableArrayBuffer assemblyBuffer = new ExpandableArrayBuffer(256);
+
+    /**
+     * Construct an assembler which calls back the given listener with whole var data fields.
+     *
+     * @param listener to call back with each whole var data field.
+     */
+    public VarDataAssembler(final TokenListener listener)
+    {
+        this.listener = listener;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onVarDataFragment(
+        final Token fieldToken,
+        final DirectBuffer buffer,
+        final int bufferIndex,
+        final int length,
+        final int dataOffset,
+        final int dataLength,
+        final Token typeToken)
+    {
+        if (0 == dataOffset && length == dataLength)
+        {
+            listener.onVarData(fieldToken, buffer, bufferIndex, length, typeToken);
+            return;
+        }
+
+        assemblyBuffer.putBytes(dataOffset, buffer, bufferIndex, length);
+        if (dataOffset + length == dataLength)
+        {
+            listener.onVarData(fieldToken, assemblyBuffer, 0, dataLength, typeToken);
+        }
+    }
+}
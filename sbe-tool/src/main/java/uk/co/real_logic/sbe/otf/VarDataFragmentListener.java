@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import uk.co.real_logic.sbe.ir.Token;
+
+/**
+ * Callback for the parts of a var data field as they arrive in the fragments of a stream decoded by a
+ * {@link StreamingMessageDecoder}, so a var data field never needs to be buffered in full.
+ */
+public interface VarDataFragmentListener
+{
+    /**
+     * Part of a var data field encountered. The parts of a field are called back in order and a field of zero length
+     * is called back once with a part of zero length.
+     *
+     * @param fieldToken  in the IR representing the var data field.
+     * @param buffer      containing the fragment of the stream.
+     * @param bufferIndex at which the part of the variable data begins.
+     * @param length      of the part in bytes.
+     * @param dataOffset  of the part from the start of the variable data.
+     * @param dataLength  of the whole of the variable data in bytes.
+     * @param typeToken   of the variable data. Needed to determine character encoding of the variable data.
+     */
+    void onVarDataFragment(
+        Token fieldToken,
+        DirectBuffer buffer,
+        int bufferIndex,
+        int length,
+        int dataOffset,
+        int dataLength,
+        Token typeToken);
+}
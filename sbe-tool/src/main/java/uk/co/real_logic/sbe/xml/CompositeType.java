@@ -16,21 +16,16 @@
 package uk.co.real_logic.sbe.xml;
 
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import uk.co.real_logic.sbe.PrimitiveType;
 import uk.co.real_logic.sbe.PrimitiveValue;
 import uk.co.real_logic.sbe.ir.Token;
 
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import static javax.xml.xpath.XPathConstants.NODESET;
 import static uk.co.real_logic.sbe.PrimitiveType.*;
 import static uk.co.real_logic.sbe.SbeTool.JAVA_GENERATE_INTERFACES;
 import static uk.co.real_logic.sbe.xml.XmlSchemaParser.getAttributeValue;
@@ -45,7 +40,7 @@ public class CompositeType extends Type
      * SBE schema composite type.
      */
     public static final String COMPOSITE_TYPE = "composite";
-    private static final String SUB_TYPES_EXP = "type|enum|set|composite|ref|data|group";
+    private static final String[] SUB_TYPE_NAMES = { "type", "enum", "set", "composite", "ref", "data", "group" };
 
     private final List<String> compositesPath = new ArrayList<>();
     private final Map<String, Type> containedTypeByNameMap = new LinkedHashMap<>();
@@ -73,12 +68,8 @@ public class CompositeType extends Type
         this.compositesPath.addAll(compositesPath);
         this.compositesPath.add(getAttributeValue(node, "name"));
 
-        final XPath xPath = XPathFactory.newInstance().newXPath();
-        final NodeList list = (NodeList)xPath.compile(SUB_TYPES_EXP).evaluate(node, NODESET);
-
-        for (int i = 0, size = list.getLength(); i < size; i++)
+        for (final Node subTypeNode : XmlSchemaParser.childElements(node, SUB_TYPE_NAMES))
         {
-            final Node subTypeNode = list.item(i);
             final String subTypeName = XmlSchemaParser.getAttributeValue(subTypeNode, "name");
 
             processType(subTypeNode, subTypeName, null, null);
@@ -423,11 +414,8 @@ public class CompositeType extends Type
 
             case "ref":
             {
-                final XPath xPath = XPathFactory.newInstance().newXPath();
                 final String refTypeName = XmlSchemaParser.getAttributeValue(subTypeNode, "type");
-                final String expression = "/*[local-name() = 'messageSchema']/types/*[@name='" + refTypeName + "']";
-                final Node refTypeNode = (Node)xPath.compile(expression)
-                    .evaluate(subTypeNode.getOwnerDocument(), XPathConstants.NODE);
+                final Node refTypeNode = XmlSchemaParser.findTypeNode(subTypeNode, null, refTypeName);
 
                 if (refTypeNode == null)
                 {
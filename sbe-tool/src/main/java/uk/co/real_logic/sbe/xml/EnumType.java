@@ -16,14 +16,10 @@
 package uk.co.real_logic.sbe.xml;
 
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import uk.co.real_logic.sbe.PrimitiveType;
 import uk.co.real_logic.sbe.PrimitiveValue;
 
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -64,7 +60,6 @@ public class EnumType extends Type
     {
         super(node, givenName, referencedName);
 
-        final XPath xPath = XPathFactory.newInstance().newXPath();
         final String encodingTypeStr = getAttributeValue(node, "encodingType");
         final EncodedDataType encodedDataType;
 
@@ -82,9 +77,7 @@ public class EnumType extends Type
 
             default:
                 // might not have run into this type yet, so look for it
-                final String expression = TYPE_XPATH_EXPR + "[@name='" + encodingTypeStr + "']";
-                final Node encodingTypeNode = (Node)xPath.compile(expression)
-                    .evaluate(node.getOwnerDocument(), XPathConstants.NODE);
+                final Node encodingTypeNode = findTypeNode(node, EncodedDataType.ENCODED_DATA_TYPE, encodingTypeStr);
 
                 if (null == encodingTypeNode)
                 {
@@ -121,11 +114,9 @@ public class EnumType extends Type
             handleError(node, "presence optional but no null value found");
         }
 
-        final NodeList list = (NodeList)xPath.compile("validValue").evaluate(node, XPathConstants.NODESET);
-
-        for (int i = 0, size = list.getLength(); i < size; i++)
+        for (final Node validValueNode : childElements(node, "validValue"))
         {
-            final ValidValue v = new ValidValue(list.item(i), encodingType);
+            final ValidValue v = new ValidValue(validValueNode, encodingType);
 
             if (validValueByPrimitiveValueMap.get(v.primitiveValue()) != null)
             {
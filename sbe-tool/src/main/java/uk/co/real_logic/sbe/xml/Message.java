@@ -20,16 +20,12 @@ import org.agrona.collections.ObjectHashSet;
 import uk.co.real_logic.sbe.ir.Token;
 
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import static javax.xml.xpath.XPathConstants.NODESET;
 import static uk.co.real_logic.sbe.xml.XmlSchemaParser.*;
 
 /**
@@ -45,8 +41,6 @@ import static uk.co.real_logic.sbe.xml.XmlSchemaParser.*;
  */
 public class Message
 {
-    private static final String FIELD_OR_GROUP_OR_DATA_EXPR = "field|group|data";
-
     private final int id;
     private final String name;
     private final String description;
@@ -177,20 +171,19 @@ public class Message
         return Math.max(blockLength, computedBlockLength);
     }
 
-    private List<Field> parseMembers(final Node node) throws XPathExpressionException
+    private List<Field> parseMembers(final Node node)
     {
-        final XPath xPath = XPathFactory.newInstance().newXPath();
-        final NodeList list = (NodeList)xPath.compile(FIELD_OR_GROUP_OR_DATA_EXPR).evaluate(node, NODESET);
+        final List<Node> list = childElements(node, "field", "group", "data");
         boolean groupEncountered = false, dataEncountered = false;
 
         final ObjectHashSet<String> distinctNames = new ObjectHashSet<>();
         final IntHashSet distinctIds = new IntHashSet();
         final ArrayList<Field> fieldList = new ArrayList<>();
 
-        for (int i = 0, size = list.getLength(); i < size; i++)
+        for (final Node memberNode : list)
         {
             final Field field;
-            final String nodeName = list.item(i).getNodeName();
+            final String nodeName = memberNode.getNodeName();
 
             switch (nodeName)
             {
@@ -200,12 +193,12 @@ public class Message
                         handleError(node, "group node specified after data node");
                     }
 
-                    field = parseGroupField(list, i);
+                    field = parseGroupField(memberNode);
                     groupEncountered = true;
                     break;
 
                 case "data":
-                    field = parseDataField(list, i);
+                    field = parseDataField(memberNode);
                     dataEncountered = true;
                     break;
 
@@ -215,7 +208,7 @@ public class Message
                         handleError(node, "field node specified after group or data node specified");
                     }
 
-                    field = parseField(list, i);
+                    field = parseField(memberNode);
                     break;
 
                 default:
@@ -238,9 +231,8 @@ public class Message
         return fieldList;
     }
 
-    private Field parseGroupField(final NodeList nodeList, final int nodeIndex) throws XPathExpressionException
+    private Field parseGroupField(final Node node)
     {
-        final Node node = nodeList.item(nodeIndex);
         final String dimensionTypeName = getAttributeValue(node, "dimensionType", "groupSizeEncoding");
         Type dimensionType = typeByNameMap.get(dimensionTypeName);
         if (dimensionType == null)
@@ -274,9 +266,8 @@ public class Message
         return field;
     }
 
-    private Field parseField(final NodeList nodeList, final int nodeIndex)
+    private Field parseField(final Node node)
     {
-        final Node node = nodeList.item(nodeIndex);
         final String typeName = getAttributeValue(node, "type");
         final Type fieldType = typeByNameMap.get(typeName);
         if (fieldType == null)
@@ -325,9 +316,8 @@ public class Message
         return presence;
     }
 
-    private Field parseDataField(final NodeList nodeList, final int nodeIndex)
+    private Field parseDataField(final Node node)
     {
-        final Node node = nodeList.item(nodeIndex);
         final String typeName = getAttributeValue(node, "type");
         final Type fieldType = typeByNameMap.get(typeName);
         if (fieldType == null)
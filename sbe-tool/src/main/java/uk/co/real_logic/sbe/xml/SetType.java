@@ -16,14 +16,10 @@
 package uk.co.real_logic.sbe.xml;
 
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import uk.co.real_logic.sbe.PrimitiveType;
 import uk.co.real_logic.sbe.PrimitiveValue;
 
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -63,7 +59,6 @@ public class SetType extends Type
     {
         super(node, givenName, referencedName);
 
-        final XPath xPath = XPathFactory.newInstance().newXPath();
         final String encodingTypeStr = getAttributeValue(node, "encodingType");
 
         switch (encodingTypeStr)
@@ -77,10 +72,7 @@ public class SetType extends Type
 
             default:
                 // might not have run into this type yet, so look for it
-                final String expression = TYPE_XPATH_EXPR + "[@name='" + encodingTypeStr + "']";
-                final Node encodingTypeNode = (Node)xPath
-                    .compile(expression)
-                    .evaluate(node.getOwnerDocument(), XPathConstants.NODE);
+                final Node encodingTypeNode = findTypeNode(node, EncodedDataType.ENCODED_DATA_TYPE, encodingTypeStr);
 
                 if (null == encodingTypeNode)
                 {
@@ -102,11 +94,9 @@ public class SetType extends Type
             throw new IllegalArgumentException("Illegal encodingType " + encodingTypeStr);
         }
 
-        final NodeList list = (NodeList)xPath.compile("choice").evaluate(node, XPathConstants.NODESET);
-
-        for (int i = 0, size = list.getLength(); i < size; i++)
+        for (final Node choiceNode : childElements(node, "choice"))
         {
-            final Choice c = new Choice(list.item(i), encodingType);
+            final Choice c = new Choice(choiceNode, encodingType);
 
             if (choiceByPrimitiveValueMap.get(c.primitiveValue()) != null)
             {
@@ -28,7 +28,9 @@ import javax.xml.xpath.*;
 import java.io.File;
 import java.io.InputStream;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static uk.co.real_logic.sbe.PrimitiveType.*;
@@ -45,6 +47,11 @@ public class XmlSchemaParser
      */
     public static final String ERROR_HANDLER_KEY = "SbeErrorHandler";
 
+    /**
+     * Key for storing the index of type nodes by name as user data in XML document.
+     */
+    static final String TYPE_NODE_INDEX_KEY = "SbeTypeNodeIndex";
+
     static final String TYPE_XPATH_EXPR =
         "/*[local-name() = 'messageSchema']/types/" + EncodedDataType.ENCODED_DATA_TYPE;
 
@@ -476,6 +483,111 @@ public class XmlSchemaParser
                 ">" : (" name=\"" + getAttributeValueOrNull(node, "name") + "\"> "));
     }
 
+    /**
+     * Child elements of a node which match one of a list of names, in document order. This is equivalent to the
+     * relative XPath expression {@code name1|name2|...} evaluated against the node without building a model of the
+     * whole document for each evaluation.
+     *
+     * @param node  whose children are to be matched.
+     * @param names of the elements to be matched.
+     * @return the matching child elements in document order.
+     */
+    static List<Node> childElements(final Node node, final String... names)
+    {
+        final List<Node> elements = new ArrayList<>();
+
+        for (Node child = node.getFirstChild(); null != child; child = child.getNextSibling())
+        {
+            for (final String name : names)
+            {
+                if (isElement(child, name))
+                {
+                    elements.add(child);
+                    break;
+                }
+            }
+        }
+
+        return elements;
+    }
+
+    /**
+     * Find the first element in document order with a name attribute under {@code /messageSchema/types}. This is
+     * equivalent to the XPath expression {@code /*[local-name() = 'messageSchema']/types/element[@name='name']}
+     * but uses an index which is built on first use and held as user data in the document.
+     *
+     * @param node        in the document to be searched.
+     * @param elementName of the type element to be matched or null to match any element.
+     * @param name        attribute value of the type element to be matched.
+     * @return the matching element or null if not found.
+     */
+    @SuppressWarnings("unchecked")
+    static Node findTypeNode(final Node node, final String elementName, final String name)
+    {
+        final Document document = node instanceof Document ? (Document)node : node.getOwnerDocument();
+        Map<String, Node> typeNodeByKey = (Map<String, Node>)document.getUserData(TYPE_NODE_INDEX_KEY);
+        if (null == typeNodeByKey)
+        {
+            typeNodeByKey = new HashMap<>();
+            final Element schemaElement = document.getDocumentElement();
+            if (null != schemaElement && "messageSchema".equals(localName(schemaElement)))
+            {
+                for (final Node typesNode : childElements(schemaElement, "types"))
+                {
+                    for (Node child = typesNode.getFirstChild(); null != child; child = child.getNextSibling())
+                    {
+                        final String typeName = Node.ELEMENT_NODE == child.getNodeType() ?
+                            getAttributeValueOrNull(child, "name") : null;
+
+                        if (null != typeName)
+                        {
+                            typeNodeByKey.putIfAbsent(typeNodeKey(null, typeName), child);
+                            if (isElement(child, child.getNodeName()))
+                            {
+                                typeNodeByKey.putIfAbsent(typeNodeKey(child.getNodeName(), typeName), child);
+                            }
+                        }
+                    }
+                }
+            }
+
+            document.setUserData(TYPE_NODE_INDEX_KEY, typeNodeByKey, null);
+        }
+
+        return typeNodeByKey.get(typeNodeKey(elementName, name));
+    }
+
+    private static String typeNodeKey(final String elementName, final String name)
+    {
+        return (null == elementName ? "*" : elementName) + ':' + name;
+    }
+
+    private static boolean isElement(final Node node, final String name)
+    {
+        if (Node.ELEMENT_NODE != node.getNodeType())
+        {
+            return false;
+        }
+
+        final String localName = node.getLocalName();
+
+        return null == localName ? name.equals(node.getNodeName()) :
+            null == node.getNamespaceURI() && name.equals(localName);
+    }
+
+    private static String localName(final Node node)
+    {
+        final String localName = node.getLocalName();
+        if (null != localName)
+        {
+            return localName;
+        }
+
+        final String nodeName = node.getNodeName();
+
+        return nodeName.substring(nodeName.indexOf(':') + 1);
+    }
+
     @FunctionalInterface
     interface NodeFunction
     {
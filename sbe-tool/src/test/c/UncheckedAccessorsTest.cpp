@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <cstring>
+
+#include <gtest/gtest.h>
+
+// generated with sbe.c.unchecked.accessors=true
+#include "code_generation_test/car.h"
+
+#define CGT(name) code_generation_test_##name
+
+static const std::size_t BUFFER_LEN = 2048;
+static const std::uint64_t SERIAL_NUMBER = 1234;
+static const std::uint16_t MODEL_YEAR = 2013;
+static const std::uint16_t FUEL_FIGURES_COUNT = 3;
+static const char *MANUFACTURER = "Honda";
+static const char *MODEL = "Civic VTi";
+
+class UncheckedAccessorsTest : public testing::Test
+{
+public:
+    std::uint64_t encodeCar()
+    {
+        CGT(car) car;
+        if (!CGT(car_wrap_for_encode)(&car, m_buffer, 0, sizeof(m_buffer)))
+        {
+            throw std::runtime_error(sbe_strerror(errno));
+        }
+
+        CGT(car_set_serialNumber)(&car, SERIAL_NUMBER);
+        CGT(car_set_modelYear)(&car, MODEL_YEAR);
+
+        CGT(car_fuelFigures) fuelFigures;
+        if (!CGT(car_fuelFigures_set_count)(&car, &fuelFigures, FUEL_FIGURES_COUNT))
+        {
+            throw std::runtime_error(sbe_strerror(errno));
+        }
+
+        for (std::uint16_t i = 0; i < FUEL_FIGURES_COUNT; i++)
+        {
+            CGT(car_fuelFigures_next)(&fuelFigures);
+            CGT(car_fuelFigures_set_speed)(&fuelFigures, static_cast<std::uint16_t>(30 + i));
+            CGT(car_fuelFigures_set_mpg)(&fuelFigures, 35.5f + i);
+            CGT(car_fuelFigures_put_usageDescription)(&fuelFigures, "", 0);
+        }
+
+        CGT(car_performanceFigures) performanceFigures;
+        if (!CGT(car_performanceFigures_set_count)(&car, &performanceFigures, 0))
+        {
+            throw std::runtime_error(sbe_strerror(errno));
+        }
+
+        CGT(car_put_manufacturer)(&car, MANUFACTURER, static_cast<std::uint16_t>(strlen(MANUFACTURER)));
+        CGT(car_put_model)(&car, MODEL, static_cast<std::uint16_t>(strlen(MODEL)));
+        CGT(car_put_activationCode)(&car, "", 0);
+        CGT(car_put_color)(&car, "", 0);
+
+        return CGT(car_encoded_length)(&car);
+    }
+
+    char m_buffer[BUFFER_LEN] = {};
+};
+
+TEST_F(UncheckedAccessorsTest, shouldEncodeAndDecodeCar)
+{
+    const std::uint64_t length = encodeCar();
+
+    CGT(car) car;
+    ASSERT_NE(CGT(car_wrap_for_decode)(
+        &car, m_buffer, 0, CGT(car_sbe_block_length)(), CGT(car_sbe_schema_version)(), length), nullptr);
+
+    EXPECT_EQ(CGT(car_serialNumber)(&car), SERIAL_NUMBER);
+    EXPECT_EQ(CGT(car_modelYear)(&car), MODEL_YEAR);
+
+    CGT(car_fuelFigures) fuelFigures;
+    ASSERT_NE(CGT(car_get_fuelFigures)(&car, &fuelFigures), nullptr);
+    ASSERT_EQ(CGT(car_fuelFigures_count)(&fuelFigures), FUEL_FIGURES_COUNT);
+
+    std::uint16_t i = 0;
+    while (CGT(car_fuelFigures_has_next)(&fuelFigures))
+    {
+        CGT(car_fuelFigures_next)(&fuelFigures);
+        EXPECT_EQ(CGT(car_fuelFigures_speed)(&fuelFigures), 30 + i);
+        EXPECT_EQ(CGT(car_fuelFigures_mpg)(&fuelFigures), 35.5f + i);
+        EXPECT_EQ(CGT(car_fuelFigures_usageDescription_length)(&fuelFigures), 0u);
+        CGT(car_fuelFigures_usageDescription)(&fuelFigures);
+        i++;
+    }
+    EXPECT_EQ(i, FUEL_FIGURES_COUNT);
+
+    CGT(car_performanceFigures) performanceFigures;
+    ASSERT_NE(CGT(car_get_performanceFigures)(&car, &performanceFigures), nullptr);
+    EXPECT_FALSE(CGT(car_performanceFigures_has_next)(&performanceFigures));
+
+    const std::string manufacturer(
+        CGT(car_manufacturer)(&car), static_cast<std::size_t>(CGT(car_manufacturer_length)(&car)));
+    EXPECT_EQ(manufacturer, MANUFACTURER);
+    const std::string model(CGT(car_model)(&car), static_cast<std::size_t>(CGT(car_model_length)(&car)));
+    EXPECT_EQ(model, MODEL);
+}
+
+TEST_F(UncheckedAccessorsTest, shouldCheckBlockLengthWhenWrapped)
+{
+    CGT(car) car;
+    errno = 0;
+
+    EXPECT_EQ(CGT(car_wrap_for_decode)(
+        &car, m_buffer, 0, CGT(car_sbe_block_length)(), CGT(car_sbe_schema_version)(),
+        CGT(car_sbe_block_length)() - 1), nullptr);
+    EXPECT_EQ(errno, E100);
+
+    EXPECT_EQ(CGT(car_wrap_for_encode)(&car, m_buffer, 0, CGT(car_sbe_block_length)() - 1), nullptr);
+}
+
+TEST_F(UncheckedAccessorsTest, shouldCheckGroupExtentWhenWrapped)
+{
+    encodeCar();
+
+    const std::uint64_t fuelFiguresEnd = CGT(car_sbe_block_length)() +
+        CGT(car_fuelFigures_sbe_header_size)() + (FUEL_FIGURES_COUNT * CGT(car_fuelFigures_sbe_block_length)());
+
+    CGT(car) car;
+    ASSERT_NE(CGT(car_wrap_for_decode)(
+        &car, m_buffer, 0, CGT(car_sbe_block_length)(), CGT(car_sbe_schema_version)(), fuelFiguresEnd - 1), nullptr);
+
+    CGT(car_fuelFigures) fuelFigures;
+    errno = 0;
+    EXPECT_EQ(CGT(car_get_fuelFigures)(&car, &fuelFigures), nullptr);
+    EXPECT_EQ(errno, E108);
+
+    ASSERT_NE(CGT(car_wrap_for_encode)(&car, m_buffer, 0, fuelFiguresEnd - 1), nullptr);
+    errno = 0;
+    EXPECT_EQ(CGT(car_fuelFigures_set_count)(&car, &fuelFigures, FUEL_FIGURES_COUNT), nullptr);
+    EXPECT_EQ(errno, E108);
+}
+
+TEST_F(UncheckedAccessorsTest, shouldCheckVarDataFitsWhenPut)
+{
+    const std::uint64_t length = encodeCar();
+    const std::uint64_t colorPosition = length - CGT(car_color_header_length)();
+    const std::uint32_t colorLength = 4;
+
+    CGT(car) car;
+    ASSERT_NE(CGT(car_wrap_for_encode)(&car, m_buffer, 0, length + colorLength - 1), nullptr);
+    ASSERT_TRUE(CGT(car_set_sbe_position)(&car, colorPosition));
+
+    errno = 0;
+    EXPECT_EQ(CGT(car_put_color)(&car, "blue", colorLength), nullptr);
+    EXPECT_EQ(errno, E100);
+    EXPECT_EQ(CGT(car_sbe_position)(&car), colorPosition);
+}
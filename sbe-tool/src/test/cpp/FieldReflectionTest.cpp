@@ -0,0 +1,162 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <cstring>
+
+#include "gtest/gtest.h"
+#include "code_generation_test/Car.h"
+#include "group_with_data/TestMessage4.h"
+
+using namespace code::generation::test;
+
+static_assert(Car::sbeFieldCount() == 9, "unexpected field count for Car");
+static_assert(Car::sbeField(0).offset == Car::serialNumberEncodingOffset(), "unexpected offset for serialNumber");
+static_assert(Car::sbeField(8).offset == Car::engineEncodingOffset(), "unexpected offset for engine");
+static_assert(
+    Car::sbeField(4).primitiveType == Car::SbePrimitiveType::INT32, "unexpected primitive type for someNumbers");
+static_assert(Car::sbeField(4).arrayLength == Car::someNumbersLength(), "unexpected array length for someNumbers");
+static_assert(Car::sbeField(7).presence == Car::SbePresence::SBE_CONSTANT, "discountedModel should be constant");
+static_assert(Car::FuelFigures::sbeField(1).offset == Car::FuelFigures::mpgEncodingOffset(), "unexpected mpg offset");
+static_assert(Engine::sbeField(5).kind == Engine::SbeFieldKind::COMPOSITE, "booster should be a composite");
+
+template<typename Codec, std::size_t Index = 0, bool End = (Index == Codec::sbeFieldCount())>
+struct BlockLength
+{
+    static constexpr std::uint64_t value =
+        Codec::sbeField(Index).encodingLength + BlockLength<Codec, Index + 1>::value;
+};
+
+template<typename Codec, std::size_t Index>
+struct BlockLength<Codec, Index, true>
+{
+    static constexpr std::uint64_t value = 0;
+};
+
+static_assert(BlockLength<Car>::value == Car::sbeBlockLength(), "Car fields should cover block");
+static_assert(BlockLength<Car::FuelFigures>::value == Car::FuelFigures::sbeBlockLength(), "fields should cover block");
+static_assert(BlockLength<Engine>::value == Engine::encodedLength(), "Engine fields should cover composite");
+
+template<typename Codec, std::size_t Index = 0, bool End = (Index == Codec::sbeFieldCount())>
+struct FieldVisitor
+{
+    template<typename Func>
+    static void visit(Func &func)
+    {
+        func(std::integral_constant<std::size_t, Codec::sbeField(Index).offset>(), Codec::sbeField(Index));
+        FieldVisitor<Codec, Index + 1>::visit(func);
+    }
+};
+
+template<typename Codec, std::size_t Index>
+struct FieldVisitor<Codec, Index, true>
+{
+    template<typename Func>
+    static void visit(Func &)
+    {
+    }
+};
+
+class FieldReflectionTest : public testing::Test
+{
+public:
+    template<typename Offset, typename Descriptor>
+    void operator()(Offset, const Descriptor &descriptor)
+    {
+        m_names.emplace_back(descriptor.name);
+        m_offsets.push_back(Offset::value);
+
+        if (descriptor.kind == Car::SbeFieldKind::PRIMITIVE &&
+            descriptor.primitiveType == Car::SbePrimitiveType::UINT64 &&
+            descriptor.byteOrder == Car::SbeByteOrder::SBE_LITTLE_ENDIAN)
+        {
+            std::uint64_t value;
+            std::memcpy(&value, m_buffer + Offset::value, sizeof(value));
+            m_uint64Values.push_back(value);
+        }
+    }
+
+protected:
+    char m_buffer[2048] = {};
+    std::vector<std::string> m_names;
+    std::vector<std::uint64_t> m_offsets;
+    std::vector<std::uint64_t> m_uint64Values;
+};
+
+TEST_F(FieldReflectionTest, shouldDescribeMessageFields)
+{
+    const char *expectedNames[] =
+    {
+        "serialNumber", "modelYear", "available", "code", "someNumbers",
+        "vehicleCode", "extras", "discountedModel", "engine"
+    };
+
+    ASSERT_EQ(Car::sbeFieldCount(), sizeof(expectedNames) / sizeof(expectedNames[0]));
+
+    for (std::size_t i = 0; i < Car::sbeFieldCount(); i++)
+    {
+        EXPECT_STREQ(Car::sbeField(i).name, expectedNames[i]);
+        EXPECT_EQ(Car::sbeField(i).sinceVersion, 0u);
+    }
+
+    EXPECT_EQ(Car::sbeField(0).id, Car::serialNumberId());
+    EXPECT_EQ(Car::sbeField(0).encodingLength, Car::serialNumberEncodingLength());
+    EXPECT_EQ(Car::sbeField(2).kind, Car::SbeFieldKind::ENUM);
+    EXPECT_EQ(Car::sbeField(5).primitiveType, Car::SbePrimitiveType::CHAR);
+    EXPECT_EQ(Car::sbeField(5).arrayLength, Car::vehicleCodeLength());
+    EXPECT_EQ(Car::sbeField(6).kind, Car::SbeFieldKind::SET);
+    EXPECT_EQ(Car::sbeField(7).encodingLength, 0u);
+    EXPECT_EQ(Car::sbeField(8).primitiveType, Car::SbePrimitiveType::NONE);
+    EXPECT_THROW(static_cast<void>(Car::sbeField(Car::sbeFieldCount())), std::runtime_error);
+}
+
+TEST_F(FieldReflectionTest, shouldDescribeGroupAndCompositeFields)
+{
+    ASSERT_EQ(Car::PerformanceFigures::Acceleration::sbeFieldCount(), 2u);
+    EXPECT_STREQ(Car::PerformanceFigures::Acceleration::sbeField(0).name, "mph");
+    EXPECT_STREQ(Car::PerformanceFigures::Acceleration::sbeField(1).name, "seconds");
+    EXPECT_EQ(
+        Car::PerformanceFigures::Acceleration::sbeField(1).offset,
+        Car::PerformanceFigures::Acceleration::secondsEncodingOffset());
+
+    ASSERT_EQ(Engine::sbeFieldCount(), 6u);
+    EXPECT_STREQ(Engine::sbeField(2).name, "maxRpm");
+    EXPECT_EQ(Engine::sbeField(2).presence, Engine::SbePresence::SBE_CONSTANT);
+    EXPECT_EQ(Engine::sbeField(3).offset, Engine::manufacturerCodeEncodingOffset());
+}
+
+TEST_F(FieldReflectionTest, shouldDescribeEmptyGroup)
+{
+    using namespace group::with::data;
+
+    EXPECT_EQ(TestMessage4::Entries::sbeFieldCount(), 0u);
+    EXPECT_THROW(static_cast<void>(TestMessage4::Entries::sbeField(0)), std::runtime_error);
+}
+
+TEST_F(FieldReflectionTest, shouldVisitFieldsAtCompileTimeOffsets)
+{
+    Car car;
+    car.wrapForEncode(m_buffer, 0, sizeof(m_buffer))
+        .serialNumber(1234)
+        .modelYear(2013);
+
+    FieldVisitor<Car>::visit(*this);
+
+    ASSERT_EQ(m_names.size(), Car::sbeFieldCount());
+    EXPECT_EQ(m_names[1], "modelYear");
+    EXPECT_EQ(m_offsets[1], Car::modelYearEncodingOffset());
+    ASSERT_EQ(m_uint64Values.size(), 1u);
+    EXPECT_EQ(m_uint64Values[0], 1234u);
+}
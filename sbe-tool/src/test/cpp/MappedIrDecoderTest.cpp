@@ -0,0 +1,216 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <cstring>
+
+#include "gtest/gtest.h"
+#include "code_generation_test/MessageHeader.h"
+#include "code_generation_test/Car.h"
+#include "otf/IrDecoder.h"
+#include "otf/MappedIrDecoder.h"
+#include "otf/OtfHeaderDecoder.h"
+#include "otf/OtfMessageDecoder.h"
+
+using namespace code::generation::test;
+
+static const char *SCHEMA_FILENAME = "code-generation-schema.sbeir";
+
+static void expectSameValue(const PrimitiveValue &expected, const PrimitiveValue &actual)
+{
+    EXPECT_EQ(expected.primitiveType(), actual.primitiveType());
+    ASSERT_EQ(expected.size(), actual.size());
+
+    if (expected.size() > 1 && PrimitiveType::CHAR == expected.primitiveType())
+    {
+        EXPECT_EQ(std::string(expected.getArray(), expected.size()), std::string(actual.getArray(), actual.size()));
+    }
+    else if (expected.size() > 0)
+    {
+        EXPECT_EQ(expected.getAsUInt(), actual.getAsUInt());
+    }
+}
+
+static void expectSameTokens(const std::vector<Token> &expected, const std::vector<Token> &actual)
+{
+    ASSERT_EQ(expected.size(), actual.size());
+
+    for (std::size_t i = 0; i < expected.size(); i++)
+    {
+        const Token &e = expected[i];
+        const Token &a = actual[i];
+
+        EXPECT_EQ(e.signal(), a.signal());
+        EXPECT_EQ(e.name(), a.name());
+        EXPECT_EQ(e.description(), a.description());
+        EXPECT_EQ(e.fieldId(), a.fieldId());
+        EXPECT_EQ(e.tokenVersion(), a.tokenVersion());
+        EXPECT_EQ(e.encodedLength(), a.encodedLength());
+        EXPECT_EQ(e.offset(), a.offset());
+        EXPECT_EQ(e.componentTokenCount(), a.componentTokenCount());
+        EXPECT_EQ(e.encoding().primitiveType(), a.encoding().primitiveType());
+        EXPECT_EQ(e.encoding().presence(), a.encoding().presence());
+        EXPECT_EQ(e.encoding().byteOrder(), a.encoding().byteOrder());
+        EXPECT_EQ(e.encoding().characterEncoding(), a.encoding().characterEncoding());
+        EXPECT_EQ(e.encoding().epoch(), a.encoding().epoch());
+        EXPECT_EQ(e.encoding().timeUnit(), a.encoding().timeUnit());
+        EXPECT_EQ(e.encoding().semanticType(), a.encoding().semanticType());
+        expectSameValue(e.encoding().constValue(), a.encoding().constValue());
+        expectSameValue(e.encoding().minValue(), a.encoding().minValue());
+        expectSameValue(e.encoding().maxValue(), a.encoding().maxValue());
+        expectSameValue(e.encoding().nullValue(), a.encoding().nullValue());
+    }
+}
+
+class MappedIrDecoderTest : public testing::Test, public OtfMessageDecoder::BasicTokenListener
+{
+public:
+    void onEncoding(
+        Token &fieldToken,
+        const char *buffer,
+        Token &typeToken,
+        std::uint64_t actingVersion) override
+    {
+        m_fieldNames.push_back(fieldToken.name());
+    }
+
+    void onVarData(
+        Token &fieldToken,
+        const char *buffer,
+        std::uint64_t length,
+        Token &typeToken) override
+    {
+        m_fieldNames.push_back(fieldToken.name());
+    }
+
+protected:
+    IrDecoder m_irDecoder = {};
+    MappedIrDecoder m_mappedIrDecoder = {};
+    std::vector<std::string> m_fieldNames;
+};
+
+TEST_F(MappedIrDecoderTest, shouldFailToDecodeMissingFile)
+{
+    EXPECT_EQ(m_mappedIrDecoder.decode("no-such-file.sbeir"), -1);
+    EXPECT_EQ(m_mappedIrDecoder.messageCount(), 0u);
+    EXPECT_EQ(m_mappedIrDecoder.message(Car::sbeTemplateId()), nullptr);
+}
+
+TEST_F(MappedIrDecoderTest, shouldFailToDecodeTruncatedIr)
+{
+    ASSERT_GE(m_mappedIrDecoder.decode(SCHEMA_FILENAME), 0);
+
+    std::vector<char> ir(1024, 0);
+    EXPECT_EQ(m_mappedIrDecoder.decode(ir.data(), 3), -1);
+    EXPECT_EQ(m_mappedIrDecoder.messageCount(), 0u);
+}
+
+TEST_F(MappedIrDecoderTest, shouldDecodeSameTokensAsIrDecoder)
+{
+    ASSERT_GE(m_irDecoder.decode(SCHEMA_FILENAME), 0);
+    ASSERT_GE(m_mappedIrDecoder.decode(SCHEMA_FILENAME), 0);
+
+    EXPECT_EQ(m_mappedIrDecoder.messageCount(), m_irDecoder.messages().size());
+    expectSameTokens(*m_irDecoder.header(), *m_mappedIrDecoder.header());
+
+    for (const std::shared_ptr<std::vector<Token>> &expected : m_irDecoder.messages())
+    {
+        const Token &beginMessage = expected->at(0);
+        std::shared_ptr<std::vector<Token>> actual =
+            m_mappedIrDecoder.message(beginMessage.fieldId(), beginMessage.tokenVersion());
+
+        ASSERT_NE(actual, nullptr);
+        expectSameTokens(*expected, *actual);
+        EXPECT_EQ(actual, m_mappedIrDecoder.message(beginMessage.fieldId()));
+    }
+}
+
+TEST_F(MappedIrDecoderTest, shouldViewNamesInMappedIr)
+{
+    ASSERT_GE(m_irDecoder.decode(SCHEMA_FILENAME), 0);
+    ASSERT_GE(m_mappedIrDecoder.decode(SCHEMA_FILENAME), 0);
+
+    std::shared_ptr<std::vector<Token>> expected = m_irDecoder.message(Car::sbeTemplateId());
+    std::shared_ptr<std::vector<MappedToken>> view = m_mappedIrDecoder.messageView(Car::sbeTemplateId());
+
+    ASSERT_NE(view, nullptr);
+    ASSERT_EQ(view->size(), expected->size());
+    EXPECT_EQ(view, m_mappedIrDecoder.messageView(Car::sbeTemplateId()));
+    EXPECT_EQ(m_mappedIrDecoder.messageView(Car::sbeTemplateId() + 1000), nullptr);
+
+    for (std::size_t i = 0; i < view->size(); i++)
+    {
+        const MappedToken &token = view->at(i);
+
+        EXPECT_EQ(std::string(token.name().data(), token.name().size()), expected->at(i).name());
+        EXPECT_EQ(token.signal(), expected->at(i).signal());
+        EXPECT_EQ(token.fieldId(), expected->at(i).fieldId());
+    }
+
+    const MappedToken &beginMessage = view->at(0);
+    EXPECT_EQ(beginMessage.signal(), Signal::BEGIN_MESSAGE);
+    EXPECT_EQ(std::string(beginMessage.name().data(), beginMessage.name().size()), "Car");
+}
+
+TEST_F(MappedIrDecoderTest, shouldDecodeMessageWithMappedIrTokens)
+{
+    char buffer[2048] = {};
+    MessageHeader hdr;
+    Car car;
+
+    hdr.wrap(buffer, 0, 0, sizeof(buffer))
+        .blockLength(Car::sbeBlockLength())
+        .templateId(Car::sbeTemplateId())
+        .schemaId(Car::sbeSchemaId())
+        .version(Car::sbeSchemaVersion());
+
+    car.wrapForEncode(buffer, hdr.encodedLength(), sizeof(buffer))
+        .serialNumber(1234)
+        .modelYear(2013)
+        .available(BooleanType::T)
+        .code(Model::A);
+
+    car.fuelFiguresCount(0);
+    car.performanceFiguresCount(0);
+    car.putManufacturer("Honda", 5);
+    car.putModel("Civic", 5);
+    car.putActivationCode("", 0);
+    car.putColor("", 0);
+
+    const std::uint64_t length = hdr.encodedLength() + car.encodedLength();
+
+    ASSERT_GE(m_mappedIrDecoder.decode(SCHEMA_FILENAME), 0);
+
+    const OtfHeaderDecoder headerDecoder(m_mappedIrDecoder.header());
+    EXPECT_EQ(headerDecoder.encodedLength(), MessageHeader::encodedLength());
+
+    std::shared_ptr<std::vector<Token>> messageTokens = m_mappedIrDecoder.message(
+        static_cast<int>(headerDecoder.getTemplateId(buffer)),
+        static_cast<int>(headerDecoder.getSchemaVersion(buffer)));
+    ASSERT_NE(messageTokens, nullptr);
+
+    const std::size_t result = OtfMessageDecoder::decode(
+        buffer + headerDecoder.encodedLength(),
+        length - headerDecoder.encodedLength(),
+        headerDecoder.getSchemaVersion(buffer),
+        headerDecoder.getBlockLength(buffer),
+        messageTokens,
+        *this);
+
+    EXPECT_EQ(result, static_cast<std::size_t>(length - headerDecoder.encodedLength()));
+    ASSERT_GE(m_fieldNames.size(), 2u);
+    EXPECT_EQ(m_fieldNames[0], "serialNumber");
+    EXPECT_EQ(m_fieldNames[1], "modelYear");
+}
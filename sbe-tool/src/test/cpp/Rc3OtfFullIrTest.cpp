@@ -22,6 +22,7 @@
 #include "otf/IrDecoder.h"
 #include "otf/OtfHeaderDecoder.h"
 #include "otf/OtfMessageDecoder.h"
+#include "otf/OtfDecodePlan.h"
 
 using namespace code::generation::test;
 
@@ -1164,6 +1165,33 @@ TEST_F(Rc3OtfFullIrTest, shouldHandleAllEventsCorrectlyAndInOrder)
     EXPECT_EQ(result, static_cast<std::size_t>(encodedCarAndHdrLength - MessageHeader::encodedLength()));
 }
 
+TEST_F(Rc3OtfFullIrTest, shouldHandleAllEventsCorrectlyAndInOrderWithDecodePlan)
+{
+    ASSERT_EQ(encodeHdrAndCar(), encodedCarAndHdrLength);
+
+    ASSERT_GE(m_irDecoder.decode(SCHEMA_FILENAME), 0);
+
+    std::shared_ptr<std::vector<Token>> headerTokens = m_irDecoder.header();
+    std::shared_ptr<std::vector<Token>> messageTokens = m_irDecoder.message(
+        Car::sbeTemplateId(), Car::sbeSchemaVersion());
+
+    ASSERT_TRUE(headerTokens != nullptr);
+    ASSERT_TRUE(messageTokens != nullptr);
+
+    OtfHeaderDecoder headerDecoder(headerTokens);
+    OtfDecodePlan decodePlan(messageTokens);
+
+    EXPECT_EQ(headerDecoder.encodedLength(), MessageHeader::encodedLength());
+    const char *messageBuffer = m_buffer + headerDecoder.encodedLength();
+    std::size_t length = encodedCarAndHdrLength - headerDecoder.encodedLength();
+    std::uint64_t actingVersion = headerDecoder.getSchemaVersion(m_buffer);
+    std::uint64_t blockLength = headerDecoder.getBlockLength(m_buffer);
+
+    const std::size_t result = decodePlan.decode(messageBuffer, length, actingVersion, blockLength, *this);
+    EXPECT_EQ(result, static_cast<std::size_t>(encodedCarAndHdrLength - MessageHeader::encodedLength()));
+    EXPECT_EQ(m_eventNumber, EN_endMessage + 1);
+}
+
 TEST_P(Rc3OtfFullIrLengthTest, shouldExceptionIfLengthTooShort)
 {
     ASSERT_EQ(encodeHdrAndCar(), encodedCarAndHdrLength);
@@ -1196,6 +1224,36 @@ TEST_P(Rc3OtfFullIrLengthTest, shouldExceptionIfLengthTooShort)
         std::runtime_error);
 }
 
+TEST_P(Rc3OtfFullIrLengthTest, shouldExceptionIfLengthTooShortWithDecodePlan)
+{
+    ASSERT_EQ(encodeHdrAndCar(), encodedCarAndHdrLength);
+
+    ASSERT_GE(m_irDecoder.decode(SCHEMA_FILENAME), 0);
+
+    std::shared_ptr<std::vector<Token>> headerTokens = m_irDecoder.header();
+    std::shared_ptr<std::vector<Token>> messageTokens = m_irDecoder.message(
+        Car::sbeTemplateId(), Car::sbeSchemaVersion());
+
+    ASSERT_TRUE(headerTokens != nullptr);
+    ASSERT_TRUE(messageTokens != nullptr);
+
+    OtfHeaderDecoder headerDecoder(headerTokens);
+    OtfDecodePlan decodePlan(messageTokens);
+
+    auto length = static_cast<std::size_t>(GetParam());
+    std::uint64_t actingVersion = headerDecoder.getSchemaVersion(m_buffer);
+    std::uint64_t blockLength = headerDecoder.getBlockLength(m_buffer);
+
+    EXPECT_THROW(
+        {
+            std::unique_ptr<char[]> decodeBuffer(new char[length]);
+
+            ::memcpy(decodeBuffer.get(), m_buffer + headerDecoder.encodedLength(), length);
+            decodePlan.decode(decodeBuffer.get(), length, actingVersion, blockLength, *this);
+        },
+        std::runtime_error);
+}
+
 INSTANTIATE_TEST_SUITE_P(
     LengthUpToHdrAndCar,
     Rc3OtfFullIrLengthTest,
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <cstring>
+
+#include "gtest/gtest.h"
+#include "code_generation_test/Car.h"
+
+using namespace code::generation::test;
+
+static const std::size_t BUFFER_LEN = 2048;
+static const std::uint16_t ACCELERATION_COUNT = 3;
+
+class SpanAccessorTest : public testing::Test
+{
+public:
+    std::uint64_t encodeCar()
+    {
+        Car car;
+        car.wrapForEncode(m_buffer, 0, sizeof(m_buffer))
+            .serialNumber(1234)
+            .modelYear(2013)
+            .putVehicleCode("abcdef");
+
+        for (std::uint64_t i = 0; i < Car::someNumbersLength(); i++)
+        {
+            car.someNumbers(i, static_cast<std::int32_t>(i + 1));
+        }
+
+        car.fuelFiguresCount(0);
+
+        Car::PerformanceFigures &performanceFigures = car.performanceFiguresCount(1);
+        performanceFigures.next().octaneRating(95);
+
+        Car::PerformanceFigures::Acceleration &acceleration = performanceFigures.accelerationCount(ACCELERATION_COUNT);
+        for (std::uint16_t i = 0; i < ACCELERATION_COUNT; i++)
+        {
+            acceleration.next()
+                .mph(static_cast<std::uint16_t>(30 + (i * 30)))
+                .seconds(4.0f + static_cast<float>(i));
+        }
+
+        car.putManufacturer("Honda", 5);
+        car.putModel("Civic", 5);
+        car.putActivationCode("", 0);
+        car.putColor("", 0);
+
+        return car.encodedLength();
+    }
+
+    alignas(8) char m_buffer[BUFFER_LEN] = {};
+};
+
+TEST_F(SpanAccessorTest, shouldViewGroupColumnsOverEncodedBuffer)
+{
+    const std::uint64_t length = encodeCar();
+
+    Car car;
+    car.wrapForDecode(m_buffer, 0, Car::sbeBlockLength(), Car::sbeSchemaVersion(), length);
+    static_cast<void>(car.fuelFigures());
+    Car::PerformanceFigures &performanceFigures = car.performanceFigures();
+    Car::PerformanceFigures::Acceleration &acceleration = performanceFigures.next().acceleration();
+
+    const Car::SbeColumnView<std::uint16_t> mph = acceleration.mphColumn();
+    const Car::SbeColumnView<float> seconds = acceleration.secondsColumn();
+
+    ASSERT_EQ(mph.size(), ACCELERATION_COUNT);
+    ASSERT_EQ(seconds.size(), ACCELERATION_COUNT);
+    EXPECT_EQ(mph.stride(), Car::PerformanceFigures::Acceleration::sbeBlockLength());
+    EXPECT_EQ(
+        seconds.data() - mph.data(),
+        static_cast<std::ptrdiff_t>(Car::PerformanceFigures::Acceleration::secondsEncodingOffset()));
+
+    std::uint32_t mphSum = 0;
+    float secondsSum = 0;
+    for (std::uint64_t i = 0; i < mph.size(); i++)
+    {
+        mphSum += mph[i];
+        secondsSum += seconds[i];
+    }
+
+    EXPECT_EQ(mphSum, 30u + 60u + 90u);
+    EXPECT_EQ(secondsSum, 4.0f + 5.0f + 6.0f);
+
+    std::uint16_t i = 0;
+    while (acceleration.hasNext())
+    {
+        acceleration.next();
+        EXPECT_EQ(mph[i], acceleration.mph());
+        EXPECT_EQ(seconds[i], acceleration.seconds());
+        i++;
+    }
+    EXPECT_EQ(i, ACCELERATION_COUNT);
+}
+
+TEST_F(SpanAccessorTest, shouldCheckGroupExtentForColumnView)
+{
+    encodeCar();
+
+    const std::uint64_t accelerationEnd = Car::sbeBlockLength() +
+        Car::FuelFigures::sbeHeaderSize() +
+        Car::PerformanceFigures::sbeHeaderSize() +
+        Car::PerformanceFigures::sbeBlockLength() +
+        Car::PerformanceFigures::Acceleration::sbeHeaderSize() +
+        (ACCELERATION_COUNT * Car::PerformanceFigures::Acceleration::sbeBlockLength());
+
+    Car car;
+    car.wrapForDecode(m_buffer, 0, Car::sbeBlockLength(), Car::sbeSchemaVersion(), accelerationEnd - 1);
+    static_cast<void>(car.fuelFigures());
+    Car::PerformanceFigures::Acceleration &acceleration = car.performanceFigures().next().acceleration();
+
+    EXPECT_THROW(static_cast<void>(acceleration.mphColumn()), std::runtime_error);
+}
+
+#if __cplusplus >= 202002L
+TEST_F(SpanAccessorTest, shouldViewFixedArraysAsSpans)
+{
+    const std::uint64_t length = encodeCar();
+
+    Car car;
+    car.wrapForDecode(m_buffer, 0, Car::sbeBlockLength(), Car::sbeSchemaVersion(), length);
+
+    const std::span<const std::int32_t> someNumbers = car.getSomeNumbersAsSpan();
+    ASSERT_EQ(someNumbers.size(), Car::someNumbersLength());
+    EXPECT_EQ(static_cast<const void *>(someNumbers.data()), static_cast<const void *>(car.someNumbers()));
+
+    std::int32_t sum = 0;
+    for (const std::int32_t value : someNumbers)
+    {
+        sum += value;
+    }
+    EXPECT_EQ(sum, 15);
+
+    const std::span<const char> vehicleCode = car.getVehicleCodeAsSpan();
+    EXPECT_EQ(std::string(vehicleCode.data(), vehicleCode.size()), "abcdef");
+}
+
+TEST_F(SpanAccessorTest, shouldRejectMisalignedSpan)
+{
+    encodeCar();
+
+    Car car;
+    car.wrapForDecode(m_buffer + 1, 0, Car::sbeBlockLength(), Car::sbeSchemaVersion(), BUFFER_LEN - 1);
+
+    EXPECT_THROW(static_cast<void>(car.getSomeNumbersAsSpan()), std::runtime_error);
+}
+#endif
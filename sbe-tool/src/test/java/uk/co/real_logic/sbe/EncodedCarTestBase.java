@@ -18,12 +18,14 @@ package uk.co.real_logic.sbe;
 import baseline.*;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.BeforeAll;
+import uk.co.real_logic.sbe.ir.Ir;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 
 public class EncodedCarTestBase
 {
+    protected static final int TEST_MESSAGE_BUFFER_CAPACITY = 4 * 1024;
     protected static final MessageHeaderEncoder MESSAGE_HEADER = new MessageHeaderEncoder();
     protected static final CarEncoder CAR = new CarEncoder();
 
@@ -48,6 +50,19 @@ public class EncodedCarTestBase
         }
     }
 
+    protected static Ir generateIr() throws Exception
+    {
+        return Tests.generateIr("json-printer-test-schema.xml");
+    }
+
+    protected static ByteBuffer encodeTestMessage()
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(TEST_MESSAGE_BUFFER_CAPACITY);
+        encodeTestMessage(buffer);
+
+        return buffer;
+    }
+
     protected static void encodeTestMessage(final ByteBuffer buffer)
     {
         final UnsafeBuffer directBuffer = new UnsafeBuffer(buffer);
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationCacheTest
+{
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldChangeKeyWhenIncludedFileChanges() throws Exception
+    {
+        final Path schemaPath = copySchemaWithInclude();
+        final Properties properties = new Properties();
+
+        final String key = GenerationCache.key(schemaPath, properties);
+        assertEquals(key, GenerationCache.key(schemaPath, properties));
+
+        final Path includePath = tempDir.resolve("sub2/common.xml");
+        Files.write(includePath, (new String(Files.readAllBytes(includePath), UTF_8) + "\n").getBytes(UTF_8));
+
+        assertNotEquals(key, GenerationCache.key(schemaPath, properties));
+    }
+
+    @Test
+    void shouldChangeKeyForOptionsWhichAffectOutputOnly() throws Exception
+    {
+        final Path schemaPath = copySchemaWithInclude();
+        final Properties properties = new Properties();
+        final String key = GenerationCache.key(schemaPath, properties);
+
+        properties.setProperty(SbeTool.OUTPUT_DIR, "elsewhere");
+        properties.setProperty(SbeTool.GENERATION_THREADS, "4");
+        properties.setProperty(SbeTool.CACHE_DIR, "cache");
+        properties.setProperty("user.name", "someone");
+        assertEquals(key, GenerationCache.key(schemaPath, properties));
+
+        properties.setProperty(SbeTool.TARGET_LANGUAGE, "Cpp");
+        final String cppKey = GenerationCache.key(schemaPath, properties);
+        assertNotEquals(key, cppKey);
+
+        properties.setProperty(SbeTool.SCHEMA_TRANSFORM_VERSION, "*:0");
+        assertNotEquals(cppKey, GenerationCache.key(schemaPath, properties));
+    }
+
+    @Test
+    void shouldRestoreStoredOutputWithoutRewritingUnchangedFiles() throws Exception
+    {
+        final GenerationCache cache = new GenerationCache(tempDir.resolve("cache"));
+        final String key = GenerationCache.key(copySchemaWithInclude(), new Properties());
+        final Path outputDir = tempDir.resolve("output");
+
+        assertFalse(cache.restore(key, outputDir));
+
+        final Path stagingDir = cache.newStagingDir(key);
+        Files.createDirectories(stagingDir.resolve("pkg"));
+        Files.write(stagingDir.resolve("pkg/A.java"), "class A {}".getBytes(UTF_8));
+        Files.write(stagingDir.resolve("pkg/B.java"), "class B {}".getBytes(UTF_8));
+        cache.store(key, stagingDir);
+
+        assertFalse(Files.exists(stagingDir));
+        assertTrue(cache.restore(key, outputDir));
+        assertEquals("class A {}", new String(Files.readAllBytes(outputDir.resolve("pkg/A.java")), UTF_8));
+        assertEquals("class B {}", new String(Files.readAllBytes(outputDir.resolve("pkg/B.java")), UTF_8));
+
+        final FileTime modifiedTime = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(outputDir.resolve("pkg/A.java"), modifiedTime);
+        Files.write(outputDir.resolve("pkg/B.java"), "edited".getBytes(UTF_8));
+
+        assertTrue(cache.restore(key, outputDir));
+        assertEquals(modifiedTime, Files.getLastModifiedTime(outputDir.resolve("pkg/A.java")));
+        assertEquals("class B {}", new String(Files.readAllBytes(outputDir.resolve("pkg/B.java")), UTF_8));
+    }
+
+    @Test
+    void shouldKeepFirstEntryStoredForKey() throws Exception
+    {
+        final GenerationCache cache = new GenerationCache(tempDir.resolve("cache"));
+        final String key = "key";
+
+        final Path firstDir = cache.newStagingDir(key);
+        Files.write(firstDir.resolve("A.java"), "first".getBytes(UTF_8));
+        final Path secondDir = cache.newStagingDir(key);
+        Files.write(secondDir.resolve("A.java"), "second".getBytes(UTF_8));
+
+        cache.store(key, firstDir);
+        cache.store(key, secondDir);
+
+        assertFalse(Files.exists(secondDir));
+        assertTrue(cache.restore(key, tempDir.resolve("output")));
+        assertEquals("first", new String(Files.readAllBytes(tempDir.resolve("output/A.java")), UTF_8));
+    }
+
+    private Path copySchemaWithInclude() throws Exception
+    {
+        final Path resources = Paths.get("src/test/resources/sub");
+        Files.createDirectories(tempDir.resolve("sub2"));
+        Files.copy(resources.resolve("sub2/common.xml"), tempDir.resolve("sub2/common.xml"));
+
+        final Path schemaPath = tempDir.resolve("basic-schema.xml");
+        Files.copy(resources.resolve("basic-schema.xml"), schemaPath);
+
+        return schemaPath;
+    }
+}
@@ -15,6 +15,12 @@
  */
 package uk.co.real_logic.sbe;
 
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.xml.IrGenerator;
+import uk.co.real_logic.sbe.xml.MessageSchema;
+import uk.co.real_logic.sbe.xml.ParserOptions;
+import uk.co.real_logic.sbe.xml.XmlSchemaParser;
+
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -33,4 +39,11 @@ public class Tests
 
         return url.openStream();
     }
+
+    public static Ir generateIr(final String schemaResource) throws Exception
+    {
+        final MessageSchema schema = XmlSchemaParser.parse(getLocalResource(schemaResource), ParserOptions.DEFAULT);
+
+        return new IrGenerator().generate(schema);
+    }
 }
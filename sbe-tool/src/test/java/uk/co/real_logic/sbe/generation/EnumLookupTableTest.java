@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumLookupTableTest
+{
+    @Test
+    void shouldUseDenseTableForValuesInSmallRange()
+    {
+        final long[] values = { '0', '1', '2', 'A', 'B', 255 };
+        final EnumLookupTable table = EnumLookupTable.find(values, 32);
+
+        assertNotNull(table);
+        assertTrue(table.isDense());
+        assertEquals('0', table.minValue());
+        assertEquals(255 - '0' + 1, table.length());
+        assertEquals(0, table.slot('0'));
+        assertEquals('B' - '0', table.slot('B'));
+    }
+
+    @Test
+    void shouldUseDenseTableForNegativeValues()
+    {
+        final long[] values = { -128, -1, 0, 127 };
+        final EnumLookupTable table = EnumLookupTable.find(values, 32);
+
+        assertNotNull(table);
+        assertTrue(table.isDense());
+        assertEquals(-128, table.minValue());
+        assertEquals(0, table.slot(-128));
+        assertEquals(255, table.slot(127));
+    }
+
+    @Test
+    void shouldFindPerfectHashForSparseValues()
+    {
+        final long[] values = { 0, 1000, 1_000_000, 4294967295L };
+        final EnumLookupTable table = EnumLookupTable.find(values, 64);
+
+        assertNotNull(table);
+        assertFalse(table.isDense());
+        assertEquals(0, table.length() & table.mask());
+        assertDistinctSlots(table, values);
+    }
+
+    @Test
+    void shouldHashInArithmeticOfGeneratedCode()
+    {
+        final long[] values = { 1L << 40, 2L << 40, 3L << 40, 0 };
+
+        final EnumLookupTable table64 = EnumLookupTable.find(values, 64);
+        assertNotNull(table64);
+        assertDistinctSlots(table64, values);
+
+        assertNull(EnumLookupTable.find(values, 32));
+    }
+
+    @Test
+    void shouldRejectUnsupportedBits()
+    {
+        assertThrows(IllegalArgumentException.class, () -> EnumLookupTable.find(new long[]{ 1 }, 16));
+    }
+
+    private static void assertDistinctSlots(final EnumLookupTable table, final long[] values)
+    {
+        final Set<Integer> slots = new HashSet<>();
+        for (final long value : values)
+        {
+            final int slot = table.slot(value);
+            assertTrue(slot >= 0 && slot < table.length());
+            assertTrue(slots.add(slot), "slot collision for value " + value);
+        }
+    }
+}
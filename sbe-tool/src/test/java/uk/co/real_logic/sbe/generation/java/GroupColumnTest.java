@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.generation.java;
+
+import baseline.CarDecoder;
+import baseline.CarEncoder;
+import baseline.MessageHeaderDecoder;
+import baseline.MessageHeaderEncoder;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupColumnTest
+{
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+    private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+    private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+    private final CarEncoder carEncoder = new CarEncoder();
+    private final CarDecoder carDecoder = new CarDecoder();
+
+    @Test
+    void shouldDecodeColumnsOfElementsEncodedIndividually()
+    {
+        carEncoder.wrapAndApplyHeader(buffer, 0, headerEncoder);
+        final CarEncoder.FuelFiguresEncoder fuelFigures = carEncoder.fuelFiguresCount(3);
+        fuelFigures.next().speed(30).mpg(35.9f);
+        fuelFigures.next().speed(55).mpg(49.0f);
+        fuelFigures.next().speed(75).mpg(40.0f);
+        carEncoder.performanceFiguresCount(0);
+        carEncoder.manufacturer("Honda");
+
+        wrapDecoder();
+        final CarDecoder.FuelFiguresDecoder fuelFiguresDecoder = carDecoder.fuelFigures();
+
+        final int[] speeds = new int[4];
+        assertEquals(3, fuelFiguresDecoder.getSpeedColumn(speeds, 1));
+        assertArrayEquals(new int[]{ 0, 30, 55, 75 }, speeds);
+
+        final float[] mpgs = new float[3];
+        assertEquals(3, fuelFiguresDecoder.getMpgColumn(mpgs, 0));
+        assertArrayEquals(new float[]{ 35.9f, 49.0f, 40.0f }, mpgs);
+
+        assertFalse(fuelFiguresDecoder.hasNext());
+        assertEquals(0, carDecoder.performanceFigures().count());
+        assertEquals("Honda", carDecoder.manufacturer());
+    }
+
+    @Test
+    void shouldDecodeElementsIndividuallyWhenEncodedAsColumns()
+    {
+        carEncoder.wrapAndApplyHeader(buffer, 0, headerEncoder);
+        carEncoder.fuelFiguresCount(3)
+            .putSpeedColumn(new int[]{ 99, 30, 55, 75 }, 1)
+            .putMpgColumn(new float[]{ 35.9f, 49.0f, 40.0f }, 0);
+
+        final CarEncoder.PerformanceFiguresEncoder performanceFigures = carEncoder.performanceFiguresCount(1);
+        performanceFigures.next().octaneRating((short)95)
+            .accelerationCount(2)
+            .putMphColumn(new int[]{ 30, 60 }, 0)
+            .putSecondsColumn(new float[]{ 4.0f, 7.5f }, 0);
+        carEncoder.manufacturer("Honda");
+
+        wrapDecoder();
+        final CarDecoder.FuelFiguresDecoder fuelFiguresDecoder = carDecoder.fuelFigures();
+        assertEquals(3, fuelFiguresDecoder.count());
+        assertEquals(30, fuelFiguresDecoder.next().speed());
+        assertEquals(35.9f, fuelFiguresDecoder.mpg());
+        assertEquals(55, fuelFiguresDecoder.next().speed());
+        assertEquals(75, fuelFiguresDecoder.next().speed());
+        assertEquals(40.0f, fuelFiguresDecoder.mpg());
+
+        final CarDecoder.PerformanceFiguresDecoder performanceFiguresDecoder = carDecoder.performanceFigures();
+        assertEquals(95, performanceFiguresDecoder.next().octaneRating());
+
+        final CarDecoder.PerformanceFiguresDecoder.AccelerationDecoder acceleration =
+            performanceFiguresDecoder.acceleration();
+        final float[] seconds = new float[2];
+        acceleration.getSecondsColumn(seconds, 0);
+        assertArrayEquals(new float[]{ 4.0f, 7.5f }, seconds);
+        assertEquals("Honda", carDecoder.manufacturer());
+    }
+
+    @Test
+    void shouldNotGenerateColumnsForGroupsWithNestedGroups()
+    {
+        for (final Method method : CarDecoder.PerformanceFiguresDecoder.class.getMethods())
+        {
+            assertFalse(method.getName().endsWith("Column"), method.getName());
+        }
+    }
+
+    private void wrapDecoder()
+    {
+        headerDecoder.wrap(buffer, 0);
+        carDecoder.wrap(
+            buffer, MessageHeaderDecoder.ENCODED_LENGTH, headerDecoder.blockLength(), headerDecoder.version());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package uk.co.real_logic.sbe.generation.java;
 
+import org.agrona.AsciiSequenceView;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -22,6 +23,7 @@ import org.agrona.generation.CompilerUtil;
 import org.agrona.generation.StringWriterOutputManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import uk.co.real_logic.sbe.SbeTool;
 import uk.co.real_logic.sbe.Tests;
 import uk.co.real_logic.sbe.ir.Ir;
 import uk.co.real_logic.sbe.xml.IrGenerator;
@@ -29,9 +31,15 @@ import uk.co.real_logic.sbe.xml.MessageSchema;
 import uk.co.real_logic.sbe.xml.ParserOptions;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.startsWith;
@@ -422,6 +430,101 @@ class JavaGeneratorTest
         assertThat(result.toString(), is("Red and Blue"));
     }
 
+    @Test
+    void shouldGenerateSameOutputWhenGeneratingInParallel() throws Exception
+    {
+        generator().generate();
+        final Map<String, CharSequence> sequentialSources = new TreeMap<>(outputManager.getSources());
+
+        outputManager.clear();
+        outputManager.setPackageName(ir.applicableNamespace());
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            parallelGenerator(pool).generate();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        final Map<String, CharSequence> parallelSources = new TreeMap<>(outputManager.getSources());
+        assertEquals(sequentialSources.keySet(), parallelSources.keySet());
+        for (final Map.Entry<String, CharSequence> entry : sequentialSources.entrySet())
+        {
+            assertEquals(entry.getValue().toString(), parallelSources.get(entry.getKey()).toString(), entry.getKey());
+        }
+    }
+
+    @Test
+    void shouldGenerateMessagesAndTypesAsTasksOfGivenExecutor() throws Exception
+    {
+        useSchema("generated-names-schema.xml");
+        final List<Runnable> tasks = new ArrayList<>();
+        parallelGenerator(
+            (task) ->
+            {
+                tasks.add(task);
+                task.run();
+            })
+            .generate();
+
+        assertEquals(ir.types().size() + ir.messages().size(), tasks.size());
+    }
+
+    @Test
+    void shouldGenerateAsciiSequenceViewForFixedLengthString() throws Exception
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+        final AsciiSequenceView view = new AsciiSequenceView();
+        asciiViewGenerator().generate();
+
+        final Object encoder = wrap(buffer, compileCarEncoder().getDeclaredConstructor().newInstance());
+        final Object decoder = getCarDecoder(buffer, encoder);
+        final Method viewMethod = decoder.getClass().getMethod("vehicleCode", AsciiSequenceView.class);
+
+        set(encoder, "vehicleCode", String.class, "R11");
+        assertSame(view, viewMethod.invoke(decoder, view));
+        assertThat(view.toString(), is("R11"));
+        assertThat(getStringEquals(decoder, "vehicleCode", "R11"), is(true));
+        assertThat(getStringEquals(decoder, "vehicleCode", "R1"), is(false));
+        assertThat(getStringEquals(decoder, "vehicleCode", "R11R"), is(false));
+        assertThat(getStringHashCode(decoder, "vehicleCode"), is("R11".hashCode()));
+
+        set(encoder, "vehicleCode", String.class, "R11R12");
+        viewMethod.invoke(decoder, view);
+        assertThat(view.toString(), is("R11R12"));
+        assertThat(getStringEquals(decoder, "vehicleCode", "R11R12"), is(true));
+        assertThat(getStringEquals(decoder, "vehicleCode", "R11R123"), is(false));
+        assertThat(getStringHashCode(decoder, "vehicleCode"), is("R11R12".hashCode()));
+    }
+
+    @Test
+    void shouldGenerateAsciiSequenceViewForVariableLengthString() throws Exception
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+        final AsciiSequenceView view = new AsciiSequenceView();
+        asciiViewGenerator().generate();
+
+        final Object encoder = wrap(buffer, compileCarEncoder().getDeclaredConstructor().newInstance());
+        final Object decoder = getCarDecoder(buffer, encoder);
+        final Method viewMethod = decoder.getClass().getMethod("color", AsciiSequenceView.class);
+
+        set(encoder, "color", String.class, "Red");
+        assertThat(getStringEquals(decoder, "color", "Red"), is(true));
+        assertThat(getStringEquals(decoder, "color", "Rex"), is(false));
+        assertThat(getStringEquals(decoder, "color", "Red and Blue"), is(false));
+        assertThat(getStringHashCode(decoder, "color"), is("Red".hashCode()));
+        assertSame(view, viewMethod.invoke(decoder, view));
+        assertThat(view.toString(), is("Red"));
+
+        set(encoder, "color", String.class, "");
+        assertThat(getStringEquals(decoder, "color", ""), is(true));
+        assertThat(getStringHashCode(decoder, "color"), is(0));
+        viewMethod.invoke(decoder, view);
+        assertThat(view.length(), is(0));
+    }
+
     @Test
     void shouldGeneratePutCharSequence() throws Exception
     {
@@ -545,6 +648,191 @@ class JavaGeneratorTest
         assertNotNull(sources.get(ir.applicableNamespace() + ".MessageHeaderEncoder"));
     }
 
+    @Test
+    void shouldNotGenerateAsciiSequenceViewsByDefault() throws Exception
+    {
+        generator().generate();
+
+        final Class<?> decoderClazz = compileCarDecoder();
+        assertThrows(
+            NoSuchMethodException.class, () -> decoderClazz.getMethod("vehicleCode", AsciiSequenceView.class));
+        assertThrows(NoSuchMethodException.class, () -> decoderClazz.getMethod("colorHashCode"));
+    }
+
+    @Test
+    void shouldGenerateGroupColumnAccessorsOnlyWhenEnabled() throws Exception
+    {
+        generator().generate();
+        final Class<?> defaultAccelerationDecoder = accelerationDecoderClass(compileCarDecoder());
+        assertThrows(
+            NoSuchMethodException.class,
+            () -> defaultAccelerationDecoder.getMethod("getMphColumn", int[].class, int.class));
+
+        outputManager.clear();
+        new JavaGenerator(
+            ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, false, false, false, true, false, false,
+            null, null, outputManager)
+            .generate();
+        final Class<?> accelerationDecoder = accelerationDecoderClass(compileCarDecoder());
+        assertNotNull(accelerationDecoder.getMethod("getMphColumn", int[].class, int.class));
+    }
+
+    @Test
+    void shouldNotGenerateMessageBatchByDefault() throws Exception
+    {
+        generator().generate();
+
+        final Map<String, CharSequence> sources = outputManager.getSources();
+        assertFalse(sources.containsKey(ir.applicableNamespace() + "." + JavaGenerator.MESSAGE_BATCH_ENCODER_TYPE));
+        assertFalse(sources.containsKey(ir.applicableNamespace() + "." + JavaGenerator.MESSAGE_BATCH_DECODER_TYPE));
+    }
+
+    @Test
+    void shouldRejectMessageBatchWhenMessagesHaveItsNames() throws Exception
+    {
+        useSchema("generated-batch-collision-schema.xml");
+
+        final IllegalStateException exception =
+            assertThrows(IllegalStateException.class, () -> messageBatchGenerator().generate());
+        assertThat(exception.getMessage(), allOf(
+            containsString("MessageBatchEncoder, MessageBatchDecoder"),
+            containsString("MessageBatchEncoder.length()"),
+            containsString(SbeTool.JAVA_GENERATE_MESSAGE_BATCH)));
+    }
+
+    @Test
+    void shouldNotGenerateMessageDispatcherByDefault() throws Exception
+    {
+        generator().generate();
+
+        final Map<String, CharSequence> sources = outputManager.getSources();
+        assertFalse(sources.containsKey(ir.applicableNamespace() + "." + JavaGenerator.MESSAGE_HANDLER_TYPE));
+        assertFalse(sources.containsKey(ir.applicableNamespace() + "." + JavaGenerator.MESSAGE_DISPATCHER_TYPE));
+    }
+
+    @Test
+    void shouldGenerateMessageHelpersForMessagesNamedLikeTheirMembers() throws Exception
+    {
+        useSchema("generated-names-schema.xml");
+        new JavaGenerator(
+            ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, false, false, false, false, true, true,
+            null, null, outputManager)
+            .generate();
+
+        final String packageName = ir.applicableNamespace();
+        assertNotNull(compile(packageName + "." + JavaGenerator.MESSAGE_DISPATCHER_TYPE));
+        assertNotNull(compile(packageName + "." + JavaGenerator.MESSAGE_BATCH_ENCODER_TYPE));
+        assertNotNull(compile(packageName + "." + JavaGenerator.MESSAGE_BATCH_DECODER_TYPE));
+    }
+
+    @Test
+    void shouldRejectMessageDispatcherWhenSchemaTypeHasItsName() throws Exception
+    {
+        useSchema("generated-type-collision-schema.xml");
+
+        final IllegalStateException exception =
+            assertThrows(IllegalStateException.class, () -> messageDispatcherGenerator().generate());
+        assertThat(exception.getMessage(), containsString("[MessageHandler]"));
+    }
+
+    @Test
+    void shouldGenerateBulkArrayAccessors() throws Exception
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+        new JavaGenerator(ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, false, true, outputManager)
+            .generate();
+
+        final Object encoder = wrap(buffer, compileCarEncoder().getConstructor().newInstance());
+        final int[] src = { -1, 0, 1, 2, Integer.MAX_VALUE, 7 };
+        encoder.getClass().getMethod("putSomeNumbers", int[].class, int.class).invoke(encoder, src, 1);
+
+        final Object decoder = getCarDecoder(buffer, encoder);
+        final Method someNumbers = decoder.getClass().getMethod("someNumbers", int.class);
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(src[i + 1], someNumbers.invoke(decoder, i));
+        }
+
+        final int[] dst = new int[7];
+        final Object length = decoder.getClass()
+            .getMethod("getSomeNumbers", int[].class, int.class).invoke(decoder, dst, 2);
+        assertEquals(5, length);
+        assertArrayEquals(new int[]{ 0, 0, 0, 1, 2, Integer.MAX_VALUE, 7 }, dst);
+
+        final InvocationTargetException ex = assertThrows(
+            InvocationTargetException.class,
+            () -> decoder.getClass().getMethod("getSomeNumbers", int[].class, int.class).invoke(decoder, dst, 3));
+        assertThat(ex.getCause(), instanceOf(IndexOutOfBoundsException.class));
+    }
+
+    @Test
+    void shouldNotGenerateBulkArrayAccessorsByDefault() throws Exception
+    {
+        generator().generate();
+
+        final Class<?> encoderClazz = compileCarEncoder();
+        assertThrows(
+            NoSuchMethodException.class, () -> encoderClazz.getMethod("putSomeNumbers", int[].class, int.class));
+    }
+
+    @Test
+    void shouldGenerateNativeOrderAccessWithByteSwapsForBigEndianSchema() throws Exception
+    {
+        generateNativeByteOrderCodecs("example-bigendian-test-schema.xml", "baseline.bigendian");
+
+        final String carDecoderSource = outputManager.getSources().get(ir.applicableNamespace() + ".CarDecoder")
+            .toString();
+        assertThat(carDecoderSource, not(containsString(", java.nio.ByteOrder.")));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+        final Object encoder = wrap(buffer, compileCarEncoder().getConstructor().newInstance());
+        putSerialNumber(encoder, 0x0102_0304_0506_0708L);
+        fuelFiguresCount(encoder, 3);
+
+        assertEquals(0x0102_0304_0506_0708L, buffer.getLong(0, ByteOrder.BIG_ENDIAN));
+        assertEquals(3, buffer.getShort(getSbeBlockLength(encoder) + 2, ByteOrder.BIG_ENDIAN));
+
+        final Object decoder = getCarDecoder(buffer, encoder);
+        assertEquals(0x0102_0304_0506_0708L, getSerialNumber(decoder));
+        assertEquals(3, getCount(getFuelFigures(decoder)));
+    }
+
+    @Test
+    void shouldGeneratePreSwappedChoiceMasksForBigEndianSet() throws Exception
+    {
+        generateNativeByteOrderCodecs("issue827.xml", null);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[8]);
+        final Object encoder = compile(ir.applicableNamespace() + ".FlagsSetEncoder").getConstructor().newInstance();
+        final Object decoder = compile(ir.applicableNamespace() + ".FlagsSetDecoder").getConstructor().newInstance();
+        wrap(0, encoder, buffer, BUFFER_CLASS);
+        wrap(0, decoder, buffer, READ_ONLY_BUFFER_CLASS);
+
+        encoder.getClass().getMethod("bit35", boolean.class).invoke(encoder, true);
+        assertEquals(1L << 35, buffer.getLong(0, ByteOrder.BIG_ENDIAN));
+        assertEquals(true, decoder.getClass().getMethod("bit35").invoke(decoder));
+        assertEquals(false, decoder.getClass().getMethod("bit0").invoke(decoder));
+
+        encoder.getClass().getMethod("bit0", boolean.class).invoke(encoder, true);
+        encoder.getClass().getMethod("bit35", boolean.class).invoke(encoder, false);
+        assertEquals(1L, buffer.getLong(0, ByteOrder.BIG_ENDIAN));
+        assertEquals(true, decoder.getClass().getMethod("bit0").invoke(decoder));
+    }
+
+    private void generateNativeByteOrderCodecs(final String schemaResource, final String namespace) throws Exception
+    {
+        final ParserOptions options = ParserOptions.builder().stopOnError(true).build();
+        final MessageSchema schema = parse(Tests.getLocalResource(schemaResource), options);
+        ir = new IrGenerator().generate(schema, namespace);
+
+        outputManager.clear();
+        outputManager.setPackageName(ir.applicableNamespace());
+
+        new JavaGenerator(
+            ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, false, false, BYTE_ORDER, outputManager)
+            .generate();
+    }
+
     private Class<?> getModelClass(final Object encoder) throws ClassNotFoundException
     {
         final String className = "Model";
@@ -646,11 +934,55 @@ class JavaGeneratorTest
         return clazz;
     }
 
+    private static Class<?> accelerationDecoderClass(final Class<?> carDecoderClass) throws Exception
+    {
+        final Class<?> performanceFiguresDecoder = carDecoderClass.getMethod("performanceFigures").getReturnType();
+
+        return performanceFiguresDecoder.getMethod("acceleration").getReturnType();
+    }
+
     private JavaGenerator generator()
     {
         return new JavaGenerator(ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, outputManager);
     }
 
+    private JavaGenerator asciiViewGenerator()
+    {
+        return new JavaGenerator(
+            ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, false, false, true, false, false, false,
+            null, null, outputManager);
+    }
+
+    private JavaGenerator parallelGenerator(final Executor executor)
+    {
+        return new JavaGenerator(
+            ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, false, false, false, false, false, false,
+            executor, null, outputManager);
+    }
+
+    private JavaGenerator messageBatchGenerator()
+    {
+        return new JavaGenerator(
+            ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, false, false, false, false, true, false,
+            null, null, outputManager);
+    }
+
+    private JavaGenerator messageDispatcherGenerator()
+    {
+        return new JavaGenerator(
+            ir, BUFFER_NAME, READ_ONLY_BUFFER_NAME, false, false, false, false, false, false, false, false, true,
+            null, null, outputManager);
+    }
+
+    private void useSchema(final String schemaResource) throws Exception
+    {
+        final ParserOptions options = ParserOptions.builder().stopOnError(true).build();
+        ir = new IrGenerator().generate(parse(Tests.getLocalResource(schemaResource), options));
+
+        outputManager.clear();
+        outputManager.setPackageName(ir.applicableNamespace());
+    }
+
     private void generateTypeStubs() throws IOException
     {
         final JavaGenerator javaGenerator = generator();
@@ -24,8 +24,10 @@ import java.io.Writer;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
 
 class JavaOutputManagerTest
 {
@@ -63,7 +65,48 @@ class JavaOutputManagerTest
         assertFileExists(typePackageName2, typeClassName2);
     }
 
+    @Test
+    void shouldNotRewriteFileWithUnchangedContent() throws Exception
+    {
+        final String packageName = "uk.co.real_logic.test.unchanged";
+        final String className = "ExampleClassName";
+        final JavaOutputManager cut = new JavaOutputManager(SystemUtil.tmpDirName(), packageName);
+
+        try (Writer out = cut.createOutput(className))
+        {
+            out.append("class ExampleClassName {}\n");
+        }
+
+        final Path path = filePath(packageName, className);
+        final FileTime lastModifiedTime = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.setLastModifiedTime(path, lastModifiedTime);
+
+        try (Writer out = cut.createOutput(className))
+        {
+            out.append("class ExampleClassName {}\n");
+        }
+        assertEquals(lastModifiedTime, Files.getLastModifiedTime(path));
+
+        try (Writer out = cut.createOutput(className))
+        {
+            out.append("class ExampleClassName { int i; }\n");
+        }
+        assertNotEquals(lastModifiedTime, Files.getLastModifiedTime(path));
+        assertEquals("class ExampleClassName { int i; }\n", new String(Files.readAllBytes(path), UTF_8));
+
+        Files.delete(path);
+    }
+
     private void assertFileExists(final String packageName, final String exampleClassName) throws IOException
+    {
+        final Path path = filePath(packageName, exampleClassName);
+        final boolean exists = Files.exists(path);
+        Files.delete(path);
+
+        assertTrue(exists);
+    }
+
+    private static Path filePath(final String packageName, final String exampleClassName)
     {
         final String tempDirName = SystemUtil.tmpDirName();
         final String baseDirName = tempDirName.endsWith("" + File.separatorChar) ?
@@ -72,10 +115,6 @@ class JavaOutputManagerTest
         final String fullyQualifiedFilename = baseDirName + packageName.replace('.', File.separatorChar) +
             File.separatorChar + exampleClassName + ".java";
 
-        final Path path = FileSystems.getDefault().getPath(fullyQualifiedFilename);
-        final boolean exists = Files.exists(path);
-        Files.delete(path);
-
-        assertTrue(exists);
+        return FileSystems.getDefault().getPath(fullyQualifiedFilename);
     }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.generation.java;
+
+import baseline.CarDecoder;
+import baseline.CarEncoder;
+import baseline.CredentialsDecoder;
+import baseline.MessageBatchDecoder;
+import baseline.MessageBatchEncoder;
+import baseline.MessageDispatcher;
+import baseline.MessageHandler;
+import baseline.MessageHeaderDecoder;
+import baseline.MessageHeaderEncoder;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageBatchTest
+{
+    private static final int BATCH_OFFSET = 16;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+
+    @Test
+    void shouldEncodeAndDecodeBatchOfMessages()
+    {
+        final MessageBatchEncoder batchEncoder = new MessageBatchEncoder().wrap(buffer, BATCH_OFFSET, 1024);
+        encodeMessages(batchEncoder);
+
+        assertEquals(3, batchEncoder.messageCount());
+
+        final MessageBatchDecoder batchDecoder = new MessageBatchDecoder()
+            .wrap(buffer, BATCH_OFFSET, batchEncoder.length());
+        assertEquals(Arrays.asList("car:1", "credentials:alice", "car:2"), decodeMessages(batchDecoder));
+    }
+
+    @Test
+    void shouldAlignMessagesFromStartOfBatchWithZeroedPadding()
+    {
+        buffer.setMemory(0, buffer.capacity(), (byte)-1);
+
+        final int alignment = 32;
+        final MessageBatchEncoder batchEncoder = new MessageBatchEncoder(alignment).wrap(buffer, BATCH_OFFSET, 1024);
+        encodeMessages(batchEncoder);
+
+        final MessageBatchDecoder batchDecoder = new MessageBatchDecoder(alignment)
+            .wrap(buffer, BATCH_OFFSET, batchEncoder.length());
+
+        int previousLimit = BATCH_OFFSET;
+        while (batchDecoder.hasNext())
+        {
+            batchDecoder.next();
+            final int messageOffset = batchDecoder.messageHeader().offset();
+            assertEquals(0, (messageOffset - BATCH_OFFSET) % alignment);
+
+            for (int i = previousLimit; i < messageOffset; i++)
+            {
+                assertEquals(0, buffer.getByte(i));
+            }
+
+            previousLimit = messageOffset + MessageHeaderDecoder.ENCODED_LENGTH + messageLength(batchDecoder);
+        }
+
+        assertEquals(BATCH_OFFSET + batchEncoder.length(), previousLimit);
+    }
+
+    @Test
+    void shouldDispatchBatchWithoutAlignment()
+    {
+        final MessageBatchEncoder batchEncoder = new MessageBatchEncoder().wrap(buffer, BATCH_OFFSET, 1024);
+        encodeMessages(batchEncoder);
+
+        final List<String> received = new ArrayList<>();
+        final MessageDispatcher dispatcher = new MessageDispatcher(new MessageHandler()
+        {
+            public void onCar(final CarDecoder decoder)
+            {
+                received.add("car:" + decoder.serialNumber());
+            }
+
+            public void onCredentials(final CredentialsDecoder decoder)
+            {
+                received.add("credentials:" + decoder.login());
+            }
+        });
+
+        final int length = batchEncoder.length();
+        assertEquals(length, dispatcher.dispatchAll(buffer, BATCH_OFFSET, length));
+        assertEquals(Arrays.asList("car:1", "credentials:alice", "car:2"), received);
+    }
+
+    @Test
+    void shouldReportRemainingCapacityAndRejectMessageWhichDoesNotFit()
+    {
+        final int capacity = MessageHeaderDecoder.ENCODED_LENGTH + CarEncoder.BLOCK_LENGTH + 4;
+        final MessageBatchEncoder batchEncoder = new MessageBatchEncoder().wrap(buffer, BATCH_OFFSET, capacity);
+        assertEquals(capacity, batchEncoder.remaining());
+
+        batchEncoder.credentials().login("bob");
+        assertEquals(1, batchEncoder.messageCount());
+        assertTrue(batchEncoder.remaining() < MessageHeaderDecoder.ENCODED_LENGTH + CarEncoder.BLOCK_LENGTH);
+
+        assertThrows(IllegalStateException.class, batchEncoder::car);
+        assertEquals(1, batchEncoder.messageCount());
+    }
+
+    @Test
+    void shouldNotWritePastBatchWhenMessageDoesNotFit()
+    {
+        buffer.setMemory(0, buffer.capacity(), (byte)-1);
+
+        final int capacity = MessageHeaderDecoder.ENCODED_LENGTH + CarEncoder.BLOCK_LENGTH + 8;
+        final MessageBatchEncoder batchEncoder = new MessageBatchEncoder().wrap(buffer, BATCH_OFFSET, capacity);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> encodeCar(batchEncoder.car(), 1));
+        for (int i = BATCH_OFFSET + capacity; i < buffer.capacity(); i++)
+        {
+            assertEquals(-1, buffer.getByte(i));
+        }
+
+        assertThrows(IllegalStateException.class, batchEncoder::length);
+        assertEquals(0, batchEncoder.length());
+        assertEquals(0, batchEncoder.messageCount());
+    }
+
+    @Test
+    void shouldRejectMessageOfAnotherSchemaInBatch()
+    {
+        final MessageBatchEncoder batchEncoder = new MessageBatchEncoder().wrap(buffer, BATCH_OFFSET, 1024);
+        encodeMessages(batchEncoder);
+        new MessageHeaderEncoder().wrap(buffer, BATCH_OFFSET).schemaId(CarEncoder.SCHEMA_ID + 1);
+
+        final MessageBatchDecoder batchDecoder = new MessageBatchDecoder()
+            .wrap(buffer, BATCH_OFFSET, batchEncoder.length());
+        assertThrows(IllegalStateException.class, batchDecoder::next);
+    }
+
+    @Test
+    void shouldRejectMessageWhichExtendsBeyondBatch()
+    {
+        final MessageBatchEncoder batchEncoder = new MessageBatchEncoder().wrap(buffer, BATCH_OFFSET, 1024);
+        encodeMessages(batchEncoder);
+
+        final MessageBatchDecoder blockDecoder = new MessageBatchDecoder()
+            .wrap(buffer, BATCH_OFFSET, MessageHeaderDecoder.ENCODED_LENGTH + CarEncoder.BLOCK_LENGTH - 1);
+        assertTrue(blockDecoder.hasNext());
+        assertThrows(IllegalStateException.class, blockDecoder::next);
+
+        final MessageBatchDecoder varDataDecoder = new MessageBatchDecoder()
+            .wrap(buffer, BATCH_OFFSET, batchEncoder.length() - 1);
+        assertEquals(CarDecoder.TEMPLATE_ID, varDataDecoder.next());
+        assertEquals(CredentialsDecoder.TEMPLATE_ID, varDataDecoder.next());
+        assertThrows(IllegalStateException.class, varDataDecoder::next);
+    }
+
+    @Test
+    void shouldRejectAlignmentWhichIsNotPowerOfTwo()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new MessageBatchEncoder(12));
+        assertThrows(IllegalArgumentException.class, () -> new MessageBatchDecoder(0));
+    }
+
+    private static void encodeMessages(final MessageBatchEncoder batchEncoder)
+    {
+        encodeCar(batchEncoder.car(), 1);
+        batchEncoder.credentials().login("alice").putEncryptedPassword(new byte[]{ 1, 2, 3 }, 0, 3);
+        encodeCar(batchEncoder.car(), 2);
+    }
+
+    private static void encodeCar(final CarEncoder carEncoder, final long serialNumber)
+    {
+        carEncoder.serialNumber(serialNumber);
+        carEncoder.fuelFiguresCount(1).next().speed(30).mpg(35.9f);
+        carEncoder.performanceFiguresCount(0);
+        carEncoder.manufacturer("Honda").model("Civic").activationCode("");
+    }
+
+    private static List<String> decodeMessages(final MessageBatchDecoder batchDecoder)
+    {
+        final List<String> messages = new ArrayList<>();
+        while (batchDecoder.hasNext())
+        {
+            switch (batchDecoder.next())
+            {
+                case CarDecoder.TEMPLATE_ID:
+                    messages.add("car:" + batchDecoder.car().serialNumber());
+                    break;
+
+                case CredentialsDecoder.TEMPLATE_ID:
+                    messages.add("credentials:" + batchDecoder.credentials().login());
+                    break;
+
+                default:
+                    fail("unexpected template id: " + batchDecoder.messageHeader().templateId());
+            }
+        }
+
+        return messages;
+    }
+
+    private static int messageLength(final MessageBatchDecoder batchDecoder)
+    {
+        return CarDecoder.TEMPLATE_ID == batchDecoder.messageHeader().templateId() ?
+            batchDecoder.car().sbeDecodedLength() : batchDecoder.credentials().sbeDecodedLength();
+    }
+}
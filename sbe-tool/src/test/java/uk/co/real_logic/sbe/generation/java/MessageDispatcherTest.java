@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.generation.java;
+
+import baseline.CarDecoder;
+import baseline.CarEncoder;
+import baseline.CredentialsDecoder;
+import baseline.CredentialsEncoder;
+import baseline.MessageDispatcher;
+import baseline.MessageHandler;
+import baseline.MessageHeaderEncoder;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageDispatcherTest
+{
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+    private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+    private final CarEncoder carEncoder = new CarEncoder();
+    private final CredentialsEncoder credentialsEncoder = new CredentialsEncoder();
+    private final List<String> received = new ArrayList<>();
+
+    private final MessageDispatcher dispatcher = new MessageDispatcher(new MessageHandler()
+    {
+        public void onCar(final CarDecoder decoder)
+        {
+            received.add("car:" + decoder.serialNumber());
+        }
+
+        public void onCredentials(final CredentialsDecoder decoder)
+        {
+            received.add("credentials:" + decoder.login());
+        }
+    });
+
+    @Test
+    void shouldDispatchMessageToHandlerForItsTemplate()
+    {
+        final int length = encodeCar(0, 7);
+
+        assertEquals(length, dispatcher.dispatch(buffer, 0));
+        assertEquals(Arrays.asList("car:7"), received);
+    }
+
+    @Test
+    void shouldDispatchAllBackToBackMessages()
+    {
+        int length = encodeCar(0, 1);
+        length += encodeCredentials(length, "alice");
+        length += encodeCar(length, 2);
+
+        assertEquals(length, dispatcher.dispatchAll(buffer, 0, length));
+        assertEquals(Arrays.asList("car:1", "credentials:alice", "car:2"), received);
+    }
+
+    @Test
+    void shouldStopAtMessageOfUnknownTemplate()
+    {
+        final int carLength = encodeCar(0, 1);
+        final int credentialsLength = encodeCredentials(carLength, "bob");
+        headerEncoder.wrap(buffer, carLength).templateId(99);
+        final int length = carLength + credentialsLength + encodeCar(carLength + credentialsLength, 2);
+
+        assertEquals(MessageDispatcher.UNKNOWN_MESSAGE, dispatcher.dispatch(buffer, carLength));
+        assertEquals(carLength, dispatcher.dispatchAll(buffer, 0, length));
+        assertEquals(Arrays.asList("car:1"), received);
+    }
+
+    @Test
+    void shouldNotDispatchMessageOfAnotherSchema()
+    {
+        encodeCar(0, 1);
+        headerEncoder.wrap(buffer, 0).schemaId(CarEncoder.SCHEMA_ID + 1);
+
+        assertEquals(MessageDispatcher.UNKNOWN_MESSAGE, dispatcher.dispatch(buffer, 0));
+        assertEquals(0, received.size());
+    }
+
+    @Test
+    void shouldNotDispatchMessageWithBlockBeyondLength()
+    {
+        encodeCar(0, 1);
+
+        assertEquals(MessageDispatcher.INCOMPLETE_MESSAGE, dispatcher.dispatch(buffer, 0, 4));
+        assertEquals(
+            MessageDispatcher.INCOMPLETE_MESSAGE,
+            dispatcher.dispatch(buffer, 0, MessageHeaderEncoder.ENCODED_LENGTH + CarEncoder.BLOCK_LENGTH - 1));
+        assertEquals(0, received.size());
+    }
+
+    @Test
+    void shouldNotDispatchMessageWithVarDataBeyondLength()
+    {
+        final int carLength = encodeCar(0, 1);
+        final int length = carLength + encodeCredentials(carLength, "carol");
+
+        assertEquals(
+            MessageDispatcher.INCOMPLETE_MESSAGE, dispatcher.dispatch(buffer, carLength, length - 1 - carLength));
+        assertEquals(carLength, dispatcher.dispatchAll(buffer, 0, length - 1));
+        assertEquals(Arrays.asList("car:1"), received);
+    }
+
+    @Test
+    void shouldNotReadGroupOrVarDataBeyondLength()
+    {
+        final int carLength = encodeCar(0, 1);
+        final int blockLimit = MessageHeaderEncoder.ENCODED_LENGTH + CarEncoder.BLOCK_LENGTH;
+
+        for (int length = blockLimit; length < carLength; length++)
+        {
+            final UnsafeBuffer truncated = new UnsafeBuffer(buffer, 0, length);
+            assertEquals(MessageDispatcher.INCOMPLETE_MESSAGE, dispatcher.dispatch(truncated, 0), "length=" + length);
+        }
+
+        assertEquals(0, received.size());
+    }
+
+    @Test
+    void shouldNotDispatchMessageWithBlockShorterThanItsVersionRequires()
+    {
+        encodeCar(0, 1);
+        headerEncoder.wrap(buffer, 0).blockLength(CarEncoder.BLOCK_LENGTH - 1);
+
+        assertEquals(MessageDispatcher.INVALID_MESSAGE, dispatcher.dispatch(buffer, 0));
+        assertEquals(0, dispatcher.dispatchAll(buffer, 0, buffer.capacity()));
+        assertEquals(0, received.size());
+    }
+
+    private int encodeCar(final int offset, final long serialNumber)
+    {
+        carEncoder.wrapAndApplyHeader(buffer, offset, headerEncoder).serialNumber(serialNumber);
+        carEncoder.fuelFiguresCount(1).next().speed(30).mpg(35.9f);
+        carEncoder.performanceFiguresCount(0);
+        carEncoder.manufacturer("Honda").model("Civic").activationCode("");
+
+        return MessageHeaderEncoder.ENCODED_LENGTH + carEncoder.encodedLength();
+    }
+
+    private int encodeCredentials(final int offset, final String login)
+    {
+        credentialsEncoder.wrapAndApplyHeader(buffer, offset, headerEncoder).login(login).putEncryptedPassword(
+            new byte[]{ 1, 2, 3 }, 0, 3);
+
+        return MessageHeaderEncoder.ENCODED_LENGTH + credentialsEncoder.encodedLength();
+    }
+}
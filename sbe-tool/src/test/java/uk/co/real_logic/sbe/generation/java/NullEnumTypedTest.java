@@ -61,6 +61,6 @@ class NullEnumTypedTest
         final String source = sources.get("issue889.LotType").toString();
 
         assertThat(source, containsString("NULL_VAL((short)0);"));
-        assertThat(source, containsString("case 0: return NULL_VAL;"));
+        assertThat(source, containsString("LOOKUP_TABLE[0] = NULL_VAL;"));
     }
 }
@@ -47,6 +47,17 @@ final class ReflectionUtil
         object.getClass().getMethod(methodName, Appendable.class).invoke(object, arg);
     }
 
+    static boolean getStringEquals(final Object object, final String fieldName, final CharSequence value)
+        throws Exception
+    {
+        return (boolean)object.getClass().getMethod(fieldName + "Equals", CharSequence.class).invoke(object, value);
+    }
+
+    static int getStringHashCode(final Object object, final String fieldName) throws Exception
+    {
+        return (int)object.getClass().getMethod(fieldName + "HashCode").invoke(object);
+    }
+
     static String getManufacturer(final Object decoder) throws Exception
     {
         return (String)get(decoder, "manufacturer");
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.generation.java;
+
+import baseline.CarDecoder;
+import baseline.MessageHeaderDecoder;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.sbe.MessageDecoderFlyweight;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.sbe.EncodedCarTestBase;
+import uk.co.real_logic.sbe.Tests;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.xml.IrGenerator;
+import uk.co.real_logic.sbe.xml.ParserOptions;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.co.real_logic.sbe.xml.XmlSchemaParser.parse;
+
+class RuntimeCodecFactoryTest extends EncodedCarTestBase
+{
+    private static final int MSG_BUFFER_CAPACITY = 4 * 1024;
+
+    @Test
+    void shouldDecodeSameAsBuildTimeGeneratedDecoder() throws Exception
+    {
+        final Ir ir = new IrGenerator().generate(
+            parse(Tests.getLocalResource("json-printer-test-schema.xml"), ParserOptions.DEFAULT));
+        final RuntimeCodecFactory factory = new RuntimeCodecFactory(ir);
+
+        final ByteBuffer encodedMsgBuffer = ByteBuffer.allocate(MSG_BUFFER_CAPACITY);
+        encodeTestMessage(encodedMsgBuffer);
+        final UnsafeBuffer buffer = new UnsafeBuffer(encodedMsgBuffer);
+
+        final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder().wrap(buffer, 0);
+        final int offset = headerDecoder.encodedLength();
+        final int blockLength = headerDecoder.blockLength();
+        final int version = headerDecoder.version();
+
+        final CarDecoder expected = new CarDecoder().wrap(buffer, offset, blockLength, version);
+        final MessageDecoderFlyweight actual = factory.newDecoder(headerDecoder.templateId())
+            .wrap(buffer, offset, blockLength, version);
+
+        assertNotSame(CarDecoder.class, actual.getClass());
+        assertEquals(CarDecoder.class.getName(), actual.getClass().getName());
+        assertSame(factory.classLoader(), actual.getClass().getClassLoader());
+        assertEquals(expected.toString(), actual.appendTo(new StringBuilder()).toString());
+        assertEquals(expected.sbeDecodedLength(), actual.sbeDecodedLength());
+    }
+
+    @Test
+    void shouldProvideEncoderAndTypeClasses() throws Exception
+    {
+        final Ir ir = new IrGenerator().generate(
+            parse(Tests.getLocalResource("json-printer-test-schema.xml"), ParserOptions.DEFAULT));
+        final RuntimeCodecFactory factory = new RuntimeCodecFactory(ir);
+        final int templateId = CarDecoder.TEMPLATE_ID;
+
+        assertEquals(templateId, factory.newEncoder(templateId).sbeTemplateId());
+        assertEquals("CarEncoder", factory.encoderClass(templateId).getSimpleName());
+        assertTrue(factory.loadClass("Model").isEnum());
+        assertNull(factory.decoderClass(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> factory.newDecoder(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> factory.loadClass("NoSuchType"));
+    }
+}
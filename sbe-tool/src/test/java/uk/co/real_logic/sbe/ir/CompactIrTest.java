@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.ir;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.co.real_logic.sbe.Tests.generateIr;
+
+class CompactIrTest
+{
+    @Test
+    void shouldHoldSameTokensAsIr() throws Exception
+    {
+        final Ir ir = generateIr("code-generation-schema.xml");
+        final CompactIr compactIr = new CompactIr(ir);
+
+        int tokenCount = 0;
+        for (final List<Token> tokens : ir.messages())
+        {
+            final int messageIndex = compactIr.messageIndex(tokens.get(0).id());
+            assertEquals(Signal.BEGIN_MESSAGE, compactIr.signal(messageIndex));
+            assertEquals(tokens.size(), compactIr.componentTokenCount(messageIndex));
+
+            for (int i = 0; i < tokens.size(); i++)
+            {
+                final Token token = tokens.get(i);
+                final int index = messageIndex + i;
+
+                assertEquals(token.signal(), compactIr.signal(index));
+                assertEquals(token.name(), compactIr.name(index));
+                assertEquals(token.id(), compactIr.id(index));
+                assertEquals(token.version(), compactIr.version(index));
+                assertEquals(token.offset(), compactIr.offset(index));
+                assertEquals(token.encodedLength(), compactIr.encodedLength(index));
+                assertEquals(token.componentTokenCount(), compactIr.componentTokenCount(index));
+                assertEquals(token.encoding().primitiveType(), compactIr.primitiveType(index));
+                assertEquals(token.encoding().byteOrder(), compactIr.byteOrder(index));
+                assertEquals(token.encoding().presence(), compactIr.presence(index));
+                assertEquals(token.encoding().toString(), compactIr.encoding(index).toString());
+            }
+
+            tokenCount += tokens.size();
+        }
+
+        assertEquals(tokenCount, compactIr.tokenCount());
+        assertEquals(ir.id(), compactIr.id());
+        assertEquals(ir.version(), compactIr.version());
+        assertSame(ir.headerStructure(), compactIr.headerStructure());
+    }
+
+    @Test
+    void shouldInternNamesAndShareEncodings() throws Exception
+    {
+        final CompactIr compactIr = new CompactIr(generateIr("code-generation-schema.xml"));
+
+        assertTrue(compactIr.nameCount() < compactIr.tokenCount());
+        assertTrue(compactIr.encodingCount() < compactIr.tokenCount());
+
+        int firstIndex = CompactIr.NOT_FOUND;
+        for (int i = 0; i < compactIr.tokenCount(); i++)
+        {
+            if ("numInGroup".equals(compactIr.name(i)))
+            {
+                if (CompactIr.NOT_FOUND == firstIndex)
+                {
+                    firstIndex = i;
+                }
+                else
+                {
+                    assertSame(compactIr.name(firstIndex), compactIr.name(i));
+                    assertSame(compactIr.encoding(firstIndex), compactIr.encoding(i));
+                }
+            }
+        }
+
+        assertNotEquals(CompactIr.NOT_FOUND, firstIndex);
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownMessageId() throws Exception
+    {
+        final CompactIr compactIr = new CompactIr(generateIr("code-generation-schema.xml"));
+
+        assertEquals(CompactIr.NOT_FOUND, compactIr.messageIndex(Long.MAX_VALUE));
+    }
+}
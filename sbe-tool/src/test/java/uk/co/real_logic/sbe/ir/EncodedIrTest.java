@@ -22,10 +22,18 @@ import uk.co.real_logic.sbe.xml.MessageSchema;
 import uk.co.real_logic.sbe.xml.ParserOptions;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
+import static uk.co.real_logic.sbe.Tests.generateIr;
 import static uk.co.real_logic.sbe.xml.XmlSchemaParser.parse;
 
 class EncodedIrTest
@@ -170,6 +178,110 @@ class EncodedIrTest
         }
     }
 
+    @Test
+    void shouldDecodeMessagesLazily() throws Exception
+    {
+        final Ir ir = generateIr("code-generation-schema.xml");
+        final Ir decodedIr = encodeThenDecodeLazily(ir);
+
+        assertThat(decodedIr.headerStructure().tokens().size(), is(ir.headerStructure().tokens().size()));
+        assertThat(decodedIr.getMessage(Integer.MAX_VALUE), is(nullValue()));
+
+        for (final List<Token> tokens : ir.messages())
+        {
+            final long messageId = tokens.get(0).id();
+            final List<Token> decodedTokenList = decodedIr.getMessage(messageId);
+
+            assertThat(decodedTokenList.size(), is(tokens.size()));
+            for (int i = 0, size = decodedTokenList.size(); i < size; i++)
+            {
+                assertEqual(decodedTokenList.get(i), tokens.get(i));
+                assertThat(decodedTokenList.get(i).componentTokenCount(), is(tokens.get(i).componentTokenCount()));
+            }
+
+            assertThat(decodedIr.getMessage(messageId), is(sameInstance(decodedTokenList)));
+        }
+
+        assertThat(decodedIr.messages().size(), is(ir.messages().size()));
+        assertThat(decodedIr.types().size(), is(ir.types().size()));
+    }
+
+    @Test
+    void shouldDecodeEachMessageLazilyOnceWhenLookedUpConcurrently() throws Exception
+    {
+        final Ir ir = generateIr("code-generation-schema.xml");
+        final Ir decodedIr = encodeThenDecodeLazily(ir);
+
+        final int threadCount = 4;
+        final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try
+        {
+            final List<Future<List<List<Token>>>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    barrier.await();
+                    final List<List<Token>> messages = new ArrayList<>();
+                    for (final List<Token> tokens : ir.messages())
+                    {
+                        messages.add(decodedIr.getMessage(tokens.get(0).id()));
+                    }
+
+                    return messages;
+                }));
+            }
+
+            final List<List<Token>> expected = futures.get(0).get();
+            for (final Future<List<List<Token>>> future : futures)
+            {
+                final List<List<Token>> messages = future.get();
+                for (int i = 0, size = expected.size(); i < size; i++)
+                {
+                    assertThat(messages.get(i), is(sameInstance(expected.get(i))));
+                    assertThat(messages.get(i).size(), is(ir.getMessage(messages.get(i).get(0).id()).size()));
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertThat(decodedIr.messages().size(), is(ir.messages().size()));
+    }
+
+    @Test
+    void shouldDecodeAllMessagesLazilyWhenTypesAreAccessed() throws Exception
+    {
+        final Ir ir = generateIr("code-generation-schema.xml");
+        final Ir decodedIr = encodeThenDecodeLazily(ir);
+
+        assertThat(decodedIr.types().size(), is(ir.types().size()));
+        for (final List<Token> tokens : ir.types())
+        {
+            final Token t = tokens.get(0);
+            final String name = t.referencedName() != null ? t.referencedName() : t.name();
+            final List<Token> decodedTokenList = decodedIr.getType(name);
+
+            assertThat(name + " token count", decodedTokenList.size(), is(tokens.size()));
+        }
+
+        assertThat(decodedIr.messages().size(), is(ir.messages().size()));
+    }
+
+    private static Ir encodeThenDecodeLazily(final Ir ir) throws Exception
+    {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACITY);
+        final IrEncoder irEncoder = new IrEncoder(buffer, ir);
+
+        irEncoder.encode();
+        buffer.flip();
+
+        return new IrDecoder(buffer).decodeLazily();
+    }
+
     private void assertEqual(final Token lhs, final Token rhs)
     {
         assertThat(lhs.name(), is(rhs.name()));
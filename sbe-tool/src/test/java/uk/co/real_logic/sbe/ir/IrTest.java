@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.ir;
+
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.sbe.xml.IrGenerator;
+import uk.co.real_logic.sbe.xml.MessageSchema;
+import uk.co.real_logic.sbe.xml.ParserOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.co.real_logic.sbe.Tests.getLocalResource;
+import static uk.co.real_logic.sbe.xml.XmlSchemaParser.parse;
+
+class IrTest
+{
+    @Test
+    void shouldGetMessagesByDenseAndSparseTemplateIds() throws Exception
+    {
+        final MessageSchema schema = parse(getLocalResource("code-generation-schema.xml"), ParserOptions.DEFAULT);
+        final Ir ir = new IrGenerator().generate(schema);
+        final List<Token> messageTokens = new ArrayList<>(ir.messages().iterator().next());
+        final long messageId = messageTokens.get(0).id();
+
+        ir.addMessage(5000, messageTokens);
+        ir.addMessage(Long.MAX_VALUE, messageTokens);
+        ir.addMessage(-1, messageTokens);
+
+        assertEquals(messageId, ir.getMessage(messageId).get(0).id());
+        assertEquals(messageTokens, ir.getMessage(5000));
+        assertEquals(messageTokens, ir.getMessage(Long.MAX_VALUE));
+        assertEquals(messageTokens, ir.getMessage(-1));
+        assertNull(ir.getMessage(messageId + 1));
+        assertNull(ir.getMessage(1023));
+        assertNull(ir.getMessage(4999));
+        assertEquals(4, ir.messages().size());
+    }
+}
@@ -17,6 +17,7 @@ package uk.co.real_logic.sbe.json;
 
 import baseline.CredentialsEncoder;
 import baseline.MessageHeaderEncoder;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.Test;
 import uk.co.real_logic.sbe.EncodedCarTestBase;
@@ -31,6 +32,7 @@ import uk.co.real_logic.sbe.xml.XmlSchemaParser;
 import java.io.BufferedInputStream;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -155,6 +157,116 @@ class JsonPrinterTest extends EncodedCarTestBase
             result);
     }
 
+    @Test
+    void exampleMessagePrintedAsJsonToBuffer() throws Exception
+    {
+        final ByteBuffer encodedSchemaBuffer = ByteBuffer.allocate(SCHEMA_BUFFER_CAPACITY);
+        encodeSchema(encodedSchemaBuffer);
+
+        final ByteBuffer encodedMsgBuffer = ByteBuffer.allocate(MSG_BUFFER_CAPACITY);
+        encodeTestMessage(encodedMsgBuffer);
+
+        encodedSchemaBuffer.flip();
+        final Ir ir = decodeIr(encodedSchemaBuffer);
+
+        final JsonPrinter printer = new JsonPrinter(ir);
+        final String expected = printer.print(encodedMsgBuffer);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(encodedMsgBuffer);
+        final ExpandableArrayBuffer output = new ExpandableArrayBuffer(16);
+        final int outputOffset = 3;
+
+        for (int i = 0; i < 2; i++)
+        {
+            final int length = printer.print(buffer, 0, output, outputOffset);
+            assertEquals(expected, output.getStringWithoutLengthUtf8(outputOffset, length));
+        }
+    }
+
+    @Test
+    void exampleVarDataPrintedAsJsonToBuffer() throws Exception
+    {
+        final ByteBuffer encodedSchemaBuffer = ByteBuffer.allocate(SCHEMA_BUFFER_CAPACITY);
+        encodeSchema(encodedSchemaBuffer);
+
+        final ByteBuffer encodedMsgBuffer = ByteBuffer.allocate(MSG_BUFFER_CAPACITY);
+        final UnsafeBuffer buffer = new UnsafeBuffer(encodedMsgBuffer);
+        final CredentialsEncoder encoder = new CredentialsEncoder();
+        encoder.wrapAndApplyHeader(buffer, 0, new MessageHeaderEncoder());
+        encoder.login("caf\u00e9 \"x\"");
+        encoder.putEncryptedPassword(new byte[] {11, 0, 64, 97, -1}, 0, 5);
+
+        encodedSchemaBuffer.flip();
+        final Ir ir = decodeIr(encodedSchemaBuffer);
+
+        final JsonPrinter printer = new JsonPrinter(ir);
+        final UnsafeBuffer output = new UnsafeBuffer(new byte[MSG_BUFFER_CAPACITY]);
+        final int length = printer.print(buffer, 0, output, 0);
+
+        final byte[] bytes = new byte[length];
+        output.getBytes(0, bytes);
+        assertEquals(
+            "{\n" +
+            "    \"login\": \"caf\u00e9 \\\"x\\\"\",\n" +
+            "    \"encryptedPassword\": \"0b004061ff\"\n" +
+            "}",
+            new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void constantEnumAtEndOfMessagePrintedWithoutReadingBuffer() throws Exception
+    {
+        final Ir ir;
+        final Path path = Paths.get("src/test/resources/group-with-constant-fields.xml");
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path)))
+        {
+            ir = new IrGenerator().generate(XmlSchemaParser.parse(in, ParserOptions.DEFAULT));
+        }
+
+        final String json =
+            "{ \"a\": 1, \"d\": 2, \"e\": { \"w\": 3 }, \"f\": [ { \"g\": 4, \"h\": { \"w\": 5 }, \"j\": 6 } ] }";
+        final UnsafeBuffer encoded = new UnsafeBuffer(new byte[MSG_BUFFER_CAPACITY]);
+        final int encodedLength = new JsonToSbeEncoder(ir).encode(1, json, encoded, 0);
+        final UnsafeBuffer buffer = new UnsafeBuffer(encoded, 0, encodedLength);
+
+        final JsonPrinter printer = new JsonPrinter(ir);
+        final StringBuilder result = new StringBuilder();
+        printer.print(result, buffer, 0);
+
+        final String expected =
+            "{\n" +
+            "    \"a\": 1,\n" +
+            "    \"b\": 9000,\n" +
+            "    \"c\": \"C\",\n" +
+            "    \"d\": 9000,\n" +
+            "    \"e\": \n" +
+            "    {\n" +
+            "        \"w\": 3,\n" +
+            "        \"x\": 250,\n" +
+            "        \"y\": 9000\n" +
+            "    },\n" +
+            "    \"f\": [\n" +
+            "    {\n" +
+            "        \"g\": 4,\n" +
+            "        \"h\": \n" +
+            "        {\n" +
+            "            \"w\": 5,\n" +
+            "            \"x\": 250,\n" +
+            "            \"y\": 9000\n" +
+            "        },\n" +
+            "        \"i\": 9000,\n" +
+            "        \"j\": 9000,\n" +
+            "        \"k\": \"C\",\n" +
+            "        \"l\": \"Huzzah\"\n" +
+            "    }]\n" +
+            "}";
+        assertEquals(expected, result.toString());
+
+        final UnsafeBuffer output = new UnsafeBuffer(new byte[MSG_BUFFER_CAPACITY]);
+        final int length = printer.print(buffer, 0, output, 0);
+        assertEquals(expected, output.getStringWithoutLengthUtf8(0, length));
+    }
+
     private static void encodeSchema(final ByteBuffer buffer) throws Exception
     {
         final Path path = Paths.get("src/test/resources/json-printer-test-schema.xml");
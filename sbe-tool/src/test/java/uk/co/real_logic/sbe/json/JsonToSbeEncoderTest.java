@@ -0,0 +1,249 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.json;
+
+import baseline.CarDecoder;
+import baseline.CredentialsDecoder;
+import baseline.MessageHeaderDecoder;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.sbe.EncodedCarTestBase;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.xml.IrGenerator;
+import uk.co.real_logic.sbe.xml.MessageSchema;
+import uk.co.real_logic.sbe.xml.ParserOptions;
+import uk.co.real_logic.sbe.xml.XmlSchemaParser;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonToSbeEncoderTest extends EncodedCarTestBase
+{
+    private static final int MSG_BUFFER_CAPACITY = 4 * 1024;
+
+    private Ir ir;
+    private JsonPrinter printer;
+    private JsonToSbeEncoder encoder;
+    private final UnsafeBuffer output = new UnsafeBuffer(new byte[MSG_BUFFER_CAPACITY]);
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        final Path path = Paths.get("src/test/resources/json-printer-test-schema.xml");
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path)))
+        {
+            final MessageSchema schema = XmlSchemaParser.parse(in, ParserOptions.DEFAULT);
+            ir = new IrGenerator().generate(schema);
+        }
+
+        printer = new JsonPrinter(ir);
+        encoder = new JsonToSbeEncoder(ir);
+    }
+
+    @Test
+    void shouldRoundTripPrintedMessage() throws Exception
+    {
+        final ByteBuffer encodedMsgBuffer = ByteBuffer.allocate(MSG_BUFFER_CAPACITY);
+        encodeTestMessage(encodedMsgBuffer);
+        final int expectedLength = encodedMsgBuffer.position();
+        final UnsafeBuffer expected = new UnsafeBuffer(encodedMsgBuffer);
+
+        final String json = printer.print(encodedMsgBuffer);
+        final int length = encoder.encode(CarDecoder.TEMPLATE_ID, json, output, 0);
+
+        assertEquals(expectedLength, length);
+        for (int i = 0; i < length; i++)
+        {
+            assertEquals(expected.getByte(i), output.getByte(i), "byte at index " + i);
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        printer.print(sb, output, 0);
+        assertEquals(json, sb.toString());
+    }
+
+    @Test
+    void shouldEncodeVarDataWithEscapesAndHex()
+    {
+        final String json = "{ \"login\": \"caf\\u00e9 \\\"x\\\"\", \"encryptedPassword\": \"0b004061FF\" }";
+        final int length = encoder.encode(CredentialsDecoder.TEMPLATE_ID, json, output, 0);
+
+        final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder().wrap(output, 0);
+        assertEquals(CredentialsDecoder.TEMPLATE_ID, headerDecoder.templateId());
+        assertEquals(CredentialsDecoder.SCHEMA_ID, headerDecoder.schemaId());
+
+        final CredentialsDecoder decoder = new CredentialsDecoder().wrap(
+            output, MessageHeaderDecoder.ENCODED_LENGTH, headerDecoder.blockLength(), headerDecoder.version());
+        assertEquals("caf\u00e9 \"x\"", decoder.login());
+
+        final byte[] password = new byte[decoder.encryptedPasswordLength()];
+        decoder.getEncryptedPassword(password, 0, password.length);
+        assertArrayEquals(new byte[] {11, 0, 64, 97, -1}, password);
+        assertEquals(length, decoder.encodedLength() + MessageHeaderDecoder.ENCODED_LENGTH);
+    }
+
+    @Test
+    void shouldEncodeMissingFieldsAsNullAndMissingGroupsAsEmpty()
+    {
+        final String json = "{ \"serialNumber\": 7, \"unknown\": { \"a\": [1, \"}\"] }, \"modelYear\": null }";
+        encoder.encode(CarDecoder.TEMPLATE_ID, json, output, 0);
+
+        final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder().wrap(output, 0);
+        final CarDecoder decoder = new CarDecoder().wrap(
+            output, MessageHeaderDecoder.ENCODED_LENGTH, headerDecoder.blockLength(), headerDecoder.version());
+
+        assertEquals(7, decoder.serialNumber());
+        assertEquals(CarDecoder.modelYearNullValue(), decoder.modelYear());
+        assertEquals(CarDecoder.cupHolderCountNullValue(), decoder.cupHolderCount());
+        assertEquals(0, decoder.fuelFigures().count());
+        assertEquals(0, decoder.performanceFigures().count());
+        assertEquals("", decoder.manufacturer());
+        assertEquals("", decoder.model());
+        assertEquals("", decoder.activationCode());
+    }
+
+    @Test
+    void shouldEncodeConcatenatedMessages()
+    {
+        final String json = "{ \"login\": \"a\" }\n{ \"login\": \"bc\" }";
+        final UnsafeBuffer jsonBuffer = new UnsafeBuffer(json.getBytes());
+
+        final int firstLength = encoder.encode(
+            CredentialsDecoder.TEMPLATE_ID, jsonBuffer, 0, json.length(), output, 0);
+        final int position = encoder.jsonPosition();
+        final int secondLength = encoder.encode(
+            CredentialsDecoder.TEMPLATE_ID, jsonBuffer, position, json.length() - position, output, firstLength);
+
+        assertEquals(firstLength + 1, secondLength);
+        assertEquals(json.length(), encoder.jsonPosition());
+    }
+
+    @Test
+    void shouldRejectGroupsOutOfSchemaOrder()
+    {
+        final String json = "{ \"performanceFigures\": [], \"fuelFigures\": [] }";
+
+        assertThrows(
+            IllegalArgumentException.class, () -> encoder.encode(CarDecoder.TEMPLATE_ID, json, output, 0));
+    }
+
+    @Test
+    void shouldEncodeIntegersAtLongRange()
+    {
+        encoder.encode(CarDecoder.TEMPLATE_ID, "{ \"serialNumber\": -9223372036854775808 }", output, 0);
+        assertEquals(Long.MIN_VALUE, decodeSerialNumber());
+
+        encoder.encode(CarDecoder.TEMPLATE_ID, "{ \"serialNumber\": 9223372036854775807 }", output, 0);
+        assertEquals(Long.MAX_VALUE, decodeSerialNumber());
+    }
+
+    @Test
+    void shouldRejectIntegersOutOfLongRange()
+    {
+        final IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> encoder.encode(CarDecoder.TEMPLATE_ID, "{ \"serialNumber\": 9223372036854775808 }", output, 0));
+        assertTrue(ex.getMessage().contains("out of range"), ex.getMessage());
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> encoder.encode(CarDecoder.TEMPLATE_ID, "{ \"serialNumber\": -12345678901234567890 }", output, 0));
+    }
+
+    @Test
+    void shouldRejectFractionalNumberForIntegerField()
+    {
+        encoder.encode(CarDecoder.TEMPLATE_ID, "{ \"serialNumber\": 1.5e3 }", output, 0);
+        assertEquals(1500, decodeSerialNumber());
+
+        final IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> encoder.encode(CarDecoder.TEMPLATE_ID, "{ \"serialNumber\": 1.5 }", output, 0));
+        assertTrue(ex.getMessage().contains("fractional number"), ex.getMessage());
+    }
+
+    @Test
+    void shouldRejectVarDataLongerThanMaxValueOfLength()
+    {
+        final String login = repeat("x", 300);
+
+        final IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> encoder.encode(CredentialsDecoder.TEMPLATE_ID, "{ \"login\": \"" + login + "\" }", output, 0));
+        assertTrue(ex.getMessage().contains("maximum length is 254"), ex.getMessage());
+    }
+
+    @Test
+    void shouldRejectGroupWithMoreElementsThanMaxValueOfCount()
+    {
+        final String elements = repeat("{},", 254) + "{}";
+
+        final IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> encoder.encode(CarDecoder.TEMPLATE_ID, "{ \"fuelFigures\": [" + elements + "] }", output, 0));
+        assertTrue(ex.getMessage().contains("maximum is 254"), ex.getMessage());
+    }
+
+    @Test
+    void shouldRejectMessageWhichDoesNotFitInOutput()
+    {
+        final String json = "{ \"login\": \"abcdefgh\" }";
+        final UnsafeBuffer smallOutput = new UnsafeBuffer(new byte[16]);
+
+        final IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> encoder.encode(CredentialsDecoder.TEMPLATE_ID, json, smallOutput, 0));
+        assertTrue(ex.getMessage().contains("insufficient capacity"), ex.getMessage());
+
+        final ExpandableArrayBuffer expandableOutput = new ExpandableArrayBuffer(16);
+        final int length = encoder.encode(CredentialsDecoder.TEMPLATE_ID, json, expandableOutput, 0);
+        assertTrue(length > smallOutput.capacity());
+    }
+
+    @Test
+    void shouldRejectUnknownTemplateId()
+    {
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(99, "{}", output, 0));
+    }
+
+    private static String repeat(final String value, final int count)
+    {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++)
+        {
+            sb.append(value);
+        }
+
+        return sb.toString();
+    }
+
+    private long decodeSerialNumber()
+    {
+        final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder().wrap(output, 0);
+        final CarDecoder decoder = new CarDecoder().wrap(
+            output, MessageHeaderDecoder.ENCODED_LENGTH, headerDecoder.blockLength(), headerDecoder.version());
+
+        return decoder.serialNumber();
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.sbe.EncodedCarTestBase;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+import uk.co.real_logic.sbe.json.JsonTokenListener;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledMessageDecoderTest extends EncodedCarTestBase
+{
+    private Ir ir;
+    private UnsafeBuffer buffer;
+    private int messageLength;
+    private int messageOffset;
+    private int blockLength;
+    private int actingVersion;
+    private List<Token> msgTokens;
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        ir = generateIr();
+        final ByteBuffer encodedMsgBuffer = encodeTestMessage();
+        messageLength = encodedMsgBuffer.position();
+        buffer = new UnsafeBuffer(encodedMsgBuffer);
+
+        final OtfHeaderDecoder headerDecoder = new OtfHeaderDecoder(ir.headerStructure());
+        messageOffset = headerDecoder.encodedLength();
+        blockLength = headerDecoder.getBlockLength(buffer, 0);
+        actingVersion = headerDecoder.getSchemaVersion(buffer, 0);
+        msgTokens = ir.getMessage(headerDecoder.getTemplateId(buffer, 0));
+    }
+
+    @Test
+    void shouldProduceSameCallbacksAsOtfMessageDecoder()
+    {
+        final StringBuilder expected = new StringBuilder();
+        final int expectedLimit = OtfMessageDecoder.decode(
+            buffer, messageOffset, actingVersion, blockLength, msgTokens, new JsonTokenListener(expected));
+
+        final CompiledMessageDecoder decoder = new CompiledMessageDecoder(msgTokens);
+        final StringBuilder actual = new StringBuilder();
+        final int actualLimit = decoder.decode(
+            buffer, messageOffset, actingVersion, blockLength, new JsonTokenListener(actual));
+
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expectedLimit, actualLimit);
+        assertEquals(messageLength, actualLimit);
+        assertEquals(msgTokens.get(0), decoder.messageToken());
+    }
+
+    @Test
+    void shouldBeReusableAcrossMessagesAndVersions()
+    {
+        final CompiledMessageDecoder decoder = new CompiledMessageDecoder(msgTokens);
+
+        for (int version = 0; version <= ir.version(); version++)
+        {
+            final StringBuilder expected = new StringBuilder();
+            OtfMessageDecoder.decode(
+                buffer, messageOffset, version, blockLength, msgTokens, new JsonTokenListener(expected));
+
+            final StringBuilder actual = new StringBuilder();
+            decoder.decode(buffer, messageOffset, version, blockLength, new JsonTokenListener(actual));
+
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    void shouldOnlyCallbackForSelectionsOfProjection()
+    {
+        final MessageProjection projection = new MessageProjection()
+            .path("serialNumber")
+            .path("engine")
+            .path("performanceFigures.acceleration.mph")
+            .ids(18);
+
+        final CompiledMessageDecoder decoder = new CompiledMessageDecoder(msgTokens, projection);
+        final RecordingTokenListener listener = new RecordingTokenListener();
+        final int limit = decoder.decode(buffer, messageOffset, actingVersion, blockLength, listener);
+
+        assertEquals(messageLength, limit);
+        assertEquals(Arrays.asList(
+            "serialNumber",
+            "engine{",
+            "capacity",
+            "numCylinders",
+            "maxRpm",
+            "manufacturerCode",
+            "fuel",
+            "}engine",
+            "performanceFigures[2]",
+            "acceleration[3]",
+            "mph",
+            "mph",
+            "mph",
+            "acceleration[3]",
+            "mph",
+            "mph",
+            "mph",
+            "model=9"),
+            removeGroupElements(listener.events));
+    }
+
+    @Test
+    void shouldSkipEverythingForEmptyProjection()
+    {
+        final CompiledMessageDecoder decoder = new CompiledMessageDecoder(msgTokens, new MessageProjection());
+
+        final RecordingTokenListener listener = new RecordingTokenListener();
+        final int limit = decoder.decode(buffer, messageOffset, actingVersion, blockLength, listener);
+
+        assertEquals(messageLength, limit);
+        assertEquals(0, listener.events.size());
+    }
+
+    @Test
+    void shouldRejectProjectionPathNotInMessage()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new CompiledMessageDecoder(
+            msgTokens, new MessageProjection().path("fuelFigures.octaneRating")));
+    }
+
+    private static List<String> removeGroupElements(final List<String> events)
+    {
+        final List<String> result = new ArrayList<>();
+        for (final String event : events)
+        {
+            if (!event.startsWith("<") && !event.startsWith(">"))
+            {
+                result.add(event);
+            }
+        }
+
+        return result;
+    }
+
+    static final class RecordingTokenListener extends AbstractTokenListener
+    {
+        final List<String> events = new ArrayList<>();
+
+        public void onEncoding(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final Token typeToken,
+            final int actingVersion)
+        {
+            events.add(fieldToken.name());
+        }
+
+        public void onEnum(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final List<Token> tokens,
+            final int fromIndex,
+            final int toIndex,
+            final int actingVersion)
+        {
+            events.add(tokens.get(fromIndex).name());
+        }
+
+        public void onBeginComposite(
+            final Token fieldToken, final List<Token> tokens, final int fromIndex, final int toIndex)
+        {
+            events.add(fieldToken.name() + "{");
+        }
+
+        public void onEndComposite(
+            final Token fieldToken, final List<Token> tokens, final int fromIndex, final int toIndex)
+        {
+            events.add("}" + fieldToken.name());
+        }
+
+        public void onGroupHeader(final Token token, final int numInGroup)
+        {
+            events.add(token.name() + "[" + numInGroup + "]");
+        }
+
+        public void onBeginGroup(final Token token, final int groupIndex, final int numInGroup)
+        {
+            events.add("<" + token.name());
+        }
+
+        public void onEndGroup(final Token token, final int groupIndex, final int numInGroup)
+        {
+            events.add(">" + token.name());
+        }
+
+        public void onVarData(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int length,
+            final Token typeToken)
+        {
+            events.add(fieldToken.name() + "=" + length);
+        }
+    }
+}
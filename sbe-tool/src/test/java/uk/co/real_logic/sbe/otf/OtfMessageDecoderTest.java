@@ -0,0 +1,249 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.sbe.EncodedCarTestBase;
+import uk.co.real_logic.sbe.ir.CompactIr;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class OtfMessageDecoderTest extends EncodedCarTestBase
+{
+    @Test
+    void shouldProduceSameCallbacksFromCompactIrAsFromTokens() throws Exception
+    {
+        final Ir ir = generateIr();
+        final CompactIr compactIr = new CompactIr(ir);
+        final ByteBuffer encodedMsgBuffer = encodeTestMessage();
+        final UnsafeBuffer buffer = new UnsafeBuffer(encodedMsgBuffer);
+
+        final OtfHeaderDecoder headerDecoder = new OtfHeaderDecoder(compactIr.headerStructure());
+        final int templateId = headerDecoder.getTemplateId(buffer, 0);
+        final int blockLength = headerDecoder.getBlockLength(buffer, 0);
+        final int messageOffset = headerDecoder.encodedLength();
+        final List<Token> msgTokens = ir.getMessage(templateId);
+        final int messageIndex = compactIr.messageIndex(templateId);
+
+        for (int actingVersion = 0; actingVersion <= ir.version(); actingVersion++)
+        {
+            final RecordingTokenListener expected = new RecordingTokenListener();
+            final int expectedLimit = OtfMessageDecoder.decode(
+                buffer, messageOffset, actingVersion, blockLength, msgTokens, expected);
+
+            final RecordingCompactTokenListener actual = new RecordingCompactTokenListener();
+            final int actualLimit = OtfMessageDecoder.decode(
+                buffer, messageOffset, actingVersion, blockLength, compactIr, messageIndex, actual);
+
+            assertFalse(expected.events.isEmpty());
+            assertEquals(expected.events, actual.events);
+            assertEquals(expectedLimit, actualLimit);
+        }
+
+        assertEquals(encodedMsgBuffer.position(), OtfMessageDecoder.decode(
+            buffer, messageOffset, ir.version(), blockLength, compactIr, messageIndex,
+            new AbstractCompactTokenListener()
+            {
+            }));
+    }
+
+    static final class RecordingTokenListener implements TokenListener
+    {
+        final List<String> events = new ArrayList<>();
+
+        public void onBeginMessage(final Token token)
+        {
+            events.add("message:" + token.name());
+        }
+
+        public void onEndMessage(final Token token)
+        {
+            events.add("end:" + token.name());
+        }
+
+        public void onEncoding(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final Token typeToken,
+            final int actingVersion)
+        {
+            events.add(fieldToken.name() + ":" + typeToken.name() + "@" + bufferIndex);
+        }
+
+        public void onEnum(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final List<Token> tokens,
+            final int fromIndex,
+            final int toIndex,
+            final int actingVersion)
+        {
+            final long value = Types.getLong(buffer, bufferIndex, tokens.get(fromIndex).encoding());
+            events.add("enum:" + fieldToken.name() + ":" + tokens.get(fromIndex).name() + "@" + bufferIndex +
+                "=" + value + "/" + (toIndex - fromIndex));
+        }
+
+        public void onBitSet(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final List<Token> tokens,
+            final int fromIndex,
+            final int toIndex,
+            final int actingVersion)
+        {
+            events.add("set:" + fieldToken.name() + ":" + tokens.get(fromIndex).name() + "@" + bufferIndex);
+        }
+
+        public void onBeginComposite(
+            final Token fieldToken, final List<Token> tokens, final int fromIndex, final int toIndex)
+        {
+            events.add(fieldToken.name() + "{" + tokens.get(fromIndex).name());
+        }
+
+        public void onEndComposite(
+            final Token fieldToken, final List<Token> tokens, final int fromIndex, final int toIndex)
+        {
+            events.add("}" + fieldToken.name());
+        }
+
+        public void onGroupHeader(final Token token, final int numInGroup)
+        {
+            events.add(token.name() + "[" + numInGroup + "]");
+        }
+
+        public void onBeginGroup(final Token token, final int groupIndex, final int numInGroup)
+        {
+            events.add("<" + token.name() + groupIndex);
+        }
+
+        public void onEndGroup(final Token token, final int groupIndex, final int numInGroup)
+        {
+            events.add(">" + token.name() + groupIndex);
+        }
+
+        public void onVarData(
+            final Token fieldToken,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int length,
+            final Token typeToken)
+        {
+            events.add(fieldToken.name() + "@" + bufferIndex + "=" + length);
+        }
+    }
+
+    static final class RecordingCompactTokenListener implements CompactTokenListener
+    {
+        final List<String> events = new ArrayList<>();
+
+        public void onBeginMessage(final CompactIr ir, final int tokenIndex)
+        {
+            events.add("message:" + ir.name(tokenIndex));
+        }
+
+        public void onEndMessage(final CompactIr ir, final int tokenIndex)
+        {
+            events.add("end:" + ir.name(tokenIndex));
+        }
+
+        public void onEncoding(
+            final CompactIr ir,
+            final int fieldTokenIndex,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int typeTokenIndex,
+            final int actingVersion)
+        {
+            events.add(ir.name(fieldTokenIndex) + ":" + ir.name(typeTokenIndex) + "@" + bufferIndex);
+        }
+
+        public void onEnum(
+            final CompactIr ir,
+            final int fieldTokenIndex,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int fromIndex,
+            final int toIndex,
+            final int actingVersion)
+        {
+            final long value = Types.getLong(buffer, bufferIndex, ir.primitiveType(fromIndex), ir.byteOrder(fromIndex));
+            events.add("enum:" + ir.name(fieldTokenIndex) + ":" + ir.name(fromIndex) + "@" + bufferIndex +
+                "=" + value + "/" + (toIndex - fromIndex));
+        }
+
+        public void onBitSet(
+            final CompactIr ir,
+            final int fieldTokenIndex,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int fromIndex,
+            final int toIndex,
+            final int actingVersion)
+        {
+            events.add("set:" + ir.name(fieldTokenIndex) + ":" + ir.name(fromIndex) + "@" + bufferIndex);
+        }
+
+        public void onBeginComposite(
+            final CompactIr ir, final int fieldTokenIndex, final int fromIndex, final int toIndex)
+        {
+            events.add(ir.name(fieldTokenIndex) + "{" + ir.name(fromIndex));
+        }
+
+        public void onEndComposite(
+            final CompactIr ir, final int fieldTokenIndex, final int fromIndex, final int toIndex)
+        {
+            events.add("}" + ir.name(fieldTokenIndex));
+        }
+
+        public void onGroupHeader(final CompactIr ir, final int tokenIndex, final int numInGroup)
+        {
+            events.add(ir.name(tokenIndex) + "[" + numInGroup + "]");
+        }
+
+        public void onBeginGroup(final CompactIr ir, final int tokenIndex, final int groupIndex, final int numInGroup)
+        {
+            events.add("<" + ir.name(tokenIndex) + groupIndex);
+        }
+
+        public void onEndGroup(final CompactIr ir, final int tokenIndex, final int groupIndex, final int numInGroup)
+        {
+            events.add(">" + ir.name(tokenIndex) + groupIndex);
+        }
+
+        public void onVarData(
+            final CompactIr ir,
+            final int fieldTokenIndex,
+            final DirectBuffer buffer,
+            final int bufferIndex,
+            final int length,
+            final int typeTokenIndex)
+        {
+            events.add(ir.name(fieldTokenIndex) + "@" + bufferIndex + "=" + length);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2013-2023 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.sbe.otf;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.sbe.EncodedCarTestBase;
+import uk.co.real_logic.sbe.ir.HeaderStructure;
+import uk.co.real_logic.sbe.ir.Ir;
+import uk.co.real_logic.sbe.ir.Token;
+import uk.co.real_logic.sbe.json.JsonTokenListener;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingMessageDecoderTest extends EncodedCarTestBase
+{
+    private Ir ir;
+    private UnsafeBuffer buffer;
+    private int messageLength;
+    private String expected;
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        ir = generateIr();
+        final ByteBuffer encodedMsgBuffer = encodeTestMessage();
+        messageLength = encodedMsgBuffer.position();
+        buffer = new UnsafeBuffer(encodedMsgBuffer);
+
+        final OtfHeaderDecoder headerDecoder = new OtfHeaderDecoder(ir.headerStructure());
+        final StringBuilder output = new StringBuilder();
+        OtfMessageDecoder.decode(
+            buffer,
+            headerDecoder.encodedLength(),
+            headerDecoder.getSchemaVersion(buffer, 0),
+            headerDecoder.getBlockLength(buffer, 0),
+            ir.getMessage(headerDecoder.getTemplateId(buffer, 0)),
+            new JsonTokenListener(output));
+        expected = output.toString();
+    }
+
+    @Test
+    void shouldDecodeMessageInOneFragment()
+    {
+        final StringBuilder actual = new StringBuilder();
+        final StreamingMessageDecoder decoder = new StreamingMessageDecoder(ir, new JsonTokenListener(actual));
+
+        assertTrue(decoder.isAtMessageBoundary());
+        assertEquals(1, decoder.decode(buffer, 0, messageLength));
+        assertTrue(decoder.isAtMessageBoundary());
+        assertEquals(expected, actual.toString());
+    }
+
+    @Test
+    void shouldDecodeMessageInFragmentsOfEverySize()
+    {
+        for (int fragmentLength = 1; fragmentLength <= messageLength; fragmentLength++)
+        {
+            final StringBuilder actual = new StringBuilder();
+            final StreamingMessageDecoder decoder = new StreamingMessageDecoder(ir, new JsonTokenListener(actual));
+
+            int messageCount = 0;
+            for (int offset = 0; offset < messageLength; offset += fragmentLength)
+            {
+                final int length = Math.min(fragmentLength, messageLength - offset);
+                if (offset + length < messageLength)
+                {
+                    assertEquals(0, decoder.decode(copyOf(offset, length), 0, length));
+                    assertFalse(decoder.isAtMessageBoundary());
+                    assertTrue(decoder.bytesRequired() >= 0);
+                }
+                else
+                {
+                    messageCount += decoder.decode(copyOf(offset, length), 0, length);
+                }
+            }
+
+            assertEquals(1, messageCount, "fragmentLength=" + fragmentLength);
+            assertTrue(decoder.isAtMessageBoundary());
+            assertEquals(expected, actual.toString(), "fragmentLength=" + fragmentLength);
+        }
+    }
+
+    @Test
+    void shouldDecodeMessageSplitAtEveryPosition()
+    {
+        for (int split = 0; split <= messageLength; split++)
+        {
+            final StringBuilder actual = new StringBuilder();
+            final StreamingMessageDecoder decoder = new StreamingMessageDecoder(ir, new JsonTokenListener(actual));
+
+            final int messageCount =
+                decoder.decode(copyOf(0, split), 0, split) +
+                decoder.decode(copyOf(split, messageLength - split), 0, messageLength - split);
+
+            assertEquals(1, messageCount, "split=" + split);
+            assertEquals(expected, actual.toString(), "split=" + split);
+        }
+    }
+
+    @Test
+    void shouldDecodeConsecutiveMessagesWithFragmentsSpanningMessages()
+    {
+        final UnsafeBuffer stream = new UnsafeBuffer(new byte[messageLength * 3]);
+        for (int i = 0; i < 3; i++)
+        {
+            stream.putBytes(i * messageLength, buffer, 0, messageLength);
+        }
+
+        final StringBuilder actual = new StringBuilder();
+        final StreamingMessageDecoder decoder = new StreamingMessageDecoder(ir, new JsonTokenListener(actual));
+        final int fragmentLength = messageLength / 2 + 7;
+
+        int messageCount = 0;
+        for (int offset = 0; offset < stream.capacity(); offset += fragmentLength)
+        {
+            messageCount += decoder.decode(stream, offset, Math.min(fragmentLength, stream.capacity() - offset));
+        }
+
+        assertEquals(3, messageCount);
+        assertTrue(decoder.isAtMessageBoundary());
+        assertEquals(expected + expected + expected, actual.toString());
+    }
+
+    @Test
+    void shouldCallbackForFieldsAsSoonAsTheirBytesArrive()
+    {
+        final int[] encodingCount = new int[1];
+        final StreamingMessageDecoder decoder = new StreamingMessageDecoder(ir, new AbstractTokenListener()
+        {
+            public void onEncoding(
+                final Token fieldToken,
+                final DirectBuffer buffer,
+                final int bufferIndex,
+                final Token typeToken,
+                final int actingVersion)
+            {
+                encodingCount[0]++;
+            }
+        });
+
+        final int headerLength = new OtfHeaderDecoder(ir.headerStructure()).encodedLength();
+        decoder.decode(buffer, 0, headerLength);
+        assertEquals(0, encodingCount[0]);
+        assertEquals(8, decoder.bytesRequired());
+
+        decoder.decode(buffer, headerLength, 7);
+        assertEquals(0, encodingCount[0]);
+        assertEquals(1, decoder.bytesRequired());
+
+        decoder.decode(buffer, headerLength + 7, 1);
+        assertEquals(1, encodingCount[0]);
+    }
+
+    @Test
+    void shouldStartFromMessageHeaderAfterReset()
+    {
+        final int[] beginAndEndCounts = new int[2];
+        final StreamingMessageDecoder decoder = new StreamingMessageDecoder(ir, new AbstractTokenListener()
+        {
+            public void onBeginMessage(final Token token)
+            {
+                beginAndEndCounts[0]++;
+            }
+
+            public void onEndMessage(final Token token)
+            {
+                beginAndEndCounts[1]++;
+            }
+        });
+
+        assertEquals(0, decoder.decode(buffer, 0, messageLength / 2));
+        decoder.reset();
+        assertTrue(decoder.isAtMessageBoundary());
+
+        assertEquals(1, decoder.decode(buffer, 0, messageLength));
+        assertTrue(decoder.isAtMessageBoundary());
+        assertArrayEquals(new int[]{ 2, 1 }, beginAndEndCounts);
+    }
+
+    @Test
+    void shouldPassVarDataInPartsAsFragmentsArrive()
+    {
+        final StringBuilder actual = new StringBuilder();
+        final List<String> parts = new ArrayList<>();
+        final JsonTokenListener listener = new JsonTokenListener(actual);
+        final VarDataAssembler assembler = new VarDataAssembler(listener);
+        final UnsafeBuffer[] fragment = new UnsafeBuffer[1];
+        final StreamingMessageDecoder decoder = new StreamingMessageDecoder(
+            ir,
+            listener,
+            (fieldToken, buffer, bufferIndex, length, dataOffset, dataLength, typeToken) ->
+            {
+                assertSame(fragment[0], buffer);
+                assertEquals(Math.min(1, dataLength), length);
+                parts.add(fieldToken.name() + ":" + dataOffset + "/" + dataLength);
+                assembler.onVarDataFragment(
+                    fieldToken, buffer, bufferIndex, length, dataOffset, dataLength, typeToken);
+            });
+
+        int messageCount = 0;
+        for (int offset = 0; offset < messageLength; offset++)
+        {
+            fragment[0] = copyOf(offset, 1);
+            messageCount += decoder.decode(fragment[0], 0, 1);
+        }
+
+        assertEquals(1, messageCount);
+        assertEquals(expected, actual.toString());
+        assertTrue(parts.contains("manufacturer:0/5"));
+        assertTrue(parts.contains("manufacturer:4/5"));
+        assertFalse(parts.contains("manufacturer:5/5"));
+    }
+
+    @Test
+    void shouldResetToMessageHeaderWhenTemplateIdIsUnknown()
+    {
+        final StringBuilder actual = new StringBuilder();
+        final StreamingMessageDecoder decoder = new StreamingMessageDecoder(ir, new JsonTokenListener(actual));
+
+        final UnsafeBuffer unknownMessage = copyOf(0, messageLength);
+        final Token templateIdToken = ir.headerStructure().tokens().stream()
+            .filter((token) -> HeaderStructure.TEMPLATE_ID.equals(token.name()))
+            .findFirst()
+            .orElseThrow(IllegalStateException::new);
+        unknownMessage.putShort(templateIdToken.offset(), (short)999, ir.byteOrder());
+
+        assertThrows(IllegalStateException.class, () -> decoder.decode(unknownMessage, 0, messageLength));
+        assertTrue(decoder.isAtMessageBoundary());
+
+        assertEquals(1, decoder.decode(buffer, 0, messageLength));
+        assertTrue(decoder.isAtMessageBoundary());
+        assertEquals(expected, actual.toString());
+    }
+
+    private UnsafeBuffer copyOf(final int offset, final int length)
+    {
+        final byte[] bytes = new byte[length];
+        buffer.getBytes(offset, bytes);
+
+        return new UnsafeBuffer(bytes);
+    }
+}